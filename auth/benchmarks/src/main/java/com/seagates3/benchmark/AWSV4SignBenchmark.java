@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.seagates3.authentication.AWSV4Sign;
+import com.seagates3.authentication.ClientRequestToken;
+import com.seagates3.exception.InvalidTokenException;
+import com.seagates3.model.Requestor;
+
+/**
+ * AWS V4 signature verification of a regular request, with and without the
+ * signing key cache.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 5, time = 1) @Measurement(iterations = 5, time = 1)
+    @Fork(1) @State(Scope.Thread) public class AWSV4SignBenchmark {
+
+  @Param({"100000", "0"}) public String signingKeyCacheMaxEntries;
+
+ private
+  AWSV4Sign awsV4Sign;
+ private
+  ClientRequestToken requestToken;
+ private
+  Requestor requestor;
+
+  @Setup public void setUp() throws Exception {
+    BenchmarkFixtures.init();
+    BenchmarkFixtures.setConfigProperty("signingKeyCacheMaxEntries",
+                                        signingKeyCacheMaxEntries);
+    awsV4Sign = new AWSV4Sign();
+    requestToken = BenchmarkFixtures.getV4ClientRequestToken();
+    requestor = BenchmarkFixtures.getV4Requestor();
+
+    if (!awsV4Sign.authenticate(requestToken, requestor)) {
+      throw new IllegalStateException("V4 fixture does not authenticate");
+    }
+  }
+
+  @Benchmark public Boolean authenticate() throws InvalidTokenException {
+    return awsV4Sign.authenticate(requestToken, requestor);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.seagates3.authentication.AWSV2Sign;
+import com.seagates3.authentication.ClientRequestParser;
+import com.seagates3.authentication.ClientRequestToken;
+import com.seagates3.authserver.AuthRequestDecoder;
+import com.seagates3.exception.InvalidAccessKeyException;
+import com.seagates3.exception.InvalidArgumentException;
+import com.seagates3.exception.InvalidTokenException;
+import com.seagates3.model.Requestor;
+
+import io.netty.handler.codec.http.FullHttpRequest;
+
+/**
+ * Steps of an AuthenticateUser request other than V4 signature verification:
+ * decoding the form body, parsing the authorization header and verifying a
+ * V2 signature.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 5, time = 1) @Measurement(iterations = 5, time = 1)
+    @Fork(1) @State(Scope.Thread) public class AuthenticationBenchmark {
+
+ private
+  AWSV2Sign awsV2Sign;
+ private
+  ClientRequestToken v2RequestToken;
+ private
+  Requestor v2Requestor;
+ private
+  Map<String, String> v4RequestBody;
+ private
+  FullHttpRequest httpRequest;
+
+  @Setup public void setUp() throws Exception {
+    BenchmarkFixtures.init();
+    awsV2Sign = new AWSV2Sign();
+    v2RequestToken = BenchmarkFixtures.getV2ClientRequestToken();
+    v2Requestor = BenchmarkFixtures.getV2Requestor();
+    v4RequestBody = BenchmarkFixtures.getV4RequestBody();
+    httpRequest = BenchmarkFixtures.getHttpRequest(v4RequestBody);
+
+    if (!awsV2Sign.authenticate(v2RequestToken, v2Requestor)) {
+      throw new IllegalStateException("V2 fixture does not authenticate");
+    }
+    if (parse() == null) {
+      throw new IllegalStateException("V4 fixture is not parsed");
+    }
+  }
+
+  @TearDown public void tearDown() { httpRequest.release(); }
+
+  @Benchmark public Boolean awsV2Authenticate() throws InvalidTokenException {
+    return awsV2Sign.authenticate(v2RequestToken, v2Requestor);
+  }
+
+  @Benchmark public ClientRequestToken parse()
+      throws InvalidAccessKeyException,
+      InvalidArgumentException {
+    return ClientRequestParser.parse(httpRequest, v4RequestBody);
+  }
+
+  @Benchmark public Map<String, String> getRequestBodyAsMap() {
+    FullHttpRequest request = httpRequest.retainedDuplicate();
+    try {
+      return new AuthRequestDecoder(request).getRequestBodyAsMap();
+    }
+    finally {
+      request.release();
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.seagates3.acl.ACLAuthorizer;
+import com.seagates3.acl.AccessControlPolicy;
+import com.seagates3.model.Requestor;
+import com.seagates3.policy.BucketPolicyAuthorizer;
+import com.seagates3.response.ServerResponse;
+import com.seagates3.response.formatter.xml.AuthorizationResponseFormatter;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+/**
+ * Steps of an AuthorizeUser request: bucket policy and ACL evaluation, ACL
+ * parsing and formatting of the response.
+ *
+ * Bucket policy decisions which allow an authenticated requestor look the
+ * user up through UserImpl directly rather than through DAODispatcher, so
+ * the policy is measured on a denied request and an allowed anonymous one.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 5, time = 1) @Measurement(iterations = 5, time = 1)
+    @Fork(1) @State(Scope.Thread) public class AuthorizationBenchmark {
+
+ private
+  BucketPolicyAuthorizer bucketPolicyAuthorizer;
+ private
+  ACLAuthorizer aclAuthorizer;
+ private
+  AuthorizationResponseFormatter responseFormatter;
+ private
+  Requestor requestor;
+ private
+  Map<String, String> getObjectRequest;
+ private
+  Map<String, String> deleteObjectRequest;
+ private
+  Map<String, String> publicGetObjectRequest;
+ private
+  LinkedHashMap<String, String> responseElements;
+
+  @Setup public void setUp() throws Exception {
+    BenchmarkFixtures.init();
+    bucketPolicyAuthorizer = new BucketPolicyAuthorizer();
+    aclAuthorizer = new ACLAuthorizer();
+    responseFormatter = new AuthorizationResponseFormatter();
+    requestor = BenchmarkFixtures.getV4Requestor();
+    getObjectRequest = BenchmarkFixtures.getAuthorizeRequestBody(
+        "GET", "/seagatebucket/dir-1/abc1", "GetObject");
+    deleteObjectRequest = BenchmarkFixtures.getAuthorizeRequestBody(
+        "DELETE", "/seagatebucket/dir-1/abc1", "DeleteObject");
+    publicGetObjectRequest = BenchmarkFixtures.getAuthorizeRequestBody(
+        "GET", "/seagatebucket/public/index.html", "GetObject");
+
+    responseElements = new LinkedHashMap<>();
+    responseElements.put("UserId", requestor.getId());
+    responseElements.put("UserName", requestor.getName());
+    responseElements.put("AccountId", requestor.getAccount().getId());
+    responseElements.put("AccountName", requestor.getAccount().getName());
+    responseElements.put("CanonicalId",
+                         requestor.getAccount().getCanonicalId());
+
+    expectStatus(bucketPolicyDeny(), HttpResponseStatus.FORBIDDEN);
+    expectStatus(bucketPolicyAnonymousAllow(), HttpResponseStatus.OK);
+    if (!aclAuthorize()) {
+      throw new IllegalStateException("ACL fixture does not authorize");
+    }
+  }
+
+  @Benchmark public ServerResponse bucketPolicyDeny() {
+    return bucketPolicyAuthorizer.authorizePolicy(requestor,
+                                                  deleteObjectRequest);
+  }
+
+  @Benchmark public ServerResponse bucketPolicyAnonymousAllow() {
+    return bucketPolicyAuthorizer.authorizePolicy(null,
+                                                  publicGetObjectRequest);
+  }
+
+  @Benchmark public boolean aclAuthorize() throws Exception {
+    return aclAuthorizer.isAuthorized(requestor, getObjectRequest);
+  }
+
+  @Benchmark public AccessControlPolicy parseAccessControlPolicy()
+      throws Exception {
+    return new AccessControlPolicy(BenchmarkFixtures.ACL_XML);
+  }
+
+  @Benchmark public ServerResponse formatAuthorized() {
+    return responseFormatter.authorized(responseElements, "0000",
+                                        BenchmarkFixtures.ACL_XML);
+  }
+
+ private
+  static void expectStatus(ServerResponse response,
+                           HttpResponseStatus status) {
+    if (response == null || !status.equals(response.getResponseStatus())) {
+      throw new IllegalStateException(
+          "Unexpected bucket policy decision " +
+          (response == null ? null : response.getResponseStatus()));
+    }
+  }
+}
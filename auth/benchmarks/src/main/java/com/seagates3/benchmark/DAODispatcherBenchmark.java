@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.seagates3.dao.DAODispatcher;
+import com.seagates3.dao.DAOResource;
+
+/**
+ * DAO lookup of DAODispatcher.getResourceDAO against the former dispatch,
+ * which built the class name of the LDAP DAO and instantiated it by
+ * reflection on every call.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 5, time = 1) @Measurement(iterations = 5, time = 1)
+    @Fork(1) @State(Scope.Thread) public class DAODispatcherBenchmark {
+
+ private
+  static final String DAO_PACKAGE = "com.seagates3.dao";
+
+  @Param({"ACCESS_KEY", "REQUESTOR"}) public String resource;
+
+ private
+  DAOResource daoResource;
+
+  @Setup public void setUp() throws Exception {
+    BenchmarkFixtures.init();
+    daoResource = DAOResource.valueOf(resource);
+
+    if (DAODispatcher.getResourceDAO(daoResource) == null) {
+      throw new IllegalStateException("No DAO registered for " + resource);
+    }
+  }
+
+  @Benchmark public Object registry() {
+    return DAODispatcher.getResourceDAO(daoResource);
+  }
+
+  @Benchmark public Object reflective() throws Exception {
+    String daoImplClassName = String.format("%s.%s.%s", DAO_PACKAGE, "ldap",
+                                            daoResource.toString() + "Impl");
+    return Class.forName(daoImplClassName).newInstance();
+  }
+}
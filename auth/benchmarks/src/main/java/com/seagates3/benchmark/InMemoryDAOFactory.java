@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.seagates3.dao.AccessKeyDAO;
+import com.seagates3.dao.AccountDAO;
+import com.seagates3.dao.DAOFactory;
+import com.seagates3.dao.DAOProvider;
+import com.seagates3.dao.DAOResource;
+import com.seagates3.dao.GroupDAO;
+import com.seagates3.dao.RequestorDAO;
+import com.seagates3.dao.UserDAO;
+import com.seagates3.model.AccessKey;
+import com.seagates3.model.Account;
+import com.seagates3.model.Group;
+import com.seagates3.model.Requestor;
+import com.seagates3.model.User;
+
+/**
+ * In memory stand-in for the LDAP data store.
+ *
+ * Registered for the LDAP provider in place of LdapDAOFactory, so benchmarks
+ * measure the request path without directory round trips. Lookups of absent
+ * entries return empty models, as the LDAP DAOs do.
+ */
+public
+class InMemoryDAOFactory implements DAOFactory {
+
+ private
+  final Map<String, AccessKey> accessKeys =
+      new ConcurrentHashMap<String, AccessKey>();
+ private
+  final Map<String, Account> accounts = new ConcurrentHashMap<String, Account>();
+ private
+  final Map<String, User> users = new ConcurrentHashMap<String, User>();
+ private
+  final Map<String, Group> groups = new ConcurrentHashMap<String, Group>();
+ private
+  final Map<String, Requestor> requestors =
+      new ConcurrentHashMap<String, Requestor>();
+
+  @Override public DAOProvider getProvider() { return DAOProvider.LDAP; }
+
+  @Override public void init() {}
+
+  @Override public Object createDAO(DAOResource daoResource) {
+    switch (daoResource) {
+      case ACCESS_KEY:
+        return new InMemoryAccessKeyDAO();
+      case ACCOUNT:
+        return new InMemoryAccountDAO();
+      case GROUP:
+        return new InMemoryGroupDAO();
+      case REQUESTOR:
+        return new InMemoryRequestorDAO();
+      case USER:
+        return new InMemoryUserDAO();
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Add the requestor together with its access key, account and user.
+   */
+ public
+  void addRequestor(Requestor requestor, User user) {
+    AccessKey accessKey = requestor.getAccesskey();
+    accessKeys.put(accessKey.getId(), accessKey);
+    requestors.put(accessKey.getId(), requestor);
+    accounts.put(requestor.getAccount().getName(), requestor.getAccount());
+    users.put(user.getId(), user);
+  }
+
+ public
+  void addGroup(Group group) { groups.put(group.getPath(), group); }
+
+ private
+  class InMemoryAccessKeyDAO implements AccessKeyDAO {
+
+    @Override public AccessKey find(String accessKeyId) {
+      AccessKey accessKey = accessKeys.get(accessKeyId);
+      return accessKey != null ? accessKey : new AccessKey();
+    }
+
+    @Override public AccessKey findFromToken(String accessKeyId) {
+      return find(accessKeyId);
+    }
+
+    @Override public AccessKey[] findAll(User user) {
+      List<AccessKey> result = new ArrayList<>();
+      for (AccessKey accessKey : accessKeys.values()) {
+        if (user.getId().equals(accessKey.getUserId())) {
+          result.add(accessKey);
+        }
+      }
+      return result.toArray(new AccessKey[result.size()]);
+    }
+
+    @Override public Boolean hasAccessKeys(String userId) {
+      return getCount(userId) > 0;
+    }
+
+    @Override public int getCount(String userId) {
+      int count = 0;
+      for (AccessKey accessKey : accessKeys.values()) {
+        if (userId.equals(accessKey.getUserId())) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    @Override public void delete(AccessKey accessKey) {
+      accessKeys.remove(accessKey.getId());
+    }
+
+    @Override public void save(AccessKey accessKey) {
+      accessKeys.put(accessKey.getId(), accessKey);
+    }
+
+    @Override public void update(AccessKey accessKey, String newStatus) {
+      accessKey.setStatus(AccessKey.AccessKeyStatus.valueOf(
+          newStatus.toUpperCase()));
+      save(accessKey);
+    }
+
+    @Override public AccessKey[] findAllPermanent(User user) {
+      return findAll(user);
+    }
+
+    @Override public void deleteExpiredKeys(User user) {}
+
+    @Override public AccessKey findAccountAccessKey(String rootUserId) {
+      for (AccessKey accessKey : accessKeys.values()) {
+        if (rootUserId.equals(accessKey.getUserId())) {
+          return accessKey;
+        }
+      }
+      return new AccessKey();
+    }
+  }
+
+ private
+  class InMemoryAccountDAO implements AccountDAO {
+
+    @Override public Account findByID(String accountID) {
+      for (Account account : accounts.values()) {
+        if (accountID.equals(account.getId())) {
+          return account;
+        }
+      }
+      return new Account();
+    }
+
+    @Override public Account findByCanonicalID(String canonicalID) {
+      for (Account account : accounts.values()) {
+        if (canonicalID.equals(account.getCanonicalId())) {
+          return account;
+        }
+      }
+      return new Account();
+    }
+
+    @Override public Account find(String name) {
+      Account account = accounts.get(name);
+      return account != null ? account : new Account();
+    }
+
+    @Override public void save(Account account) {
+      accounts.put(account.getName(), account);
+    }
+
+    @Override public Account[] findAll() {
+      return accounts.values().toArray(new Account[0]);
+    }
+
+    @Override public void delete(Account account) {
+      accounts.remove(account.getName());
+    }
+
+    @Override public void deleteOu(Account account, String ou) {}
+
+    @Override public Account findByEmailAddress(String emailAddress) {
+      for (Account account : accounts.values()) {
+        if (emailAddress.equals(account.getEmail())) {
+          return account;
+        }
+      }
+      return new Account();
+    }
+
+    @Override public void ldap_delete_account(Account account) {
+      delete(account);
+    }
+  }
+
+ private
+  class InMemoryUserDAO implements UserDAO {
+
+    @Override public User find(String accountName, String userName) {
+      for (User user : users.values()) {
+        if (accountName.equals(user.getAccountName()) &&
+            userName.equals(user.getName())) {
+          return user;
+        }
+      }
+      return new User();
+    }
+
+    @Override public User findByUserId(String accountName, String userId) {
+      User user = users.get(userId);
+      return user != null && accountName.equals(user.getAccountName())
+                 ? user
+                 : new User();
+    }
+
+    @Override public User[] findAll(String accountName, String pathPrefix) {
+      List<User> result = new ArrayList<>();
+      for (User user : users.values()) {
+        if (accountName.equals(user.getAccountName())) {
+          result.add(user);
+        }
+      }
+      return result.toArray(new User[result.size()]);
+    }
+
+    @Override public void delete(User user) { users.remove(user.getId()); }
+
+    @Override public void save(User user) { users.put(user.getId(), user); }
+
+    @Override public void update(User user, String newUserName,
+                                 String newPath) {
+      if (newUserName != null) {
+        user.setName(newUserName);
+      }
+      if (newPath != null) {
+        user.setPath(newPath);
+      }
+    }
+
+    @Override public User findByUserId(String userId) {
+      User user = users.get(userId);
+      return user != null ? user : new User();
+    }
+
+    @Override public User findByArn(String arn) {
+      for (User user : users.values()) {
+        if (arn.equals(user.getArn())) {
+          return user;
+        }
+      }
+      return new User();
+    }
+
+    @Override public void ldap_delete_user(User user) { delete(user); }
+  }
+
+ private
+  class InMemoryGroupDAO implements GroupDAO {
+
+    @Override public Group find(Account account, String groupName) {
+      for (Group group : groups.values()) {
+        if (groupName.equals(group.getName())) {
+          return group;
+        }
+      }
+      return new Group();
+    }
+
+    @Override public void save(Group group) { addGroup(group); }
+
+    @Override public Group findByPath(String path) {
+      Group group = groups.get(path);
+      return group != null ? group : new Group();
+    }
+
+    @Override public Group findByPathAndAccount(Account account, String path) {
+      return findByPath(path);
+    }
+  }
+
+ private
+  class InMemoryRequestorDAO implements RequestorDAO {
+
+    @Override public Requestor find(AccessKey accessKey) {
+      Requestor requestor = requestors.get(accessKey.getId());
+      return requestor != null ? requestor : new Requestor();
+    }
+  }
+}
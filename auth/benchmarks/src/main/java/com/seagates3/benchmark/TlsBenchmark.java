@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.benchmark;
+
+import java.nio.ByteBuffer;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.seagates3.authserver.SSLContextProvider;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * TLS handshakes and bulk encryption with the server context the auth server
+ * builds for its HTTPS listener, for the JDK and the OpenSSL provider. The
+ * engines exchange records in memory, so the numbers are the cost of the TLS
+ * provider only. fullHandshake negotiates a new session every time,
+ * resumedHandshake resumes the session of the previous handshake and bulk
+ * encrypts and decrypts a 16KB record on an established session. Run with
+ * -p provider=jdk where netty-tcnative cannot be loaded.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5, time = 1) @Measurement(iterations = 5, time = 1)
+    @Fork(1) @State(Scope.Benchmark) public class TlsBenchmark {
+
+  @Param({"jdk", "openssl"}) public String provider;
+
+ private
+  static final char[] KEY_PASSWORD = "seagate".toCharArray();
+
+ private
+  static final String PEER_HOST = "iam.seagate.com";
+
+ private
+  static final int PEER_PORT = 28051;
+
+ private
+  static final int RECORD_SIZE = 16 * 1024;
+
+ private
+  static final int BUFFER_SIZE = 64 * 1024;
+
+ private
+  static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+ private
+  final ByteBufAllocator alloc = PooledByteBufAllocator.DEFAULT;
+ private
+  SelfSignedCertificate certificate;
+ private
+  SslContext serverContext;
+ private
+  SslContext clientContext;
+
+  @Setup(Level.Trial) public void createContexts() throws Exception {
+    SslProvider sslProvider = SslProvider.valueOf(provider.toUpperCase());
+    if (sslProvider == SslProvider.OPENSSL && !OpenSsl.isAvailable()) {
+      throw new IllegalStateException("OpenSSL provider is not available",
+                                      OpenSsl.unavailabilityCause());
+    }
+    BenchmarkFixtures.init();
+    BenchmarkFixtures.setConfigProperty("sslProvider", provider);
+
+    certificate = new SelfSignedCertificate(PEER_HOST);
+    KeyStore keyStore = KeyStore.getInstance("JKS");
+    keyStore.load(null, null);
+    keyStore.setKeyEntry("auth", certificate.key(), KEY_PASSWORD,
+                         new Certificate[] {certificate.cert()});
+    KeyManagerFactory kmf =
+        KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+    kmf.init(keyStore, KEY_PASSWORD);
+
+    serverContext = SSLContextProvider.newServerContext(kmf);
+    SslContextBuilder clientBuilder = SslContextBuilder.forClient();
+    clientBuilder.sslProvider(sslProvider);
+    clientBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+    clientContext = clientBuilder.build();
+  }
+
+  @TearDown(Level.Trial) public void releaseContexts() {
+    ReferenceCountUtil.release(serverContext);
+    ReferenceCountUtil.release(clientContext);
+    certificate.delete();
+  }
+
+  @Benchmark public SSLEngine fullHandshake(Engines engines)
+      throws SSLException {
+    return engines.handshake(clientContext.newEngine(alloc));
+  }
+
+  @Benchmark public SSLEngine resumedHandshake(Engines engines)
+      throws SSLException {
+    return engines.handshake(
+        clientContext.newEngine(alloc, PEER_HOST, PEER_PORT));
+  }
+
+  @Benchmark public int bulk(Engines engines) throws SSLException {
+    return engines.bulk();
+  }
+
+  /**
+   * Engines and record buffers of a benchmark thread.
+   */
+  @State(Scope.Thread) public static class Engines {
+
+   private
+    final ByteBuffer clientToServer = ByteBuffer.allocate(BUFFER_SIZE);
+   private
+    final ByteBuffer serverToClient = ByteBuffer.allocate(BUFFER_SIZE);
+   private
+    final ByteBuffer appBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+   private
+    final ByteBuffer payload = ByteBuffer.allocate(RECORD_SIZE);
+   private
+    TlsBenchmark benchmark;
+   private
+    SSLEngine bulkClient;
+   private
+    SSLEngine bulkServer;
+
+    @Setup(Level.Trial) public void connect(TlsBenchmark benchmark)
+        throws SSLException {
+      this.benchmark = benchmark;
+      bulkClient = benchmark.clientContext.newEngine(benchmark.alloc);
+      bulkServer = newServerEngine();
+      handshake(bulkClient, bulkServer);
+    }
+
+    @TearDown(Level.Trial) public void close() {
+      ReferenceCountUtil.release(bulkClient);
+      ReferenceCountUtil.release(bulkServer);
+    }
+
+    /**
+     * Handshake the client engine with a new server engine and release both.
+     *
+     * @return the client engine.
+     */
+    SSLEngine handshake(SSLEngine client) throws SSLException {
+      SSLEngine server = newServerEngine();
+      try {
+        handshake(client, server);
+      } finally {
+        ReferenceCountUtil.release(client);
+        ReferenceCountUtil.release(server);
+      }
+      return client;
+    }
+
+    /**
+     * Encrypt a record on the client and decrypt it on the server.
+     *
+     * @return bytes decrypted.
+     */
+    int bulk() throws SSLException {
+      payload.clear();
+      clientToServer.clear();
+      bulkClient.wrap(payload, clientToServer);
+      clientToServer.flip();
+      appBuffer.clear();
+      bulkServer.unwrap(clientToServer, appBuffer);
+      return appBuffer.position();
+    }
+
+   private
+    SSLEngine newServerEngine() {
+      return benchmark.serverContext.newEngine(benchmark.alloc);
+    }
+
+   private
+    void handshake(SSLEngine client, SSLEngine server) throws SSLException {
+      clientToServer.clear();
+      serverToClient.clear();
+      client.beginHandshake();
+      server.beginHandshake();
+      int rounds = 0;
+      while (isHandshaking(client) || isHandshaking(server)) {
+        if (++rounds > 100) {
+          throw new SSLException("Handshake did not complete");
+        }
+        transfer(client, server, clientToServer);
+        transfer(server, client, serverToClient);
+      }
+    }
+
+    /**
+     * Wrap the pending handshake records of one engine and unwrap them on
+     * the other.
+     */
+   private
+    void transfer(SSLEngine from, SSLEngine to, ByteBuffer records)
+        throws SSLException {
+      from.wrap(EMPTY, records);
+      runDelegatedTasks(from);
+      records.flip();
+      while (records.hasRemaining()) {
+        appBuffer.clear();
+        SSLEngineResult result = to.unwrap(records, appBuffer);
+        runDelegatedTasks(to);
+        if (result.getStatus() != SSLEngineResult.Status.OK ||
+            result.bytesConsumed() == 0) {
+          break;
+        }
+      }
+      records.compact();
+    }
+
+   private
+    static boolean isHandshaking(SSLEngine engine) {
+      HandshakeStatus status = engine.getHandshakeStatus();
+      return status != HandshakeStatus.NOT_HANDSHAKING &&
+          status != HandshakeStatus.FINISHED;
+    }
+
+   private
+    static void runDelegatedTasks(SSLEngine engine) {
+      Runnable task;
+      while ((task = engine.getDelegatedTask()) != null) {
+        task.run();
+      }
+    }
+  }
+}
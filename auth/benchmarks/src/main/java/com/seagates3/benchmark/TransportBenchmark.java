@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.benchmark;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.seagates3.authserver.AuthServerTransport;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpRequestDecoder;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.stream.ChunkedWriteHandler;
+
+/**
+ * Round trip of an AuthenticateUser request over a loopback keep-alive
+ * connection, with the NIO and the epoll transport, through the single codec
+ * pipeline of the auth server and through the former pipeline that added a
+ * second request decoder and a chunked write handler. The server answers
+ * every request with a fixed response, so the numbers are the cost of the
+ * transport and the HTTP codec only. Run with -p transport=nio where epoll is
+ * not available.
+ */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5, time = 1) @Measurement(iterations = 5, time = 1)
+    @Fork(1) @State(Scope.Benchmark) public class TransportBenchmark {
+
+  @Param({"nio", "epoll"}) public String transport;
+
+  @Param({"codec", "legacy"}) public String pipeline;
+
+ private
+  static final byte[] RESPONSE_BODY =
+      ("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>" +
+       "<AuthenticateUserResponse " +
+       "xmlns=\"https://iam.seagate.com/doc/2010-05-08/\">" +
+       "<AuthenticateUserResult><UserId>AIDA5KZQJXPTROWIMYGRW</UserId>" +
+       "<UserName>root</UserName><AccountId>123456789012</AccountId>" +
+       "<AccountName>s3test</AccountName>" +
+       "<CanonicalId>C12345</CanonicalId></AuthenticateUserResult>" +
+       "<ResponseMetadata><RequestId>0000</RequestId></ResponseMetadata>" +
+       "</AuthenticateUserResponse>").getBytes(StandardCharsets.UTF_8);
+
+ private
+  static final String REQUEST_BODY =
+      "Action=AuthenticateUser&Method=GET&ClientAbsoluteUri=%2Fbucket%2Fkey" +
+      "&ClientQueryParams=&Version=2010-05-08&host=s3.seagate.com" +
+      "&x-amz-date=20200122T062243Z&x-amz-content-sha256=e3b0c44298fc1c149" +
+      "afbf4c8996fb92427ae41e4649b934ca495991b7852b855&authorization=AWS4-" +
+      "HMAC-SHA256+Credential%3DAKIAJTYX36YCKQSAJT7Q%2F20200122%2Fus-west-2" +
+      "%2Fs3%2Faws4_request%2CSignedHeaders%3Dhost%3Bx-amz-content-sha256%3B" +
+      "x-amz-date%2CSignature%3D5c2e2fcb9b9ee4f5dd3bb0b2c4af7c1b27d6b6e3d4" +
+      "b1ef5cb7e06b0d2e8a5c0f";
+
+ private
+  static final byte[] REQUEST =
+      ("POST / HTTP/1.1\r\n" + "Host: 127.0.0.1\r\n" +
+       "Content-Type: application/x-www-form-urlencoded\r\n" +
+       "Content-Length: " + REQUEST_BODY.length() + "\r\n" + "\r\n" +
+       REQUEST_BODY).getBytes(StandardCharsets.US_ASCII);
+
+ private
+  EventLoopGroup bossGroup;
+ private
+  EventLoopGroup workerGroup;
+ private
+  Channel serverChannel;
+ private
+  int port;
+
+  @Setup(Level.Trial) public void startServer() throws Exception {
+    AuthServerTransport serverTransport =
+        new AuthServerTransport("epoll".equals(transport));
+    if ("epoll".equals(transport) && !serverTransport.isEpoll()) {
+      throw new IllegalStateException("epoll transport is not available");
+    }
+    final boolean legacy = "legacy".equals(pipeline);
+
+    bossGroup = serverTransport.newEventLoopGroup(1);
+    workerGroup = serverTransport.newEventLoopGroup(2);
+    ServerBootstrap b =
+        serverTransport.newServerBootstrap(bossGroup, workerGroup)
+            .childHandler(new ChannelInitializer<SocketChannel>() {
+              @Override public void initChannel(SocketChannel ch) {
+                ChannelPipeline p = ch.pipeline();
+                p.addLast(new HttpServerCodec());
+                if (legacy) {
+                  p.addLast("decoder", new HttpRequestDecoder());
+                }
+                p.addLast("aggregator", new HttpObjectAggregator(1048576));
+                if (legacy) {
+                  p.addLast(new ChunkedWriteHandler());
+                }
+                p.addLast(new FixedResponseHandler());
+              }
+            });
+    serverChannel = serverTransport.bind(b, "127.0.0.1", 0, 1).get(0);
+    port = ((InetSocketAddress)serverChannel.localAddress()).getPort();
+  }
+
+  @TearDown(Level.Trial) public void stopServer() throws Exception {
+    serverChannel.close().sync();
+    bossGroup.shutdownGracefully().sync();
+    workerGroup.shutdownGracefully().sync();
+  }
+
+  @Benchmark public int roundTrip(Connection connection) throws IOException {
+    return connection.roundTrip();
+  }
+
+  /**
+   * Keep-alive client connection of a benchmark thread.
+   */
+  @State(Scope.Thread) public static class Connection {
+
+   private
+    Socket socket;
+   private
+    OutputStream out;
+   private
+    InputStream in;
+   private
+    final byte[] buffer = new byte[8192];
+
+    @Setup(Level.Trial) public void connect(TransportBenchmark server)
+        throws IOException {
+      socket = new Socket("127.0.0.1", server.port);
+      socket.setTcpNoDelay(true);
+      out = socket.getOutputStream();
+      in = socket.getInputStream();
+    }
+
+    @TearDown(Level.Trial) public void close() throws IOException {
+      socket.close();
+    }
+
+    /**
+     * Send the request and read the whole response.
+     *
+     * @return length of the response.
+     */
+    int roundTrip() throws IOException {
+      out.write(REQUEST);
+      out.flush();
+      int length = 0;
+      int responseLength = -1;
+      while (responseLength < 0 || length < responseLength) {
+        int read = in.read(buffer, length, buffer.length - length);
+        if (read < 0) {
+          throw new EOFException("Connection closed by the server");
+        }
+        length += read;
+        if (responseLength < 0) {
+          responseLength = getResponseLength(length);
+        }
+      }
+      return length;
+    }
+
+    /**
+     * @return length of headers and content of the response, or -1 if the
+     * headers have not been read completely yet.
+     */
+   private
+    int getResponseLength(int length) {
+      String head = new String(buffer, 0, length, StandardCharsets.US_ASCII);
+      int headerEnd = head.indexOf("\r\n\r\n");
+      if (headerEnd < 0) {
+        return -1;
+      }
+      String headers = head.substring(0, headerEnd).toLowerCase();
+      int start = headers.indexOf("content-length:") + 15;
+      int end = headers.indexOf('\r', start);
+      String contentLength =
+          end < 0 ? headers.substring(start) : headers.substring(start, end);
+      return headerEnd + 4 + Integer.parseInt(contentLength.trim());
+    }
+  }
+
+ private
+  static class FixedResponseHandler
+      extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+    @Override public void channelRead0(ChannelHandlerContext ctx,
+                                       FullHttpRequest request) {
+      FullHttpResponse response =
+          new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
+                                      HttpResponseStatus.OK,
+                                      Unpooled.wrappedBuffer(RESPONSE_BODY));
+      response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/xml");
+      response.headers().set(HttpHeaderNames.CONTENT_LENGTH,
+                             RESPONSE_BODY.length);
+      ctx.writeAndFlush(response);
+    }
+  }
+}
@@ -23,12 +23,13 @@
 
 SRC_ROOT="$(dirname "$( cd "$( dirname "${BASH_SOURCE[0]}" )" && pwd ) " )"
 
-USAGE="USAGE: bash $(basename "$0") [clean | package [--skip-tests] | jacoco-report] [--help | -h]
+USAGE="USAGE: bash $(basename "$0") [clean | package [--skip-tests] | jacoco-report | benchmark] [--help | -h]
 
 where:
 clean              clean previous build
 package            build and package. --skip-tests will disable test run.
 jacoco-report      generate system test coverage report
+benchmark          build the JMH benchmarks into benchmarks/target/benchmarks.jar
 --help             display this help and exit"
 
 if [ -z $1 ]
@@ -44,6 +45,8 @@ case "$1" in
        cd $SRC_ROOT/auth/encryptcli
        mvn clean
        cd $SRC_ROOT/auth/server
+       mvn clean
+       cd $SRC_ROOT/auth/benchmarks
        mvn clean
         ;;
     package )
@@ -67,6 +70,15 @@ case "$1" in
        cd $SRC_ROOT/auth/server
        mvn jacoco:report
         ;;
+    benchmark )
+       cd $SRC_ROOT/auth/encryptutil
+       mvn package -Dmaven.test.skip=true
+       mvn install:install-file -Dfile=target/AuthEncryptUtil-1.0-0.jar -DgroupId=com.seagates3 -DartifactId=AuthEncryptUtil -Dversion=1.0-0 -Dpackaging=jar
+       cd $SRC_ROOT/auth/server
+       mvn install -Dmaven.test.skip=true
+       cd $SRC_ROOT/auth/benchmarks
+       mvn package
+        ;;
     --help | -h )
         echo "$USAGE"
         exit 1
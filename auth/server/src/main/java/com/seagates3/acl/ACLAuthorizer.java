@@ -34,7 +34,6 @@ import com.seagates3.exception.DataAccessException;
 import com.seagates3.exception.GrantListFullException;
 import com.seagates3.model.Requestor;
 import com.seagates3.util.ACLPermissionUtil;
-import com.seagates3.util.BinaryUtil;
 
 import io.netty.handler.codec.http.HttpMethod;
 
@@ -71,7 +70,7 @@ class ACLAuthorizer {
     }
 
     AccessControlPolicy acp =
-        new AccessControlPolicy(BinaryUtil.base64DecodeString(encodedACL));
+        AccessControlPolicyCache.getInstance().get(encodedACL);
     String method = requestBody.get("Method");
     if (method == null || method.isEmpty()) {
       String ex = "Invalid HTTP method: " + method;
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.acl;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.dao.DAODispatcher;
+import com.seagates3.dao.DAOResource;
+import com.seagates3.dao.GroupDAO;
+import com.seagates3.exception.DataAccessException;
+import com.seagates3.model.Account;
+import com.seagates3.service.GlobalDataStore;
+
+/**
+ * Grants of an ACL indexed by grantee, with the permissions of each grantee
+ * folded into a bit mask.
+ *
+ * A permission check costs a few hash lookups regardless of the number of
+ * grants. User defined groups are looked up only when no cheaper grantee
+ * grants the permission, at most once per group URI and check, and the
+ * result is kept in the group cache of GlobalDataStore.
+ *
+ * Permissions outside the S3 schema are never granted, except by
+ * FULL_CONTROL.
+ */
+final class ACLEvaluator {
+
+  static final int READ = 1;
+  static final int WRITE = 1 << 1;
+  static final int READ_ACP = 1 << 2;
+  static final int WRITE_ACP = 1 << 3;
+  static final int UNKNOWN = 1 << 4;
+  static final int FULL_CONTROL = READ | WRITE | READ_ACP | WRITE_ACP | UNKNOWN;
+
+ private
+  static final String AUTHENTICATED_USERS_GROUP_URI =
+      "http://acs.amazonaws.com/groups/global/AuthenticatedUsers";
+ private
+  static final String ALL_USERS_GROUP_URI =
+      "http://acs.amazonaws.com/groups/global/AllUsers";
+
+ private
+  final Map<String, Integer> canonicalIdPermissions = new HashMap<>();
+ private
+  final Map<String, Integer> emailPermissions = new HashMap<>();
+  // User defined groups keyed on their path, in grant order.
+ private
+  final Map<String, Integer> groupPermissions = new LinkedHashMap<>();
+ private
+  int allUsersPermissions;
+ private
+  int authenticatedUsersPermissions;
+
+  ACLEvaluator(List<Grant> grants) {
+    for (Grant grant : grants) {
+      int permissions = getPermissionMask(grant.getPermission());
+      if (permissions == UNKNOWN) {
+        continue;
+      }
+      Grantee grantee = grant.grantee;
+      add(canonicalIdPermissions, grantee.canonicalId, permissions);
+      add(emailPermissions, grantee.emailAddress, permissions);
+      if (ALL_USERS_GROUP_URI.equals(grantee.uri)) {
+        allUsersPermissions |= permissions;
+      } else if (AUTHENTICATED_USERS_GROUP_URI.equals(grantee.uri)) {
+        authenticatedUsersPermissions |= permissions;
+      } else {
+        add(groupPermissions, grantee.uri, permissions);
+      }
+    }
+  }
+
+  /**
+   * @return bit mask of the permission name. Unknown names map to UNKNOWN,
+   * which only FULL_CONTROL includes.
+   */
+  static int getPermissionMask(String permission) {
+    if (permission == null) {
+      return UNKNOWN;
+    }
+    switch (permission) {
+      case "READ":
+        return READ;
+      case "WRITE":
+        return WRITE;
+      case "READ_ACP":
+        return READ_ACP;
+      case "WRITE_ACP":
+        return WRITE_ACP;
+      case "FULL_CONTROL":
+        return FULL_CONTROL;
+      default:
+        return UNKNOWN;
+    }
+  }
+
+  /**
+   * @param account requesting account or null for anonymous requests.
+   * @param requiredPermission bit mask of the permission to check.
+   * @param isUserAuthenticated true if grants to AuthenticatedUsers apply.
+   * @return true if a grant of the ACL gives the permission to the account.
+   */
+  boolean isGranted(Account account, int requiredPermission,
+                    boolean isUserAuthenticated) throws DataAccessException {
+    if ((allUsersPermissions & requiredPermission) != 0) {
+      return true;
+    }
+    if (account == null) {
+      return false;
+    }
+    if (isUserAuthenticated &&
+        (authenticatedUsersPermissions & requiredPermission) != 0) {
+      return true;
+    }
+    if (hasPermission(canonicalIdPermissions, account.getCanonicalId(),
+                      requiredPermission) ||
+        hasPermission(emailPermissions, account.getEmail(),
+                      requiredPermission)) {
+      return true;
+    }
+
+    for (Map.Entry<String, Integer> group : groupPermissions.entrySet()) {
+      if ((group.getValue() & requiredPermission) != 0 &&
+          isGroupMember(account, group.getKey())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+ private
+  static void add(Map<String, Integer> index, String key, int permissions) {
+    if (key == null) {
+      return;
+    }
+    Integer existing = index.get(key);
+    index.put(key, existing == null ? permissions : existing | permissions);
+  }
+
+ private
+  static boolean hasPermission(Map<String, Integer> index, String key,
+                               int requiredPermission) {
+    if (key == null) {
+      return false;
+    }
+    Integer permissions = index.get(key);
+    return permissions != null && (permissions & requiredPermission) != 0;
+  }
+
+  /**
+   * @return true if the account owns a group with the path.
+   */
+ private
+  static boolean isGroupMember(Account account, String path)
+      throws DataAccessException {
+    // As for authentication, a cacheTimeout of 0 disables caching.
+    boolean cacheEnabled = AuthServerConfig.getGroupCacheMaxEntries() != 0 &&
+                           AuthServerConfig.getCacheTimeout() != 0;
+    if (cacheEnabled) {
+      Boolean exists = GlobalDataStore.getInstance().getFromGroupMap(
+          account.getName(), path);
+      if (exists != null) {
+        return exists;
+      }
+    }
+
+    GroupDAO groupDAO =
+        (GroupDAO)DAODispatcher.getResourceDAO(DAOResource.GROUP);
+    boolean exists = groupDAO.findByPathAndAccount(account, path).exists();
+    if (cacheEnabled) {
+      GlobalDataStore.getInstance().addToGroupMap(account.getName(), path,
+                                                  exists);
+    }
+    return exists;
+  }
+}
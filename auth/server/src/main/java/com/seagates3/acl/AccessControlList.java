@@ -46,19 +46,22 @@ import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
 
 import com.seagates3.authserver.AuthServerConfig;
-import com.seagates3.dao.ldap.GroupImpl;
 import com.seagates3.exception.BadRequestException;
 import com.seagates3.exception.DataAccessException;
 import com.seagates3.exception.GrantListFullException;
 import com.seagates3.model.Account;
 import com.seagates3.policy.PolicyAuthorizedS3Actions;
-import com.seagates3.util.BinaryUtil;
 
 public
 class AccessControlList {
 
  private
   ArrayList<Grant> grantList = new ArrayList<Grant>();
+ private
+  boolean readOnly;
+  // Index of grantList, built on first use and dropped on every change.
+ private
+  volatile ACLEvaluator evaluator;
  private
   final Logger LOGGER =
       LoggerFactory.getLogger(AccessControlList.class.getName());
@@ -74,9 +77,11 @@ class AccessControlList {
    * @throws GrantListFullException
    */
   void addGrant(Grant grant) throws GrantListFullException {
+    checkWritable();
 
     if (grantList.size() < AuthServerConfig.MAX_GRANT_SIZE) {
       grantList.add(grant);
+      evaluator = null;
     } else {
       LOGGER.warn("Attempting to add Grant more than 100. Rejected");
       throw new GrantListFullException("Addition of Grant to ACL failed as " +
@@ -87,7 +92,33 @@ class AccessControlList {
   /**
    * Clear the grantList
    */
-  void clearGrantList() { grantList.clear(); }
+  void clearGrantList() {
+    checkWritable();
+    grantList.clear();
+    evaluator = null;
+  }
+
+ private
+  ACLEvaluator getEvaluator() {
+    ACLEvaluator current = evaluator;
+    if (current == null) {
+      current = new ACLEvaluator(grantList);
+      evaluator = current;
+    }
+    return current;
+  }
+
+  /**
+   * Reject any further change of the grant list.
+   */
+  void makeReadOnly() { readOnly = true; }
+
+ private
+  void checkWritable() {
+    if (readOnly) {
+      throw new UnsupportedOperationException("AccessControlList is read only");
+    }
+  }
 
   void setGrant(Grant grant) {}
 
@@ -134,38 +165,10 @@ class AccessControlList {
         }
       }
     }
-      if (!isPermissionAvailable) {
-      for (int counter = 0; counter < this.getGrantList().size(); counter++) {
-        Grant grantRecord = this.getGrantList().get(counter);
-        GroupImpl groupImpl = new GroupImpl();
-        String canonicalId = grantRecord.grantee.canonicalId;
-        String emailId = grantRecord.grantee.emailAddress;
-        String uri = grantRecord.grantee.uri;
-
-        Grant grant = this.getGrantList().get(counter);
-
-        if (account != null) {
-          if ((canonicalId != null &&
-               canonicalId.equals(account.getCanonicalId())) ||
-              (emailId != null && emailId.equals(account.getEmail())) ||
-              (uri != null &&
-               groupImpl.findByPathAndAccount(account, uri).exists()) ||
-              (isUserAuthenticated &&
-               groupImpl.isPartOfAuthenticatedUsersGroup(uri)) ||
-              (groupImpl.isPartOfAllUsersGroup(uri))) {
-            if (hasPermission(grant, requiredPermission)) {
-              isPermissionAvailable = true;
-              break;
-            }
-          }
-
-        } else if (groupImpl.isPartOfAllUsersGroup(uri)) {
-          if (hasPermission(grant, requiredPermission)) {
-            isPermissionAvailable = true;
-            break;
-          }
-        }
-      }
+    if (!isPermissionAvailable) {
+      isPermissionAvailable = getEvaluator().isGranted(
+          account, ACLEvaluator.getPermissionMask(requiredPermission),
+          isUserAuthenticated);
     }
     return isPermissionAvailable;
   }
@@ -205,7 +208,7 @@ class AccessControlList {
         throw new BadRequestException(ex);
       }
       AccessControlPolicy acp =
-          new AccessControlPolicy(BinaryUtil.base64DecodeString(encodedACL));
+          AccessControlPolicyCache.getInstance().get(encodedACL);
       owner = acp.getOwner().getCanonicalId();
     }
     catch (ParserConfigurationException | SAXException | IOException |
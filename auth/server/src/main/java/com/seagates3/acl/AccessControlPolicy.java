@@ -19,12 +19,15 @@
  */
 
 package com.seagates3.acl;
-import java.io.*;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -48,108 +51,66 @@ class AccessControlPolicy {
 
  private
   Document doc;
+  // Source of the policy, parsed into doc only when getXml is called.
+ private
+  String xmlString;
+ private
+  File xmlFile;
   Owner owner;
   AccessControlList accessControlList;
+ private
+  boolean readOnly;
 
+  /**
+   * Parse the policy from an XML file.
+   */
  public
   AccessControlPolicy(File xmlFile) throws ParserConfigurationException,
       SAXException, IOException, GrantListFullException {
 
-    DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-    DocumentBuilder dBuilder;
-    dBuilder = dbFactory.newDocumentBuilder();
-    doc = dBuilder.parse(xmlFile);
-    doc.getDocumentElement().normalize();
-    loadXml(doc);
+    this.xmlFile = xmlFile;
+    try (InputStream in =
+             new BufferedInputStream(new FileInputStream(xmlFile))) {
+      AccessControlPolicyParser.parse(in, this);
+    }
   }
 
+  /**
+   * Parse the policy from an XML string.
+   */
  public
   AccessControlPolicy(String xmlString) throws ParserConfigurationException,
       SAXException, IOException, GrantListFullException {
 
-    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-    factory.setIgnoringComments(true);
-    DocumentBuilder builder = null;
-    builder = factory.newDocumentBuilder();
-    doc = builder.parse(new InputSource(new StringReader(xmlString)));
-    loadXml(doc);
+    this.xmlString = xmlString;
+    AccessControlPolicyParser.parse(new StringReader(xmlString), this);
   }
 
-  // Load ACL elements from XML doc.
- private
-  void loadXml(Document doc) throws GrantListFullException {
-
-    Owner owner = new Owner("", "");
-    NodeList ownerNodes = doc.getElementsByTagName("Owner");
-    Node firstOwnerNode = ownerNodes.item(0);
-    Element firstOwnerElement = (Element)firstOwnerNode;
-    Node ownerId = firstOwnerElement.getElementsByTagName("ID").item(0);
-    owner.setCanonicalId(ownerId.getTextContent());
-    Node ownerDisplayName =
-        firstOwnerElement.getElementsByTagName("DisplayName").item(0);
-    if (ownerDisplayName != null) {
-    owner.setDisplayName(ownerDisplayName.getTextContent());
-    } else {
-
-      owner.setDisplayName(null);
-    }
-    this.owner = owner;
-    AccessControlList accessControlList = new AccessControlList();
-    NodeList accessContolListNodes =
-        doc.getElementsByTagName("AccessControlList");
-    Node firstAccessControlListnode = accessContolListNodes.item(0);
-    Element firstAccessControlListElement = (Element)firstAccessControlListnode;
-    NodeList Grant =
-        firstAccessControlListElement.getElementsByTagName("Grant");
-
-    // Iterates over GrantList
-    for (int counter = 0; counter < Grant.getLength(); counter++) {
-
-      Node grantitem = Grant.item(counter);
-
-      Element grantitemelement = (Element)grantitem;
+  /**
+   * Freeze the policy so that it can be shared between requests. The parsed
+   * document is released, so a read only policy can not be serialized back
+   * with getXml.
+   */
+  void makeReadOnly() {
+    readOnly = true;
+    accessControlList.makeReadOnly();
+    doc = null;
+    xmlString = null;
+    xmlFile = null;
+  }
 
-      Grantee grantee = null;
+  boolean isReadOnly() { return readOnly; }
 
-      Node granteeNode =
-          grantitemelement.getElementsByTagName("Grantee").item(0);
-      Element granteeElement = (Element)granteeNode;
-      String type = granteeElement.getAttribute("xsi:type");
-      grantee = new Grantee("", "");
-
-      if (Grantee.Types.CanonicalUser.toString().equals(type)) {
-        Node granteeId = grantitemelement.getElementsByTagName("ID").item(0);
-
-        grantee.setCanonicalId(granteeId.getTextContent());
-
-        Node granteeDisplayname =
-            grantitemelement.getElementsByTagName("DisplayName").item(0);
-
-        if (granteeDisplayname != null) {
-          grantee.setDisplayName(granteeDisplayname.getTextContent());
-        } else {
-
-          grantee.setDisplayName(null);
-        }
-      } else if (Grantee.Types.Group.toString().equals(type)) {
-        Node granteeUri = grantitemelement.getElementsByTagName("URI").item(0);
-        grantee = new Grantee(null, null, granteeUri.getTextContent(), null,
-                              Grantee.Types.Group);
-      } else if (Grantee.Types.AmazonCustomerByEmail.toString().equals(type)) {
-        Node granteeEmail =
-            grantitemelement.getElementsByTagName("EmailAddress").item(0);
-        grantee = new Grantee(null, null, null, granteeEmail.getTextContent(),
-                              Grantee.Types.AmazonCustomerByEmail);
-      }
-      Node permission =
-          grantitemelement.getElementsByTagName("Permission").item(0);
-      Grant grant = new Grant(grantee, permission.getTextContent());
-      accessControlList.addGrant(grant);
+ private
+  void checkWritable() {
+    if (readOnly) {
+      throw new UnsupportedOperationException(
+          "AccessControlPolicy is read only");
     }
-    this.accessControlList = accessControlList;
   }
 
   void setOwner(Owner newOwner) {
+    checkWritable();
     owner.canonicalId = newOwner.getCanonicalId();
     owner.displayName = newOwner.getDisplayName();
   }
@@ -160,6 +121,7 @@ class AccessControlPolicy {
 
   void setAccessControlList(AccessControlList acl)
       throws GrantListFullException {
+    checkWritable();
     this.accessControlList.clearGrantList();
     for (int counter = 0; counter < acl.getGrantList().size(); counter++) {
       this.accessControlList.addGrant(acl.getGrantList().get(counter));
@@ -174,6 +136,7 @@ class AccessControlPolicy {
  public
   void initDefaultACL(String canonicalId,
                       String name) throws GrantListFullException {
+    checkWritable();
     owner = new Owner(canonicalId, name);
     accessControlList = new AccessControlList();
     Grantee grantee = new Grantee(canonicalId, name);
@@ -184,6 +147,10 @@ class AccessControlPolicy {
   // Returns ACL XML in string buffer.
  public
   String getXml() throws TransformerException {
+    checkWritable();
+    if (doc == null) {
+      doc = loadDocument();
+    }
     TransformerFactory tf = TransformerFactory.newInstance();
     Transformer transformer;
     transformer = tf.newTransformer();
@@ -194,6 +161,23 @@ class AccessControlPolicy {
     return xml;
   }
 
+ private
+  Document loadDocument() throws TransformerException {
+    try {
+      if (xmlFile != null) {
+        Document document = AccessControlPolicyParser.parseDocument(
+            new InputSource(xmlFile.toURI().toASCIIString()), false);
+        document.getDocumentElement().normalize();
+        return document;
+      }
+      return AccessControlPolicyParser.parseDocument(
+          new InputSource(new StringReader(xmlString)), true);
+    }
+    catch (ParserConfigurationException | SAXException | IOException e) {
+      throw new TransformerException("Failed to load ACL XML", e);
+    }
+  }
+
  private
   void flushXmlValues() {
     NodeList ownerNodes = doc.getElementsByTagName("Owner");
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.acl;
+
+import java.io.IOException;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.xml.sax.SAXException;
+
+import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.cache.AuthCache;
+import com.seagates3.cache.ContentHashCache;
+import com.seagates3.exception.GrantListFullException;
+import com.seagates3.util.BinaryUtil;
+
+/**
+ * Parsed, read only AccessControlPolicy objects keyed on the base64 encoded
+ * ACL sent by S3 server.
+ *
+ * A single authorization request consults its Auth-ACL several times (owner
+ * lookup, bucket policy, ACL check, once per S3 action), so the policies are
+ * kept in a ContentHashCache, which remembers the last ACL of each thread
+ * before its shared LRU cache.
+ *
+ * Policies handed out are shared and must not be modified; their mutators
+ * throw UnsupportedOperationException. Code which edits an ACL parses its
+ * own copy with new AccessControlPolicy.
+ *
+ * Setting aclCacheMaxEntries to 0 disables the shared cache; the per thread
+ * memo of the last ACL is always used.
+ */
+public
+class AccessControlPolicyCache {
+
+ private
+  static volatile AccessControlPolicyCache instance;
+
+ private
+  final ContentHashCache<AccessControlPolicy> policies;
+
+ private
+  AccessControlPolicyCache(int maxEntries) {
+    policies = new ContentHashCache<AccessControlPolicy>("acl", maxEntries);
+  }
+
+ public
+  static AccessControlPolicyCache getInstance() {
+    if (instance == null) {
+      synchronized(AccessControlPolicyCache.class) {
+        if (instance == null) {
+          instance = new AccessControlPolicyCache(
+              AuthServerConfig.getAclCacheMaxEntries());
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Drop the current instance so that the next getInstance picks up the
+   * configured cache size again.
+   */
+  static synchronized void reset() { instance = null; }
+
+  /**
+   * @return read only policy parsed from the base64 encoded ACL.
+   */
+ public
+  AccessControlPolicy get(String encodedAcl)
+      throws ParserConfigurationException,
+      SAXException, IOException, GrantListFullException {
+    AccessControlPolicy policy = policies.get(encodedAcl);
+    if (policy == null) {
+      policy =
+          new AccessControlPolicy(BinaryUtil.base64DecodeString(encodedAcl));
+      policy.makeReadOnly();
+      policies.put(encodedAcl, policy);
+    }
+    return policy;
+  }
+
+  /**
+   * @return cache of parsed policies or null if it is disabled.
+   */
+ public
+  AuthCache<String, AccessControlPolicy> getPolicyCache() {
+    return policies.getSharedCache();
+  }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.acl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import com.seagates3.exception.GrantListFullException;
+
+/**
+ * Single pass StAX reader of AccessControlPolicy XML.
+ *
+ * Element lookup follows the DOM code it replaces: the owner is read from the
+ * first Owner element of the document, grants from the Grant elements below
+ * the first AccessControlList, and every field is the text content of the
+ * first element of that name below its Owner or Grant. Names are matched on
+ * the qualified name, without namespace processing.
+ *
+ * The factories are configured once, refuse documents with a DOCTYPE and
+ * never resolve external entities.
+ */
+final class AccessControlPolicyParser {
+
+ private
+  static final String[] OWNER_FIELDS = {"ID", "DisplayName"};
+ private
+  static final int OWNER_ID = 0;
+ private
+  static final int OWNER_DISPLAY_NAME = 1;
+
+ private
+  static final String[] GRANT_FIELDS = {"Grantee", "ID", "DisplayName", "URI",
+                                        "EmailAddress", "Permission"};
+ private
+  static final int GRANTEE = 0;
+ private
+  static final int GRANTEE_ID = 1;
+ private
+  static final int GRANTEE_DISPLAY_NAME = 2;
+ private
+  static final int GRANTEE_URI = 3;
+ private
+  static final int GRANTEE_EMAIL = 4;
+ private
+  static final int PERMISSION = 5;
+
+ private
+  static final XMLInputFactory INPUT_FACTORY = newInputFactory();
+
+ private
+  static DocumentBuilderFactory documentBuilderFactory;
+
+ private
+  AccessControlPolicyParser() {}
+
+  /**
+   * Element whose first descendants of the given names are collected.
+   */
+ private
+  static final class Scope {
+    final int depth;
+    final String[] names;
+    final StringBuilder[] text;
+    // 0 until the field is found, then its depth until it ends, then -1.
+    final int[] fieldDepth;
+    String granteeType = "";
+
+    Scope(int depth, String[] names) {
+      this.depth = depth;
+      this.names = names;
+      this.text = new StringBuilder[names.length];
+      this.fieldDepth = new int[names.length];
+    }
+
+    boolean has(int field) { return text[field] != null; }
+
+    String get(int field) {
+      return text[field] != null ? text[field].toString() : null;
+    }
+  }
+
+ private
+  static XMLInputFactory newInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+                        Boolean.FALSE);
+    if (factory.isPropertySupported(XMLInputFactory.IS_NAMESPACE_AWARE)) {
+      factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+    }
+    return factory;
+  }
+
+  /**
+   * Read the owner and grants of the policy from the XML string.
+   */
+  static void parse(Reader xml, AccessControlPolicy acp)
+      throws SAXException,
+      GrantListFullException {
+    XMLStreamReader reader;
+    try {
+      reader = INPUT_FACTORY.createXMLStreamReader(xml);
+    }
+    catch (XMLStreamException e) {
+      throw new SAXException(e.getMessage(), e);
+    }
+    parse(reader, acp);
+  }
+
+  /**
+   * Read the owner and grants of the policy from the XML stream. The
+   * encoding is taken from the XML declaration.
+   */
+  static void parse(InputStream xml, AccessControlPolicy acp)
+      throws SAXException,
+      GrantListFullException {
+    XMLStreamReader reader;
+    try {
+      reader = INPUT_FACTORY.createXMLStreamReader(xml);
+    }
+    catch (XMLStreamException e) {
+      throw new SAXException(e.getMessage(), e);
+    }
+    parse(reader, acp);
+  }
+
+ private
+  static void parse(XMLStreamReader reader, AccessControlPolicy acp)
+      throws SAXException,
+      GrantListFullException {
+    Scope owner = null;
+    List<Scope> grants = new ArrayList<>();
+    List<Scope> open = new ArrayList<>();
+    int depth = 0;
+    int aclDepth = 0;
+    boolean aclFound = false;
+
+    try {
+      while (reader.hasNext()) {
+        switch (reader.next()) {
+          case XMLStreamConstants.START_ELEMENT: {
+            depth++;
+            String name = qualifiedName(reader.getPrefix(),
+                                        reader.getLocalName());
+            for (int i = 0; i < open.size(); i++) {
+              startField(open.get(i), name, depth, reader);
+            }
+            if (owner == null && "Owner".equals(name)) {
+              owner = new Scope(depth, OWNER_FIELDS);
+              open.add(owner);
+            } else if (!aclFound && "AccessControlList".equals(name)) {
+              aclFound = true;
+              aclDepth = depth;
+            } else if (aclDepth > 0 && "Grant".equals(name)) {
+              Scope grant = new Scope(depth, GRANT_FIELDS);
+              grants.add(grant);
+              open.add(grant);
+            }
+            break;
+          }
+          case XMLStreamConstants.CHARACTERS:
+          case XMLStreamConstants.CDATA:
+          case XMLStreamConstants.SPACE:
+            for (int i = 0; i < open.size(); i++) {
+              appendText(open.get(i), reader);
+            }
+            break;
+          case XMLStreamConstants.END_ELEMENT:
+            for (int i = open.size() - 1; i >= 0; i--) {
+              Scope scope = open.get(i);
+              if (scope.depth == depth) {
+                open.remove(i);
+              } else {
+                endField(scope, depth);
+              }
+            }
+            if (aclDepth == depth) {
+              aclDepth = 0;
+            }
+            depth--;
+            break;
+          case XMLStreamConstants.DTD:
+            throw new SAXException("DOCTYPE is not allowed in ACL");
+          default:
+            break;
+        }
+      }
+    }
+    catch (XMLStreamException e) {
+      throw new SAXException(e.getMessage(), e);
+    }
+    finally {
+      try {
+        reader.close();
+      }
+      catch (XMLStreamException e) {
+      }
+    }
+
+    if (owner == null || !owner.has(OWNER_ID)) {
+      throw new SAXException("Owner ID is missing in ACL");
+    }
+    if (!aclFound) {
+      throw new SAXException("AccessControlList is missing in ACL");
+    }
+    acp.owner = new Owner(owner.get(OWNER_ID), owner.get(OWNER_DISPLAY_NAME));
+    acp.accessControlList = new AccessControlList();
+    for (Scope grant : grants) {
+      acp.accessControlList.addGrant(toGrant(grant));
+    }
+  }
+
+ private
+  static Grant toGrant(Scope grant) throws SAXException {
+    if (!grant.has(GRANTEE)) {
+      throw new SAXException("Grantee is missing in ACL grant");
+    }
+    Grantee grantee = new Grantee("", "");
+    String type = grant.granteeType;
+    if (Grantee.Types.CanonicalUser.toString().equals(type)) {
+      grantee.setCanonicalId(required(grant, GRANTEE_ID));
+      grantee.setDisplayName(grant.get(GRANTEE_DISPLAY_NAME));
+    } else if (Grantee.Types.Group.toString().equals(type)) {
+      grantee = new Grantee(null, null, required(grant, GRANTEE_URI), null,
+                            Grantee.Types.Group);
+    } else if (Grantee.Types.AmazonCustomerByEmail.toString().equals(type)) {
+      grantee = new Grantee(null, null, null, required(grant, GRANTEE_EMAIL),
+                            Grantee.Types.AmazonCustomerByEmail);
+    }
+    return new Grant(grantee, required(grant, PERMISSION));
+  }
+
+ private
+  static String required(Scope grant, int field) throws SAXException {
+    String value = grant.get(field);
+    if (value == null) {
+      throw new SAXException(grant.names[field] + " is missing in ACL grant");
+    }
+    return value;
+  }
+
+ private
+  static void startField(Scope scope, String name, int depth,
+                         XMLStreamReader reader) {
+    for (int i = 0; i < scope.names.length; i++) {
+      if (scope.fieldDepth[i] == 0 && scope.names[i].equals(name)) {
+        scope.fieldDepth[i] = depth;
+        scope.text[i] = new StringBuilder();
+        if (scope.names == GRANT_FIELDS && i == GRANTEE) {
+          scope.granteeType = getGranteeType(reader);
+        }
+      }
+    }
+  }
+
+ private
+  static void appendText(Scope scope, XMLStreamReader reader) {
+    for (int i = 0; i < scope.names.length; i++) {
+      if (scope.fieldDepth[i] > 0) {
+        scope.text[i].append(reader.getTextCharacters(),
+                             reader.getTextStart(), reader.getTextLength());
+      }
+    }
+  }
+
+ private
+  static void endField(Scope scope, int depth) {
+    for (int i = 0; i < scope.names.length; i++) {
+      if (scope.fieldDepth[i] == depth) {
+        scope.fieldDepth[i] = -1;
+      }
+    }
+  }
+
+ private
+  static String getGranteeType(XMLStreamReader reader) {
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      if ("xsi:type".equals(qualifiedName(reader.getAttributePrefix(i),
+                                          reader.getAttributeLocalName(i)))) {
+        return reader.getAttributeValue(i);
+      }
+    }
+    return "";
+  }
+
+ private
+  static String qualifiedName(String prefix, String localName) {
+    return prefix == null || prefix.isEmpty() ? localName
+                                              : prefix + ":" + localName;
+  }
+
+  /**
+   * Build the DOM of the policy, needed only to serialize a modified policy.
+   */
+  static Document parseDocument(InputSource source, boolean ignoringComments)
+      throws ParserConfigurationException,
+      SAXException, IOException {
+    DocumentBuilder builder;
+    synchronized(AccessControlPolicyParser.class) {
+      if (documentBuilderFactory == null) {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature(
+            "http://apache.org/xml/features/disallow-doctype-decl", true);
+        factory.setXIncludeAware(false);
+        factory.setExpandEntityReferences(false);
+        documentBuilderFactory = factory;
+      }
+      documentBuilderFactory.setIgnoringComments(ignoringComments);
+      builder = documentBuilderFactory.newDocumentBuilder();
+    }
+    return builder.parse(source);
+  }
+}
@@ -20,17 +20,16 @@
 
 package com.seagates3.authentication;
 
+import com.seagates3.authserver.AuthServerConfig;
 import com.seagates3.exception.InvalidTokenException;
 import com.seagates3.model.Requestor;
+import com.seagates3.model.SigningKey;
+import com.seagates3.service.GlobalDataStore;
 
 import com.seagates3.util.BinaryUtil;
 import java.io.UnsupportedEncodingException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.net.URLEncoder;
-import java.util.Iterator;
 import java.util.Map;
-import java.util.TreeMap;
 
 import com.seagates3.util.IEMUtil;
 import org.slf4j.Logger;
@@ -44,6 +43,12 @@ public class AWSV4Sign implements AWSSign {
     private final String STREAMING_AWS4_HMAC_SHA256_PAYLOAD
             = "STREAMING-AWS4-HMAC-SHA256-PAYLOAD";
 
+    /*
+     * Request parameter of the seed request of a chunked upload which asks
+     * for a chunk signature session.
+     */
+    private static final String CHUNK_SESSION_PARAM = "ChunkSession";
+
     /**
      * Return true if the signature is valid.
      *
@@ -86,13 +91,17 @@ public class AWSV4Sign implements AWSSign {
      */
     private Boolean verifySignature(ClientRequestToken clientRequestToken,
                        Requestor requestor) throws InvalidTokenException {
-        String canonicalRequest, stringToSign, signature;
+        String stringToSign, signature;
         byte[] signingKey;
 
-        canonicalRequest = createCanonicalRequest(clientRequestToken);
-        LOGGER.debug("Canonical request- " + canonicalRequest);
+        CanonicalRequestBuilder canonicalRequest
+                = createCanonicalRequest(clientRequestToken);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Canonical request- " + canonicalRequest);
+        }
 
-        stringToSign = createStringToSign(canonicalRequest, clientRequestToken);
+        stringToSign = createStringToSign(canonicalRequest.hexEncodedHash(),
+                clientRequestToken);
         LOGGER.debug("String to sign- " + stringToSign);
 
         String secretKey = requestor.getAccesskey().getSecretKey();
@@ -119,13 +128,16 @@ public class AWSV4Sign implements AWSSign {
     private Boolean verifyChunkedSeedSignature(
             ClientRequestToken clientRequestToken, Requestor requestor)
                                          throws InvalidTokenException {
-        String canonicalRequest, stringToSign, signature;
+        String stringToSign, signature;
         byte[] signingKey;
 
-        canonicalRequest = createCanonicalRequestChunkedSeed(clientRequestToken);
-        LOGGER.debug("Canonical request- " + canonicalRequest);
+        CanonicalRequestBuilder canonicalRequest
+                = createCanonicalRequestChunkedSeed(clientRequestToken);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Canonical request- " + canonicalRequest);
+        }
 
-        stringToSign = createStringToSign(canonicalRequest,
+        stringToSign = createStringToSign(canonicalRequest.hexEncodedHash(),
                 clientRequestToken);
         LOGGER.debug("String to sign- " + stringToSign);
 
@@ -137,9 +149,24 @@ public class AWSV4Sign implements AWSSign {
         LOGGER.debug("Request signature- " + clientRequestToken.getSignature());
         LOGGER.debug("Calculated signature- " + signature);
 
-        return (signature != null)
-                   ? signature.equals(clientRequestToken.getSignature())
-                   : false;
+        if (signature == null
+                || !signature.equals(clientRequestToken.getSignature())) {
+            return false;
+        }
+
+        if (!"true".equalsIgnoreCase(clientRequestToken.getRequestHeaders()
+                .get(CHUNK_SESSION_PARAM))) {
+            return true;
+        }
+
+        // Let the chunks be verified in batches with the key of this request.
+        ChunkSignatureSession session = new ChunkSignatureSession(signingKey,
+                clientRequestToken.getRequestHeaders().get("x-amz-date"),
+                clientRequestToken.getCredentialScope(), signature);
+        clientRequestToken.setChunkSessionId(GlobalDataStore.getInstance()
+                .addToChunkSessionMap(clientRequestToken.getAccessKeyId(),
+                        session));
+        return true;
     }
 
     /**
@@ -180,31 +207,12 @@ public class AWSV4Sign implements AWSSign {
      * HexEncode(Hash(RequestPayload))
       * @throws InvalidTokenException
      */
-    private String createCanonicalRequest(
+    private CanonicalRequestBuilder createCanonicalRequest(
             ClientRequestToken clientRequestToken)
                     throws InvalidTokenException {
-        String httpMethod, canonicalURI, canonicalQuery, canonicalHeader,
-                hashedPayload, canonicalRequest;
-
-        httpMethod = clientRequestToken.getHttpMethod();
-        canonicalURI = clientRequestToken.getUri();
-        /**
-         * getCanonicalQuery is not required for s3cmd as query field in
-         * clientRequestToken is already encoded from s3server.
-         * If required in other CLI's query field needs to be URL-encoded
-         * in getCanonicalQuery.
-         */
-        canonicalQuery = getCanonicalQuery(clientRequestToken.getQuery());
-        canonicalHeader = createCanonicalHeader(clientRequestToken);
-        hashedPayload = createHashedPayload(clientRequestToken);
-
-        canonicalRequest = String.format("%s\n%s\n%s\n%s\n%s\n%s",
-                httpMethod,
-                canonicalURI,
-                canonicalQuery,
-                canonicalHeader,
-                clientRequestToken.getSignedHeaders(),
-                hashedPayload);
+        CanonicalRequestBuilder canonicalRequest
+                = appendCanonicalRequestPrefix(clientRequestToken);
+        canonicalRequest.append(createHashedPayload(clientRequestToken));
 
         return canonicalRequest;
     }
@@ -220,24 +228,43 @@ public class AWSV4Sign implements AWSSign {
      * @return
      * @throws InvalidTokenException
      */
-    private String createCanonicalRequestChunkedSeed(
+    private CanonicalRequestBuilder createCanonicalRequestChunkedSeed(
             ClientRequestToken clientRequestToken)
                         throws InvalidTokenException {
-        String httpMethod, canonicalURI, canonicalQuery, canonicalHeader,
-                canonicalRequest;
-
-        httpMethod = clientRequestToken.getHttpMethod();
-        canonicalURI = clientRequestToken.getUri();
-        canonicalQuery = getCanonicalQuery(clientRequestToken.getQuery());
-        canonicalHeader = createCanonicalHeader(clientRequestToken);
-
-        canonicalRequest = String.format("%s\n%s\n%s\n%s\n%s\n%s",
-                httpMethod,
-                canonicalURI,
-                canonicalQuery,
-                canonicalHeader,
-                clientRequestToken.getSignedHeaders(),
-                STREAMING_AWS4_HMAC_SHA256_PAYLOAD);
+        CanonicalRequestBuilder canonicalRequest
+                = appendCanonicalRequestPrefix(clientRequestToken);
+        canonicalRequest.append(STREAMING_AWS4_HMAC_SHA256_PAYLOAD);
+
+        return canonicalRequest;
+    }
+
+    /**
+     * Append every part of the canonical request but the hashed payload to
+     * the builder of this thread.
+     *
+     * The query is not URL-encoded again as the query field in
+     * clientRequestToken is already encoded by s3server. If required for
+     * other CLIs it needs to be URL-encoded in appendCanonicalQuery.
+     */
+    private CanonicalRequestBuilder appendCanonicalRequestPrefix(
+            ClientRequestToken clientRequestToken)
+                    throws InvalidTokenException {
+        CanonicalRequestBuilder canonicalRequest = CanonicalRequestBuilder.get();
+
+        canonicalRequest.append(clientRequestToken.getHttpMethod()).append('\n')
+                .append(clientRequestToken.getUri()).append('\n')
+                .appendCanonicalQuery(clientRequestToken.getQuery())
+                .append('\n');
+        try {
+            canonicalRequest.appendCanonicalHeaders(
+                    clientRequestToken.getSignedHeaders(),
+                    clientRequestToken.getRequestHeaders());
+        } catch (InvalidTokenException ex) {
+            LOGGER.error(ex.getMessage());
+            throw ex;
+        }
+        canonicalRequest.append('\n')
+                .append(clientRequestToken.getSignedHeaders()).append('\n');
 
         return canonicalRequest;
     }
@@ -274,29 +301,25 @@ public class AWSV4Sign implements AWSSign {
      * @return Hashed Payload
      */
     private String createHashedPayload(ClientRequestToken clientRequestToken) {
-        if (clientRequestToken.getRequestHeaders().get("x-amz-content-sha256") != null) {
-            return clientRequestToken.getRequestHeaders().get("x-amz-content-sha256");
-        } else {
-            String hashMethodName = AWSSign.AWSHashFunction.get(
-                    clientRequestToken.getSigningAlgorithm());
-            Method method;
-            String hashedPayload = "";
-            try {
-                method = BinaryUtil.class.getMethod(hashMethodName, byte[].class);
-                byte[] hashedText = (byte[]) method.invoke(null,
-                        clientRequestToken.getRequestPayload().getBytes());
-                hashedPayload = new String(BinaryUtil.encodeToHex(hashedText)).toLowerCase();
-            } catch (NoSuchMethodException | IllegalAccessException ex) {
-              LOGGER.error("Failed to invoke method.",
-                           String.format("\"cause\": \"%s\"", ex.getCause()));
-                LOGGER.error("Exception description: ", ex);
-            } catch (SecurityException | IllegalArgumentException |
-                    InvocationTargetException ex) {
-                LOGGER.error("Exception description: ", ex);
-            }
+        String contentSha256
+                = clientRequestToken.getRequestHeaders().get("x-amz-content-sha256");
+        if (contentSha256 != null) {
+            return contentSha256;
+        }
 
-            return hashedPayload;
+        String hashMethodName = AWSSign.AWSHashFunction.get(
+                clientRequestToken.getSigningAlgorithm());
+        if (!"hashSHA256".equals(hashMethodName)) {
+            LOGGER.error("Failed to invoke method.",
+                         String.format("\"cause\": \"%s\"",
+                                       "No hash function for algorithm "
+                                       + clientRequestToken.getSigningAlgorithm()));
+            return "";
         }
+
+        String hashedPayload = BinaryUtil.hexEncodedHash(
+                clientRequestToken.getRequestPayload().getBytes());
+        return (hashedPayload != null) ? hashedPayload : "";
     }
 
     /**
@@ -306,18 +329,16 @@ public class AWSV4Sign implements AWSSign {
      * Structure of String to sign- Algorithm + '\n' + RequestDate + '\n' +
      * CredentialScope + '\n' + HashedCanonicalRequest
      */
-    private String createStringToSign(String canonicalRequest,
+    private String createStringToSign(String hexEncodedCRHash,
             ClientRequestToken clientRequestToken) {
-        String stringToSign, requestDate, hexEncodedCRHash;
-
-        requestDate = clientRequestToken.getRequestHeaders().get("x-amz-date");
-        hexEncodedCRHash = BinaryUtil.hexEncodedHash(canonicalRequest);
-
-        stringToSign = String.format("%s\n%s\n%s\n%s",
-                clientRequestToken.getSigningAlgorithm(), requestDate,
-                clientRequestToken.getCredentialScope(), hexEncodedCRHash);
-
-        return stringToSign;
+        String requestDate
+                = clientRequestToken.getRequestHeaders().get("x-amz-date");
+
+        return new StringBuilder(160)
+                .append(clientRequestToken.getSigningAlgorithm()).append('\n')
+                .append(requestDate).append('\n')
+                .append(clientRequestToken.getCredentialScope()).append('\n')
+                .append(hexEncodedCRHash).toString();
     }
 
     /**
@@ -330,8 +351,7 @@ public class AWSV4Sign implements AWSSign {
     private String createStringToSignChunked(
             ClientRequestToken clientRequestToken) {
         String stringToSign, requestDate, prevSign, hashCurrentChunk;
-        String hashEmptyInput
-                = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+        String hashEmptyInput = ChunkSignatureSession.EMPTY_PAYLOAD_SHA256;
 
         requestDate = clientRequestToken.getRequestHeaders().get("x-amz-date");
         prevSign = clientRequestToken.getRequestHeaders()
@@ -365,6 +385,23 @@ public class AWSV4Sign implements AWSSign {
      */
     private byte[] deriveSigningKey(ClientRequestToken clientRequestToken,
             String secretKey) {
+        // The key only changes with the scope date, so reuse it across
+        // requests as long as the secret key is unchanged.
+        boolean cacheEnabled
+                = AuthServerConfig.getSigningKeyCacheMaxEntries() != 0;
+        String accessKeyId = clientRequestToken.getAccessKeyId();
+        String scope = clientRequestToken.getDate() + "/"
+                + clientRequestToken.getRegion() + "/"
+                + clientRequestToken.getService();
+
+        if (cacheEnabled) {
+            SigningKey cachedKey = GlobalDataStore.getInstance()
+                    .getFromSigningKeyMap(accessKeyId, scope);
+            if (cachedKey != null && cachedKey.getSecretKey().equals(secretKey)) {
+                return cachedKey.getKey();
+            }
+        }
+
         try {
             byte[] kSecret = ("AWS4" + secretKey).getBytes("UTF-8");
             byte[] kDate = BinaryUtil.hmacSHA256(kSecret,
@@ -378,6 +415,11 @@ public class AWSV4Sign implements AWSSign {
 
             byte[] kSigning = BinaryUtil.hmacSHA256(kService,
                     "aws4_request".getBytes("UTF-8"));
+
+            if (cacheEnabled && kSigning != null) {
+                GlobalDataStore.getInstance().addToSigningKeyMap(accessKeyId,
+                        scope, new SigningKey(secretKey, kSigning));
+            }
             return kSigning;
         } catch (UnsupportedEncodingException ex) {
           LOGGER.error("UTF-8 encoding is not supported.");
@@ -402,117 +444,4 @@ public class AWSV4Sign implements AWSSign {
 
         return null;
     }
-
-    /**
-     * The canonical headers consist of a list of all the HTTP headers are
-     * include as a part of the AWS request. Convert all header names to
-     * lowercase and trim excess blank space characters out of the header
-     * values.
-     *
-     * Canonical Header = CanonicalHeadersEntry0 + CanonicalHeadersEntry1 + ...
-     * + CanonicalHeadersEntryN
-     *
-     * CanonicalHeadersEntry = Lowercase(HeaderName) + ':' +
-     * Trimall(HeaderValue) + '\n'
-     * @throws InvalidTokenException
-     */
-    private String createCanonicalHeader(ClientRequestToken clientRequestToken)
-                                                 throws InvalidTokenException {
-       String headerValue = "";
-        String canonicalHeader = "";
-        Map<String, String> requestHeaders = clientRequestToken.getRequestHeaders();
-
-        for (String s : clientRequestToken.getSignedHeaders().split(";")) {
-
-            headerValue = requestHeaders.get(s);
-            if (headerValue == null) {
-
-              if (s.equalsIgnoreCase("connection")) {
-                canonicalHeader += "connection:Keep-Alive\n";
-              } else {
-
-                String errMsg = "Signed header :" + s +
-                                " is not found in Request header list";
-                LOGGER.error(errMsg);
-
-                throw new InvalidTokenException(errMsg);
-              }
-            } else {
-            headerValue = headerValue.trim();
-            if (s.equalsIgnoreCase("content-type")) {
-                /*
-                 * Strangely, the aws .net sdk doesn't send the content type.
-                 * Hence the content type is hard coded.
-                 */
-                if (headerValue.isEmpty()) {
-                  canonicalHeader += "content-type:\n";
-                } else {
-                    canonicalHeader += String.format("%s:%s\n", s, headerValue);
-                }
-            } else {
-                canonicalHeader += String.format("%s:%s\n", s, headerValue);
-            }
-            }
-        }
-
-        return canonicalHeader;
-    }
-
-    /**
-     * To construct the canonical query string, complete the following steps:
-     *
-     * 1. URI-encode each parameter name and value according to the following
-     * rules: a. Do not URL-encode any of the unreserved characters that RFC
-     * 3986 defines: A-Z, a-z, 0-9, hyphen ( - ), underscore ( _ ), period ( .
-     * ), and tilde ( ~ ). b. Percent-encode all other characters with %XY,
-     * where X and Y are hexadecimal characters (0-9 and uppercase A-F). For
-     * example, the space character must be encoded as %20 (not using '+', as
-     * some encoding schemes do) and extended UTF-8 characters must be in the
-     * form %XY%ZA%BC.
-     *
-     * 2. Sort the encoded parameter names by character code (that is, in strict
-     * ASCII order). For example, a parameter name that begins with the
-     * uppercase letter F (ASCII code 70) precedes a parameter name that begins
-     * with a lowercase letter b (ASCII code 98).
-     *
-     * 3. Build the canonical query string by starting with the first parameter
-     * name in the sorted list.
-     *
-     * 4. For each parameter, append the URI-encoded parameter name, followed by
-     * the character '=' (ASCII code 61), followed by the URI-encoded parameter
-     * value. Use an empty string for parameters that have no value.
-     *
-     * 5. Append the character '&' (ASCII code 38) after each parameter value
-     * except for the last value in the list.
-     */
-    private String getCanonicalQuery(String query) {
-        if (query == null || query.isEmpty()) {
-            return "";
-        }
-
-        Map<String, String> queryParams = new TreeMap<>();
-        String[] tokens = query.split("&");
-        for (String token : tokens) {
-            String[] subTokens = token.split("=");
-            if (subTokens.length == 2) {
-                queryParams.put(subTokens[0], subTokens[1]);
-            } else {
-                queryParams.put(subTokens[0], "");
-            }
-        }
-        String canonicalString = "";
-        Iterator<Map.Entry<String, String>> entries = queryParams.entrySet().iterator();
-        while (entries.hasNext()) {
-            Map.Entry<String, String> entry = entries.next();
-            // Values already url encoded by s3server
-            // so we can directly use it for verification.
-            canonicalString += entry.getKey() + "=";
-            canonicalString += entry.getValue();
-            if (entries.hasNext()) {
-                canonicalString += "&";
-            }
-        }
-
-        return canonicalString;
-    }
 }
@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import com.seagates3.exception.InvalidTokenException;
+import com.seagates3.util.BinaryUtil;
+
+/**
+ * Build the AWS V4 canonical request directly into a reusable UTF-8 byte
+ * buffer which is hashed in place.
+ *
+ * The output is identical to joining the parts with String.format, but no
+ * intermediate strings, split arrays or sorted maps are created per request.
+ * Instances are not thread safe, use get() to obtain the builder of the
+ * calling thread.
+ */
+final class CanonicalRequestBuilder {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /*
+     * Buffers grown beyond this size by a large request are not retained.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final int INITIAL_PARAMS = 16;
+
+    private static final ThreadLocal<CanonicalRequestBuilder> BUILDER =
+            new ThreadLocal<CanonicalRequestBuilder>() {
+                @Override
+                protected CanonicalRequestBuilder initialValue() {
+                    return new CanonicalRequestBuilder();
+                }
+            };
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+
+    /*
+     * Query parameters as offsets into the query string. Parameter i spans
+     * keyStart[i]..keyEnd[i] and valueStart[i]..valueEnd[i].
+     */
+    private int[] keyStart = new int[INITIAL_PARAMS];
+    private int[] keyEnd = new int[INITIAL_PARAMS];
+    private int[] valueStart = new int[INITIAL_PARAMS];
+    private int[] valueEnd = new int[INITIAL_PARAMS];
+    private int paramCount;
+
+    private CanonicalRequestBuilder() {
+    }
+
+    /**
+     * @return the empty builder of the calling thread.
+     */
+    static CanonicalRequestBuilder get() {
+        CanonicalRequestBuilder builder = BUILDER.get();
+        builder.reset();
+        return builder;
+    }
+
+    void reset() {
+        if (buffer.length > MAX_RETAINED_CAPACITY) {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+        length = 0;
+        paramCount = 0;
+    }
+
+    /**
+     * Append the text, "null" if it is null, as String.format does.
+     */
+    CanonicalRequestBuilder append(String text) {
+        if (text == null) {
+            return append("null");
+        }
+        return append(text, 0, text.length());
+    }
+
+    CanonicalRequestBuilder append(char c) {
+        if (c < 0x80) {
+            ensureCapacity(1);
+            buffer[length++] = (byte) c;
+            return this;
+        }
+        return append(String.valueOf(c));
+    }
+
+    /**
+     * UTF-8 encode the characters from start to end of the text. Unpaired
+     * surrogates are replaced by '?' like String.getBytes("UTF-8") does.
+     */
+    CanonicalRequestBuilder append(String text, int start, int end) {
+        ensureCapacity(end - start);
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else {
+                i = appendNonAscii(text, i, end);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Append the canonical headers, an entry "name:trimmed value\n" for each
+     * header in the ';' separated list of signed headers.
+     *
+     * @throws InvalidTokenException if a signed header is not in the request.
+     */
+    CanonicalRequestBuilder appendCanonicalHeaders(String signedHeaders,
+            Map<String, String> requestHeaders) throws InvalidTokenException {
+        int end = signedHeaders.length();
+        if (end == 0) {
+            return appendCanonicalHeader("", requestHeaders);
+        }
+
+        // Like String.split, ignore trailing empty names.
+        while (end > 0 && signedHeaders.charAt(end - 1) == ';') {
+            end--;
+        }
+        int start = 0;
+        while (start < end) {
+            int next = signedHeaders.indexOf(';', start);
+            if (next < 0 || next > end) {
+                next = end;
+            }
+            appendCanonicalHeader(signedHeaders.substring(start, next),
+                    requestHeaders);
+            start = next + 1;
+        }
+        return this;
+    }
+
+    /**
+     * Append the '&' separated query parameters sorted by name. Of parameters
+     * with the same name only the last one is kept. Values are already url
+     * encoded by s3server and are used as is.
+     *
+     * A parameter which does not split into exactly a name and a non empty
+     * value around '=' gets an empty value, matching the earlier
+     * String.split based implementation.
+     */
+    CanonicalRequestBuilder appendCanonicalQuery(String query) {
+        if (query == null || query.isEmpty()) {
+            return this;
+        }
+
+        int end = query.length();
+        while (end > 0 && query.charAt(end - 1) == '&') {
+            end--;
+        }
+        int start = 0;
+        while (start < end) {
+            int next = query.indexOf('&', start);
+            if (next < 0 || next > end) {
+                next = end;
+            }
+            addParam(query, start, next);
+            start = next + 1;
+        }
+
+        sortParams(query);
+
+        boolean first = true;
+        for (int i = 0; i < paramCount; i++) {
+            if (i + 1 < paramCount && compareKeys(query, i + 1, i) == 0) {
+                continue;
+            }
+            if (!first) {
+                append('&');
+            }
+            first = false;
+            append(query, keyStart[i], keyEnd[i]).append('=')
+                    .append(query, valueStart[i], valueEnd[i]);
+        }
+        return this;
+    }
+
+    /**
+     * @return lower case hex encoded SHA-256 hash of the buffer.
+     */
+    String hexEncodedHash() {
+        return BinaryUtil.hexEncodedHash(buffer, 0, length);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private CanonicalRequestBuilder appendCanonicalHeader(String name,
+            Map<String, String> requestHeaders) throws InvalidTokenException {
+        String value = requestHeaders.get(name);
+        if (value == null) {
+            if (name.equalsIgnoreCase("connection")) {
+                return append("connection:Keep-Alive\n");
+            }
+            throw new InvalidTokenException("Signed header :" + name
+                    + " is not found in Request header list");
+        }
+
+        // Trim as String.trim does without creating a new string.
+        int start = 0, end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (start < end && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        if (start == end && name.equalsIgnoreCase("content-type")) {
+            /*
+             * Strangely, the aws .net sdk doesn't send the content type.
+             * Hence the content type is hard coded.
+             */
+            return append("content-type:\n");
+        }
+        return append(name).append(':').append(value, start, end).append('\n');
+    }
+
+    private void addParam(String query, int start, int end) {
+        if (paramCount == keyStart.length) {
+            int capacity = paramCount * 2;
+            keyStart = Arrays.copyOf(keyStart, capacity);
+            keyEnd = Arrays.copyOf(keyEnd, capacity);
+            valueStart = Arrays.copyOf(valueStart, capacity);
+            valueEnd = Arrays.copyOf(valueEnd, capacity);
+        }
+
+        int i = paramCount++;
+        keyStart[i] = start;
+        int eq = query.indexOf('=', start);
+        if (eq < 0 || eq >= end) {
+            keyEnd[i] = end;
+            valueStart[i] = valueEnd[i] = end;
+            return;
+        }
+
+        keyEnd[i] = eq;
+        int valueLimit = query.indexOf('=', eq + 1);
+        if (valueLimit < 0 || valueLimit > end) {
+            valueLimit = end;
+        }
+        // Further '=' are only allowed if nothing but '=' follows them.
+        boolean onlySeparatorsFollow = true;
+        for (int j = valueLimit; j < end; j++) {
+            if (query.charAt(j) != '=') {
+                onlySeparatorsFollow = false;
+                break;
+            }
+        }
+        if (valueLimit > eq + 1 && onlySeparatorsFollow) {
+            valueStart[i] = eq + 1;
+            valueEnd[i] = valueLimit;
+        } else {
+            valueStart[i] = valueEnd[i] = end;
+        }
+    }
+
+    /*
+     * Stable insertion sort, queries rarely have more than a few parameters.
+     * Equal names keep their order, so the last of them wins.
+     */
+    private void sortParams(String query) {
+        for (int i = 1; i < paramCount; i++) {
+            int ks = keyStart[i], ke = keyEnd[i];
+            int vs = valueStart[i], ve = valueEnd[i];
+            int j = i - 1;
+            while (j >= 0 && compareKey(query, j, ks, ke) > 0) {
+                keyStart[j + 1] = keyStart[j];
+                keyEnd[j + 1] = keyEnd[j];
+                valueStart[j + 1] = valueStart[j];
+                valueEnd[j + 1] = valueEnd[j];
+                j--;
+            }
+            keyStart[j + 1] = ks;
+            keyEnd[j + 1] = ke;
+            valueStart[j + 1] = vs;
+            valueEnd[j + 1] = ve;
+        }
+    }
+
+    private int compareKeys(String query, int a, int b) {
+        return compareKey(query, a, keyStart[b], keyEnd[b]);
+    }
+
+    /*
+     * Compare the name of parameter i with query[start, end) the way
+     * String.compareTo does.
+     */
+    private int compareKey(String query, int i, int start, int end) {
+        int s1 = keyStart[i], len1 = keyEnd[i] - s1, len2 = end - start;
+        int n = Math.min(len1, len2);
+        for (int k = 0; k < n; k++) {
+            char c1 = query.charAt(s1 + k), c2 = query.charAt(start + k);
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+        }
+        return len1 - len2;
+    }
+
+    /*
+     * Encode the non ASCII character at index i, return the index of the last
+     * character consumed.
+     */
+    private int appendNonAscii(String text, int i, int end) {
+        char c = text.charAt(i);
+        ensureCapacity(4);
+        if (c < 0x800) {
+            buffer[length++] = (byte) (0xc0 | (c >> 6));
+            buffer[length++] = (byte) (0x80 | (c & 0x3f));
+        } else if (Character.isHighSurrogate(c) && i + 1 < end
+                && Character.isLowSurrogate(text.charAt(i + 1))) {
+            int cp = Character.toCodePoint(c, text.charAt(++i));
+            buffer[length++] = (byte) (0xf0 | (cp >> 18));
+            buffer[length++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+            buffer[length++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+            buffer[length++] = (byte) (0x80 | (cp & 0x3f));
+        } else if (Character.isSurrogate(c)) {
+            buffer[length++] = (byte) '?';
+        } else {
+            buffer[length++] = (byte) (0xe0 | (c >> 12));
+            buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            buffer[length++] = (byte) (0x80 | (c & 0x3f));
+        }
+        // Keep room for the ASCII characters reserved by the caller.
+        ensureCapacity(end - i);
+        return i;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer,
+                    Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
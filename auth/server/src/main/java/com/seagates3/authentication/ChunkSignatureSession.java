@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.seagates3.util.BinaryUtil;
+
+/**
+ * Signature state of a chunked (STREAMING-AWS4-HMAC-SHA256-PAYLOAD) upload
+ * whose seed signature has been verified.
+ *
+ * The session keeps the signing key of the seed request and the signature
+ * of the last verified chunk, so that every following chunk is verified with
+ * a single HMAC instead of authenticating the requestor again. Chunks have to
+ * be verified in upload order. The session is closed once the final, empty
+ * chunk has been verified.
+ *
+ * Anyone holding the session id may submit chunks, but only chunks signed
+ * with the signing key move the session forward. A batch with a chunk that
+ * does not match leaves the session as it was, so that a bad signature does
+ * not break the upload it claims to belong to.
+ */
+public class ChunkSignatureSession {
+
+    /*
+     * Hex encoded SHA256 of the empty string, the hash of the final chunk.
+     */
+    static final String EMPTY_PAYLOAD_SHA256
+            = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    private static final String CHUNK_SIGNING_ALGORITHM
+            = "AWS4-HMAC-SHA256-PAYLOAD";
+
+    private final byte[] signingKey;
+
+    /*
+     * Algorithm, request date and credential scope, the part of the string to
+     * sign shared by every chunk.
+     */
+    private final String stringToSignPrefix;
+
+    private String previousSignature;
+    private boolean closed;
+
+    /**
+     * @param signingKey Signing key derived for the seed request.
+     * @param requestDate x-amz-date of the seed request.
+     * @param credentialScope Credential scope of the seed request.
+     * @param seedSignature Verified signature of the seed request.
+     */
+    public ChunkSignatureSession(byte[] signingKey, String requestDate,
+            String credentialScope, String seedSignature) {
+        this.signingKey = signingKey;
+        this.stringToSignPrefix = CHUNK_SIGNING_ALGORITHM + '\n' + requestDate
+                + '\n' + credentialScope + '\n';
+        this.previousSignature = seedSignature;
+    }
+
+    /**
+     * Verify the signatures of consecutive chunks, starting with the chunk
+     * that follows the last verified one. The session only moves forward if
+     * every chunk of the batch matches.
+     *
+     * @param chunkHashes Hex encoded SHA256 of the data of every chunk.
+     * @param chunkSignatures Signature sent with every chunk.
+     * @return number of chunks verified before the first mismatch.
+     */
+    public synchronized int verify(List<String> chunkHashes,
+            List<String> chunkSignatures) {
+        int count = Math.min(chunkHashes.size(), chunkSignatures.size());
+        String signature = previousSignature;
+        boolean finalChunk = closed;
+        int verified = 0;
+        while (!finalChunk && verified < count) {
+            String chunkHash = chunkHashes.get(verified);
+            String chunkSignature = chunkSignatures.get(verified);
+            if (chunkHash == null || chunkSignature == null
+                    || !chunkSignature.equals(
+                            calculateSignature(signature, chunkHash))) {
+                break;
+            }
+
+            signature = chunkSignature;
+            verified++;
+            finalChunk = EMPTY_PAYLOAD_SHA256.equals(chunkHash);
+        }
+
+        if (verified == count && verified > 0) {
+            previousSignature = signature;
+            closed = finalChunk;
+        }
+        return verified;
+    }
+
+    /**
+     * @return signature of the last verified chunk, or the seed signature if
+     * no chunk has been verified yet.
+     */
+    public synchronized String getPreviousSignature() {
+        return previousSignature;
+    }
+
+    /**
+     * @return true if no more chunks can be verified.
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * String to sign - AWS4-HMAC-SHA256-PAYLOAD + '\n' + RequestDate + '\n' +
+     * CredentialScope + '\n' + PreviousSignature + '\n' + Hash("") + '\n' +
+     * Hash(ChunkData)
+     */
+    private String calculateSignature(String previousSignature,
+            String chunkHash) {
+        String stringToSign = new StringBuilder(
+                stringToSignPrefix.length() + 3 * 65)
+                .append(stringToSignPrefix)
+                .append(previousSignature).append('\n')
+                .append(EMPTY_PAYLOAD_SHA256).append('\n')
+                .append(chunkHash).toString();
+
+        byte[] signature = BinaryUtil.hmacSHA256(signingKey,
+                stringToSign.getBytes(StandardCharsets.UTF_8));
+        return signature != null ? BinaryUtil.toHex(signature) : null;
+    }
+}
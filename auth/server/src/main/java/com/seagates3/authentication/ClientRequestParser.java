@@ -61,7 +61,8 @@ public class ClientRequestParser {
 
         if (requestAction.equals("AuthenticateUser") ||
             requestAction.equals("AuthorizeUser") ||
-            requestAction.equals("AuthenticateAndAuthorize")) {
+            requestAction.equals("AuthenticateAndAuthorize") ||
+            requestAction.equals("AuthenticateAndAuthorizeBatch")) {
             authorizationHeader = requestBody.get("authorization");
 
         } else if (requestAction.equals("ValidateACL")) {
@@ -120,7 +121,8 @@ public class ClientRequestParser {
         ClientRequestToken clientrequesttoken = null;
         if (requestAction.equals("AuthenticateUser") ||
             requestAction.equals("AuthorizeUser") ||
-            requestAction.equals("AuthenticateAndAuthorize")) {
+            requestAction.equals("AuthenticateAndAuthorize") ||
+            requestAction.equals("AuthenticateAndAuthorizeBatch")) {
             try {
               if (awsRequestParser != null) {
                 clientrequesttoken = awsRequestParser.parse(requestBody);
@@ -142,6 +144,35 @@ public class ClientRequestParser {
         return clientrequesttoken;
     }
 
+    /**
+     * Extract the access key id from the authorization header without
+     * validating the header.
+     *
+     * @return access key id or null if the header is not of a known form.
+     */
+    public static String getAccessKeyId(String authorizationHeader) {
+        if (authorizationHeader == null) {
+            return null;
+        }
+
+        if (authorizationHeader.startsWith("AWS4-HMAC-SHA256")) {
+            int start = authorizationHeader.indexOf("Credential=");
+            if (start < 0) {
+                return null;
+            }
+            start += "Credential=".length();
+            int end = authorizationHeader.indexOf('/', start);
+            return end < 0 ? null : authorizationHeader.substring(start, end);
+        }
+
+        if (authorizationHeader.startsWith("AWS ")) {
+            int end = authorizationHeader.indexOf(':', 4);
+            return end < 0 ? null : authorizationHeader.substring(4, end);
+        }
+
+        return null;
+    }
+
     private static AWSRequestParser getAWSRequestParser(
             ClientRequestToken.AWSSigningVersion awsSigningVersion) {
 
@@ -117,6 +117,12 @@ public class ClientRequestToken {
      */
     String bucketName;
 
+    /*
+     * Id of the signature session opened for the chunks of a chunked upload
+     * once its seed signature is verified.
+     */
+    String chunkSessionId;
+
     /*
      * Return the Access Key Id of the requestor.
      */
@@ -349,4 +355,16 @@ public class ClientRequestToken {
     public void setBucketName(String bucketName) {
         this.bucketName = bucketName;
     }
+
+    /*
+     * Return the id of the chunk signature session or null if none was
+     * opened.
+     */
+    public String getChunkSessionId() {
+        return chunkSessionId;
+    }
+
+    public void setChunkSessionId(String chunkSessionId) {
+        this.chunkSessionId = chunkSessionId;
+    }
 }
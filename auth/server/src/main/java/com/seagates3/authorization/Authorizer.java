@@ -25,6 +25,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.Arrays;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
@@ -50,6 +52,7 @@ import com.seagates3.model.Requestor;
 import com.seagates3.model.User;
 import com.seagates3.policy.BucketPolicyAuthorizer;
 import com.seagates3.policy.BucketPolicyValidator;
+import com.seagates3.policy.IAMPolicyAuthorizer;
 import com.seagates3.policy.PolicyUtil;
 import com.seagates3.response.ServerResponse;
 import com.seagates3.response.generator.AuthorizationResponseGenerator;
@@ -62,6 +65,15 @@ class Authorizer {
  private
   final Logger LOGGER = LoggerFactory.getLogger(Authorizer.class.getName());
 
+ private
+  static final String BATCH_REQUEST_PREFIX = "Request.";
+
+  /**
+   * Most requests a batch can have, as many keys as a DeleteObjects request.
+   */
+ private
+  static final int MAX_BATCH_REQUESTS = 1000;
+
  public
   Authorizer() {}
 
@@ -97,6 +109,18 @@ class Authorizer {
       allActions.add(mainOperation);
       for (String action : allActions) {
         requestBody.put("S3Action", action);
+      // An explicit Deny of the requestor's IAM policies overrides bucket
+      // policy and ACL grants
+      ServerResponse identityResponse = null;
+      if (requestor != null) {
+        identityResponse =
+            new IAMPolicyAuthorizer().authorizePolicy(requestor, requestBody);
+        if (identityResponse != null &&
+            identityResponse.getResponseStatus() != HttpResponseStatus.OK) {
+          requestBody.put("S3Action", mainOperation);
+          return identityResponse;
+        }
+      }
       // Below will check put/get/delete policy for first time
       if (existingPolicy == null || existingPolicy.isEmpty()) {
         String clientQueryParams = requestBody.get("ClientQueryParams");
@@ -120,6 +144,12 @@ class Authorizer {
         serverResponse = new BucketPolicyAuthorizer().authorizePolicy(
             requestor, requestBody);
       }
+      // An Allow of the requestor's IAM policies stands in for the ACL
+      // grant only on resources owned by the requestor's account
+      if (serverResponse == null && identityResponse != null &&
+          isOwnedByRequestor(requestor, requestBody)) {
+        serverResponse = identityResponse;
+      }
       if (serverResponse == null) {
         /// check for ACL Authorization if either policy is null or policy
         /// authorization
@@ -147,6 +177,85 @@ class Authorizer {
     return serverResponse;
   }
 
+  /**
+   * Authorize the requests of a batch made by the same requestor.
+   *
+   * Parameters named Request.N.Name belong to the N-th request of the batch,
+   * N starting with 1, and override the parameter Name of the batch. Bucket
+   * ACL and policy sent once with the batch thus apply to every request and
+   * are parsed only for the first one. Requests are authorized in order.
+   * Request-ACL is ignored, no ACL is generated for the requests of a batch.
+   *
+   * @param requestor
+   * @param requestBody
+   * @return decision of every request of the batch.
+   */
+ public
+  ServerResponse authorizeBatch(Requestor requestor,
+                                Map<String, String> requestBody) {
+    AuthorizationResponseGenerator responseGenerator =
+        new AuthorizationResponseGenerator();
+    SortedMap<String, String> batchBody =
+        new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    List<Map<String, String>> requests = new ArrayList<>();
+    int prefixLength = BATCH_REQUEST_PREFIX.length();
+    for (Map.Entry<String, String> entry : requestBody.entrySet()) {
+      String key = entry.getKey();
+      if (!key.regionMatches(true, 0, BATCH_REQUEST_PREFIX, 0, prefixLength)) {
+        batchBody.put(key, entry.getValue());
+        continue;
+      }
+      int index = 0;
+      int dot = key.indexOf('.', prefixLength);
+      if (dot > prefixLength) {
+        try {
+          index = Integer.parseInt(key.substring(prefixLength, dot));
+        }
+        catch (NumberFormatException e) {
+          index = 0;
+        }
+      }
+      if (index < 1 || index > MAX_BATCH_REQUESTS) {
+        return responseGenerator.invalidParametervalue(
+            "Invalid batch request parameter " + key);
+      }
+      while (requests.size() < index) {
+        requests.add(new HashMap<String, String>());
+      }
+      requests.get(index - 1).put(key.substring(dot + 1), entry.getValue());
+    }
+    if (requests.isEmpty()) {
+      return responseGenerator.missingParameter();
+    }
+    batchBody.remove("Request-ACL");
+
+    List<ServerResponse> decisions = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      if (requests.get(i).isEmpty()) {
+        return responseGenerator.invalidParametervalue(
+            "Missing batch request " + (i + 1));
+      }
+      // Copying the sorted batch body keeps its case insensitive order
+      Map<String, String> itemBody = new TreeMap<>(batchBody);
+      itemBody.putAll(requests.get(i));
+      itemBody.remove("Request-ACL");
+      ServerResponse decision = authorize(requestor, itemBody);
+      decisions.add(decision != null ? decision
+                                     : responseGenerator.internalServerError());
+    }
+    LOGGER.debug("Authorized batch of " + decisions.size() + " requests");
+    return responseGenerator.generateBatchAuthorizationResponse(requestor,
+                                                                decisions);
+  }
+
+ private
+  boolean isOwnedByRequestor(Requestor requestor,
+                             Map<String, String> requestBody) {
+    String owner = new AccessControlList().getOwner(requestBody);
+    return owner != null &&
+        owner.equals(requestor.getAccount().getCanonicalId());
+  }
+
  private
   ServerResponse checkAclAuthorization(Requestor requestor,
                                        Map<String, String> requestBody,
@@ -24,10 +24,13 @@ import com.seagates3.response.ServerResponse;
 import java.util.Map;
 import com.seagates3.exception.InvalidUserException;
 import com.seagates3.model.Requestor;
+import com.seagates3.policy.IAMPolicyAuthorizer;
 import com.seagates3.response.generator.ResponseGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.handler.codec.http.HttpResponseStatus;
+
 public
 class IAMApiAuthorizer {
 
@@ -66,6 +69,13 @@ class IAMApiAuthorizer {
       return true;
     }
 
+    // IAM policies attached to the user decide if any statement applies
+    ServerResponse policyResponse =
+        new IAMPolicyAuthorizer().authorizePolicy(requestor, requestBody);
+    if (policyResponse != null) {
+      return policyResponse.getResponseStatus() == HttpResponseStatus.OK;
+    }
+
     if (isSameUser(requestBody, requestor)) {
       return true;
     }
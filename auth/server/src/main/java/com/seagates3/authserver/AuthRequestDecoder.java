@@ -20,59 +20,182 @@
 
 package com.seagates3.authserver;
 
-import java.io.IOException;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.regex.Pattern;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.FullHttpRequest;
-import io.netty.handler.codec.http.multipart.DefaultHttpDataFactory;
-import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
-import io.netty.handler.codec.http.multipart.InterfaceHttpData;
-import io.netty.handler.codec.http.multipart.Attribute;
-import io.netty.handler.codec.http.multipart.InterfaceHttpData.HttpDataType;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder.ErrorDataDecoderException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class AuthRequestDecoder extends HttpPostRequestDecoder {
+/**
+ * Decode the application/x-www-form-urlencoded body of an auth request.
+ *
+ * The body is read once, straight from the aggregated content of the
+ * request, into a {@link RequestBodyMap}. Names and values are decoded as
+ * UTF-8 with '+' as space, the way HttpPostRequestDecoder decodes them:
+ * fields with an empty name are skipped, a name without '=' has an empty
+ * value, a line break ends the body and a malformed escape fails the request
+ * with ErrorDataDecoderException. A repeated x-amz- field is joined to the
+ * previous values with a comma, any other repeated field keeps its last
+ * value.
+ */
+public class AuthRequestDecoder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(
+            AuthRequestDecoder.class.getName());
+
+    /*
+     * Fields sent by S3 server with an authentication request.
+     */
+    private static final int EXPECTED_FIELDS = 64;
 
-    private final Logger LOGGER = LoggerFactory.getLogger(
-            AuthServerHandler.class.getName());
+    private static final Pattern REPLACE_PATTERN
+            = Pattern.compile("[\\r\\t]");
+    private static final Pattern STRIP_PATTERN
+            = Pattern.compile("(?:^\\s+|\\s+$|\\n)");
+
+    private final ByteBuf content;
+
+    /*
+     * Bytes of the escaped name or value being decoded.
+     */
+    private byte[] decodeBuffer;
 
     public AuthRequestDecoder(FullHttpRequest fullHttpRequest) {
-        super(new DefaultHttpDataFactory(DefaultHttpDataFactory.MINSIZE),
-                fullHttpRequest);
+        this.content = fullHttpRequest.content();
     }
 
     public Map<String, String> getRequestBodyAsMap() {
-        return parseRequestBody(getBodyHttpDatas());
-    }
+        RequestBodyMap requestBody = new RequestBodyMap(EXPECTED_FIELDS);
+        boolean debug = LOGGER.isDebugEnabled();
+        if (debug) {
+            LOGGER.debug("Request body attributes:");
+        }
 
-    private Map<String, String> parseRequestBody(List<InterfaceHttpData> datas) {
-        Map<String, String> requestBody;
-        requestBody = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        String key;
-        String value;
-
-        LOGGER.debug("Request body attributes:");
-        for (InterfaceHttpData data : datas) {
-            if (data.getHttpDataType() == HttpDataType.Attribute) {
-                Attribute attribute = (Attribute) data;
-                key = attribute.getName();
-                try {
-                    value = attribute.getValue();
-                    if (requestBody.containsKey(key) && key.toLowerCase().startsWith("x-amz-")) {
-                        value = requestBody.get(key) + "," + value;
+        int end = content.writerIndex();
+        int fieldStart = content.readerIndex();
+        while (fieldStart < end) {
+            int hash = 0;
+            boolean nameEscaped = false;
+            boolean nameHasSpace = false;
+            int nameEnd = -1;
+            int i = fieldStart;
+            boolean lastField = false;
+            for (; i < end; i++) {
+                byte b = content.getByte(i);
+                if (nameEnd < 0) {
+                    if (b == '=') {
+                        nameEnd = i;
+                    } else if (b == '&') {
+                        break;
+                    } else {
+                        if (b == '%' || b == '+' || b < 0) {
+                            nameEscaped = true;
+                        } else if (b <= ' ') {
+                            nameHasSpace = true;
+                        }
+                        hash = 31 * hash + RequestBodyMap.foldAscii(b);
                     }
-                    requestBody.put(key, value);
+                } else if (b == '&') {
+                    break;
+                } else if (b == '\n'
+                        || (b == '\r' && i + 1 < end
+                            && content.getByte(i + 1) == '\n')) {
+                    lastField = true;
+                    break;
+                }
+            }
+
+            if (nameEnd < 0) {
+                nameEnd = i;
+            }
+            String key = decode(fieldStart, nameEnd);
+            if (nameEscaped || nameHasSpace) {
+                key = cleanName(key);
+                hash = RequestBodyMap.hash(key);
+            }
+            if (!key.isEmpty()) {
+                String value = nameEnd < i ? decode(nameEnd + 1, i) : "";
+                requestBody.addField(key, hash, value);
+                if (debug) {
                     LOGGER.debug("{}: {}", key, value);
-                } catch (IOException e) {
-                    LOGGER.warn("Failed to get value of {} attribute. Error: {}",
-                            key, e.getMessage());
                 }
             }
+
+            if (lastField) {
+                break;
+            }
+            fieldStart = i + 1;
         }
 
         return requestBody;
     }
-}
\ No newline at end of file
+
+    /**
+     * Decode the URL encoded bytes of the content from start to end.
+     */
+    private String decode(int start, int end) {
+        int escape = -1;
+        for (int i = start; i < end; i++) {
+            byte b = content.getByte(i);
+            if (b == '%' || b == '+') {
+                escape = i;
+                break;
+            }
+        }
+        if (escape < 0) {
+            return content.toString(start, end - start, StandardCharsets.UTF_8);
+        }
+
+        int length = end - start;
+        if (decodeBuffer == null || decodeBuffer.length < length) {
+            decodeBuffer = new byte[Math.max(length, 256)];
+        }
+        content.getBytes(start, decodeBuffer, 0, escape - start);
+        int decoded = escape - start;
+        for (int i = escape; i < end; i++) {
+            byte b = content.getByte(i);
+            if (b == '+') {
+                b = ' ';
+            } else if (b == '%') {
+                int high = i + 2 < end ? hexValue(content.getByte(i + 1)) : -1;
+                int low = high >= 0 ? hexValue(content.getByte(i + 2)) : -1;
+                if (low < 0) {
+                    throw new ErrorDataDecoderException("Bad string: '"
+                            + content.toString(start, length,
+                                    StandardCharsets.UTF_8) + '\'');
+                }
+                b = (byte) ((high << 4) | low);
+                i += 2;
+            }
+            decodeBuffer[decoded++] = b;
+        }
+        return new String(decodeBuffer, 0, decoded, StandardCharsets.UTF_8);
+    }
+
+    private static int hexValue(byte b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        }
+        if (b >= 'a' && b <= 'f') {
+            return b - 'a' + 10;
+        }
+        if (b >= 'A' && b <= 'F') {
+            return b - 'A' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Clean a field name the way the HTTP data of Netty does: tab and carriage
+     * return become spaces, line feeds and leading or trailing white space
+     * are dropped.
+     */
+    private static String cleanName(String name) {
+        String cleaned = REPLACE_PATTERN.matcher(name).replaceAll(" ");
+        return STRIP_PATTERN.matcher(cleaned).replaceAll("");
+    }
+}
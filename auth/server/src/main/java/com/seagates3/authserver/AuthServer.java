@@ -21,15 +21,15 @@
 package com.seagates3.authserver;
 
 import com.seagates3.dao.DAODispatcher;
+import com.seagates3.dao.ldap.LdapIOExecutor;
+import com.seagates3.exception.SAMLInitializationException;
 import com.seagates3.exception.ServerInitialisationException;
 import com.seagates3.fi.FaultPoints;
 import com.seagates3.perf.S3Perf;
+import com.seagates3.saml.SAMLUtilV2;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
-import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.util.concurrent.DefaultEventExecutorGroup;
@@ -39,6 +39,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
+import java.util.List;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.config.ConfigurationSource;
 import org.apache.logging.log4j.core.config.Configurator;
@@ -77,6 +78,8 @@ class AuthServer {
 
           executorGroup.shutdownGracefully();
           logger.info("Executor group shutdown");
+
+          LdapIOExecutor.shutdown();
         }
 
         /**
@@ -152,7 +155,16 @@ class AuthServer {
           SSLContextProvider.init();
           IAMResourceMapper.init();
           DAODispatcher.init();
+          LdapIOExecutor.init(AuthServerConfig.getLdapIOThreads());
           S3Perf.init();
+          try {
+            SAMLUtilV2.init();
+          }
+          catch (SAMLInitializationException e) {
+            // Only SAML requests need OpenSAML, they retry the bootstrap.
+            logger.error("Failed to bootstrap OpenSAML. SAML requests will " +
+                         "fail until it succeeds. " + e.getMessage());
+          }
 
           /**
            * If fault injection is enabled, create instance of FaultPoints
@@ -164,13 +176,18 @@ class AuthServer {
           AuthServer.attachShutDownHook();
 
           // Configure the server.
-          bossGroup =
-              new NioEventLoopGroup(AuthServerConfig.getBossGroupThreads());
+          AuthServerTransport transport =
+              new AuthServerTransport(AuthServerConfig.isNettyEpollEnabled());
+          logger.info("Using " + (transport.isEpoll() ? "epoll" : "NIO") +
+                      " transport");
+
+          bossGroup = transport.newEventLoopGroup(
+              AuthServerConfig.getBossGroupThreads());
           logger.info("Created boss event loop group with " +
                       AuthServerConfig.getBossGroupThreads() + " threads");
 
-          workerGroup =
-              new NioEventLoopGroup(AuthServerConfig.getWorkerGroupThreads());
+          workerGroup = transport.newEventLoopGroup(
+              AuthServerConfig.getWorkerGroupThreads());
           logger.info("Created worker event loop group with " +
                       AuthServerConfig.getWorkerGroupThreads() + " threads");
 
@@ -184,8 +201,9 @@ class AuthServer {
           if (AuthServerConfig.isHttpEnabled()) {
             int httpPort = AuthServerConfig.getHttpPort();
             String host = AuthServerConfig.getDefaultHost();
-            Channel serverChannel = httpServerBootstrap(
-                bossGroup, workerGroup, executorGroup, host, httpPort);
+            Channel serverChannel =
+                httpServerBootstrap(transport, bossGroup, workerGroup,
+                                    executorGroup, host, httpPort);
             serverChannels.add(serverChannel);
             logger.info("Auth server is listening on HTTP port " + httpPort);
           }
@@ -193,8 +211,9 @@ class AuthServer {
           if (AuthServerConfig.isHttpsEnabled()) {
             int httpsPort = AuthServerConfig.getHttpsPort();
             String host = AuthServerConfig.getDefaultHost();
-            Channel serverChannel = httpsServerBootstrap(
-                bossGroup, workerGroup, executorGroup, host, httpsPort);
+            Channel serverChannel =
+                httpsServerBootstrap(transport, bossGroup, workerGroup,
+                                     executorGroup, host, httpsPort);
             serverChannels.add(serverChannel);
             logger.info("Auth server is listening on HTTPS port " + httpsPort);
           }
@@ -218,37 +237,47 @@ class AuthServer {
         /**
          * Create a new ServerBootstrap for HTTP protocol.
          *
+         * @param transport transport of the listeners.
          * @param port HTTP port.
+         * @return first of the channels listening on the port.
          */
        private
         static Channel httpServerBootstrap(
-            EventLoopGroup bossGroup, EventLoopGroup workerGroup,
-            EventExecutorGroup executorGroup, String host,
-            int port) throws InterruptedException {
-          ServerBootstrap b = new ServerBootstrap();
-          b.option(ChannelOption.SO_BACKLOG, 1024);
-          b.group(bossGroup, workerGroup)
-              .channel(NioServerSocketChannel.class)
-              .handler(new LoggingHandler(LogLevel.INFO))
+            AuthServerTransport transport, EventLoopGroup bossGroup,
+            EventLoopGroup workerGroup, EventExecutorGroup executorGroup,
+            String host, int port) throws InterruptedException, IOException {
+          ServerBootstrap b =
+              transport.newServerBootstrap(bossGroup, workerGroup);
+          b.handler(new LoggingHandler(LogLevel.INFO))
               .childHandler(new AuthServerHTTPInitializer(executorGroup));
 
-          Channel serverChannel = b.bind(host, port).sync().channel();
-          return serverChannel;
+          return bind(transport, b, host, port);
         }
 
        private
         static Channel httpsServerBootstrap(
-            EventLoopGroup bossGroup, EventLoopGroup workerGroup,
-            EventExecutorGroup executorGroup, String host,
-            int port) throws InterruptedException {
-          ServerBootstrap b = new ServerBootstrap();
-          b.option(ChannelOption.SO_BACKLOG, 1024);
-          b.group(bossGroup, workerGroup)
-              .channel(NioServerSocketChannel.class)
-              .handler(new LoggingHandler(LogLevel.INFO))
+            AuthServerTransport transport, EventLoopGroup bossGroup,
+            EventLoopGroup workerGroup, EventExecutorGroup executorGroup,
+            String host, int port) throws InterruptedException, IOException {
+          ServerBootstrap b =
+              transport.newServerBootstrap(bossGroup, workerGroup);
+          b.handler(new LoggingHandler(LogLevel.INFO))
               .childHandler(new AuthServerHTTPSInitializer(executorGroup));
 
-          Channel serverChannel = b.bind(host, port).sync().channel();
-          return serverChannel;
+          return bind(transport, b, host, port);
+        }
+
+        /**
+         * Bind the listeners of the port. The other listeners share the
+         * event loops of the first one and close along with them.
+         */
+       private
+        static Channel bind(AuthServerTransport transport, ServerBootstrap b,
+                            String host, int port)
+            throws InterruptedException, IOException {
+          List<Channel> listeners = transport.bind(
+              b, host, port, AuthServerConfig.getBossGroupThreads());
+          logger.info(listeners.size() + " listener(s) bound to port " + port);
+          return listeners.get(0);
         }
         }
@@ -61,6 +61,38 @@ public class AuthServerConfig {
     public
      static final int MAX_GRANT_SIZE = 100;
     private static Logger logger;
+   private
+    static final int DEFAULT_CACHE_MAX_ENTRIES = 100000;
+   private
+    static final int DEFAULT_NEGATIVE_CACHE_MAX_ENTRIES = 10000;
+   private
+    static final int DEFAULT_SIGNING_KEY_CACHE_MAX_ENTRIES = 100000;
+   private
+    static final int DEFAULT_ACL_CACHE_MAX_ENTRIES = 10000;
+   private
+    static final int DEFAULT_GROUP_CACHE_MAX_ENTRIES = 10000;
+   private
+    static final int DEFAULT_BUCKET_POLICY_CACHE_MAX_ENTRIES = 10000;
+   private
+    static final int DEFAULT_IDENTITY_POLICY_CACHE_MAX_ENTRIES = 10000;
+   private
+    static final int DEFAULT_SAML_PROVIDER_CACHE_MAX_ENTRIES = 1000;
+   private
+    static final int DEFAULT_SAML_PARSER_POOL_MAX_SIZE = 50;
+   private
+    static final int DEFAULT_CHUNK_SESSION_CACHE_MAX_ENTRIES = 10000;
+   private
+    static final int DEFAULT_CHUNK_SESSION_TIMEOUT = 3600;
+   private
+    static final int DEFAULT_NETTY_SO_BACKLOG = 1024;
+   private
+    static final int DEFAULT_NETTY_WRITE_BUFFER_LOW_WATER_MARK = 32 * 1024;
+   private
+    static final int DEFAULT_NETTY_WRITE_BUFFER_HIGH_WATER_MARK = 64 * 1024;
+   private
+    static final int DEFAULT_SSL_SESSION_CACHE_SIZE = 20480;
+   private
+    static final int DEFAULT_SSL_SESSION_TIMEOUT = 300;
 
     /**
      * Read the properties file.
@@ -335,6 +367,99 @@ public class AuthServerConfig {
                 authServerConfig.getProperty("nettyWorkerGroupThreads"));
     }
 
+    /**
+     * @return true if the native epoll transport is to be used when it is
+     * available.
+     */
+   public
+    static boolean isNettyEpollEnabled() {
+      return getBooleanProperty("nettyEpollEnabled", true);
+    }
+
+    /**
+     * @return length of the queue of connections waiting to be accepted.
+     */
+   public
+    static int getNettySoBacklog() {
+      return getIntProperty("nettySoBacklog", DEFAULT_NETTY_SO_BACKLOG);
+    }
+
+   public
+    static boolean isNettyTcpNoDelay() {
+      return getBooleanProperty("nettyTcpNoDelay", true);
+    }
+
+    /**
+     * @return true if socket I/O is to use pooled buffers.
+     */
+   public
+    static boolean isNettyPooledAllocator() {
+      return getBooleanProperty("nettyPooledAllocator", true);
+    }
+
+    /**
+     * @return number of bytes queued for write below which a connection is
+     * writable again.
+     */
+   public
+    static int getNettyWriteBufferLowWaterMark() {
+      return getIntProperty("nettyWriteBufferLowWaterMark",
+                            DEFAULT_NETTY_WRITE_BUFFER_LOW_WATER_MARK);
+    }
+
+    /**
+     * @return number of bytes queued for write above which a connection is
+     * no longer writable.
+     */
+   public
+    static int getNettyWriteBufferHighWaterMark() {
+      return getIntProperty("nettyWriteBufferHighWaterMark",
+                            DEFAULT_NETTY_WRITE_BUFFER_HIGH_WATER_MARK);
+    }
+
+    /**
+     * @return TLS provider of the HTTPS listener, openssl or jdk.
+     */
+   public
+    static String getSslProvider() {
+      return getStringProperty("sslProvider", "openssl");
+    }
+
+    /**
+     * @return cipher suite policy of the HTTPS listener, aes-gcm or default.
+     */
+   public
+    static String getSslCipherPolicy() {
+      return getStringProperty("sslCipherPolicy", "aes-gcm");
+    }
+
+    /**
+     * @return number of TLS sessions cached for resumption, 0 for the
+     * provider default.
+     */
+   public
+    static int getSslSessionCacheSize() {
+      return getIntProperty("sslSessionCacheSize",
+                            DEFAULT_SSL_SESSION_CACHE_SIZE);
+    }
+
+    /**
+     * @return time in seconds for which a cached TLS session can be resumed,
+     * 0 for the provider default.
+     */
+   public
+    static int getSslSessionTimeout() {
+      return getIntProperty("sslSessionTimeout", DEFAULT_SSL_SESSION_TIMEOUT);
+    }
+
+    /**
+     * @return true if TLS sessions are resumed with session tickets too.
+     */
+   public
+    static boolean isSslSessionTicketsEnabled() {
+      return getBooleanProperty("sslSessionTicketsEnabled", true);
+    }
+
     public static boolean isPerfEnabled() {
         return Boolean.valueOf(authServerConfig.getProperty("perfEnabled"));
     }
@@ -358,6 +483,54 @@ public class AuthServerConfig {
         return Boolean.valueOf(authServerConfig.getProperty("enableFaultInjection"));
     }
 
+    /**
+     * Read an integer property, falling back to the default value if the
+     * configuration is not loaded or the property is absent.
+     */
+   private
+    static int getIntProperty(String key, int defaultValue) {
+      if (authServerConfig == null) {
+        return defaultValue;
+      }
+      String value = authServerConfig.getProperty(key);
+      if (value == null || value.trim().isEmpty()) {
+        return defaultValue;
+      }
+      return Integer.parseInt(value.trim());
+    }
+
+    /**
+     * Read a string property, falling back to the default value if the
+     * configuration is not loaded or the property is absent.
+     */
+   private
+    static String getStringProperty(String key, String defaultValue) {
+      if (authServerConfig == null) {
+        return defaultValue;
+      }
+      String value = authServerConfig.getProperty(key);
+      if (value == null || value.trim().isEmpty()) {
+        return defaultValue;
+      }
+      return value.trim();
+    }
+
+    /**
+     * Read a boolean property, falling back to the default value if the
+     * configuration is not loaded or the property is absent.
+     */
+   private
+    static boolean getBooleanProperty(String key, boolean defaultValue) {
+      if (authServerConfig == null) {
+        return defaultValue;
+      }
+      String value = authServerConfig.getProperty(key);
+      if (value == null || value.trim().isEmpty()) {
+        return defaultValue;
+      }
+      return Boolean.valueOf(value.trim());
+    }
+
     /**
      * Set the SAML Metadata file Path.
      *
@@ -428,9 +601,142 @@ public class AuthServerConfig {
 
    public
     static int getCacheTimeout() {
-      return Integer.parseInt(authServerConfig.getProperty("cacheTimeout"));
+      return getIntProperty("cacheTimeout", 0);
+    }
+
+    /**
+     * @return maximum number of access keys held in the authentication cache.
+     */
+   public
+    static int getCacheMaxEntries() {
+      return getIntProperty("cacheMaxEntries", DEFAULT_CACHE_MAX_ENTRIES);
+    }
+
+    /**
+     * @return age, as a percentage of cacheTimeout, after which a cached
+     * entry is reloaded in the background. 0 disables refresh ahead.
+     */
+   public
+    static int getCacheRefreshAheadPercent() {
+      return getIntProperty("cacheRefreshAheadPercent", 0);
+    }
+
+    /**
+     * @return number of seconds an absent or inactive access key is
+     * remembered. 0 disables negative caching.
+     */
+   public
+    static int getNegativeCacheTimeout() {
+      return getIntProperty("negativeCacheTimeout", 0);
+    }
+
+    /**
+     * @return maximum number of absent or inactive access keys remembered.
+     */
+   public
+    static int getNegativeCacheMaxEntries() {
+      return getIntProperty("negativeCacheMaxEntries",
+                            DEFAULT_NEGATIVE_CACHE_MAX_ENTRIES);
+    }
+
+    /**
+     * @return maximum number of derived AWS V4 signing keys cached. 0
+     * disables the signing key cache.
+     */
+   public
+    static int getSigningKeyCacheMaxEntries() {
+      return getIntProperty("signingKeyCacheMaxEntries",
+                            DEFAULT_SIGNING_KEY_CACHE_MAX_ENTRIES);
+    }
+
+    /**
+     * @return maximum number of chunked upload signature sessions held. 0
+     * disables the sessions and every chunk is authenticated on its own.
+     */
+   public
+    static int getChunkSessionCacheMaxEntries() {
+      return getIntProperty("chunkSessionCacheMaxEntries",
+                            DEFAULT_CHUNK_SESSION_CACHE_MAX_ENTRIES);
+    }
+
+    /**
+     * @return number of seconds a chunked upload signature session remains
+     * valid after the seed signature was verified.
+     */
+   public
+    static int getChunkSessionTimeout() {
+      return getIntProperty("chunkSessionTimeout",
+                            DEFAULT_CHUNK_SESSION_TIMEOUT);
+    }
+
+    /**
+     * @return maximum number of parsed resource ACLs cached across requests.
+     * 0 disables the cache and every request parses its ACL again.
+     */
+   public
+    static int getAclCacheMaxEntries() {
+      return getIntProperty("aclCacheMaxEntries",
+                            DEFAULT_ACL_CACHE_MAX_ENTRIES);
+    }
+
+    /**
+     * @return maximum number of group lookups of ACL grantees cached. 0
+     * disables the cache and every check of a group grant searches LDAP.
+     */
+   public
+    static int getGroupCacheMaxEntries() {
+      return getIntProperty("groupCacheMaxEntries",
+                            DEFAULT_GROUP_CACHE_MAX_ENTRIES);
     }
 
+    /**
+     * @return maximum number of compiled bucket policies cached across
+     * requests. 0 disables the cache and every request parses its policy.
+     */
+   public
+    static int getBucketPolicyCacheMaxEntries() {
+      return getIntProperty("bucketPolicyCacheMaxEntries",
+                            DEFAULT_BUCKET_POLICY_CACHE_MAX_ENTRIES);
+    }
+
+    /**
+     * @return maximum number of users whose compiled IAM policies are cached
+     * for cacheTimeout seconds. 0 disables the cache and the policies of the
+     * user are read from LDAP on every request.
+     */
+   public
+    static int getIdentityPolicyCacheMaxEntries() {
+      return getIntProperty("identityPolicyCacheMaxEntries",
+                            DEFAULT_IDENTITY_POLICY_CACHE_MAX_ENTRIES);
+    }
+
+    /**
+     * @return maximum number of SAML providers whose signature validators are
+     * cached. 0 disables the cache and the signing certificates of the
+     * provider are parsed on every SAML request.
+     */
+   public
+    static int getSamlProviderCacheMaxEntries() {
+      return getIntProperty("samlProviderCacheMaxEntries",
+                            DEFAULT_SAML_PROVIDER_CACHE_MAX_ENTRIES);
+    }
+
+    /**
+     * @return maximum number of idle XML parsers kept by the SAML parser pool.
+     */
+   public
+    static int getSamlParserPoolMaxSize() {
+      return getIntProperty("samlParserPoolMaxSize",
+                            DEFAULT_SAML_PARSER_POOL_MAX_SIZE);
+    }
+
+    /**
+     * @return number of threads dedicated to blocking LDAP lookups. 0
+     * disables the pool and lookups run on the event executor threads.
+     */
+   public
+    static int getLdapIOThreads() { return getIntProperty("ldapIOThreads", 0); }
+
    public
     static int getMaxAccountLimit() {
       return Integer.parseInt(authServerConfig.getProperty("maxAccountLimit"));
@@ -46,6 +46,7 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
 import io.netty.channel.DefaultFileRegion;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.DefaultHttpResponse;
@@ -61,6 +62,7 @@ import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedFile;
+import io.netty.handler.stream.ChunkedWriteHandler;
 
 public
 class AuthServerGetHandler {
@@ -205,6 +207,20 @@ class AuthServerGetHandler {
     ctx.write(response);
   }
 
+  /**
+   * HttpChunkedInput is written by a ChunkedWriteHandler, which only the
+   * static files sent over TLS need. Add it in front of this handler the
+   * first time a file is sent on the connection.
+   */
+ private
+  void addChunkedWriteHandler() {
+    ChannelPipeline pipeline = ctx.pipeline();
+    if (pipeline.get(ChunkedWriteHandler.class) == null) {
+      pipeline.addBefore(ctx.name(), "chunkedWriter",
+                         new ChunkedWriteHandler());
+    }
+  }
+
  private
   void writeContent(RandomAccessFile raf, long fileLength) {
     ChannelFuture sendFileFuture = null;
@@ -216,6 +232,7 @@ class AuthServerGetHandler {
       lastContentFuture = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
     } else {
       try {
+        addChunkedWriteHandler();
         sendFileFuture = ctx.writeAndFlush(
             new HttpChunkedInput(new ChunkedFile(raf, 0, fileLength, 4)),
             ctx.newProgressivePromise());
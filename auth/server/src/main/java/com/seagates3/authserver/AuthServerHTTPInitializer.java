@@ -24,13 +24,13 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpObjectAggregator;
-import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpServerCodec;
-import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.concurrent.EventExecutorGroup;
 
 public class AuthServerHTTPInitializer extends ChannelInitializer<SocketChannel> {
 
+    private static final int MAX_REQUEST_CONTENT_LENGTH = 1048576;
+
     private final EventExecutorGroup EXECUTOR_GROUP;
 
     public AuthServerHTTPInitializer(EventExecutorGroup executorGroup) {
@@ -39,12 +39,19 @@ public class AuthServerHTTPInitializer extends ChannelInitializer<SocketChannel>
 
     @Override
     public void initChannel(SocketChannel ch) {
-        ChannelPipeline p = ch.pipeline();
+        addHttpHandlers(ch.pipeline(), EXECUTOR_GROUP);
+    }
 
-        p.addLast(new HttpServerCodec());
-        p.addLast("decoder", new HttpRequestDecoder());
-        p.addLast("aggregator", new HttpObjectAggregator(1048576));
-        p.addLast(new ChunkedWriteHandler());
-        p.addLast(EXECUTOR_GROUP, new AuthServerHandler());
+    /**
+     * Add the HTTP codec, the aggregator of request content and the auth
+     * server handler. The codec decodes requests and encodes responses, a
+     * separate request decoder would decode every request twice.
+     */
+    static void addHttpHandlers(ChannelPipeline p,
+            EventExecutorGroup executorGroup) {
+        p.addLast("codec", new HttpServerCodec());
+        p.addLast("aggregator",
+                new HttpObjectAggregator(MAX_REQUEST_CONTENT_LENGTH));
+        p.addLast(executorGroup, new AuthServerHandler());
     }
 }
@@ -23,11 +23,7 @@ package com.seagates3.authserver;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.handler.codec.http.HttpObjectAggregator;
-import io.netty.handler.codec.http.HttpRequestDecoder;
-import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.ssl.SslContext;
-import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.concurrent.EventExecutorGroup;
 
 public class AuthServerHTTPSInitializer extends ChannelInitializer<SocketChannel> {
@@ -48,10 +44,6 @@ public class AuthServerHTTPSInitializer extends ChannelInitializer<SocketChannel
             p.addLast(sslContext.newHandler(ch.alloc()));
         }
 
-        p.addLast(new HttpServerCodec());
-        p.addLast("decoder", new HttpRequestDecoder());
-        p.addLast("aggregator", new HttpObjectAggregator(1048576));
-        p.addLast(new ChunkedWriteHandler());
-        p.addLast(EXECUTOR_GROUP, new AuthServerHandler());
+        AuthServerHTTPInitializer.addHttpHandlers(p, EXECUTOR_GROUP);
     }
 }
@@ -20,6 +20,9 @@
 
 package com.seagates3.authserver;
 
+import java.util.ArrayDeque;
+import java.util.Queue;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,10 +32,17 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
 
 /**
  * Extend the Simple Channel Inbound Handler to create a custom handler for
  * authentication and authorization server.
+ *
+ * A handler serves one connection. While the response of a request is
+ * completed asynchronously, on the LDAP I/O executor, the following requests
+ * of the connection are queued and the channel stops reading, so that
+ * pipelined requests are answered in order.
  */
 public
 class AuthServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
@@ -41,6 +51,15 @@ class AuthServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
   final Logger LOGGER =
       LoggerFactory.getLogger(AuthServerHandler.class.getName());
 
+  /*
+   * Requests read while a response is outstanding. Only accessed from the
+   * executor of the handler.
+   */
+ private
+  final Queue<FullHttpRequest> pendingRequests = new ArrayDeque<>();
+ private
+  boolean responsePending;
+
   /**
    *
    * @param ctx
@@ -62,6 +81,26 @@ class AuthServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
    */
   @Override public void channelRead0(ChannelHandlerContext ctx,
                                      FullHttpRequest httpRequest) {
+    if (responsePending) {
+      LOGGER.debug("Response pending, queueing pipelined request.");
+      pendingRequests.add(httpRequest.retain());
+      ctx.channel().config().setAutoRead(false);
+      return;
+    }
+    serve(ctx, httpRequest);
+  }
+
+  @Override public void channelInactive(ChannelHandlerContext ctx)
+      throws Exception {
+    FullHttpRequest httpRequest;
+    while ((httpRequest = pendingRequests.poll()) != null) {
+      httpRequest.release();
+    }
+    super.channelInactive(ctx);
+  }
+
+ private
+  void serve(ChannelHandlerContext ctx, FullHttpRequest httpRequest) {
     S3Perf perf = new S3Perf();
     perf.startClock();
     LOGGER.debug("Channel read succesful.");
@@ -69,7 +108,10 @@ class AuthServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
     LOGGER.debug("URI - " + httpRequest.uri());
 
     if (httpRequest.method().equals(HttpMethod.POST)) {
-      new AuthServerPostHandler(ctx, httpRequest).run();
+      Future<?> response = new AuthServerPostHandler(ctx, httpRequest).run();
+      if (response != null && !response.isDone()) {
+        waitForResponse(ctx, response);
+      }
     } else if (httpRequest.method().equals(HttpMethod.GET)) {
       new AuthServerGetHandler(ctx, httpRequest).run();
     } else if (httpRequest.method().equals(HttpMethod.HEAD)) {
@@ -79,6 +121,48 @@ class AuthServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
     perf.printTime("AuthServerHandler");
   }
 
+  /**
+   * Hold the following requests until the response has been written.
+   */
+ private
+  void waitForResponse(final ChannelHandlerContext ctx, Future<?> response) {
+    responsePending = true;
+    // The post handler writes the response from a listener added before.
+    response.addListener(new FutureListener<Object>() {
+      @Override public void operationComplete(Future<Object> future) {
+        if (ctx.executor().inEventLoop()) {
+          responseWritten(ctx);
+        } else {
+          ctx.executor().execute(new Runnable() {
+            @Override public void run() { responseWritten(ctx); }
+          });
+        }
+      }
+    });
+  }
+
+  /**
+   * Serve the queued requests, until one of them is completed
+   * asynchronously again, and resume reading once none is left.
+   */
+ private
+  void responseWritten(ChannelHandlerContext ctx) {
+    responsePending = false;
+    FullHttpRequest httpRequest;
+    while (!responsePending && (httpRequest = pendingRequests.poll()) != null) {
+      try {
+        serve(ctx, httpRequest);
+      }
+      finally {
+        httpRequest.release();
+      }
+    }
+    ctx.flush();
+    if (!responsePending) {
+      ctx.channel().config().setAutoRead(true);
+    }
+  }
+
   @Override public void exceptionCaught(ChannelHandlerContext ctx,
                                         Throwable cause) {
     ctx.close();
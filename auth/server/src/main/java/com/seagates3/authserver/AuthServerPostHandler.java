@@ -44,6 +44,8 @@ import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
 
 public class AuthServerPostHandler {
 
@@ -61,7 +63,13 @@ public class AuthServerPostHandler {
         keepAlive = HttpUtil.isKeepAlive(httpRequest);
     }
 
-    public void run() {
+    /**
+     * Serve the request.
+     *
+     * @return future of the response if it is written once the future
+     * completes, or null if the response has already been written.
+     */
+    public Future<ServerResponse> run() {
         Map<String, String> requestBody = getHttpRequestBodyAsMap();
 
         // Generate request Id per request
@@ -86,22 +94,38 @@ public class AuthServerPostHandler {
             FullHttpResponse response = new SAMLWebSSOController(requestBody)
                     .samlSignIn();
             returnHTTPResponse(response);
+            return null;
         } else {
-            ServerResponse serverResponse;
             String action = requestBody.get("Action");
             if (action == null) {
                 LOGGER.debug("Request action can not be null.");
                 returnHTTPResponse(new ResponseGenerator().badRequest());
-                return;
+                return null;
             }
             LOGGER.debug("Requested action: " + action);
             if (isFiRequest(action)) {
-                serverResponse = serveFiRequest(requestBody);
+                returnHTTPResponse(serveFiRequest(requestBody));
+                return null;
             } else {
-                serverResponse = serveIamRequest(requestBody);
+                // The response may be completed on the LDAP I/O executor.
+                Future<ServerResponse> response = serveIamRequest(requestBody);
+                response.addListener(
+                        new FutureListener<ServerResponse>() {
+                    @Override
+                    public void operationComplete(
+                            Future<ServerResponse> future) {
+                        if (future.isSuccess()) {
+                            returnHTTPResponse(future.getNow());
+                        } else {
+                            LOGGER.error("Failed to serve request.",
+                                         future.cause());
+                            returnHTTPResponse(
+                                new ResponseGenerator().internalServerError());
+                        }
+                    }
+                });
+                return response;
             }
-
-            returnHTTPResponse(serverResponse);
         }
     }
 
@@ -125,8 +149,11 @@ public class AuthServerPostHandler {
 
        LOGGER.info("HTTP Response [" + response.status() + "]");
 
+        // Flush explicitly, the response may be written after
+        // channelReadComplete when it is completed asynchronously.
         if (!keepAlive) {
-            ctx.write(response).addListener(ChannelFutureListener.CLOSE);
+            ctx.writeAndFlush(response).addListener(
+                ChannelFutureListener.CLOSE);
 
             LOGGER.debug("Response sent successfully.");
             LOGGER.debug("Connection closed.");
@@ -168,8 +195,9 @@ public class AuthServerPostHandler {
         return serverResponse;
     }
 
-    private ServerResponse serveIamRequest(Map<String, String> requestBody) {
+    private Future<ServerResponse> serveIamRequest(
+            Map<String, String> requestBody) {
         IAMController iamController = new IAMController();
-        return iamController.serve(httpRequest, requestBody);
+        return iamController.serveAsync(httpRequest, requestBody);
     }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Netty transport of the auth server listeners.
+ *
+ * The native epoll transport is used when it is requested and its native
+ * library loads, else the NIO transport. With epoll the listening sockets are
+ * opened with SO_REUSEPORT and a port is bound once per boss thread, so that
+ * the kernel spreads new connections over the boss threads.
+ *
+ * SO_REUSEPORT also lets another process of the same user bind a port which
+ * is in use, a second auth server would then silently take a share of the
+ * connections of the first one. The port is therefore checked to be free
+ * before the epoll listeners are bound.
+ */
+public
+final class AuthServerTransport {
+
+ private
+  static final Logger LOGGER =
+      LoggerFactory.getLogger(AuthServerTransport.class.getName());
+
+ private
+  final boolean epoll;
+
+  /**
+   * @param useEpoll true to use the native epoll transport if available.
+   */
+ public
+  AuthServerTransport(boolean useEpoll) {
+    epoll = useEpoll && Epoll.isAvailable();
+    if (useEpoll && !epoll) {
+      LOGGER.warn("Native epoll transport is not available, using NIO. " +
+                  Epoll.unavailabilityCause());
+    }
+  }
+
+  /**
+   * @return true if the native epoll transport is used.
+   */
+ public
+  boolean isEpoll() { return epoll; }
+
+ public
+  EventLoopGroup newEventLoopGroup(int threads) {
+    if (epoll) {
+      return new EpollEventLoopGroup(threads);
+    }
+    return new NioEventLoopGroup(threads);
+  }
+
+  /**
+   * Create a server bootstrap with the channel options of
+   * authserver.properties.
+   */
+ public
+  ServerBootstrap newServerBootstrap(EventLoopGroup bossGroup,
+                                     EventLoopGroup workerGroup) {
+    ByteBufAllocator allocator = AuthServerConfig.isNettyPooledAllocator()
+                                     ? PooledByteBufAllocator.DEFAULT
+                                     : UnpooledByteBufAllocator.DEFAULT;
+    ServerBootstrap b = new ServerBootstrap();
+    b.group(bossGroup, workerGroup)
+        .channel(epoll ? EpollServerSocketChannel.class
+                       : NioServerSocketChannel.class)
+        .option(ChannelOption.SO_BACKLOG, AuthServerConfig.getNettySoBacklog())
+        .option(ChannelOption.ALLOCATOR, allocator)
+        .childOption(ChannelOption.TCP_NODELAY,
+                     AuthServerConfig.isNettyTcpNoDelay())
+        .childOption(ChannelOption.ALLOCATOR, allocator)
+        .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK,
+                     new WriteBufferWaterMark(
+                         AuthServerConfig.getNettyWriteBufferLowWaterMark(),
+                         AuthServerConfig.getNettyWriteBufferHighWaterMark()));
+    if (epoll) {
+      b.option(EpollChannelOption.SO_REUSEPORT, true);
+    }
+    return b;
+  }
+
+  /**
+   * Bind the listeners of a port, one per boss thread with epoll, else one.
+   *
+   * @return listening channels.
+   * @throws java.net.BindException if the port is in use.
+   */
+ public
+  List<Channel> bind(ServerBootstrap b, String host, int port,
+                     int bossThreads)
+      throws InterruptedException, IOException {
+    if (epoll) {
+      checkPortIsFree(host, port);
+    }
+    int listeners = epoll ? Math.max(1, bossThreads) : 1;
+    List<Channel> channels = new ArrayList<>(listeners);
+    for (int i = 0; i < listeners; i++) {
+      channels.add(b.bind(host, port).sync().channel());
+    }
+    return channels;
+  }
+
+  /**
+   * Bind the port without SO_REUSEPORT, which fails if any other socket
+   * listens on it.
+   */
+ private
+  static void checkPortIsFree(String host, int port) throws IOException {
+    try (ServerSocket socket = new ServerSocket()) {
+      socket.bind(new InetSocketAddress(host, port));
+    }
+  }
+}
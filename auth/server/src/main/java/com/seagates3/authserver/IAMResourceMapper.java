@@ -22,11 +22,14 @@ package com.seagates3.authserver;
 
 import java.io.IOException;
 import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 import com.seagates3.exception.AuthResourceNotFoundException;
+import com.seagates3.exception.ServerInitialisationException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.Map;
 
 /**
  * IAM APIs do not follow restful architecture. IAM requests are HTTP POST
@@ -39,31 +42,58 @@ public class IAMResourceMapper {
 
     private static final String ROUTES_CONFIG_FILE = "/IAMroutes.json";
 
-    private static HashMap<String, String> routeConfigs;
+    private static volatile Map<String, ResourceMap> resourceMaps =
+            new HashMap<>();
 
     /**
-     * Read the handler mapping rules from routes.json.
+     * Read the handler mapping rules from routes.json and compile every
+     * route, so that a route to a missing validator or controller fails the
+     * server start instead of the request.
      *
-     * @throws java.io.UnsupportedEncodingException
+     * @throws ServerInitialisationException
      */
-    public static void init() throws UnsupportedEncodingException {
-       try(InputStream in =
-               IAMResourceMapper.class.getResourceAsStream(ROUTES_CONFIG_FILE);
-           InputStreamReader reader = new InputStreamReader(in, "UTF-8")) {
-        Gson gson = new Gson();
-        routeConfigs = gson.fromJson(reader, HashMap.class);
-       }
-       catch (IOException e) {
-         // Do nothing
-       }
+    public static void init() throws ServerInitialisationException {
+        Map<String, String> routeConfigs;
+        InputStream in =
+                IAMResourceMapper.class.getResourceAsStream(ROUTES_CONFIG_FILE);
+        if (in == null) {
+            throw new ServerInitialisationException(
+                    "IAM routes file " + ROUTES_CONFIG_FILE + " not found.");
+        }
+
+        try (InputStreamReader reader =
+                     new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            routeConfigs = new Gson().fromJson(reader,
+                    new TypeToken<HashMap<String, String>>() {}.getType());
+        } catch (IOException e) {
+            throw new ServerInitialisationException(
+                    "Failed to read IAM routes. " + e.getMessage());
+        }
+
+        Map<String, ResourceMap> maps = new HashMap<>();
+        for (Map.Entry<String, String> route : routeConfigs.entrySet()) {
+            String[] tokens = route.getValue().split("#", 2);
+            if (tokens.length != 2) {
+                throw new ServerInitialisationException(
+                        "Invalid route " + route.getValue() + " for action "
+                        + route.getKey());
+            }
+
+            ResourceMap resourceMap = new ResourceMap(tokens[0], tokens[1]);
+            try {
+                resourceMap.compile();
+            } catch (ReflectiveOperationException e) {
+                throw new ServerInitialisationException(
+                        "Invalid route " + route.getValue() + " for action "
+                        + route.getKey() + ". " + e);
+            }
+            maps.put(route.getKey(), resourceMap);
+        }
+        resourceMaps = maps;
     }
 
     /**
-     * Get the controller and action for the request URI.
-     *
-     * URI should be in the format /controller/action. If a match isn't found
-     * for the full URI i.e "/controller/action", then check if the resource has
-     * a wild card entry for the controller i.e "/controller/*".
+     * Get the compiled route of the IAM action.
      *
      * @param action
      * @return ResourceMap.
@@ -71,15 +101,14 @@ public class IAMResourceMapper {
      */
     public static ResourceMap getResourceMap(String action)
             throws AuthResourceNotFoundException {
-        String controllerAction = routeConfigs.get(action);
+        ResourceMap resourceMap = resourceMaps.get(action);
 
-        if (controllerAction == null) {
+        if (resourceMap == null) {
             String errorMessage = "Requested operation " + action
                     + " is not supported.";
             throw new AuthResourceNotFoundException(errorMessage);
         }
 
-        String[] tokens = controllerAction.split("#", 2);
-        return new ResourceMap(tokens[0], tokens[1]);
+        return resourceMap;
     }
 }
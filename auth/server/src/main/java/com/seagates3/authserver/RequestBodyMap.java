@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Fields of a request body, with keys compared ignoring case like a TreeMap
+ * ordered by String.CASE_INSENSITIVE_ORDER.
+ *
+ * Entries are kept in insertion order in parallel key, value and hash
+ * arrays. An open addressed table with linear probing maps the case
+ * insensitive hash of a key to its entry, so a lookup compares the
+ * precomputed hashes before the keys. Removed entries stay in the arrays
+ * until the table grows. Iteration follows insertion order. Keys must not be
+ * null. The map is not thread safe.
+ */
+public
+final class RequestBodyMap extends AbstractMap<String, String> {
+
+ private
+  static final String AMZ_HEADER_PREFIX = "x-amz-";
+
+ private
+  static final int MIN_CAPACITY = 8;
+
+ private
+  String[] keys;
+ private
+  String[] values;
+ private
+  int[] hashes;
+
+  /*
+   * Index + 1 of the entry of every slot, 0 for an empty slot. The table has
+   * a power of two length and is at most half full.
+   */
+ private
+  int[] slots;
+
+  /*
+   * Number of entries used in the arrays, including removed ones.
+   */
+ private
+  int count;
+ private
+  int size;
+ private
+  int modCount;
+
+ public
+  RequestBodyMap() { this(MIN_CAPACITY); }
+
+  /**
+   * @param expectedSize Number of fields expected.
+   */
+ public
+  RequestBodyMap(int expectedSize) {
+    int capacity = Math.max(MIN_CAPACITY, expectedSize);
+    keys = new String[capacity];
+    values = new String[capacity];
+    hashes = new int[capacity];
+    slots = new int[tableSize(capacity)];
+  }
+
+  /**
+   * Case insensitive hash of the key. Characters are folded the way
+   * String.equalsIgnoreCase compares them.
+   */
+  static int hash(String key) {
+    int h = 0;
+    for (int i = 0; i < key.length(); i++) {
+      h = 31 * h + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+    }
+    return h;
+  }
+
+  /**
+   * Case insensitive hash of an ASCII character, for callers that compute
+   * the hash of a key while reading it.
+   */
+  static int foldAscii(int c) { return c >= 'A' && c <= 'Z' ? c + 32 : c; }
+
+  @Override public int size() {
+    return size;
+  }
+
+  @Override public boolean containsKey(Object key) {
+    return key instanceof String && indexOf((String)key, hash((String)key)) >= 0;
+  }
+
+  @Override public String get(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    int index = indexOf((String)key, hash((String)key));
+    return index >= 0 ? values[index] : null;
+  }
+
+  @Override public String put(String key, String value) {
+    return put(key, hash(key), value);
+  }
+
+  /**
+   * Put a value with the precomputed hash of its key.
+   *
+   * @param hash Case insensitive hash of the key, see {@link #hash(String)}.
+   * @return the previous value.
+   */
+  String put(String key, int hash, String value) {
+    int index = indexOf(key, hash);
+    if (index >= 0) {
+      String previous = values[index];
+      values[index] = value;
+      return previous;
+    }
+    insert(key, hash, value);
+    return null;
+  }
+
+  /**
+   * Add a field of the request body. A repeated x-amz- field is joined to the
+   * previous values with a comma, any other repeated field replaces the
+   * previous value.
+   *
+   * @param hash Case insensitive hash of the key, see {@link #hash(String)}.
+   */
+  void addField(String key, int hash, String value) {
+    int index = indexOf(key, hash);
+    if (index < 0) {
+      insert(key, hash, value);
+    } else if (key.regionMatches(true, 0, AMZ_HEADER_PREFIX, 0,
+                                 AMZ_HEADER_PREFIX.length())) {
+      values[index] = values[index] + "," + value;
+    } else {
+      values[index] = value;
+    }
+  }
+
+  @Override public String remove(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    int index = indexOf((String)key, hash((String)key));
+    if (index < 0) {
+      return null;
+    }
+    String previous = values[index];
+    removeEntry(index);
+    return previous;
+  }
+
+  @Override public void clear() {
+    Arrays.fill(keys, 0, count, null);
+    Arrays.fill(values, 0, count, null);
+    Arrays.fill(slots, 0);
+    count = 0;
+    size = 0;
+    modCount++;
+  }
+
+  @Override public Set<Map.Entry<String, String>> entrySet() {
+    return new AbstractSet<Map.Entry<String, String>>() {
+      @Override public Iterator<Map.Entry<String, String>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override public int size() {
+        return size;
+      }
+
+      @Override public void clear() {
+        RequestBodyMap.this.clear();
+      }
+    };
+  }
+
+  /**
+   * @return index of the entry of the key or -1.
+   */
+ private
+  int indexOf(String key, int hash) {
+    int mask = slots.length - 1;
+    for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+      int index = slots[slot] - 1;
+      if (index < 0) {
+        return -1;
+      }
+      // removed entries keep their slot, with a null key
+      if (hashes[index] == hash && keys[index] != null &&
+          keys[index].equalsIgnoreCase(key)) {
+        return index;
+      }
+    }
+  }
+
+ private
+  void insert(String key, int hash, String value) {
+    if (key == null) {
+      throw new NullPointerException("key");
+    }
+    if (count == keys.length) {
+      grow();
+    }
+    keys[count] = key;
+    values[count] = value;
+    hashes[count] = hash;
+    count++;
+    size++;
+    modCount++;
+    addSlot(count - 1);
+  }
+
+ private
+  void addSlot(int index) {
+    int mask = slots.length - 1;
+    int slot = hashes[index] & mask;
+    while (slots[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    slots[slot] = index + 1;
+  }
+
+ private
+  void removeEntry(int index) {
+    keys[index] = null;
+    values[index] = null;
+    size--;
+    modCount++;
+  }
+
+  /**
+   * Compact the live entries and rebuild the table, doubling the capacity
+   * unless enough entries have been removed.
+   */
+ private
+  void grow() {
+    int capacity = size * 2 > keys.length ? keys.length * 2 : keys.length;
+    String[] newKeys = new String[capacity];
+    String[] newValues = new String[capacity];
+    int[] newHashes = new int[capacity];
+    int live = 0;
+    for (int i = 0; i < count; i++) {
+      if (keys[i] != null) {
+        newKeys[live] = keys[i];
+        newValues[live] = values[i];
+        newHashes[live] = hashes[i];
+        live++;
+      }
+    }
+    keys = newKeys;
+    values = newValues;
+    hashes = newHashes;
+    count = live;
+    slots = new int[tableSize(capacity)];
+    for (int i = 0; i < count; i++) {
+      addSlot(i);
+    }
+  }
+
+ private
+  static int tableSize(int capacity) {
+    return Integer.highestOneBit(capacity - 1) << 2;
+  }
+
+ private
+  final class EntryIterator implements Iterator<Map.Entry<String, String>> {
+
+   private
+    int next = skipRemoved(0);
+   private
+    int last = -1;
+   private
+    int expectedModCount = modCount;
+
+    @Override public boolean hasNext() {
+      return next < count;
+    }
+
+    @Override public Map.Entry<String, String> next() {
+      if (expectedModCount != modCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (next >= count) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      next = skipRemoved(next + 1);
+      return new Entry(last);
+    }
+
+    @Override public void remove() {
+      if (last < 0) {
+        throw new IllegalStateException();
+      }
+      if (expectedModCount != modCount) {
+        throw new ConcurrentModificationException();
+      }
+      removeEntry(last);
+      last = -1;
+      expectedModCount = modCount;
+    }
+
+   private
+    int skipRemoved(int index) {
+      while (index < count && keys[index] == null) {
+        index++;
+      }
+      return index;
+    }
+  }
+
+ private
+  final class Entry implements Map.Entry<String, String> {
+
+   private
+    final int index;
+   private
+    final String key;
+
+    Entry(int index) {
+      this.index = index;
+      this.key = keys[index];
+    }
+
+    @Override public String getKey() {
+      return key;
+    }
+
+    @Override public String getValue() {
+      return keys[index] == key ? values[index] : null;
+    }
+
+    @Override public String setValue(String value) {
+      if (keys[index] != key) {
+        throw new IllegalStateException("Entry has been removed");
+      }
+      String previous = values[index];
+      values[index] = value;
+      return previous;
+    }
+
+    @Override public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>)o;
+      String value = getValue();
+      return key.equals(e.getKey()) &&
+          (value == null ? e.getValue() == null : value.equals(e.getValue()));
+    }
+
+    @Override public int hashCode() {
+      String value = getValue();
+      return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override public String toString() {
+      return key + "=" + getValue();
+    }
+  }
+}
@@ -20,16 +20,51 @@
 
 package com.seagates3.authserver;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+
 import org.apache.commons.lang.StringUtils;
 
+import com.seagates3.model.Requestor;
+import com.seagates3.response.ServerResponse;
+
+/**
+ * Route of an IAM action to its parameter validator and controller action.
+ *
+ * The validator and controller are resolved once by compile, after which
+ * serving a request only invokes method handles. Routes loaded by
+ * IAMResourceMapper are compiled at start up; other routes are compiled on
+ * first use.
+ */
 public class ResourceMap {
 
+    private static final MethodType VALIDATOR_TYPE =
+            MethodType.methodType(boolean.class, Map.class);
+    private static final MethodType ACTION_TYPE = MethodType.methodType(
+            ServerResponse.class, Requestor.class, Map.class);
+
     private final String controllerName;
     private final String action;
 
     private final String VALIDATOR_PACKAGE = "com.seagates3.parameter.validator";
     private final String CONTROLLER_PACKAGE = "com.seagates3.controller";
 
+    /*
+     * (Map) boolean, bound to a validator instance shared by all requests.
+     */
+    private volatile MethodHandle paramValidator;
+
+    /*
+     * (Requestor, Map) ServerResponse, creates the controller and invokes the
+     * action on it.
+     */
+    private volatile MethodHandle controllerAction;
+
     public ResourceMap(String controllerName, String action) {
         this.controllerName = controllerName;
         this.action = action;
@@ -73,4 +108,99 @@ public class ResourceMap {
         return String.format("isValid%sParams", StringUtils.capitalize(action));
     }
 
+    /**
+     * Resolve the parameter validator and the controller action of the route.
+     *
+     * @throws ReflectiveOperationException if the validator or controller
+     * class, constructor or method does not exist or has the wrong type.
+     */
+    public synchronized void compile() throws ReflectiveOperationException {
+        if (paramValidator != null && controllerAction != null) {
+            return;
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+        Class<?> validatorClass = Class.forName(getParamValidatorClass());
+        Method validatorMethod = validatorClass.getMethod(
+                getParamValidatorMethod(), Map.class);
+        Class<?> returnType = validatorMethod.getReturnType();
+        if (returnType != Boolean.class && returnType != boolean.class) {
+            throw new NoSuchMethodException(validatorClass.getName() + "."
+                    + validatorMethod.getName() + " does not return boolean");
+        }
+        Object validator = validatorClass.newInstance();
+
+        Class<?> controllerClass = Class.forName(getControllerClass());
+        Constructor<?> constructor = controllerClass.getConstructor(
+                Requestor.class, Map.class);
+        Method actionMethod = controllerClass.getMethod(action);
+        if (!ServerResponse.class.isAssignableFrom(
+                actionMethod.getReturnType())) {
+            throw new NoSuchMethodException(controllerClass.getName() + "."
+                    + action + " does not return ServerResponse");
+        }
+
+        MethodHandle actionHandle = lookup.unreflect(actionMethod).asType(
+                MethodType.methodType(ServerResponse.class, controllerClass));
+
+        MethodHandle validatorHandle = lookup.unreflect(validatorMethod)
+                .bindTo(validator).asType(VALIDATOR_TYPE);
+        MethodHandle controllerHandle = MethodHandles.filterReturnValue(
+                lookup.unreflectConstructor(constructor), actionHandle)
+                .asType(ACTION_TYPE);
+
+        paramValidator = validatorHandle;
+        controllerAction = controllerHandle;
+    }
+
+    /**
+     * Validate the request parameters.
+     *
+     * @param requestBody
+     * @return true if the parameters are valid.
+     * @throws ReflectiveOperationException if the route can not be compiled.
+     */
+    public boolean isValidRequest(Map<String, String> requestBody)
+            throws ReflectiveOperationException {
+        MethodHandle handle = paramValidator;
+        if (handle == null) {
+            compile();
+            handle = paramValidator;
+        }
+
+        try {
+            return (boolean) handle.invokeExact(requestBody);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new UndeclaredThrowableException(ex);
+        }
+    }
+
+    /**
+     * Create the controller for the request and perform the action.
+     *
+     * @param requestor
+     * @param requestBody
+     * @return response of the controller action.
+     * @throws ReflectiveOperationException if the route can not be compiled.
+     */
+    public ServerResponse performAction(Requestor requestor,
+            Map<String, String> requestBody)
+            throws ReflectiveOperationException {
+        MethodHandle handle = controllerAction;
+        if (handle == null) {
+            compile();
+            handle = controllerAction;
+        }
+
+        try {
+            return (ServerResponse) handle.invokeExact(requestor, requestBody);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new UndeclaredThrowableException(ex);
+        }
+    }
 }
@@ -21,19 +21,35 @@
 package com.seagates3.authserver;
 
 import com.seagates3.exception.ServerInitialisationException;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.OpenSslSessionContext;
+import io.netty.handler.ssl.OpenSslSessionTicketKey;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSessionContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -44,6 +60,38 @@ public class SSLContextProvider {
     private static final Logger LOGGER
             = LogManager.getLogger(SSLContextProvider.class.getName());
 
+    private static final String AES_GCM_CIPHER_POLICY = "aes-gcm";
+
+    /*
+     * Session timeout of OpenSSL, used as rotation period of the session
+     * ticket keys if the context reports none.
+     */
+    private static final int DEFAULT_TICKET_KEY_ROTATION_SECONDS = 300;
+
+    private static ScheduledExecutorService ticketKeyRotationExecutor;
+
+    /*
+     * AEAD suites first, AES-GCM before ChaCha20 since the auth nodes have
+     * AES-NI, then CBC suites for older clients. Suites the provider does not
+     * support are left out.
+     */
+    private static final List<String> AES_GCM_FIRST_CIPHERS = Arrays.asList(
+            "TLS_AES_128_GCM_SHA256",
+            "TLS_AES_256_GCM_SHA384",
+            "TLS_CHACHA20_POLY1305_SHA256",
+            "TLS_ECDHE_ECDSA_WITH_AES_128_GCM_SHA256",
+            "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256",
+            "TLS_ECDHE_ECDSA_WITH_AES_256_GCM_SHA384",
+            "TLS_ECDHE_RSA_WITH_AES_256_GCM_SHA384",
+            "TLS_ECDHE_ECDSA_WITH_CHACHA20_POLY1305_SHA256",
+            "TLS_ECDHE_RSA_WITH_CHACHA20_POLY1305_SHA256",
+            "TLS_RSA_WITH_AES_128_GCM_SHA256",
+            "TLS_RSA_WITH_AES_256_GCM_SHA384",
+            "TLS_ECDHE_RSA_WITH_AES_128_CBC_SHA",
+            "TLS_ECDHE_RSA_WITH_AES_256_CBC_SHA",
+            "TLS_RSA_WITH_AES_128_CBC_SHA",
+            "TLS_RSA_WITH_AES_256_CBC_SHA");
+
     public static void init() throws ServerInitialisationException {
         LOGGER.info("Initializing SSl Context");
 
@@ -71,7 +119,7 @@ public class SSLContextProvider {
                 kmf = KeyManagerFactory.getInstance(
                         KeyManagerFactory.getDefaultAlgorithm());
                 kmf.init(s3Keystore, keyPassword);
-                authSSLContext = SslContextBuilder.forServer(kmf).build();
+                authSSLContext = newServerContext(kmf);
 
                 LOGGER.info("SSL context created.");
             } catch (FileNotFoundException ex) {
@@ -92,6 +140,164 @@ public class SSLContextProvider {
         }
     }
 
+    /**
+     * Build a server context with the TLS provider, cipher policy and session
+     * resumption settings of authserver.properties.
+     *
+     * @param kmf Key manager of the server certificate.
+     * @return SslContext
+     * @throws SSLException
+     */
+    public static SslContext newServerContext(KeyManagerFactory kmf)
+            throws SSLException {
+        SslProvider provider = getSslProvider();
+        SslContextBuilder builder = SslContextBuilder.forServer(kmf);
+        builder.sslProvider(provider);
+        if (AES_GCM_CIPHER_POLICY.equalsIgnoreCase(
+                AuthServerConfig.getSslCipherPolicy())) {
+            builder.ciphers(AES_GCM_FIRST_CIPHERS,
+                    SupportedCipherSuiteFilter.INSTANCE);
+        }
+        // 0 keeps the default of the provider
+        builder.sessionCacheSize(AuthServerConfig.getSslSessionCacheSize());
+        builder.sessionTimeout(AuthServerConfig.getSslSessionTimeout());
+
+        SslContext sslContext = builder.build();
+        if (sslContext != null
+                && AuthServerConfig.isSslSessionTicketsEnabled()) {
+            enableSessionTickets(sslContext);
+        }
+        LOGGER.info("Using " + provider + " TLS provider.");
+        return sslContext;
+    }
+
+    /**
+     * @return OpenSSL provider unless the JDK one is configured or
+     * netty-tcnative cannot be loaded.
+     */
+    static SslProvider getSslProvider() {
+        if (SslProvider.JDK.name().equalsIgnoreCase(
+                AuthServerConfig.getSslProvider())) {
+            return SslProvider.JDK;
+        }
+        if (OpenSsl.isAvailable()) {
+            return SslProvider.OPENSSL;
+        }
+        LOGGER.warn("OpenSSL is not available, using the JDK TLS provider. "
+                + OpenSsl.unavailabilityCause());
+        return SslProvider.JDK;
+    }
+
+    /**
+     * Let clients resume sessions with tickets encrypted by a key generated
+     * for this server process, so that resumption does not depend on the
+     * session still being cached.
+     *
+     * The key is replaced every session timeout. Tickets encrypted with the
+     * previous key are accepted for one more period, which covers every
+     * ticket whose session has not timed out.
+     */
+    private static void enableSessionTickets(SslContext sslContext) {
+        SSLSessionContext sessionContext = sslContext.sessionContext();
+        if (!(sessionContext instanceof OpenSslSessionContext)) {
+            LOGGER.info("Session tickets need the OpenSSL provider, sessions "
+                    + "are resumed from the session cache only.");
+            return;
+        }
+
+        OpenSslSessionContext openSslSessionContext
+                = (OpenSslSessionContext) sessionContext;
+        SessionTicketKeyRotator rotator
+                = new SessionTicketKeyRotator(openSslSessionContext);
+        rotator.rotate();
+
+        int period = openSslSessionContext.getSessionTimeout();
+        if (period <= 0) {
+            period = DEFAULT_TICKET_KEY_ROTATION_SECONDS;
+        }
+        rotator.schedule(getTicketKeyRotationExecutor(), period);
+        LOGGER.info("Session ticket keys are rotated every " + period
+                + " seconds.");
+    }
+
+    private static synchronized ScheduledExecutorService
+            getTicketKeyRotationExecutor() {
+        if (ticketKeyRotationExecutor == null) {
+            ticketKeyRotationExecutor
+                    = Executors.newSingleThreadScheduledExecutor(
+                            new DefaultThreadFactory("ticket-key-rotation",
+                                    true));
+        }
+        return ticketKeyRotationExecutor;
+    }
+
+    /**
+     * Periodically replaces the session ticket key of a context. The task
+     * stops once the context has been garbage collected.
+     */
+    static final class SessionTicketKeyRotator implements Runnable {
+
+        private final WeakReference<OpenSslSessionContext> sessionContext;
+        private OpenSslSessionTicketKey currentKey;
+        private volatile ScheduledFuture<?> future;
+
+        SessionTicketKeyRotator(OpenSslSessionContext sessionContext) {
+            this.sessionContext
+                    = new WeakReference<OpenSslSessionContext>(sessionContext);
+        }
+
+        void schedule(ScheduledExecutorService executor, long periodSeconds) {
+            future = executor.scheduleAtFixedRate(this, periodSeconds,
+                    periodSeconds, TimeUnit.SECONDS);
+        }
+
+        /**
+         * Encrypt new tickets with a new key and keep the current one to
+         * decrypt the tickets it issued.
+         *
+         * @return false if the context has been garbage collected.
+         */
+        synchronized boolean rotate() {
+            OpenSslSessionContext context = sessionContext.get();
+            if (context == null) {
+                return false;
+            }
+
+            OpenSslSessionTicketKey newKey = newTicketKey();
+            if (currentKey == null) {
+                context.setTicketKeys(newKey);
+            } else {
+                context.setTicketKeys(newKey, currentKey);
+            }
+            currentKey = newKey;
+            return true;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (!rotate() && future != null) {
+                    future.cancel(false);
+                }
+            } catch (RuntimeException ex) {
+                // Keep the task scheduled, the current keys stay in use.
+                LOGGER.error("Failed to rotate the session ticket key. "
+                        + ex.getMessage());
+            }
+        }
+
+        private static OpenSslSessionTicketKey newTicketKey() {
+            SecureRandom random = new SecureRandom();
+            byte[] name = new byte[OpenSslSessionTicketKey.NAME_SIZE];
+            byte[] hmacKey = new byte[OpenSslSessionTicketKey.HMAC_KEY_SIZE];
+            byte[] aesKey = new byte[OpenSslSessionTicketKey.AES_KEY_SIZE];
+            random.nextBytes(name);
+            random.nextBytes(hmacKey);
+            random.nextBytes(aesKey);
+            return new OpenSslSessionTicketKey(name, hmacKey, aesKey);
+        }
+    }
+
     public static SslContext getServerContext() {
         return authSSLContext;
     }
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, thread safe cache with LRU eviction and time based expiry.
+ *
+ * Keys are spread over a fixed number of lock striped segments, each of
+ * which is an access ordered LinkedHashMap. A segment evicts its least
+ * recently used entry once it holds more than its share of maxEntries, so
+ * the total size never exceeds maxEntries. Entries older than the time to
+ * live are treated as absent and dropped on lookup.
+ */
+public
+class AuthCache<K, V> {
+
+ private
+  static final int MAX_SEGMENTS = 16;
+
+ private
+  final String name;
+ private
+  final int maxEntries;
+ private
+  final long ttlMillis;
+ private
+  final Segment<K, V>[] segments;
+ private
+  final int segmentMask;
+
+ private
+  final AtomicLong hitCount = new AtomicLong();
+ private
+  final AtomicLong missCount = new AtomicLong();
+ private
+  final AtomicLong evictionCount = new AtomicLong();
+ private
+  final AtomicLong expiredCount = new AtomicLong();
+
+  /**
+   * @param name Name of the cache, used while logging statistics.
+   * @param maxEntries Maximum number of entries held by the cache.
+   * @param ttlMillis Time to live of an entry in milliseconds. 0 or less
+   *                  means entries never expire.
+   */
+ public
+  AuthCache(String name, int maxEntries, long ttlMillis) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be positive");
+    }
+    this.name = name;
+    this.maxEntries = maxEntries;
+    this.ttlMillis = ttlMillis;
+
+    int segmentCount = 1;
+    while (segmentCount < MAX_SEGMENTS && segmentCount * 2 <= maxEntries) {
+      segmentCount *= 2;
+    }
+    segmentMask = segmentCount - 1;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Segment<K, V>[] newSegments = new Segment[segmentCount];
+    segments = newSegments;
+
+    int perSegment = maxEntries / segmentCount;
+    int remainder = maxEntries % segmentCount;
+    for (int i = 0; i < segmentCount; i++) {
+      segments[i] = new Segment<K, V>(perSegment + (i < remainder ? 1 : 0),
+                                      evictionCount);
+    }
+  }
+
+  /**
+   * Return the cached value for the key or null if it is absent or expired.
+   */
+ public
+  V get(K key) {
+    Entry<V> entry = getEntry(key);
+    return entry == null ? null : entry.value;
+  }
+
+  /**
+   * Return the cached entry for the key or null if it is absent or expired.
+   * The entry carries the time at which it was written.
+   */
+ public
+  Entry<V> getEntry(K key) {
+    Segment<K, V> segment = segmentFor(key);
+    long now = currentTimeMillis();
+    Entry<V> entry;
+    synchronized(segment) {
+      entry = segment.map.get(key);
+      if (entry != null && isExpired(entry, now)) {
+        segment.map.remove(key);
+        expiredCount.incrementAndGet();
+        entry = null;
+      }
+    }
+    if (entry == null) {
+      missCount.incrementAndGet();
+    } else {
+      hitCount.incrementAndGet();
+    }
+    return entry;
+  }
+
+  /**
+   * @return true if an unexpired value is cached for the key. Unlike get
+   * this does not count towards hit and miss statistics.
+   */
+ public
+  boolean containsKey(K key) {
+    Segment<K, V> segment = segmentFor(key);
+    Entry<V> entry;
+    synchronized(segment) { entry = segment.map.get(key); }
+    return entry != null && !isExpired(entry, currentTimeMillis());
+  }
+
+  /**
+   * Add or replace the value for the key.
+   */
+ public
+  void put(K key, V value) {
+    Segment<K, V> segment = segmentFor(key);
+    Entry<V> entry = new Entry<V>(value, currentTimeMillis());
+    synchronized(segment) { segment.map.put(key, entry); }
+  }
+
+  /**
+   * Remove the value for the key.
+   *
+   * @return removed value or null if key was not cached.
+   */
+ public
+  V remove(K key) {
+    Segment<K, V> segment = segmentFor(key);
+    Entry<V> entry;
+    synchronized(segment) { entry = segment.map.remove(key); }
+    return entry == null ? null : entry.value;
+  }
+
+  /**
+   * Remove every entry whose key is accepted by the filter. This walks the
+   * whole cache and is meant for infrequent invalidation.
+   *
+   * @return number of removed entries.
+   */
+ public
+  int removeIf(KeyFilter<K> filter) {
+    int removed = 0;
+    for (Segment<K, V> segment : segments) {
+      synchronized(segment) {
+        Iterator<K> it = segment.map.keySet().iterator();
+        while (it.hasNext()) {
+          if (filter.accept(it.next())) {
+            it.remove();
+            removed++;
+          }
+        }
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * Remove every entry from the cache. Statistics are preserved.
+   */
+ public
+  void clear() {
+    for (Segment<K, V> segment : segments) {
+      synchronized(segment) { segment.map.clear(); }
+    }
+  }
+
+  /**
+   * Drop all expired entries.
+   */
+ public
+  void cleanUp() {
+    if (ttlMillis <= 0) {
+      return;
+    }
+    long now = currentTimeMillis();
+    for (Segment<K, V> segment : segments) {
+      synchronized(segment) {
+        Iterator<Entry<V>> it = segment.map.values().iterator();
+        while (it.hasNext()) {
+          if (isExpired(it.next(), now)) {
+            it.remove();
+            expiredCount.incrementAndGet();
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @return number of entries currently held, including expired entries
+   * which are not yet cleaned up.
+   */
+ public
+  int size() {
+    int size = 0;
+    for (Segment<K, V> segment : segments) {
+      synchronized(segment) { size += segment.map.size(); }
+    }
+    return size;
+  }
+
+ public
+  String getName() { return name; }
+
+ public
+  int getMaxEntries() { return maxEntries; }
+
+ public
+  long getTtlMillis() { return ttlMillis; }
+
+ public
+  long getHitCount() { return hitCount.get(); }
+
+ public
+  long getMissCount() { return missCount.get(); }
+
+ public
+  long getEvictionCount() { return evictionCount.get(); }
+
+ public
+  long getExpiredCount() { return expiredCount.get(); }
+
+  @Override public String toString() {
+    return "AuthCache[" + name + "] size=" + size() + " maxEntries=" +
+        maxEntries + " ttlMillis=" + ttlMillis + " hits=" + getHitCount() +
+        " misses=" + getMissCount() + " evictions=" + getEvictionCount() +
+        " expired=" + getExpiredCount();
+  }
+
+ protected
+  long currentTimeMillis() { return System.currentTimeMillis(); }
+
+ private
+  boolean isExpired(Entry<V> entry, long now) {
+    if (ttlMillis <= 0) {
+      return false;
+    }
+    long age = now - entry.creationTime;
+    return age < 0 || age >= ttlMillis;
+  }
+
+ private
+  Segment<K, V> segmentFor(K key) {
+    int h = key.hashCode();
+    // Spread higher bits so that keys differing only there do not collide.
+    h ^= (h >>> 16);
+    return segments[h & segmentMask];
+  }
+
+  /**
+   * Selects the keys removed by removeIf.
+   */
+ public
+  interface KeyFilter<K> {
+
+    boolean accept(K key);
+  }
+
+  /**
+   * Cached value along with the time it was written.
+   */
+ public
+  static final class Entry<V> {
+
+   private
+    final V value;
+   private
+    final long creationTime;
+
+    Entry(V value, long creationTime) {
+      this.value = value;
+      this.creationTime = creationTime;
+    }
+
+   public
+    V getValue() { return value; }
+
+   public
+    long getCreationTime() { return creationTime; }
+  }
+
+ private
+  static final class Segment<K, V> {
+
+   private
+    final LinkedHashMap<K, AuthCache.Entry<V>> map;
+
+    Segment(final int capacity, final AtomicLong evictionCount) {
+      map = new LinkedHashMap<K, AuthCache.Entry<V>>(16, 0.75f, true) {
+
+       private
+        static final long serialVersionUID = 1L;
+
+        @Override protected boolean removeEldestEntry(
+            Map.Entry<K, AuthCache.Entry<V>> eldest) {
+          if (size() > capacity) {
+            evictionCount.incrementAndGet();
+            return true;
+          }
+          return false;
+        }
+      };
+    }
+  }
+}
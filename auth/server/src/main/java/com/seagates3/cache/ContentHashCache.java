@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.cache;
+
+import com.seagates3.util.BinaryUtil;
+
+/**
+ * Values derived from a document sent by S3 server, such as a parsed ACL or
+ * a compiled bucket policy, keyed on the content of the document.
+ *
+ * Each thread first remembers the last document it looked up, since a
+ * request consults the same document several times. Across requests values
+ * are kept in a bounded LRU cache keyed on the SHA-256 of the document. The
+ * key is derived from the content, hence entries never go stale and have no
+ * time to live. With maxEntries 0 only the per thread memo is used.
+ *
+ * The caller derives the value on a miss:
+ *
+ * <pre>
+ * V value = cache.get(content);
+ * if (value == null) {
+ *   value = cache.put(content, derive(content));
+ * }
+ * </pre>
+ */
+public
+final class ContentHashCache<V> {
+
+ private
+  final AuthCache<String, V> sharedCache;
+
+ private
+  final ThreadLocal<Entry<V>> lastEntry = new ThreadLocal<Entry<V>>();
+
+  /*
+   * Last document looked up by a thread. The value is null after a miss,
+   * the key is then kept for the put which follows.
+   */
+ private
+  static final class Entry<V> {
+   final String content;
+   final String key;
+   final V value;
+
+   Entry(String content, String key, V value) {
+     this.content = content;
+     this.key = key;
+     this.value = value;
+   }
+  }
+
+  /**
+   * @param name Name of the shared cache, used while logging statistics.
+   * @param maxEntries Maximum number of entries of the shared cache, 0 or
+   *                   less disables it.
+   */
+ public
+  ContentHashCache(String name, int maxEntries) {
+    sharedCache =
+        maxEntries > 0 ? new AuthCache<String, V>(name, maxEntries, 0) : null;
+  }
+
+  /**
+   * @return value derived from the content or null if it is not cached.
+   */
+ public
+  V get(String content) {
+    Entry<V> last = lastEntry.get();
+    if (last != null && last.value != null && last.content.equals(content)) {
+      return last.value;
+    }
+
+    String key = null;
+    V value = null;
+    if (sharedCache != null) {
+      key = BinaryUtil.hexEncodedHash(content);
+      value = key != null ? sharedCache.get(key) : null;
+    }
+    lastEntry.set(new Entry<V>(content, key, value));
+    return value;
+  }
+
+  /**
+   * Cache the value derived from the content.
+   *
+   * @return the value.
+   */
+ public
+  V put(String content, V value) {
+    String key = null;
+    if (sharedCache != null) {
+      Entry<V> last = lastEntry.get();
+      key = last != null && last.content.equals(content)
+                ? last.key
+                : BinaryUtil.hexEncodedHash(content);
+      if (key != null) {
+        sharedCache.put(key, value);
+      }
+    }
+    lastEntry.set(new Entry<V>(content, key, value));
+    return value;
+  }
+
+  /**
+   * @return shared cache of the values or null if it is disabled.
+   */
+ public
+  AuthCache<String, V> getSharedCache() { return sharedCache; }
+}
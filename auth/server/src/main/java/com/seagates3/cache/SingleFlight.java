@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesce concurrent loads of the same key.
+ *
+ * The first caller for a key runs the loader, every caller arriving while
+ * that load is in flight waits for and shares its result (or exception).
+ * Once the load completes the key is forgotten, so results are never cached
+ * here; callers are expected to put them in an AuthCache.
+ */
+public
+class SingleFlight<K, V> {
+
+ private
+  final ConcurrentMap<K, FutureTask<V>> inFlight =
+      new ConcurrentHashMap<K, FutureTask<V>>();
+ private
+  final AtomicLong loadCount = new AtomicLong();
+ private
+  final AtomicLong sharedCount = new AtomicLong();
+
+  /**
+   * Run the loader for the key in the calling thread unless a load for the
+   * key is already in flight, in which case wait for that load.
+   *
+   * @throws ExecutionException wrapping the exception thrown by the loader.
+   */
+ public
+  V execute(K key, Callable<V> loader) throws ExecutionException,
+      InterruptedException {
+    FutureTask<V> task = new FutureTask<V>(loader);
+    FutureTask<V> existing = inFlight.putIfAbsent(key, task);
+    if (existing != null) {
+      sharedCount.incrementAndGet();
+      return existing.get();
+    }
+
+    loadCount.incrementAndGet();
+    try {
+      task.run();
+      return task.get();
+    }
+    finally {
+      inFlight.remove(key, task);
+    }
+  }
+
+  /**
+   * Run the loader for the key on the executor unless a load for the key is
+   * already in flight.
+   *
+   * @return true if a new load was submitted.
+   */
+ public
+  boolean executeAsync(final K key, Callable<V> loader, Executor executor) {
+    FutureTask<V> task = new FutureTask<V>(loader) {
+      @Override protected void done() { inFlight.remove(key, this); }
+    };
+    if (inFlight.putIfAbsent(key, task) != null) {
+      return false;
+    }
+
+    try {
+      executor.execute(task);
+    }
+    catch (RejectedExecutionException e) {
+      inFlight.remove(key, task);
+      return false;
+    }
+    loadCount.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * @return true if a load for the key is currently in flight.
+   */
+ public
+  boolean isInFlight(K key) { return inFlight.containsKey(key); }
+
+  /**
+   * @return number of loads actually run.
+   */
+ public
+  long getLoadCount() { return loadCount.get(); }
+
+  /**
+   * @return number of callers which shared a load run by another caller.
+   */
+ public
+  long getSharedCount() { return sharedCount.get(); }
+}
@@ -31,6 +31,7 @@ import com.seagates3.model.Requestor;
 import com.seagates3.model.User;
 import com.seagates3.response.ServerResponse;
 import com.seagates3.response.generator.AccessKeyResponseGenerator;
+import com.seagates3.service.GlobalDataStore;
 import com.seagates3.util.KeyGenUtil;
 import java.util.Map;
 
@@ -105,6 +106,7 @@ public class AccessKeyController extends AbstractController {
         } catch (DataAccessException ex) {
             return accessKeyResponseGenerator.internalServerError();
         }
+        GlobalDataStore.getInstance().invalidateAccessKey(accessKey.getId());
 
         return accessKeyResponseGenerator.generateCreateResponse(userName,
                 accessKey);
@@ -160,6 +162,7 @@ public class AccessKeyController extends AbstractController {
         } catch (DataAccessException ex) {
             return accessKeyResponseGenerator.internalServerError();
         }
+        GlobalDataStore.getInstance().invalidateAccessKey(accessKey.getId());
 
         return accessKeyResponseGenerator.generateDeleteResponse();
     }
@@ -270,6 +273,8 @@ public class AccessKeyController extends AbstractController {
             } catch (DataAccessException ex) {
                 return accessKeyResponseGenerator.internalServerError();
             }
+            GlobalDataStore.getInstance().invalidateAccessKey(
+                accessKey.getId());
         }
 
         return accessKeyResponseGenerator.generateUpdateResponse();
@@ -36,6 +36,7 @@ import com.seagates3.model.Account;
 import com.seagates3.model.Requestor;
 import com.seagates3.model.Role;
 import com.seagates3.model.User;
+import com.seagates3.policy.IdentityPolicyCache;
 import com.seagates3.response.ServerResponse;
 import com.seagates3.response.generator.AccountResponseGenerator;
 import com.seagates3.s3service.S3AccountNotifier;
@@ -315,6 +316,8 @@ public class AccountController extends AbstractController {
         } catch (DataAccessException ex) {
             return accountResponseGenerator.internalServerError();
         }
+        GlobalDataStore.getInstance().invalidateAccessKey(
+            rootAccessKey.getId());
         try {
           // Added delay so that newly created keys are replicated in ldap
           Thread.sleep(500);
@@ -450,6 +453,8 @@ public class AccountController extends AbstractController {
             accountDao.deleteOu(account, LDAPUtils.GROUP_OU);
             accountDao.deleteOu(account, LDAPUtils.POLICY_OU);
             accountDao.delete(account);
+            IdentityPolicyCache.getInstance().invalidateAccount(
+                account.getName());
         } catch (DataAccessException e) {
             if (e.getLocalizedMessage().contains("subordinate objects must be deleted first")) {
                 return accountResponseGenerator.deleteConflict();
@@ -468,7 +473,7 @@ public class AccountController extends AbstractController {
         AccessKey[] accessKeys = accessKeyDAO.findAll(user);
         for (AccessKey accessKey : accessKeys) {
             accessKeyDAO.delete(accessKey);
-            GlobalDataStore.getInstance().getAuthenticationMap().remove(
+            GlobalDataStore.getInstance().invalidateAccessKey(
                 accessKey.getId());
         }
     }
@@ -28,6 +28,7 @@ import com.seagates3.model.Group;
 import com.seagates3.model.Requestor;
 import com.seagates3.response.ServerResponse;
 import com.seagates3.response.generator.GroupResponseGenerator;
+import com.seagates3.service.GlobalDataStore;
 import com.seagates3.util.ARNUtil;
 import com.seagates3.util.DateUtil;
 import com.seagates3.util.KeyGenUtil;
@@ -91,6 +92,8 @@ public class GroupController extends AbstractController {
         } catch (DataAccessException ex) {
             return responseGenerator.internalServerError();
         }
+        GlobalDataStore.getInstance().invalidateGroups(
+                requestor.getAccount().getName());
 
         return responseGenerator.generateCreateResponse(group);
     }
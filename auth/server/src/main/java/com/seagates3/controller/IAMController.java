@@ -20,14 +20,16 @@
 
 package com.seagates3.controller;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.seagates3.authentication.ChunkSignatureSession;
 import com.seagates3.authentication.ClientRequestParser;
 import com.seagates3.authentication.ClientRequestToken;
 import com.seagates3.authentication.SignatureValidator;
@@ -37,6 +39,7 @@ import com.seagates3.authorization.RootPermissionAuthorizer;
 import com.seagates3.authserver.AuthServerConfig;
 import com.seagates3.authserver.IAMResourceMapper;
 import com.seagates3.authserver.ResourceMap;
+import com.seagates3.dao.ldap.LdapIOExecutor;
 import com.seagates3.exception.AuthResourceNotFoundException;
 import com.seagates3.exception.InternalServerException;
 import com.seagates3.exception.InvalidAccessKeyException;
@@ -49,12 +52,16 @@ import com.seagates3.model.Requestor;
 import com.seagates3.perf.S3Perf;
 import com.seagates3.response.ServerResponse;
 import com.seagates3.response.generator.AuthenticationResponseGenerator;
+import com.seagates3.service.GlobalDataStore;
 import com.seagates3.service.RequestorService;
 import com.seagates3.model.AuthIAMAuditlog;
 import org.json.JSONObject;
 import org.json.JSONException;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
 
 public
 class IAMController {
@@ -71,6 +78,71 @@ class IAMController {
     perf = new S3Perf();
   }
 
+  /**
+   * Serve the request without blocking the calling thread on the directory.
+   *
+   * Authentication requests whose requestor is not cached need LDAP lookups;
+   * they are served on the LDAP I/O executor and the returned future
+   * completes once the response is ready. Every other request is served in
+   * the calling thread and returned as a completed future.
+   *
+   * @param httpRequest
+   * @param requestBody
+   * @return future completed with the server response.
+   */
+ public
+  Future<ServerResponse> serveAsync(final FullHttpRequest httpRequest,
+                                    final Map<String, String> requestBody) {
+    EventExecutorGroup ldapExecutor = LdapIOExecutor.getExecutorGroup();
+    if (ldapExecutor == null || !needsDirectoryLookup(requestBody)) {
+      return ImmediateEventExecutor.INSTANCE.newSucceededFuture(
+          serve(httpRequest, requestBody));
+    }
+
+    // Request ids live in the logging MDC of the calling thread.
+    final String reqId = AuthServerConfig.getReqId();
+    final String strippedReqId = AuthServerConfig.getStripedReqId();
+    // The request is released by the channel handler once it returns.
+    httpRequest.retain();
+    try {
+      return ldapExecutor.submit(new Callable<ServerResponse>() {
+        @Override public ServerResponse call() {
+          AuthServerConfig.setReqId(reqId);
+          AuthServerConfig.setStripedReqId(strippedReqId);
+          try {
+            return serve(httpRequest, requestBody);
+          }
+          finally {
+            httpRequest.release();
+          }
+        }
+      });
+    }
+    catch (RejectedExecutionException e) {
+      httpRequest.release();
+      LOGGER.debug("LDAP I/O executor unavailable, serving inline.");
+      return ImmediateEventExecutor.INSTANCE.newSucceededFuture(
+          serve(httpRequest, requestBody));
+    }
+  }
+
+  /**
+   * @return true if serving the request needs the requestor to be looked up
+   * in the directory.
+   */
+ private
+  boolean needsDirectoryLookup(Map<String, String> requestBody) {
+    String requestAction = requestBody.get("Action");
+    if (!"AuthenticateUser".equals(requestAction) &&
+        !"AuthenticateAndAuthorize".equals(requestAction) &&
+        !"AuthenticateAndAuthorizeBatch".equals(requestAction)) {
+      return false;
+    }
+    String accessKeyId =
+        ClientRequestParser.getAccessKeyId(requestBody.get("authorization"));
+    return accessKeyId != null && !RequestorService.isCached(accessKeyId);
+  }
+
   /**
    * Authenticate the requestor first. If the requestor is authenticated, then
    * perform the requested action.
@@ -225,6 +297,9 @@ class IAMController {
         }
       }
       }
+    } else if (requestAction.equals("VerifyChunkSignatures")) {
+      // Chunks are verified with the state of their upload's session.
+      return verifyChunkSignatures(requestBody);
     } else if ((requestBody.get("Authorization") == null) &&
                requestAction.equals("AuthorizeUser")) {
 
@@ -330,6 +405,13 @@ class IAMController {
                     requestor.getAccount().getName());
         serverResponse = new Authorizer().authorize(requestor, requestBody);
         return serverResponse;
+      } else if (requestAction.equals("AuthenticateAndAuthorizeBatch")) {
+        LOGGER.info("User is Authenticated hence Authorizing batch for user: " +
+                    requestor.getName() + " account: " +
+                    requestor.getAccount().getName());
+        serverResponse =
+            new Authorizer().authorizeBatch(requestor, requestBody);
+        return serverResponse;
       }
     } else {
       requestor = new Requestor();
@@ -387,6 +469,60 @@ class IAMController {
     return performAction(resourceMap, requestBody, requestor);
   }
 
+  /**
+   * Verify consecutive chunk signatures of a chunked upload in one request.
+   *
+   * The request names the session opened when the seed signature of the
+   * upload was authenticated (ChunkSessionId) and, for N = 1, 2, ..., the
+   * signature (ChunkSignature.N) and hex encoded SHA256 of the data
+   * (ChunkSha256.N) of every chunk, in upload order. The session is opened
+   * only if the seed request asked for it with ChunkSession=true.
+   *
+   * The request itself is not authenticated, the chunk signatures are. A
+   * mismatch is reported without changing or closing the session.
+   *
+   * @param requestBody
+   * @return
+   */
+ private
+  ServerResponse verifyChunkSignatures(Map<String, String> requestBody) {
+    String sessionId = requestBody.get("ChunkSessionId");
+    List<String> chunkHashes = new ArrayList<>();
+    List<String> chunkSignatures = new ArrayList<>();
+    for (int i = 1;; i++) {
+      String signature = requestBody.get("ChunkSignature." + i);
+      if (signature == null) {
+        break;
+      }
+      chunkSignatures.add(signature);
+      chunkHashes.add(requestBody.get("ChunkSha256." + i));
+    }
+    if (sessionId == null || chunkSignatures.isEmpty()) {
+      return responseGenerator.missingParameter();
+    }
+
+    GlobalDataStore dataStore = GlobalDataStore.getInstance();
+    ChunkSignatureSession session =
+        dataStore.getFromChunkSessionMap(sessionId);
+    if (session == null) {
+      LOGGER.debug("Chunk signature session not found - " + sessionId);
+      return responseGenerator.invalidChunkSession();
+    }
+
+    int verified = session.verify(chunkHashes, chunkSignatures);
+    if (session.isClosed()) {
+      dataStore.removeFromChunkSessionMap(sessionId);
+    }
+    if (verified < chunkSignatures.size()) {
+      LOGGER.error("Incorrect signature of chunk " + (verified + 1) +
+                   ". Chunks not authenticated");
+      return responseGenerator.signatureDoesNotMatch();
+    }
+
+    return responseGenerator.generateChunkSignaturesVerifiedResponse(
+        sessionId, verified, session.getPreviousSignature());
+  }
+
   /**
    * Validate the request parameters.
    *
@@ -395,38 +531,22 @@ class IAMController {
    * @return
    */
  private
-  Boolean validateRequest(ResourceMap resourceMap,
+  boolean validateRequest(ResourceMap resourceMap,
                           Map<String, String> requestBody) {
-    Boolean isValidrequest = false;
-    Class < ? > validator;
-    Method method;
-    Object obj;
-    String validatorClass = resourceMap.getParamValidatorClass();
-
     try {
       LOGGER.debug("Calling " + resourceMap.getControllerAction() +
                    " validator.");
-      validator = Class.forName(validatorClass);
-      obj = validator.newInstance();
-      method =
-          validator.getMethod(resourceMap.getParamValidatorMethod(), Map.class);
-      isValidrequest = (Boolean)method.invoke(obj, requestBody);
-    }
-    catch (ClassNotFoundException ex) {
-      LOGGER.error("Failed to get required class.",
-                   String.format("\"cause\": \"%s\"", ex.getCause()));
+      return resourceMap.isValidRequest(requestBody);
     }
-    catch (NoSuchMethodException ex) {
-      LOGGER.error("Failed to invoke method.",
-                   String.format("\"cause\": \"%s\"", ex.getCause()));
+    catch (ReflectiveOperationException ex) {
+      LOGGER.error("Failed to get required validator.",
+                   String.format("\"cause\": \"%s\"", ex));
     }
-    catch (SecurityException | IllegalAccessException |
-           IllegalArgumentException | InvocationTargetException |
-           InstantiationException ex) {
+    catch (RuntimeException ex) {
       LOGGER.error("Exception: ", ex);
     }
 
-    return isValidrequest;
+    return false;
   }
 
   /**
@@ -436,35 +556,16 @@ class IAMController {
   ServerResponse performAction(ResourceMap resourceMap,
                                Map<String, String> requestBody,
                                Requestor requestor) {
-
-    String controllerClassName = resourceMap.getControllerClass();
-    Class < ? > controller;
-    Constructor < ? > controllerConstructor;
-    Method method;
-    Object obj;
-
     try {
       LOGGER.debug("Calling " + resourceMap.getControllerAction() +
                    " controller.");
-      controller = Class.forName(controllerClassName);
-      controllerConstructor =
-          controller.getConstructor(Requestor.class, Map.class);
-      obj = controllerConstructor.newInstance(requestor, requestBody);
-
-      method = controller.getMethod(resourceMap.getControllerAction());
-      return (ServerResponse)method.invoke(obj);
-    }
-    catch (ClassNotFoundException ex) {
-      LOGGER.error("Failed to get required class.",
-                   String.format("\"cause\": \"%s\"", ex.getCause()));
+      return resourceMap.performAction(requestor, requestBody);
     }
-    catch (NoSuchMethodException ex) {
-      LOGGER.error("Failed to invoke method.",
-                   String.format("\"cause\": \"%s\"", ex.getCause()));
+    catch (ReflectiveOperationException ex) {
+      LOGGER.error("Failed to get required controller.",
+                   String.format("\"cause\": \"%s\"", ex));
     }
-    catch (SecurityException | IllegalAccessException |
-           IllegalArgumentException | InvocationTargetException |
-           InstantiationException ex) {
+    catch (RuntimeException ex) {
       LOGGER.error("Exception: ", ex);
     }
     finally {
@@ -31,6 +31,7 @@ import com.seagates3.model.Requestor;
 import com.seagates3.model.SAMLProvider;
 import com.seagates3.response.ServerResponse;
 import com.seagates3.response.generator.SAMLProviderResponseGenerator;
+import com.seagates3.saml.SAMLProviderCache;
 import com.seagates3.saml.SAMLUtil;
 import com.seagates3.saml.SAMLUtilFactory;
 import java.util.Map;
@@ -124,6 +125,8 @@ public class SAMLProviderController extends AbstractController {
         } catch (DataAccessException ex) {
             return samlProviderResponseGenerator.internalServerError();
         }
+        SAMLProviderCache.getInstance().invalidate(
+                requestor.getAccount().getId(), samlProviderName);
 
         return samlProviderResponseGenerator.generateDeleteResponse();
     }
@@ -176,6 +179,8 @@ public class SAMLProviderController extends AbstractController {
         } catch (DataAccessException ex) {
             return samlProviderResponseGenerator.internalServerError();
         }
+        SAMLProviderCache.getInstance().invalidate(
+                requestor.getAccount().getId(), samlProviderName);
 
         return samlProviderResponseGenerator.generateUpdateResponse(
                 samlProviderName);
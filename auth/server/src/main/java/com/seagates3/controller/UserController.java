@@ -28,6 +28,7 @@ import com.seagates3.dao.UserDAO;
 import com.seagates3.exception.DataAccessException;
 import com.seagates3.model.Requestor;
 import com.seagates3.model.User;
+import com.seagates3.policy.IdentityPolicyCache;
 import com.seagates3.response.ServerResponse;
 import com.seagates3.response.generator.UserResponseGenerator;
 import com.seagates3.util.KeyGenUtil;
@@ -197,6 +198,8 @@ public class UserController extends AbstractController {
 
         try {
             userDAO.delete(user);
+            IdentityPolicyCache.getInstance().invalidate(
+                    requestor.getAccount().getName(), user.getId());
         } catch (DataAccessException ex) {
             return userResponseGenerator.internalServerError();
         }
@@ -20,51 +20,85 @@
 
 package com.seagates3.dao;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
 import com.seagates3.authserver.AuthServerConfig;
-import com.seagates3.authserver.SSLContextProvider;
-import com.seagates3.dao.ldap.LdapConnectionManager;
+import com.seagates3.dao.ldap.LdapDAOFactory;
 import com.seagates3.exception.ServerInitialisationException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Registry of the DAOs of the configured data source.
+ *
+ * The DAOs are created once by init and shared by every request, so
+ * getResourceDAO is a map lookup. Data store backends plug in through
+ * DAOFactory.
+ */
 public class DAODispatcher {
 
-    private static final String DAO_PACKAGE = "com.seagates3.dao";
-    private static DAOProvider provider;
     private static final Logger LOGGER
-            = LogManager.getLogger(SSLContextProvider.class.getName());
+            = LogManager.getLogger(DAODispatcher.class.getName());
 
-    public static void init() throws ServerInitialisationException {
-        String dataSource = AuthServerConfig.getDataSource();
-        DAODispatcher.provider = DAOProvider.valueOf(dataSource.toUpperCase());
+    private static final Map<DAOProvider, DAOFactory> factories
+            = new EnumMap<>(DAOProvider.class);
 
-        if ("LDAP".equals(dataSource.toUpperCase())) {
-            LdapConnectionManager.initLdap();
-            LOGGER.info("Initialized LDAP");
-        }
+    private static volatile Map<DAOResource, Object> registry;
+
+    static {
+        registerFactory(new LdapDAOFactory());
     }
 
-    public static Object getResourceDAO(DAOResource daoResource) {
-        Class<?> validator;
-        Object obj;
-        String resourceDAOName = getResourceDAOName(daoResource.toString());
+    /**
+     * Register the factory of a data store. A factory registered later for
+     * the same provider replaces the earlier one.
+     */
+    public static synchronized void registerFactory(DAOFactory factory) {
+        factories.put(factory.getProvider(), factory);
+    }
 
+    public static synchronized void init()
+            throws ServerInitialisationException {
+        for (DAOFactory factory : ServiceLoader.load(DAOFactory.class)) {
+            registerFactory(factory);
+        }
+
+        String dataSource = AuthServerConfig.getDataSource();
+        DAOProvider provider;
         try {
-            validator = Class.forName(resourceDAOName);
-            obj = validator.newInstance();
-        } catch (ClassNotFoundException | SecurityException ex) {
-            obj = null;
-        } catch (IllegalAccessException | IllegalArgumentException | InstantiationException ex) {
-            obj = null;
+            provider = DAOProvider.valueOf(dataSource.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new ServerInitialisationException(
+                    "Unknown data source " + dataSource);
         }
 
-        return obj;
-    }
+        DAOFactory factory = factories.get(provider);
+        if (factory == null) {
+            throw new ServerInitialisationException(
+                    "No DAO factory registered for data source " + dataSource);
+        }
 
-    private static String getResourceDAOName(String resourceName) {
-        String resourceDAOName = resourceName + "Impl";
+        factory.init();
+        LOGGER.info("Initialized " + provider);
 
-        return String.format("%s.%s.%s", DAO_PACKAGE,
-                provider.toString().toLowerCase(), resourceDAOName);
+        Map<DAOResource, Object> daos = new EnumMap<>(DAOResource.class);
+        for (DAOResource daoResource : DAOResource.values()) {
+            Object dao = factory.createDAO(daoResource);
+            if (dao != null) {
+                daos.put(daoResource, dao);
+            }
+        }
+        registry = daos;
+    }
+
+    /**
+     * Return the shared DAO of the resource or null if the data source does
+     * not support the resource or the dispatcher is not initialised.
+     */
+    public static Object getResourceDAO(DAOResource daoResource) {
+        Map<DAOResource, Object> daos = registry;
+        return daos == null ? null : daos.get(daoResource);
     }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.dao;
+
+import com.seagates3.exception.ServerInitialisationException;
+
+/**
+ * Service provider interface of a data store backend.
+ *
+ * A factory is registered for a DAOProvider, either explicitly through
+ * DAODispatcher.registerFactory or by listing it in
+ * META-INF/services/com.seagates3.dao.DAOFactory. DAODispatcher.init calls
+ * init on the factory of the configured data source and then creates one
+ * DAO per resource, which is shared by all requests. DAOs must therefore be
+ * thread safe.
+ */
+public interface DAOFactory {
+
+    /*
+     * Return the data source served by this factory.
+     */
+    public DAOProvider getProvider();
+
+    /*
+     * Connect to the data store. Called once before any DAO is created.
+     */
+    public void init() throws ServerInitialisationException;
+
+    /*
+     * Return the DAO implementing the resource or null if the resource is
+     * not supported by the data store.
+     */
+    public Object createDAO(DAOResource daoResource);
+}
@@ -20,6 +20,8 @@
 
 package com.seagates3.dao;
 
+import java.util.List;
+
 import com.seagates3.exception.DataAccessException;
 import com.seagates3.model.Account;
 import com.seagates3.model.Policy;
@@ -44,4 +46,17 @@ public interface PolicyDAO {
      * @throws DataAccessException
      */
     public void save(Policy policy) throws DataAccessException;
+
+    /**
+     * Find the policies attached to the user, the managed policies whose ids
+     * are listed by the user entry followed by its inline policies. Inline
+     * policies only carry their policy document.
+     *
+     * @param account
+     * @param userId
+     * @return
+     * @throws DataAccessException
+     */
+    public List<Policy> findAttachedPolicies(Account account, String userId)
+            throws DataAccessException;
 }
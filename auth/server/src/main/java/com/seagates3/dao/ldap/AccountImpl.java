@@ -42,6 +42,16 @@ public class AccountImpl implements AccountDAO {
   private
    final Logger LOGGER = LoggerFactory.getLogger(AccountImpl.class.getName());
 
+  private
+   static final String[] FIND_ATTRS = {
+       LDAPUtils.ACCOUNT_ID,          LDAPUtils.CANONICAL_ID,
+       LDAPUtils.PASSWORD,            LDAPUtils.PASSWORD_RESET_REQUIRED,
+       LDAPUtils.PROFILE_CREATE_DATE, LDAPUtils.EMAIL};
+
+  private
+   static final String ACCOUNT_FILTER = String.format(
+       "(%s=%s)", LDAPUtils.OBJECT_CLASS, LDAPUtils.ACCOUNT_OBJECT_CLASS);
+
     @Override
     public Account findByID(String accountID) throws DataAccessException {
         Account account = new Account();
@@ -138,10 +148,7 @@ public class AccountImpl implements AccountDAO {
       Account account = new Account();
         account.setName(name);
 
-        String[] attrs = {
-            LDAPUtils.ACCOUNT_ID,          LDAPUtils.CANONICAL_ID,
-            LDAPUtils.PASSWORD,            LDAPUtils.PASSWORD_RESET_REQUIRED,
-            LDAPUtils.PROFILE_CREATE_DATE, LDAPUtils.EMAIL};
+        String[] attrs = FIND_ATTRS;
         String filter = String.format("(&(%s=%s)(%s=%s))",
                 LDAPUtils.ORGANIZATIONAL_NAME, name, LDAPUtils.OBJECT_CLASS,
                 LDAPUtils.ACCOUNT_OBJECT_CLASS);
@@ -178,37 +185,7 @@ public class AccountImpl implements AccountDAO {
                 }
 
                 LDAPEntry entry = ldapResults.next();
-                account.setId(
-                    entry.getAttribute(LDAPUtils.ACCOUNT_ID).getStringValue());
-                account.setCanonicalId(
-                    entry.getAttribute(LDAPUtils.CANONICAL_ID)
-                        .getStringValue());
-                account.setEmail(
-                    entry.getAttribute(LDAPUtils.EMAIL).getStringValue());
-
-                try {
-                  account.setPassword(
-                      entry.getAttribute(LDAPUtils.PASSWORD).getStringValue());
-                }
-                catch (Exception e) {
-                  LOGGER.debug("Password value not found in ldap");
-                }
-                try {
-                  account.setPwdResetRequired(
-                      entry.getAttribute(LDAPUtils.PASSWORD_RESET_REQUIRED)
-                          .getStringValue());
-                }
-                catch (Exception e) {
-                  LOGGER.debug("pwdReset required value not found in ldap");
-                }
-                try {
-                  account.setProfileCreateDate(
-                      (entry.getAttribute(LDAPUtils.PROFILE_CREATE_DATE)
-                           .getStringValue()));
-                }
-                catch (Exception e) {
-                  LOGGER.debug("profileCreateDate value not found in ldap");
-                }
+                setAccountAttributes(account, entry);
           }
           lc.abandon(ldapResults);
         }
@@ -222,6 +199,84 @@ public class AccountImpl implements AccountDAO {
         return account;
     }
 
+    /**
+     * Read account details by the account distinguished name, i.e.
+     * o=<name>,ou=accounts,dc=s3,dc=seagate,dc=com, on a connection already
+     * held by the caller.
+     *
+     * This is a base scope read of a single entry, which is much cheaper than
+     * the sub tree search done by find(name).
+     *
+     * @param lc LDAP connection held by the caller.
+     * @param accountDN Distinguished name of the account.
+     * @param name Account name
+     * @return Account, which doesn't exist if the entry is not found.
+     */
+    Account findByDN(LDAPConnection lc, String accountDN,
+                     String name) throws DataAccessException {
+      Account account = new Account();
+      account.setName(name);
+      if (accountDN == null || accountDN.isEmpty()) {
+        return account;
+      }
+
+      LDAPSearchResults ldapResults;
+      try {
+        if (FaultPoints.fiEnabled() &&
+            FaultPoints.getInstance().isFaultPointActive("LDAP_SEARCH_FAIL")) {
+          throw new LDAPException();
+        }
+        ldapResults = lc.search(accountDN, LDAPConnection.SCOPE_BASE,
+                                ACCOUNT_FILTER, FIND_ATTRS, false);
+        if (ldapResults != null && ldapResults.hasMore()) {
+          setAccountAttributes(account, ldapResults.next());
+        }
+      }
+      catch (LDAPException ex) {
+        if (ex.getResultCode() == LDAPException.NO_SUCH_OBJECT) {
+          LOGGER.debug("Account entry not found: " + accountDN);
+          return account;
+        }
+        LOGGER.error("Failed to find details of account: " + name);
+        throw new DataAccessException("Failed to find account details.\n" +
+                                      ex);
+      }
+
+      return account;
+    }
+
+   private
+    void setAccountAttributes(Account account, LDAPEntry entry) {
+      account.setId(entry.getAttribute(LDAPUtils.ACCOUNT_ID).getStringValue());
+      account.setCanonicalId(
+          entry.getAttribute(LDAPUtils.CANONICAL_ID).getStringValue());
+      account.setEmail(entry.getAttribute(LDAPUtils.EMAIL).getStringValue());
+
+      try {
+        account.setPassword(
+            entry.getAttribute(LDAPUtils.PASSWORD).getStringValue());
+      }
+      catch (Exception e) {
+        LOGGER.debug("Password value not found in ldap");
+      }
+      try {
+        account.setPwdResetRequired(
+            entry.getAttribute(LDAPUtils.PASSWORD_RESET_REQUIRED)
+                .getStringValue());
+      }
+      catch (Exception e) {
+        LOGGER.debug("pwdReset required value not found in ldap");
+      }
+      try {
+        account.setProfileCreateDate(
+            (entry.getAttribute(LDAPUtils.PROFILE_CREATE_DATE)
+                 .getStringValue()));
+      }
+      catch (Exception e) {
+        LOGGER.debug("profileCreateDate value not found in ldap");
+      }
+    }
+
     /*
      * fetch all accounts from database
      */
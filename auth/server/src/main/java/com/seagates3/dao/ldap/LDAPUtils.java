@@ -59,6 +59,7 @@ class LDAPUtils {
     public static final String GROUP_OU = "groups";
     public static final String IAMUSER_OBJECT_CLASS = "iamuser";
     public static final String IDP_OU = "idp";
+    public static final String INLINE_POLICY = "inlinePolicy";
     public static final String ISSUER = "issuer";
     public static final String IS_POLICY_ATTACHABLE = "isPolicyAttachable";
     public static final String MODIFY_TIMESTAMP = "modifyTimestamp";
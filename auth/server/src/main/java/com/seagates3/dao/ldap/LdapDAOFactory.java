@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.dao.ldap;
+
+import com.seagates3.dao.DAOFactory;
+import com.seagates3.dao.DAOProvider;
+import com.seagates3.dao.DAOResource;
+import com.seagates3.exception.ServerInitialisationException;
+
+/**
+ * Create the LDAP implementation of every DAO resource.
+ */
+public
+class LdapDAOFactory implements DAOFactory {
+
+  @Override public DAOProvider getProvider() { return DAOProvider.LDAP; }
+
+  @Override public void init() throws ServerInitialisationException {
+    LdapConnectionManager.initLdap();
+  }
+
+  @Override public Object createDAO(DAOResource daoResource) {
+    switch (daoResource) {
+      case ACCESS_KEY:
+        return new AccessKeyImpl();
+      case ACCOUNT:
+        return new AccountImpl();
+      case ACCOUNT_LOGIN_PROFILE:
+        return new AccountLoginProfileImpl();
+      case FED_USER:
+        return new FedUserImpl();
+      case GROUP:
+        return new GroupImpl();
+      case POLICY:
+        return new PolicyImpl();
+      case REQUESTOR:
+        return new RequestorImpl();
+      case ROLE:
+        return new RoleImpl();
+      case SAML_PROVIDER:
+        return new SAMLProviderImpl();
+      case USER:
+        return new UserImpl();
+      case USER_LOGIN_PROFILE:
+        return new UserLoginProfileImpl();
+      default:
+        return null;
+    }
+  }
+}
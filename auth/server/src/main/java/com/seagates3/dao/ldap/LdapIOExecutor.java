@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.dao.ldap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutorGroup;
+
+/**
+ * Dedicated pool of threads on which blocking LDAP lookups are run.
+ *
+ * JLDAP calls block the calling thread until the directory answers. Running
+ * them here keeps the netty event executor threads free to serve requests
+ * which can be answered from cache while a lookup is outstanding. Tasks
+ * submitted to the group return netty futures, so callers complete their
+ * response from a listener.
+ *
+ * The pool is optional; when it is not initialised getExecutorGroup returns
+ * null and lookups run in the calling thread as before.
+ */
+public
+class LdapIOExecutor {
+
+ private
+  static final Logger LOGGER =
+      LoggerFactory.getLogger(LdapIOExecutor.class.getName());
+
+ private
+  static volatile EventExecutorGroup executorGroup;
+
+ private
+  LdapIOExecutor() {}
+
+  /**
+   * Create the I/O pool.
+   *
+   * @param threads Number of I/O threads. 0 or less disables the pool.
+   */
+ public
+  static synchronized void init(int threads) {
+    if (executorGroup != null || threads <= 0) {
+      return;
+    }
+    executorGroup = new DefaultEventExecutorGroup(
+        threads, new DefaultThreadFactory("ldap-io", true));
+    LOGGER.info("Created LDAP I/O executor with " + threads + " threads");
+  }
+
+  /**
+   * @return executor group for LDAP lookups or null if the pool is disabled.
+   */
+ public
+  static EventExecutorGroup getExecutorGroup() { return executorGroup; }
+
+ public
+  static synchronized void shutdown() {
+    if (executorGroup != null) {
+      executorGroup.shutdownGracefully();
+      executorGroup = null;
+      LOGGER.info("LDAP I/O executor shutdown");
+    }
+  }
+}
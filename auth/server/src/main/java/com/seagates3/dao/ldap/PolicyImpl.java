@@ -20,6 +20,9 @@
 
 package com.seagates3.dao.ldap;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -158,4 +161,103 @@ public class PolicyImpl implements PolicyDAO {
             throw new DataAccessException("Failed to create policy.\n" + ex);
         }
     }
+
+    /**
+     * Find the policies attached to the user.
+     *
+     * The user entry is read for the ids of its managed policies and its
+     * inline policies, then the managed policies are read with one search.
+     *
+     * @param account
+     * @param userId
+     * @return
+     * @throws DataAccessException
+     */
+    @Override
+    public List<Policy> findAttachedPolicies(Account account, String userId)
+            throws DataAccessException {
+        List<Policy> policies = new ArrayList<>();
+
+        String userBaseDN = String.format("%s=%s,%s=%s,%s=%s,%s",
+                LDAPUtils.ORGANIZATIONAL_UNIT_NAME, LDAPUtils.USER_OU,
+                LDAPUtils.ORGANIZATIONAL_NAME, account.getName(),
+                LDAPUtils.ORGANIZATIONAL_UNIT_NAME, LDAPUtils.ACCOUNT_OU,
+                LDAPUtils.BASE_DN);
+        String userFilter = String.format("(%s=%s)", LDAPUtils.USER_ID,
+                userId);
+        String[] userAttrs = {LDAPUtils.POLICY_ID, LDAPUtils.INLINE_POLICY};
+
+        String[] policyIds = null;
+        String[] inlinePolicies = null;
+        try {
+            LDAPSearchResults ldapResults = LDAPUtils.search(userBaseDN,
+                    LDAPConnection.SCOPE_SUB, userFilter, userAttrs);
+            if (ldapResults != null && ldapResults.hasMore()) {
+                LDAPEntry entry = ldapResults.next();
+                policyIds = getStringValues(entry, LDAPUtils.POLICY_ID);
+                inlinePolicies = getStringValues(entry,
+                        LDAPUtils.INLINE_POLICY);
+            }
+        } catch (LDAPException ex) {
+            LOGGER.error("Failed to find policies of user: " + userId);
+            throw new DataAccessException(
+                    "Failed to find policies of user.\n" + ex);
+        }
+
+        if (policyIds != null && policyIds.length > 0) {
+            String policyBaseDN = String.format("%s=%s,%s=%s,%s=%s,%s",
+                    LDAPUtils.ORGANIZATIONAL_UNIT_NAME, LDAPUtils.POLICY_OU,
+                    LDAPUtils.ORGANIZATIONAL_NAME, account.getName(),
+                    LDAPUtils.ORGANIZATIONAL_UNIT_NAME, LDAPUtils.ACCOUNT_OU,
+                    LDAPUtils.BASE_DN);
+            StringBuilder policyFilter = new StringBuilder("(|");
+            for (String policyId : policyIds) {
+                policyFilter.append(String.format("(%s=%s)",
+                        LDAPUtils.POLICY_ID, policyId));
+            }
+            policyFilter.append(")");
+            String[] policyAttrs = {LDAPUtils.POLICY_NAME, LDAPUtils.POLICY_ID,
+                LDAPUtils.POLICY_DOC};
+
+            try {
+                LDAPSearchResults ldapResults = LDAPUtils.search(policyBaseDN,
+                        LDAPConnection.SCOPE_SUB, policyFilter.toString(),
+                        policyAttrs);
+                while (ldapResults != null && ldapResults.hasMore()) {
+                    LDAPEntry entry = ldapResults.next();
+                    Policy policy = new Policy();
+                    policy.setAccount(account);
+                    policy.setName(entry.getAttribute(
+                            LDAPUtils.POLICY_NAME).getStringValue());
+                    policy.setPolicyId(entry.getAttribute(
+                            LDAPUtils.POLICY_ID).getStringValue());
+                    policy.setPolicyDoc(entry.getAttribute(
+                            LDAPUtils.POLICY_DOC).getStringValue());
+                    policies.add(policy);
+                }
+            } catch (LDAPException ex) {
+                LOGGER.error("Failed to find attached policies of user: "
+                                                                  + userId);
+                throw new DataAccessException(
+                        "Failed to find attached policies.\n" + ex);
+            }
+        }
+
+        if (inlinePolicies != null) {
+            for (String inlinePolicy : inlinePolicies) {
+                Policy policy = new Policy();
+                policy.setAccount(account);
+                policy.setPolicyDoc(inlinePolicy);
+                policies.add(policy);
+            }
+        }
+
+        return policies;
+    }
+
+    private static String[] getStringValues(LDAPEntry entry,
+            String attributeName) {
+        LDAPAttribute attribute = entry.getAttribute(attributeName);
+        return attribute == null ? null : attribute.getStringValueArray();
+    }
 }
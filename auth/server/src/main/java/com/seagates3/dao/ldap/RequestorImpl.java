@@ -24,17 +24,11 @@ import com.novell.ldap.LDAPConnection;
 import com.novell.ldap.LDAPEntry;
 import com.novell.ldap.LDAPException;
 import com.novell.ldap.LDAPSearchResults;
-import com.seagates3.dao.AccountDAO;
-import com.seagates3.dao.DAODispatcher;
-import com.seagates3.dao.DAOResource;
 import com.seagates3.dao.RequestorDAO;
 import com.seagates3.exception.DataAccessException;
 import com.seagates3.fi.FaultPoints;
 import com.seagates3.model.AccessKey;
-import com.seagates3.model.Account;
 import com.seagates3.model.Requestor;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +38,13 @@ public class RequestorImpl implements RequestorDAO {
     private final Logger LOGGER =
             LoggerFactory.getLogger(RequestorImpl.class.getName());
 
+   private
+    static final String ACCOUNT_RDN_SEPARATOR =
+        "," + LDAPUtils.ORGANIZATIONAL_NAME + "=";
+
+   private
+    final AccountImpl accountImpl = new AccountImpl();
+
     @Override
     public Requestor find(AccessKey accessKey) throws DataAccessException {
         Requestor requestor = new Requestor();
@@ -94,9 +95,15 @@ public class RequestorImpl implements RequestorDAO {
                 requestor.setName(entry.getAttribute(
                         LDAPUtils.COMMON_NAME).getStringValue());
 
-                String accountName = getAccountName(entry.getDN());
-                requestor.setAccount(getAccount(accountName));
                 lc.abandon(ldapResults);
+
+                String accountDN = getAccountDN(entry.getDN());
+                String accountName = getAccountName(accountDN);
+                LOGGER.debug("Finding account: " + accountName);
+                // Read the account entry on the same connection with a base
+                // scope lookup instead of another sub tree search.
+                requestor.setAccount(
+                    accountImpl.findByDN(lc, accountDN, accountName));
             } else {
                 LOGGER.error("Failed to find access key details of userId: "
                         + accessKey.getUserId());
@@ -114,34 +121,31 @@ public class RequestorImpl implements RequestorDAO {
     }
 
     /**
-     * Extract the account name from user distinguished name.
+     * Extract the account distinguished name from user distinguished name.
      *
-     * @param dn
-     * @return Account Name
+     * @param dn User DN, s3userid=<id>,ou=users,o=<account>,ou=accounts,...
+     * @return Account DN, o=<account>,ou=accounts,...
      */
-    private String getAccountName(String dn) {
-        String dnRegexPattern = "[\\w\\W]+,o=(.*?),[\\w\\W]+";
-
-        Pattern pattern = Pattern.compile(dnRegexPattern);
-        Matcher matcher = pattern.matcher(dn);
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-
-        return "";
-    }
+   static String getAccountDN(String dn) {
+     int index = dn.lastIndexOf(ACCOUNT_RDN_SEPARATOR);
+     if (index < 0) {
+       return "";
+     }
+     return dn.substring(index + 1);
+   }
 
     /**
-     * Get the account details from account name.
+     * Extract the account name from account distinguished name.
      *
-     * @param accountName Account name.
-     * @return Account
+     * @param accountDN
+     * @return Account Name
      */
-    private Account getAccount(String accountName) throws DataAccessException {
-        AccountDAO accountDao = (AccountDAO) DAODispatcher.getResourceDAO(
-                DAOResource.ACCOUNT);
-        LOGGER.debug("Finding account: " + accountName);
-        return accountDao.find(accountName);
-    }
+   static String getAccountName(String accountDN) {
+     int start = LDAPUtils.ORGANIZATIONAL_NAME.length() + 1;
+     int end = accountDN.indexOf(',');
+     if (end < start) {
+       return "";
+     }
+     return accountDN.substring(start, end);
+   }
 }
-
@@ -0,0 +1,32 @@
+package com.seagates3.model;
+
+/**
+ * AWS V4 signing key derived from a secret key for one credential scope.
+ */
+public
+class SigningKey {
+
+ private
+  final String secretKey;
+ private
+  final byte[] key;
+
+ public
+  SigningKey(String secretKey, byte[] key) {
+    this.secretKey = secretKey;
+    this.key = key;
+  }
+
+  /**
+   * @return secret key the signing key was derived from.
+   */
+ public
+  String getSecretKey() { return secretKey; }
+
+  /**
+   * @return derived signing key. The array is shared and must not be
+   * modified.
+   */
+ public
+  byte[] getKey() { return key; }
+}
@@ -20,14 +20,19 @@
 
 package com.seagates3.policy;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 
 public
 class BooleanCondition extends PolicyCondition {
 
+ private
+  final BooleanComparisonType comparisonType;
+  // Whether "true" and "false" are among the condition values.
+ private
+  final boolean allowsTrue;
+ private
+  final boolean allowsFalse;
+
  public
   static enum BooleanComparisonType {
     Bool,
@@ -40,8 +45,23 @@ class BooleanCondition extends PolicyCondition {
       super.type = null;
     else
       super.type = type.toString();
-    super.conditionKey = key;
+    comparisonType = type;
+    setConditionKey(key);
     super.values = values;
+
+    boolean hasTrue = false;
+    boolean hasFalse = false;
+    if (values != null) {
+      for (String s : values) {
+        if ("true".equalsIgnoreCase(s)) {
+          hasTrue = true;
+        } else if ("false".equalsIgnoreCase(s)) {
+          hasFalse = true;
+        }
+      }
+    }
+    allowsTrue = hasTrue;
+    allowsFalse = hasFalse;
   }
 
   /**
@@ -49,22 +69,13 @@ class BooleanCondition extends PolicyCondition {
    * Sample condition -
    * "Condition": {"Bool": {"aws:SecureTransport": "true"}}
    */
-  @Override public boolean isSatisfied(Map<String, String> requestBody) {
+  @Override public boolean isSatisfied(PolicyRequestContext context) {
     if (this.values == null) return false;
-    BooleanComparisonType enumType = BooleanComparisonType.valueOf(this.type);
+    BooleanComparisonType enumType = comparisonType;
     if (enumType == null) return false;
 
     // Fetch the header value for corresponding Condition key
-    String headerVal = null;
-    for (Entry<String, String> entry : requestBody.entrySet()) {
-      if (entry.getKey().equalsIgnoreCase(this.conditionKey)) {
-        headerVal = entry.getValue();
-      } else if (entry.getKey().equals("ClientQueryParams")) {
-        headerVal = PolicyUtil.fetchQueryParamValue(entry.getValue(),
-                                                    this.conditionKey);
-        if (headerVal != null) break;
-      }
-    }
+    String headerVal = context.getValue(lookupKey);
     boolean result = false;
 
     switch (enumType) {
@@ -88,24 +99,14 @@ class BooleanCondition extends PolicyCondition {
 
   /**
    * Check if the input String is equal to any of the condition values.
-   * Returns false if the headerVal or any of the condition values is not a
-   * {@link Number}
+   * Condition values other than true and false are ignored.
    * @param headerVal
    * @return
    */
  private
   boolean booleanEquals(String headerVal) {
     if (headerVal == null) return false;
-    Boolean boolHeader = null;
-    List<Boolean> boolValues = null;
-    boolHeader = Boolean.parseBoolean(headerVal.trim());
-    boolValues = new ArrayList<Boolean>();
-    for (String s : this.values) {
-      if (!("true".equalsIgnoreCase(s) || "false".equalsIgnoreCase(s)))
-        continue;
-      boolValues.add(Boolean.parseBoolean(s));
-    }
-    return boolValues.contains(boolHeader);
+    return Boolean.parseBoolean(headerVal.trim()) ? allowsTrue : allowsFalse;
   }
 
   /**
@@ -20,19 +20,8 @@
 
 package com.seagates3.policy;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
-import java.util.Arrays;
-import com.amazonaws.auth.policy.Action;
-import com.amazonaws.auth.policy.Condition;
-import com.amazonaws.auth.policy.Policy;
-import com.amazonaws.auth.policy.PolicyReaderOptions;
-import com.amazonaws.auth.policy.Principal;
-import com.amazonaws.auth.policy.Statement;
-import com.amazonaws.auth.policy.Statement.Effect;
 import org.json.JSONException;
-import org.json.JSONObject;
 import com.seagates3.acl.AccessControlList;
 import com.seagates3.authorization.Authorizer;
 import com.seagates3.dao.ldap.AccountImpl;
@@ -40,7 +29,6 @@ import com.seagates3.dao.ldap.UserImpl;
 import com.seagates3.exception.DataAccessException;
 import com.seagates3.model.Account;
 import com.seagates3.model.Requestor;
-import com.seagates3.model.User;
 import com.seagates3.response.ServerResponse;
 import com.seagates3.response.generator.AuthorizationResponseGenerator;
 
@@ -81,20 +69,9 @@ class BucketPolicyAuthorizer extends PolicyAuthorizer {
    */
  private
   String identifyOperationToAuthorize(Map<String, String> requestBody) {
-    String s3Action = requestBody.get("S3Action");
+    String s3Action =
+        PolicyUtil.getS3ActionToAuthorize(requestBody.get("S3Action"));
     if (null != s3Action) {
-      switch (s3Action) {
-        case "HeadBucket":
-          s3Action = "ListBucket";
-          break;
-        case "HeadObject":
-          s3Action = "GetObject";
-          break;
-        case "DeleteBucketTagging":
-          s3Action = "PutBucketTagging";
-          break;
-      }
-      s3Action = "s3:" + s3Action;
       LOGGER.debug("identifyOperationToAuthorize has returned action as - " +
                    s3Action);
     }
@@ -124,39 +101,24 @@ class BucketPolicyAuthorizer extends PolicyAuthorizer {
     AuthorizationResponseGenerator responseGenerator =
         new AuthorizationResponseGenerator();
 
-    JSONObject obj = new JSONObject(requestBody.get("Policy"));
-    String policyString = obj.toString();
-    policyString = policyString.replace(
-        "CanonicalUser",
-        "Service");  // TODO:temporary solution till we implement parser
-    PolicyReaderOptions readerOptions = new PolicyReaderOptions();
-    readerOptions.setStripAwsPrincipalIdHyphensEnabled(false);
-    Policy existingPolicy = Policy.fromJson(policyString, readerOptions);
+    CompiledBucketPolicy existingPolicy =
+        BucketPolicyCache.getInstance().get(requestBody.get("Policy"));
     String requestedResource =
         PolicyUtil.getResourceFromUri(requestBody.get("ClientAbsoluteUri"));
     String resourceOwner = new AccessControlList().getOwner(requestBody);
-
-    List<Statement> statementList =
-        new ArrayList<Statement>(existingPolicy.getStatements());
-    for (Statement stmt : statementList) {
-      List<Principal> principalList = stmt.getPrincipals();
-      List<Condition> conditions = stmt.getConditions();
-      if (isPrincipalMatching(principalList, requestor)) {
-        List<String> resourceList =
-            PolicyUtil.convertCommaSeparatedStringToList(
-                stmt.getResources().get(0).getId());
-        if (isResourceMatching(resourceList, requestedResource)) {
-          List<Action> actionsList = stmt.getActions();
-          if (isActionMatching(actionsList, requestedOperation)) {
-            if (isConditionMatching(conditions, requestBody)) {
-              if (stmt.getEffect().equals(Effect.Allow)) {
-                response = responseGenerator.ok();
-              } else {
-                response = responseGenerator.AccessDenied();
-                break;
-              }
-            }
-          }
+    PolicyRequestContext context = new PolicyRequestContext(requestBody);
+
+    for (CompiledBucketPolicy.CompiledStatement stmt :
+         existingPolicy.getStatements()) {
+      if (stmt.isPrincipalMatching(requestor) &&
+          stmt.isResourceMatching(requestedResource) &&
+          stmt.isActionMatching(requestedOperation) &&
+          stmt.isConditionMatching(context)) {
+        if (stmt.isAllow()) {
+          response = responseGenerator.ok();
+        } else {
+          response = responseGenerator.AccessDenied();
+          break;
         }
       }
     }
@@ -202,148 +164,6 @@ class BucketPolicyAuthorizer extends PolicyAuthorizer {
       }
     return response;
   }
-
-  /**
-   * Below method will validate requested account against principal inside
-   *policy
-   *
-   * @param principalList
-   * @param requestor
-   * @return
-   * @throws DataAccessException
-   */
- private
-  boolean isPrincipalMatching(List<Principal> principalList,
-                              Requestor requestor) throws DataAccessException {
-    boolean isMatching = false;
-    for (Principal principal : principalList) {
-      String provider = principal.getProvider();
-      String principalId = principal.getId();
-      if ("*".equals(principalId)) {
-        return true;
-      }
-      if (requestor == null) {
-        return false;
-      }
-      switch (provider) {
-        case "AWS":
-          if (new PrincipalArnParser().isArnFormatValid(principalId)) {
-            User user = new UserImpl().findByArn(principalId);
-            if (user != null && user.exists() &&
-                user.getId().equals(requestor.getId())) {
-              isMatching = true;
-            }
-          } else {
-            if (principalId.equals(requestor.getAccount().getId())) {
-              isMatching = true;
-            } else if (principalId.equals(requestor.getId())) {
-              isMatching = true;
-            }
-          }
-          break;
-        case "Service":
-          if (principalId.equals(requestor.getAccount().getCanonicalId())) {
-            isMatching = true;
-          }
-          break;
-      }
-      if (isMatching) {
-        break;
-      }
-    }
-    LOGGER.debug("isPrincipalMatching:: result - " +
-                 String.valueOf(isMatching));
-    return isMatching;
-  }
-
-  /**
-   * Below will validate requested resource against resource inside policy
-   *
-   * @param resourceList
-   * @param requestedResource
-   * @return
-   */
- private
-  boolean isResourceMatching(List<String> resourceList,
-                             String requestedResource) {
-    boolean isMatching = false;
-    for (String resourceArn : resourceList) {
-      String resource = PolicyUtil.getResourceFromResourceArn(resourceArn);
-      if (PolicyUtil.isPatternMatching(requestedResource, resource)) {
-        isMatching = true;
-        break;
-      }
-    }
-    LOGGER.debug("isResourceMatching:: result - " + String.valueOf(isMatching));
-    return isMatching;
-  }
-
-  /**
-   * Below will validate requested operation against the actions inside policy
-   * including wildcard-chars
-   *
-   * @param actionsList
-   * @param requestedOperation
-   * @return
-   */
- private
-  boolean isActionMatching(List<Action> actionsList,
-                           String requestedOperation) {
-    boolean isMatching = false;
-    for (Action action : actionsList) {
-      List<String> matchingActionsList =
-          PolicyUtil.getAllMatchingActions(action.getActionName());
-      for (String matchingAction : matchingActionsList) {
-        if (matchingAction.equals(requestedOperation)) {
-          isMatching = true;
-          break;
-        }
-      }
-      if (isMatching) {
-        break;
-      }
-    }
-    LOGGER.debug("isActionMatching:: result - " + String.valueOf(isMatching));
-    return isMatching;
-  }
-
-  /**
-   * Checks if the Conditions from policy are satisfied in the request.
-   * Returns true if there are no conditions in policy.
-   * @param conditions
-   * @param requestBody
-   * @return - true if policy conditions are satisfied
-   */
- private
-  boolean isConditionMatching(List<Condition> conditions,
-                              Map<String, String> requestBody) {
-    if (conditions.isEmpty()) return true;
-
-    /**
-     * Check if the headers from requestBody satisfy the policy conditions
-     * Sample Condition -
-     * "Condition": {
-     *   "StringEquals": {
-     *     "s3:x-amz-acl": ["bucket-owner-read", "bucket-owner-full-control"]
-     *   }
-     * }
-     */
-    boolean result = false;
-    for (Condition condition : conditions) {
-      PolicyCondition pc = ConditionFactory.getCondition(
-          condition.getType(),
-          ConditionUtil.removeKeyPrefix(condition.getConditionKey()),
-          condition.getValues());
-      if (pc != null)
-        result = pc.isSatisfied(requestBody);
-      else
-        result = false;
-
-      if (!result) break;
-    }
-    LOGGER.debug("isConditionMatching:: result - " + String.valueOf(result));
-    return result;
-  }
 }
 
 
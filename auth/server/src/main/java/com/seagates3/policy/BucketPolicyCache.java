@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.policy;
+
+import org.json.JSONException;
+
+import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.cache.AuthCache;
+import com.seagates3.cache.ContentHashCache;
+
+/**
+ * Compiled bucket policies keyed on the policy JSON sent by S3 server.
+ *
+ * Policies are kept in a ContentHashCache, like the parsed ACLs of
+ * AccessControlPolicyCache. Setting bucketPolicyCacheMaxEntries to 0
+ * disables the shared cache.
+ */
+public
+class BucketPolicyCache {
+
+ private
+  static volatile BucketPolicyCache instance;
+
+ private
+  final ContentHashCache<CompiledBucketPolicy> policies;
+
+ private
+  BucketPolicyCache(int maxEntries) {
+    policies =
+        new ContentHashCache<CompiledBucketPolicy>("bucketPolicy", maxEntries);
+  }
+
+ public
+  static BucketPolicyCache getInstance() {
+    if (instance == null) {
+      synchronized(BucketPolicyCache.class) {
+        if (instance == null) {
+          instance = new BucketPolicyCache(
+              AuthServerConfig.getBucketPolicyCacheMaxEntries());
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Drop the current instance so that the next getInstance picks up the
+   * configured cache size again.
+   */
+  static synchronized void reset() { instance = null; }
+
+  /**
+   * @return compiled form of the bucket policy JSON.
+   * @throws JSONException if the policy is not valid JSON.
+   */
+  CompiledBucketPolicy get(String policy) throws JSONException {
+    CompiledBucketPolicy compiledPolicy = policies.get(policy);
+    if (compiledPolicy == null) {
+      compiledPolicy =
+          policies.put(policy, CompiledBucketPolicy.compile(policy));
+    }
+    return compiledPolicy;
+  }
+
+  /**
+   * @return cache of compiled policies or null if it is disabled.
+   */
+ public
+  AuthCache<String, ?> getPolicyCache() { return policies.getSharedCache(); }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.policy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import com.amazonaws.auth.policy.Action;
+import com.amazonaws.auth.policy.Condition;
+import com.amazonaws.auth.policy.Policy;
+import com.amazonaws.auth.policy.PolicyReaderOptions;
+import com.amazonaws.auth.policy.Principal;
+import com.amazonaws.auth.policy.Statement;
+import com.amazonaws.auth.policy.Statement.Effect;
+import com.seagates3.dao.ldap.UserImpl;
+import com.seagates3.exception.DataAccessException;
+import com.seagates3.model.Requestor;
+import com.seagates3.model.User;
+
+/**
+ * Bucket policy resolved into a form which is evaluated without parsing.
+ *
+ * Every statement keeps its principals sorted by kind, the set of S3 actions
+ * its action patterns expand to, the compiled resource patterns of its
+ * resource ARNs and its PolicyCondition objects. Instances are immutable and
+ * shared between requests through BucketPolicyCache.
+ */
+final class CompiledBucketPolicy {
+
+ private
+  final List<CompiledStatement> statements;
+
+ private
+  CompiledBucketPolicy(List<CompiledStatement> statements) {
+    this.statements = statements;
+  }
+
+  /**
+   * Parse the bucket policy JSON.
+   *
+   * @throws JSONException if the policy is not valid JSON.
+   */
+  static CompiledBucketPolicy compile(String policy) throws JSONException {
+    String policyString = new JSONObject(policy).toString();
+    policyString = policyString.replace(
+        "CanonicalUser",
+        "Service");  // TODO:temporary solution till we implement parser
+    PolicyReaderOptions readerOptions = new PolicyReaderOptions();
+    readerOptions.setStripAwsPrincipalIdHyphensEnabled(false);
+    Policy existingPolicy = Policy.fromJson(policyString, readerOptions);
+
+    List<CompiledStatement> statements = new ArrayList<>();
+    for (Statement stmt : existingPolicy.getStatements()) {
+      statements.add(new CompiledStatement(stmt));
+    }
+    return new CompiledBucketPolicy(Collections.unmodifiableList(statements));
+  }
+
+  List<CompiledStatement> getStatements() { return statements; }
+
+  /**
+   * Build the PolicyCondition of every condition. Conditions of an unknown
+   * type are kept as null and are never satisfied.
+   */
+  static List<PolicyCondition> compileConditions(List<Condition> conditions) {
+    List<PolicyCondition> policyConditions = new ArrayList<>();
+    for (Condition condition : conditions) {
+      policyConditions.add(ConditionFactory.getCondition(
+          condition.getType(),
+          ConditionUtil.removeKeyPrefix(condition.getConditionKey()),
+          condition.getValues()));
+    }
+    return policyConditions;
+  }
+
+  /**
+   * @return true if every condition is satisfied by the request, or there
+   * are no conditions.
+   */
+  static boolean isConditionMatching(List<PolicyCondition> conditions,
+                                     Map<String, String> requestBody) {
+    return isConditionMatching(conditions,
+                               new PolicyRequestContext(requestBody));
+  }
+
+  /**
+   * @param context request attributes shared by all the statements
+   * evaluated for the request.
+   */
+  static boolean isConditionMatching(List<PolicyCondition> conditions,
+                                     PolicyRequestContext context) {
+    for (PolicyCondition condition : conditions) {
+      if (condition == null || !condition.isSatisfied(context)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static final class CompiledStatement {
+
+   private
+    final boolean allow;
+    // Anonymous requests only match when the first principal is "*".
+   private
+    final boolean firstPrincipalIsWildcard;
+   private
+    final boolean anyPrincipalIsWildcard;
+    // AWS principals given as account or user id.
+   private
+    final Set<String> awsIds = new HashSet<>();
+    // AWS principals given as user ARN, resolved with an LDAP lookup.
+   private
+    final List<String> userArns = new ArrayList<>();
+    // CanonicalUser principals, read with the Service provider.
+   private
+    final Set<String> canonicalIds = new HashSet<>();
+    // A null entry marks a resource ARN which could not be parsed.
+   private
+    final WildcardPattern[] resources;
+   private
+    final S3Actions.ActionSet actions;
+   private
+    final List<PolicyCondition> conditions;
+
+    CompiledStatement(Statement stmt) {
+      allow = Effect.Allow.equals(stmt.getEffect());
+
+      boolean first = true;
+      boolean firstIsWildcard = false;
+      boolean anyIsWildcard = false;
+      PrincipalArnParser arnParser = new PrincipalArnParser();
+      for (Principal principal : stmt.getPrincipals()) {
+        String principalId = principal.getId();
+        if ("*".equals(principalId)) {
+          firstIsWildcard |= first;
+          anyIsWildcard = true;
+        } else if ("AWS".equals(principal.getProvider())) {
+          if (arnParser.isArnFormatValid(principalId)) {
+            userArns.add(principalId);
+          } else {
+            awsIds.add(principalId);
+          }
+        } else if ("Service".equals(principal.getProvider())) {
+          canonicalIds.add(principalId);
+        }
+        first = false;
+      }
+      firstPrincipalIsWildcard = firstIsWildcard;
+      anyPrincipalIsWildcard = anyIsWildcard;
+
+      if (stmt.getResources().isEmpty()) {
+        resources = null;
+      } else {
+        List<String> resourceArns =
+            PolicyUtil.convertCommaSeparatedStringToList(
+                stmt.getResources().get(0).getId());
+        resources = new WildcardPattern[resourceArns.size()];
+        for (int i = 0; i < resources.length; i++) {
+          try {
+            resources[i] = WildcardPattern.compile(
+                PolicyUtil.getResourceFromResourceArn(resourceArns.get(i)));
+          }
+          catch (ArrayIndexOutOfBoundsException e) {
+            // Reported when the statement is evaluated.
+          }
+        }
+      }
+
+      List<String> actionPatterns = new ArrayList<>();
+      for (Action action : stmt.getActions()) {
+        actionPatterns.add(action.getActionName());
+      }
+      actions = S3Actions.getInstance().getMatchingActions(actionPatterns);
+
+      conditions = compileConditions(stmt.getConditions());
+    }
+
+    boolean isAllow() { return allow; }
+
+    /**
+     * @param requestor requestor or null for anonymous requests.
+     * @return true if the statement applies to the requestor.
+     */
+    boolean isPrincipalMatching(Requestor requestor)
+        throws DataAccessException {
+      if (requestor == null) {
+        return firstPrincipalIsWildcard;
+      }
+      if (anyPrincipalIsWildcard ||
+          awsIds.contains(requestor.getAccount().getId()) ||
+          awsIds.contains(requestor.getId()) ||
+          canonicalIds.contains(requestor.getAccount().getCanonicalId())) {
+        return true;
+      }
+      for (String userArn : userArns) {
+        User user = new UserImpl().findByArn(userArn);
+        if (user != null && user.exists() &&
+            user.getId().equals(requestor.getId())) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * @return true if a resource pattern of the statement matches the
+     * requested bucket or object.
+     */
+    boolean isResourceMatching(String requestedResource) {
+      if (resources == null) {
+        throw new IllegalArgumentException(
+            "Bucket policy statement has no resource");
+      }
+      for (WildcardPattern resource : resources) {
+        if (resource == null) {
+          throw new IllegalArgumentException(
+              "Invalid resource ARN in bucket policy");
+        }
+        if (resource.matches(requestedResource)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * @param requestedOperation lower case S3 action, e.g. s3:getobject.
+     */
+    boolean isActionMatching(String requestedOperation) {
+      return actions.contains(requestedOperation);
+    }
+
+    boolean isConditionMatching(PolicyRequestContext context) {
+      return CompiledBucketPolicy.isConditionMatching(conditions, context);
+    }
+  }
+}
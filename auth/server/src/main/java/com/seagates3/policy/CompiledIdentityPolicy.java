@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.policy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.auth.policy.Action;
+import com.amazonaws.auth.policy.Policy;
+import com.amazonaws.auth.policy.PolicyReaderOptions;
+import com.amazonaws.auth.policy.Resource;
+import com.amazonaws.auth.policy.Statement;
+import com.amazonaws.auth.policy.Statement.Effect;
+
+/**
+ * IAM policies attached to a user, resolved into statements which are
+ * evaluated without parsing.
+ *
+ * Each statement keeps its lower case action patterns, its resource ARN
+ * patterns and its PolicyCondition objects. Instances are immutable and
+ * shared between requests through IdentityPolicyCache.
+ */
+final class CompiledIdentityPolicy {
+
+ private
+  static final Logger LOGGER =
+      LoggerFactory.getLogger(CompiledIdentityPolicy.class.getName());
+
+  /**
+   * Outcome of evaluating the policies for a request.
+   */
+  enum Decision {
+    ALLOW,
+    DENY,
+    // No statement applies to the request.
+    NONE
+  }
+
+  static final CompiledIdentityPolicy EMPTY = new CompiledIdentityPolicy(
+      Collections.<CompiledStatement>emptyList(), false);
+
+ private
+  final List<CompiledStatement> statements;
+
+ private
+  final boolean invalid;
+
+ private
+  CompiledIdentityPolicy(List<CompiledStatement> statements, boolean invalid) {
+    this.statements = statements;
+    this.invalid = invalid;
+  }
+
+  /**
+   * Compile the policy documents. A document which cannot be parsed is
+   * logged and makes the policies invalid.
+   */
+  static CompiledIdentityPolicy compile(List<String> policyDocs) {
+    List<CompiledStatement> statements = new ArrayList<>();
+    boolean invalid = false;
+    PolicyReaderOptions readerOptions = new PolicyReaderOptions();
+    readerOptions.setStripAwsPrincipalIdHyphensEnabled(false);
+    for (String policyDoc : policyDocs) {
+      try {
+        Policy policy = Policy.fromJson(policyDoc, readerOptions);
+        for (Statement stmt : policy.getStatements()) {
+          statements.add(new CompiledStatement(stmt));
+        }
+      }
+      catch (IllegalArgumentException e) {
+        LOGGER.error("Invalid IAM policy document", e);
+        invalid = true;
+      }
+    }
+    if (statements.isEmpty() && !invalid) {
+      return EMPTY;
+    }
+    return new CompiledIdentityPolicy(Collections.unmodifiableList(statements),
+                                      invalid);
+  }
+
+  boolean isEmpty() { return statements.isEmpty() && !invalid; }
+
+  /**
+   * @return true if an attached policy document cannot be parsed, the
+   * policies then cannot be evaluated.
+   */
+  boolean isInvalid() { return invalid; }
+
+  /**
+   * An explicit Deny of any statement overrides every Allow.
+   *
+   * @param action lower case action, e.g. s3:getobject or iam:createuser.
+   * @param resource ARN of the requested resource.
+   */
+  Decision evaluate(String action, String resource,
+                    Map<String, String> requestBody) {
+    Decision decision = Decision.NONE;
+    PolicyRequestContext context = new PolicyRequestContext(requestBody);
+    for (CompiledStatement stmt : statements) {
+      if (stmt.isMatching(action, resource, context)) {
+        if (!stmt.allow) {
+          return Decision.DENY;
+        }
+        decision = Decision.ALLOW;
+      }
+    }
+    return decision;
+  }
+
+ private
+  static final class CompiledStatement {
+
+    final boolean allow;
+    final WildcardPattern[] actions;
+    final WildcardPattern[] resources;
+    final List<PolicyCondition> conditions;
+
+    CompiledStatement(Statement stmt) {
+      allow = Effect.Allow.equals(stmt.getEffect());
+
+      List<Action> actionList = stmt.getActions();
+      actions = new WildcardPattern[actionList.size()];
+      for (int i = 0; i < actions.length; i++) {
+        actions[i] = WildcardPattern.compile(
+            actionList.get(i).getActionName().toLowerCase());
+      }
+
+      List<WildcardPattern> resourcePatterns = new ArrayList<>();
+      for (Resource resource : stmt.getResources()) {
+        for (String resourceArn :
+             PolicyUtil.convertCommaSeparatedStringToList(resource.getId())) {
+          resourcePatterns.add(WildcardPattern.compile(resourceArn));
+        }
+      }
+      resources = resourcePatterns.toArray(
+          new WildcardPattern[resourcePatterns.size()]);
+
+      conditions = CompiledBucketPolicy.compileConditions(stmt.getConditions());
+    }
+
+    boolean isMatching(String action, String resource,
+                       PolicyRequestContext context) {
+      return matchesAny(actions, action) && matchesAny(resources, resource) &&
+          CompiledBucketPolicy.isConditionMatching(conditions, context);
+    }
+
+   private
+    static boolean matchesAny(WildcardPattern[] patterns, String input) {
+      for (WildcardPattern pattern : patterns) {
+        if (pattern.matches(input)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
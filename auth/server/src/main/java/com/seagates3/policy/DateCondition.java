@@ -20,11 +20,8 @@
 
 package com.seagates3.policy;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
@@ -36,11 +33,37 @@ import com.seagates3.util.DateUtil;
 public
 class DateCondition extends PolicyCondition {
 
- private
-  static List<Date> conditionDates;
  protected
   final Logger LOGGER = LoggerFactory.getLogger(DateCondition.class.getName());
 
+  // Regex for date format - yyyy-MM-dd
+ private
+  static final Pattern DATE_YYYY_MM_DD =
+      Pattern.compile("([12]\\d{3}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01]))");
+
+  // Regex for date format - YYYY-MM-DDThh:mmZ 1997-07-10T24:10Z
+ private
+  static final Pattern DATE_ISO8601 = Pattern.compile(
+      "([12]\\d{3}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01]))T((0|1)[0-9]|2[0-" +
+      "4]):((0|1|2|3|4|5)[0-9])Z");
+
+  // Regex for date format - YYYY-MM-DDThh:mm:ss.sTZD
+  // (1997-07-10T24:10:00.45Z)
+ private
+  static final Pattern DATE_ISO8601_DECIMAL = Pattern.compile(
+      "([12]\\d{3}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01]))T((0|1)[0-9]|2[0-" +
+      "4]):((0|1|2|3|4|5)[0-9]):((0|1|2|3|4|5)[0-9]).\\d+Z");
+
+ private
+  final DateComparisonType comparisonType;
+  // Condition values parsed once, null if any of them is not a valid date.
+ private
+  final Date[] conditionDates;
+  // CurrentTime and EpochTime are compared with the date of the request,
+  // other keys with the date in the header of the same name.
+ private
+  final boolean isRequestDateKey;
+
  public
   static enum DateComparisonType {
     DateEquals,
@@ -63,8 +86,34 @@ class DateCondition extends PolicyCondition {
       super.type = null;
     else
       super.type = type.toString();
-    super.conditionKey = key;
+    comparisonType = type;
+    setConditionKey(key);
     super.values = values;
+
+    isRequestDateKey = "CurrentTime".equalsIgnoreCase(key) ||
+                       "EpochTime".equalsIgnoreCase(key);
+    conditionDates = parseConditionDates(key, values);
+  }
+
+  /**
+   * Parse the condition values once. CurrentTime and other keys take ISO8601
+   * dates, EpochTime takes seconds since the epoch.
+   * @return parsed dates or null if any value is not a valid date.
+   */
+ private
+  static Date[] parseConditionDates(String key, List<String> values) {
+    if (key == null || values == null) return null;
+    Date[] dates = new Date[values.size()];
+    boolean isEpochTime = "EpochTime".equalsIgnoreCase(key);
+    for (int i = 0; i < dates.length; i++) {
+      dates[i] = isEpochTime ? parseEpochTime(values.get(i))
+                             : parseCurrentTime(values.get(i));
+      if (dates[i] == null) {
+        // invalid date format found in policy
+        return null;
+      }
+    }
+    return dates;
   }
 
   /**
@@ -73,59 +122,30 @@ class DateCondition extends PolicyCondition {
    * "Condition":
    *        {"DateGreaterThan": {"aws:CurrentTime": "2020-01-01T00:00:01Z"}}
    */
-  @Override public boolean isSatisfied(Map<String, String> requestBody) {
+  @Override public boolean isSatisfied(PolicyRequestContext context) {
 
     if (this.conditionKey == null || this.values == null) return false;
-    DateComparisonType enumType = DateComparisonType.valueOf(this.type);
+    DateComparisonType enumType = comparisonType;
     if (enumType == null) return false;
-    // 1. Convert condition date string to date object
-    conditionDates = new ArrayList<>();
+    if (conditionDates == null) {
+      LOGGER.debug("conditionDate object is null");
+      return false;
+    }
+
     boolean keyExsists = false;
-    boolean isRequestDateHeaderRequired = false;
     Date requestDate = null;
-    for (String date : values) {
-      Date conditionDate = null;
-      if (this.conditionKey.equalsIgnoreCase("CurrentTime")) {
-        conditionDate = parseCurrentTime(date);
-        keyExsists = true;
-        isRequestDateHeaderRequired = true;
-        LOGGER.debug("conditionDate in currentTime is :" + conditionDate);
-
-      } else if (this.conditionKey.equalsIgnoreCase("EpochTime")) {
-        conditionDate = parseEpochTime(date);
+    if (conditionDates.length > 0) {
+      if (isRequestDateKey) {
+        // Extract request date from requestBody
         keyExsists = true;
-        isRequestDateHeaderRequired = true;
-        LOGGER.debug("conditionDate in EpochTime is :" + conditionDate);
-
+        requestDate = context.getRequestDate();
       } else {
         // If any other header provided then parse that date
-        String headerVal = null;
-        for (Entry<String, String> entry : requestBody.entrySet()) {
-          if (this.conditionKey.equalsIgnoreCase(
-                  ConditionUtil.removeKeyPrefix(entry.getKey()))) {
-            headerVal = entry.getValue();
-            requestDate = parseDate(headerVal);
-            keyExsists = true;
-            break;
-          }
+        if (context.containsHeader(lookupKey)) {
+          keyExsists = true;
+          requestDate = parseDate(context.getHeader(lookupKey));
         }
-        // Assuming the value will be in ISO format similar to CurrentTime
-        conditionDate = parseCurrentTime(date);
       }
-
-      if (conditionDate == null) {
-        // invalid date format found in policy
-        LOGGER.debug("conditionDate object is null");
-        return false;
-      } else {
-        conditionDates.add(conditionDate);
-      }
-    }
-
-    if (isRequestDateHeaderRequired) {
-      // 2. Extract request date from requestBody
-      LOGGER.debug("calculating requestDate... ");
-      requestDate = populateRequestDate(requestBody);
     }
 
     boolean result = false;
@@ -220,70 +240,19 @@ class DateCondition extends PolicyCondition {
    * @return null
    */
  private
-  Date parseCurrentTime(String dateString) {
+  static Date parseCurrentTime(String dateString) {
     // CurrentTime needs to be in ISO8601 format. Otherwise return null.
-
-    // Regex for date format - yyyy-MM-dd
-    String regexDateYYYY_mm_dd =
-        "([12]\\d{3}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01]))";
-
-    // Regex for date format - YYYY-MM-DDThh:mmZ 1997-07-10T24:10Z
-    String regexDateISO8601 =
-        "([12]\\d{3}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01]))T((0|1)[0-9]|2[0-" +
-        "4]):((0|1|2|3|4|5)[0-9])Z";
-    // Regex for date format - YYYY-MM-DDThh:mmZ 1997-07-10T24:10+01:00
-    String regexDateISO8601_tzd =
-        "([12]\\d{3}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01]))T((0|1)[0-9]|2[0-" +
-        "4]):((0|1|2|3|4|5)[0-9])[-+]((0|1)[0-9]|2[0-4]):((0|1|2|3|4|5)[0-9" +
-        "])";
-
-    // Regex for date format - YYYY-MM-DDThh:mm:ssTZD
-    // (1997-07-10T24:10:00+01:00)
-    String regexDateISO8601_hhmmsstzd =
-        "([12]\\d{3}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01]))T((0|1)[0-9]|2[0-" +
-        "4]" +
-        "):((0|1|2|3|4|5)[0-9]):((0|1|2|3|4|5)[0-9])[-+]((0|1)[0-9]|2[0-4]):(" +
-        "(0|1|2|3|4|5)[0-9])";
-
-    // Regex for date format - YYYY-MM-DDThh:mm:ss.sTZD
-    // (1997-07-10T24:10:00.45Z)
-    String regexDateISO8601_decimal =
-        "([12]\\d{3}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01]))T((0|1)[0-9]|2[0-" +
-        "4]):((0|1|2|3|4|5)[0-9]):((0|1|2|3|4|5)[0-9]).\\d+Z";
-    // Regex for date format - YYYY-MM-DDThh:mm:ss.sTZD
-    // (1997-07-10T24:10:00.45+01:00)
-    String regexDateISO8601_decimal_tzd =
-        "([12]\\d{3}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01]))T((0|1)[0-9]|2[0-" +
-        "4]" +
-        "):((0|1|2|3|4|5)[0-9]):((0|1|2|3|4|5)[0-9]).\\d+[-+]((0|1)[0-9]|2[0-" +
-        "4]):((0|1|2|3|4|5)[0-9])";
+    if (dateString == null) return null;
 
     // TODO Timzone implementation
-    /*SimpleDateFormat sdf = null;
-    if (Pattern.compile(regexDateISO8601_tzd).matcher(dateString).matches())
-        sdf = new SimpleDateFormat("yyyy-MM-dd HH:mmZ");
-
-    else if
-    (Pattern.compile(regexDateISO8601_hhmmsstzd).matcher(dateString).matches())
-        sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ssZ");
-    else if
-    (Pattern.compile(regexDateISO8601_decimal_tzd).matcher(dateString).matches())
-        sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSSZ");
+    // YYYY-MM-DDThh:mm+01:00, YYYY-MM-DDThh:mm:ss+01:00 and
+    // YYYY-MM-DDThh:mm:ss.s+01:00 are not supported yet.
 
-    try {
-        Date dateres = sdf.parse(dateString);
-        return dateres;
-    } catch (ParseException e) {
-        // do nothing
-    }*/
-
-    if (Pattern.compile(regexDateYYYY_mm_dd).matcher(dateString).matches())
+    if (DATE_YYYY_MM_DD.matcher(dateString).matches())
       dateString = dateString.concat("T00:00:00Z");
-    else if (Pattern.compile(regexDateISO8601).matcher(dateString).matches())
+    else if (DATE_ISO8601.matcher(dateString).matches())
       dateString = dateString.replace("Z", ":00Z");
-    else if (Pattern.compile(regexDateISO8601_decimal)
-                 .matcher(dateString)
-                 .matches())
+    else if (DATE_ISO8601_DECIMAL.matcher(dateString).matches())
       dateString = dateString.replaceAll(".\\d+Z", "Z");
     try {
       return DateUtils.parseISO8601Date(dateString);
@@ -302,7 +271,7 @@ class DateCondition extends PolicyCondition {
    * @return null
    */
  private
-  Date parseEpochTime(String dateString) {
+  static Date parseEpochTime(String dateString) {
     // EpochTime needs to be in long value. Otherwise return null.
     try {
       return DateUtils.parseServiceSpecificDate(dateString);
@@ -321,20 +290,7 @@ class DateCondition extends PolicyCondition {
    * @return Date
    * @return null
    */
- private
-  Date populateRequestDate(Map<String, String> requestBody) {
-    String requestDateString;
-
-    if (requestBody.containsKey("X-Amz-Date")) {
-      requestDateString = requestBody.get("X-Amz-Date");
-    } else {
-      requestDateString = requestBody.get("Date");
-    }
-    return parseDate(requestDateString);
-  }
-
- private
-  Date parseDate(String dateString) {
+  static Date parseDate(String dateString) {
     try {
       // Parse compressed ISO8601 date format into Date object
       // i.e. yyyyMMdd'T'HHmmss'Z' e.g. 20200122T062243Z
@@ -22,15 +22,118 @@ package com.seagates3.policy;
 
 import java.util.Map;
 
+import com.seagates3.exception.DataAccessException;
 import com.seagates3.model.Requestor;
 import com.seagates3.response.ServerResponse;
+import com.seagates3.response.generator.AuthorizationResponseGenerator;
 
+/**
+ * Evaluate the IAM policies attached to the requesting user.
+ *
+ * S3 requests are evaluated for the action derived from S3Action on the
+ * resource arn:aws:s3:::bucket/key. IAM requests are evaluated for the
+ * action iam:<Action> on the ARN of the user, group, role or policy named by
+ * the request, or on arn:aws:iam::<account id>:* if it names none.
+ *
+ * The account root user and anonymous requests are not subject to IAM
+ * policies.
+ */
 public
 class IAMPolicyAuthorizer extends PolicyAuthorizer {
 
+ private
+  static final String S3_ARN_PREFIX = "arn:aws:s3:::";
+ private
+  static final String IAM_ARN_PREFIX = "arn:aws:iam::";
+
   @Override public ServerResponse authorizePolicy(
       Requestor requestor, Map<String, String> requestBody) {
-    // TODO Auto-generated method stub
-    return null;
+
+    ServerResponse serverResponse = null;
+
+    // authorizePolicy will return NULL if no statement of the user's
+    // policies applies to the request
+    // authorized if an Allow applies and none of the Deny
+    // AccessDenied if a Deny applies
+    // InternalFailure if an attached policy cannot be parsed, so that a Deny
+    // which could not be read does not let the request through
+    if (requestor == null || requestor.getAccount() == null ||
+        requestor.getId() == null || "root".equals(requestor.getName())) {
+      return null;
+    }
+    CompiledIdentityPolicy policy;
+    try {
+      policy = IdentityPolicyCache.getInstance().get(requestor.getAccount(),
+                                                     requestor.getId());
+    }
+    catch (DataAccessException e) {
+      // Leave the request to the ACL and bucket policy, a failed lookup must
+      // not fail the requests they grant.
+      LOGGER.error("Failed to read the IAM policies of user " +
+                       requestor.getId(),
+                   e);
+      return null;
+    }
+    if (policy.isInvalid()) {
+      LOGGER.error("IAM policies of user " + requestor.getId() +
+                   " cannot be parsed");
+      return new AuthorizationResponseGenerator().internalServerError();
+    }
+    if (policy.isEmpty()) {
+      return null;
+    }
+
+    try {
+      String action;
+      String resource;
+      String s3Action = requestBody.get("S3Action");
+      if (s3Action != null) {
+        action = PolicyUtil.getS3ActionToAuthorize(s3Action).toLowerCase();
+        resource = S3_ARN_PREFIX + PolicyUtil.getResourceFromUri(
+                                       requestBody.get("ClientAbsoluteUri"));
+      } else {
+        action = "iam:" + requestBody.get("Action").toLowerCase();
+        resource = getIamResource(requestor, requestBody);
+      }
+      LOGGER.debug("IAM policy action to authorize - " + action +
+                   " resource - " + resource);
+
+      AuthorizationResponseGenerator responseGenerator =
+          new AuthorizationResponseGenerator();
+      switch (policy.evaluate(action, resource, requestBody)) {
+        case ALLOW:
+          serverResponse = responseGenerator.ok();
+          break;
+        case DENY:
+          serverResponse = responseGenerator.AccessDenied();
+          break;
+        default:
+          break;
+      }
+    }
+    catch (Exception e) {
+      LOGGER.error("Exception while authorizing IAM policies", e);
+    }
+    LOGGER.debug("IAM authorizePolicy response - " + serverResponse);
+    return serverResponse;
+  }
+
+ private
+  static String getIamResource(Requestor requestor,
+                               Map<String, String> requestBody) {
+    String prefix = IAM_ARN_PREFIX + requestor.getAccount().getId() + ":";
+    if (requestBody.get("UserName") != null) {
+      return prefix + "user/" + requestBody.get("UserName");
+    }
+    if (requestBody.get("GroupName") != null) {
+      return prefix + "group/" + requestBody.get("GroupName");
+    }
+    if (requestBody.get("RoleName") != null) {
+      return prefix + "role/" + requestBody.get("RoleName");
+    }
+    if (requestBody.get("PolicyName") != null) {
+      return prefix + "policy/" + requestBody.get("PolicyName");
+    }
+    return prefix + "*";
   }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.policy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.cache.AuthCache;
+import com.seagates3.dao.DAODispatcher;
+import com.seagates3.dao.DAOResource;
+import com.seagates3.dao.PolicyDAO;
+import com.seagates3.exception.DataAccessException;
+import com.seagates3.model.Account;
+import com.seagates3.model.Policy;
+
+/**
+ * Compiled IAM policies of users, keyed on account name and user id.
+ *
+ * The policies of a user are read from LDAP and compiled on the first
+ * request of the user, then kept for cacheTimeout seconds. Write paths which
+ * change the policies of a user call invalidate or invalidateAccount. Setting
+ * identityPolicyCacheMaxEntries or cacheTimeout to 0 disables the cache.
+ */
+public
+class IdentityPolicyCache {
+
+ private
+  static volatile IdentityPolicyCache instance;
+
+ private
+  final AuthCache<String, CompiledIdentityPolicy> policyCache;
+
+ private
+  IdentityPolicyCache(int maxEntries, long ttlMillis) {
+    policyCache =
+        maxEntries > 0 ? new AuthCache<String, CompiledIdentityPolicy>(
+                             "identityPolicy", maxEntries, ttlMillis)
+                       : null;
+  }
+
+ public
+  static IdentityPolicyCache getInstance() {
+    if (instance == null) {
+      synchronized(IdentityPolicyCache.class) {
+        if (instance == null) {
+          // As for authentication, a cacheTimeout of 0 disables caching. It
+          // must not give entries which never expire.
+          int cacheTimeout = AuthServerConfig.getCacheTimeout();
+          instance = new IdentityPolicyCache(
+              cacheTimeout > 0
+                  ? AuthServerConfig.getIdentityPolicyCacheMaxEntries()
+                  : 0,
+              cacheTimeout * 1000L);
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Drop the current instance so that the next getInstance picks up the
+   * configured cache size again.
+   */
+  static synchronized void reset() { instance = null; }
+
+  /**
+   * @return compiled policies attached to the user.
+   */
+  CompiledIdentityPolicy get(Account account, String userId)
+      throws DataAccessException {
+    String key = getKey(account.getName(), userId);
+    CompiledIdentityPolicy compiledPolicy =
+        policyCache != null ? policyCache.get(key) : null;
+    if (compiledPolicy == null) {
+      PolicyDAO policyDAO =
+          (PolicyDAO)DAODispatcher.getResourceDAO(DAOResource.POLICY);
+      List<String> policyDocs = new ArrayList<>();
+      for (Policy policy : policyDAO.findAttachedPolicies(account, userId)) {
+        policyDocs.add(policy.getPolicyDoc());
+      }
+      compiledPolicy = CompiledIdentityPolicy.compile(policyDocs);
+      if (policyCache != null) {
+        policyCache.put(key, compiledPolicy);
+      }
+    }
+    return compiledPolicy;
+  }
+
+  /**
+   * Drop the cached policies of the user. To be called whenever a policy is
+   * attached to or detached from the user, or the user is deleted.
+   */
+ public
+  void invalidate(String accountName, String userId) {
+    if (policyCache != null && accountName != null && userId != null) {
+      policyCache.remove(getKey(accountName, userId));
+    }
+  }
+
+  /**
+   * Drop the cached policies of every user of the account. To be called
+   * whenever a managed policy of the account is changed or deleted.
+   */
+ public
+  void invalidateAccount(String accountName) {
+    if (policyCache == null || accountName == null) {
+      return;
+    }
+    final String prefix = accountName + "/";
+    policyCache.removeIf(new AuthCache.KeyFilter<String>() {
+      @Override public boolean accept(String key) {
+        return key.startsWith(prefix);
+      }
+    });
+  }
+
+  /**
+   * @return cache of compiled policies or null if it is disabled.
+   */
+ public
+  AuthCache<String, ?> getPolicyCache() { return policyCache; }
+
+ private
+  static String getKey(String accountName, String userId) {
+    return accountName + "/" + userId;
+  }
+}
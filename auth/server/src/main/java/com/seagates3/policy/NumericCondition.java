@@ -20,14 +20,20 @@
 
 package com.seagates3.policy;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 
 public
 class NumericCondition extends PolicyCondition {
 
+ private
+  final NumericComparisonType comparisonType;
+  // Condition values parsed up to the first one which is not a number.
+ private
+  final long[] operands;
+ private
+  final boolean allOperandsValid;
+
  public
   static enum NumericComparisonType {
     NumericEquals,
@@ -50,8 +56,22 @@ class NumericCondition extends PolicyCondition {
       super.type = null;
     else
       super.type = type.toString();
-    super.conditionKey = key;
+    comparisonType = type;
+    setConditionKey(key);
     super.values = values;
+
+    int count = 0;
+    long[] parsed = new long[values != null ? values.size() : 0];
+    try {
+      for (; count < parsed.length; count++) {
+        parsed[count] = Long.parseLong(values.get(count));
+      }
+    }
+    catch (Exception ex) {
+      // Comparisons stop at the first value which is not a number.
+    }
+    operands = count == parsed.length ? parsed : Arrays.copyOf(parsed, count);
+    allOperandsValid = count == parsed.length;
   }
 
   /**
@@ -59,22 +79,13 @@ class NumericCondition extends PolicyCondition {
    * Sample condition -
    * "Condition": {"NumericLessThanEquals": {"s3:max-keys": "10"}}
    */
-  @Override public boolean isSatisfied(Map<String, String> requestBody) {
+  @Override public boolean isSatisfied(PolicyRequestContext context) {
     if (this.values == null) return false;
-    NumericComparisonType enumType = NumericComparisonType.valueOf(this.type);
+    NumericComparisonType enumType = comparisonType;
     if (enumType == null) return false;
 
     // Fetch the header value for corresponding Condition key
-    String headerVal = null;
-    for (Entry<String, String> entry : requestBody.entrySet()) {
-      if (entry.getKey().equalsIgnoreCase(this.conditionKey)) {
-        headerVal = entry.getValue();
-      } else if (entry.getKey().equals("ClientQueryParams")) {
-        headerVal = PolicyUtil.fetchQueryParamValue(entry.getValue(),
-                                                    this.conditionKey);
-        if (headerVal != null) break;
-      }
-    }
+    String headerVal = context.getValue(lookupKey);
     boolean result = false;
 
     switch (enumType) {
@@ -161,68 +172,63 @@ class NumericCondition extends PolicyCondition {
    */
  private
   boolean numericEquals(String headerVal) {
-    if (headerVal == null) return false;
-    Long longHeader = null;
-    List<Long> longValues = null;
+    if (headerVal == null || !allOperandsValid) return false;
+    long longHeader;
     try {
       longHeader = Long.parseLong(headerVal.trim());
-      longValues = new ArrayList<Long>();
-      for (String s : this.values) {
-        longValues.add(Long.parseLong(s));
-      }
     }
-    catch (Exception ex) {
+    catch (NumberFormatException ex) {
       return false;
     }
-    return longValues.contains(longHeader);
+    for (long conditionVal : operands) {
+      if (longHeader == conditionVal) return true;
+    }
+    return false;
   }
 
   /**
    * Check if the input String is greater than any of the condition values.
-   * Returns false if the headerVal or any of the condition values is not a
-   * {@link Number}
+   * Returns false if the headerVal is not a {@link Number}. Condition values
+   * after the first one which is not a {@link Number} are ignored.
    * @param headerVal
    * @return
    */
  private
   boolean numericGreaterThan(String headerVal) {
     if (headerVal == null) return false;
-    Long longHeader = null;
+    long longHeader;
     try {
       longHeader = Long.parseLong(headerVal.trim());
-      for (String s : this.values) {
-        Long conditionVal = Long.parseLong(s);
-        if (longHeader > conditionVal) return true;
-      }
     }
-    catch (Exception ex) {
+    catch (NumberFormatException ex) {
       return false;
     }
+    for (long conditionVal : operands) {
+      if (longHeader > conditionVal) return true;
+    }
     return false;
   }
 
   /**
    * Check if the input String is greater than or equals to any of the condition
-   * values. Returns false if the headerVal or any of the condition values is
-   * not
-   * a {@link Number}
+   * values. Returns false if the headerVal is not a {@link Number}. Condition
+   * values after the first one which is not a {@link Number} are ignored.
    * @param headerVal
    * @return
    */
  private
   boolean numericGreaterThanEquals(String headerVal) {
     if (headerVal == null) return false;
-    Long longHeader = null;
+    long longHeader;
     try {
       longHeader = Long.parseLong(headerVal.trim());
-      for (String s : this.values) {
-        Long conditionVal = Long.parseLong(s);
-        if (longHeader >= conditionVal) return true;
-      }
     }
-    catch (Exception ex) {
+    catch (NumberFormatException ex) {
       return false;
     }
+    for (long conditionVal : operands) {
+      if (longHeader >= conditionVal) return true;
+    }
     return false;
   }
 
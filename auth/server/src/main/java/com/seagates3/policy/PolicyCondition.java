@@ -32,6 +32,9 @@ class PolicyCondition {
   String conditionKey;
  protected
   List<String> values;
+  // Lower case conditionKey, as looked up in PolicyRequestContext.
+ protected
+  String lookupKey;
 
   /**
    * Returns the type of this condition.
@@ -63,6 +66,7 @@ class PolicyCondition {
  public
   void setConditionKey(String conditionKey) {
     this.conditionKey = conditionKey;
+    this.lookupKey = conditionKey != null ? conditionKey.toLowerCase() : null;
   }
 
   /**
@@ -85,6 +89,17 @@ class PolicyCondition {
    */
  public
   boolean isSatisfied(Map<String, String> requestBody) {
+    return isSatisfied(new PolicyRequestContext(requestBody));
+  }
+
+  /**
+   * Checks if the condition is satisfied from the request. The context is
+   * shared by all the conditions evaluated for the request.
+   * @param context
+   * @return
+   */
+ public
+  boolean isSatisfied(PolicyRequestContext context) {
     // TODO: Add logic to check the headers as per generic Condition type
     // OR keep abstract
     return false;
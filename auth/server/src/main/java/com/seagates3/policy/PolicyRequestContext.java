@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.policy;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Request attributes looked up by policy conditions.
+ *
+ * The request headers and the query parameters of ClientQueryParams are
+ * indexed by lower case name on the first lookup, so that evaluating any
+ * number of conditions walks the request body once. A context belongs to a
+ * single request and is not thread safe.
+ */
+public
+final class PolicyRequestContext {
+
+ private
+  static final String QUERY_PARAMS_KEY = "ClientQueryParams";
+
+ private
+  final Map<String, String> requestBody;
+ private
+  Map<String, String> headers;
+ private
+  Map<String, String> queryParams;
+ private
+  boolean requestDateParsed;
+ private
+  Date requestDate;
+
+ public
+  PolicyRequestContext(Map<String, String> requestBody) {
+    this.requestBody = requestBody;
+  }
+
+ public
+  Map<String, String> getRequestBody() { return requestBody; }
+
+  /**
+   * @param key lower case condition key without its s3: or aws: prefix.
+   * @return value of the query parameter, else of the header, named key or
+   * null if the request has neither.
+   */
+ public
+  String getValue(String key) {
+    if (key == null) {
+      return null;
+    }
+    index();
+    String value = queryParams.get(key);
+    return value != null ? value : headers.get(key);
+  }
+
+  /**
+   * @param key lower case condition key without its s3: or aws: prefix.
+   * @return true if the request has a query parameter or a header, possibly
+   * without value, named key.
+   */
+ public
+  boolean containsKey(String key) {
+    if (key == null) {
+      return false;
+    }
+    index();
+    return queryParams.containsKey(key) || headers.containsKey(key);
+  }
+
+  /**
+   * @param key lower case header name.
+   * @return value of the header or null.
+   */
+ public
+  String getHeader(String key) {
+    if (key == null) {
+      return null;
+    }
+    index();
+    return headers.get(key);
+  }
+
+  /**
+   * @param key lower case header name.
+   * @return true if the request has the header, possibly without value.
+   */
+ public
+  boolean containsHeader(String key) {
+    if (key == null) {
+      return false;
+    }
+    index();
+    return headers.containsKey(key);
+  }
+
+  /**
+   * @return date of the request from X-Amz-Date, else from Date, or null if
+   * neither can be parsed.
+   */
+  Date getRequestDate() {
+    if (!requestDateParsed) {
+      String dateString = requestBody.containsKey("X-Amz-Date")
+                              ? requestBody.get("X-Amz-Date")
+                              : requestBody.get("Date");
+      requestDate = DateCondition.parseDate(dateString);
+      requestDateParsed = true;
+    }
+    return requestDate;
+  }
+
+ private
+  void index() {
+    if (headers != null) {
+      return;
+    }
+    headers = new HashMap<>(requestBody.size() * 2);
+    queryParams = new HashMap<>();
+    for (Entry<String, String> entry : requestBody.entrySet()) {
+      headers.put(entry.getKey().toLowerCase(), entry.getValue());
+    }
+    String query = requestBody.get(QUERY_PARAMS_KEY);
+    if (query == null || query.isEmpty()) {
+      return;
+    }
+    int start = 0;
+    while (start <= query.length()) {
+      int end = query.indexOf('&', start);
+      if (end < 0) {
+        end = query.length();
+      }
+      if (end > start) {
+        int eq = query.indexOf('=', start);
+        if (eq < 0 || eq > end) {
+          queryParams.put(query.substring(start, end).toLowerCase(), "");
+        } else {
+          queryParams.put(query.substring(start, eq).toLowerCase(),
+                          query.substring(eq + 1, end));
+        }
+      }
+      start = end + 1;
+    }
+  }
+}
@@ -86,6 +86,32 @@ class PolicyUtil {
     return uri.substring(1);
   }
 
+  /**
+   * Map the S3Action of a request to the policy action which authorizes it,
+   * e.g. HeadObject is authorized by s3:GetObject.
+   *
+   * @param s3Action - 'S3Action' from request body
+   * @return - the policy action or null if s3Action is null
+   */
+ public
+  static String getS3ActionToAuthorize(String s3Action) {
+    if (s3Action == null) {
+      return null;
+    }
+    switch (s3Action) {
+      case "HeadBucket":
+        s3Action = "ListBucket";
+        break;
+      case "HeadObject":
+        s3Action = "GetObject";
+        break;
+      case "DeleteBucketTagging":
+        s3Action = "PutBucketTagging";
+        break;
+    }
+    return "s3:" + s3Action;
+  }
+
   /**
    * Get all matching actions from Actions.json
    *
@@ -94,26 +120,15 @@ class PolicyUtil {
    */
  public
   static List<String> getAllMatchingActions(String inputAction) {
-    List<String> matchingActions = new ArrayList<>();
-    for (String action : S3Actions.getInstance()
-             .getBucketOperations()
-             .keySet()) {
-      if (isPatternMatching(action.toLowerCase(), inputAction.toLowerCase())) {
-        matchingActions.add(action);
-      }
-    }
-    for (String action : S3Actions.getInstance()
-             .getObjectOperations()
-             .keySet()) {
-      if (isPatternMatching(action.toLowerCase(), inputAction.toLowerCase())) {
-        matchingActions.add(action);
-      }
-    }
-    return matchingActions;
+    return new ArrayList<>(S3Actions.getInstance()
+                               .getMatchingActions(inputAction)
+                               .getActionNames());
   }
 
   /**
-   * Function that matches input string with given wildcard pattern
+   * Function that matches input string with given wildcard pattern. Callers
+   * matching many inputs against one pattern should compile a
+   * WildcardPattern once instead.
    *
    * @param input - Source string to match the pattern with
    * @param pattern - Pattern with wildchar characters to match. eg- GetObj*
@@ -122,28 +137,7 @@ class PolicyUtil {
    */
  public
   static boolean isPatternMatching(String input, String pattern) {
-    int inputLength = input.length();
-    int patternLength = pattern.length();
-    if (patternLength == 0) return (inputLength == 0);
-    boolean[][] data = new boolean[inputLength + 1][patternLength + 1];
-    for (int count = 0; count < inputLength + 1; count++)
-      Arrays.fill(data[count], false);
-    data[0][0] = true;
-    // Only '*' can match with empty string
-    for (int count = 1; count <= patternLength; count++)
-      if (pattern.charAt(count - 1) == '*') data[0][count] = data[0][count - 1];
-    for (int i = 1; i <= inputLength; i++) {
-      for (int j = 1; j <= patternLength; j++) {
-        if (pattern.charAt(j - 1) == '*')
-          data[i][j] = data[i][j - 1] || data[i - 1][j];
-        else if (pattern.charAt(j - 1) == '?' ||
-                 input.charAt(i - 1) == pattern.charAt(j - 1))
-          data[i][j] = data[i - 1][j - 1];
-        else
-          data[i][j] = false;
-      }
-    }
-    return data[inputLength][patternLength];
+    return WildcardPattern.compile(pattern).matches(input);
   }
 
  public
@@ -151,14 +145,12 @@ class PolicyUtil {
                                           int slashPosition) {
     boolean isValid = false;
     for (String action : actions) {
-      if ((S3Actions.getInstance().getBucketOperations().keySet().contains(
-              action)) &&
+      if (S3Actions.getInstance().isBucketOperation(action) &&
           slashPosition == -1) {  // Bucket operation and object not present
         isValid = true;
         break;
       }
-      if ((S3Actions.getInstance().getObjectOperations().keySet().contains(
-              action)) &&
+      if (S3Actions.getInstance().isObjectOperation(action) &&
           slashPosition != -1) {  // object operation and object is present
         isValid = true;
         break;
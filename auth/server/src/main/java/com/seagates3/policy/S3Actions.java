@@ -24,8 +24,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -35,18 +40,85 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.reflect.TypeToken;
+import com.seagates3.cache.AuthCache;
 
+/**
+ * Catalog of S3 actions read from S3Actions.json.
+ *
+ * Every action gets an id when the catalog is loaded, so that a set of
+ * actions is a bit set. The set of actions an action pattern such as
+ * s3:*Object* expands to is computed once and memoized.
+ */
 public
 class S3Actions {
 
  private
   static final String S3_ACTIONS_FILE = "/S3Actions.json";
 
+  // Action patterns come from policies, so the memo of their expansion is
+  // bounded.
+ private
+  static final int MAX_PATTERN_CACHE_ENTRIES = 1024;
+
  private
   Map<String, Set<String>> bucketOperations = new HashMap<>();
  private
   Map<String, Set<String>> objectOperations = new HashMap<>();
 
+  // Lower case action names, indexed by action id.
+ private
+  final List<String> actionNames = new ArrayList<>();
+ private
+  final Map<String, Integer> actionIds = new HashMap<>();
+ private
+  final BitSet bucketActionIds = new BitSet();
+ private
+  final BitSet objectActionIds = new BitSet();
+ private
+  final AuthCache<String, ActionSet> patternCache =
+      new AuthCache<String, ActionSet>("s3ActionPatterns",
+                                       MAX_PATTERN_CACHE_ENTRIES, 0);
+
+  /**
+   * Immutable set of S3 actions.
+   */
+ public
+  final class ActionSet {
+
+   private
+    final BitSet ids;
+   private
+    final List<String> names;
+
+   private
+    ActionSet(BitSet ids) {
+      this.ids = ids;
+      List<String> idNames = new ArrayList<>(ids.cardinality());
+      for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+        idNames.add(actionNames.get(id));
+      }
+      this.names = Collections.unmodifiableList(idNames);
+    }
+
+    /**
+     * @param action lower case action name, e.g. s3:getobject.
+     */
+   public
+    boolean contains(String action) {
+      Integer id = actionIds.get(action);
+      return id != null && ids.get(id);
+    }
+
+   public
+    boolean isEmpty() { return ids.isEmpty(); }
+
+    /**
+     * @return lower case names of the actions in the set.
+     */
+   public
+    List<String> getActionNames() { return names; }
+  }
+
  private
   S3Actions() { init(); }
 
@@ -67,6 +139,7 @@ class S3Actions {
       JsonElement setElem = entry.getValue();
       keys = gson.fromJson(setElem, setType);
       bucketOperations.put(entry.getKey().toLowerCase(), keys);
+      bucketActionIds.set(addAction(entry.getKey().toLowerCase()));
     }
 
     for (Entry<String, JsonElement>
@@ -74,6 +147,7 @@ class S3Actions {
       JsonElement setElem = entry.getValue();
       keys = gson.fromJson(setElem, setType);
       objectOperations.put(entry.getKey().toLowerCase(), keys);
+      objectActionIds.set(addAction(entry.getKey().toLowerCase()));
     }
     try {
       if (reader != null) reader.close();
@@ -84,6 +158,17 @@ class S3Actions {
     }
   }
 
+ private
+  int addAction(String action) {
+    Integer id = actionIds.get(action);
+    if (id == null) {
+      id = actionNames.size();
+      actionNames.add(action);
+      actionIds.put(action, id);
+    }
+    return id;
+  }
+
  private
   static class S3ActionsHolder {
     static final S3Actions S3ACTIONS_INSTANCE = new S3Actions();
@@ -96,4 +181,56 @@ class S3Actions {
 
  public
   Map<String, Set<String>> getObjectOperations() { return objectOperations; }
+
+  /**
+   * @param action lower case action name, e.g. s3:listbucket.
+   */
+ public
+  boolean isBucketOperation(String action) {
+    Integer id = actionIds.get(action);
+    return id != null && bucketActionIds.get(id);
+  }
+
+  /**
+   * @param action lower case action name, e.g. s3:getobject.
+   */
+ public
+  boolean isObjectOperation(String action) {
+    Integer id = actionIds.get(action);
+    return id != null && objectActionIds.get(id);
+  }
+
+  /**
+   * @param actionPattern action, possibly with wildcards, in any case.
+   * @return actions matching the pattern.
+   */
+ public
+  ActionSet getMatchingActions(String actionPattern) {
+    String pattern = actionPattern.toLowerCase();
+    ActionSet actions = patternCache.get(pattern);
+    if (actions == null) {
+      WildcardPattern compiledPattern = WildcardPattern.compile(pattern);
+      BitSet ids = new BitSet(actionNames.size());
+      for (int id = 0; id < actionNames.size(); id++) {
+        if (compiledPattern.matches(actionNames.get(id))) {
+          ids.set(id);
+        }
+      }
+      actions = new ActionSet(ids);
+      patternCache.put(pattern, actions);
+    }
+    return actions;
+  }
+
+  /**
+   * @return actions matching any of the patterns.
+   */
+ public
+  ActionSet getMatchingActions(Collection<String> actionPatterns) {
+    BitSet ids = new BitSet(actionNames.size());
+    for (String actionPattern : actionPatterns) {
+      ids.or(getMatchingActions(actionPattern).ids);
+    }
+    return new ActionSet(ids);
+  }
 }
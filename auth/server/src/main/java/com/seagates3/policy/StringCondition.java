@@ -21,12 +21,16 @@
 package com.seagates3.policy;
 
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 
 public
 class StringCondition extends PolicyCondition {
 
+  // Condition values compiled once for the StringLike comparisons.
+ private
+  final WildcardPattern[] patterns;
+ private
+  final StringComparisonType comparisonType;
+
  public
   static enum StringComparisonType {
     StringEquals,
@@ -49,11 +53,22 @@ class StringCondition extends PolicyCondition {
       super.type = null;
     else
       super.type = type.toString();
+    comparisonType = type;
     if (key == null)
       super.conditionKey = null;
     else
       super.conditionKey = key.toLowerCase();
+    super.lookupKey = super.conditionKey;
     super.values = values;
+    if (values == null) {
+      patterns = null;
+    } else {
+      patterns = new WildcardPattern[values.size()];
+      for (int i = 0; i < patterns.length; i++) {
+        String value = values.get(i);
+        patterns[i] = value != null ? WildcardPattern.compile(value) : null;
+      }
+    }
   }
 
   /**
@@ -68,22 +83,13 @@ class StringCondition extends PolicyCondition {
    *     }
    *  }
    */
-  @Override public boolean isSatisfied(Map<String, String> requestBody) {
+  @Override public boolean isSatisfied(PolicyRequestContext context) {
     if (this.values == null) return false;
-    StringComparisonType enumType = StringComparisonType.valueOf(this.type);
+    StringComparisonType enumType = comparisonType;
     if (enumType == null) return false;
 
     // Fetch the header value for corresponding Condition key
-    String headerVal = null;
-    for (Entry<String, String> entry : requestBody.entrySet()) {
-      if (entry.getKey().equalsIgnoreCase(this.conditionKey)) {
-        headerVal = entry.getValue();
-      } else if (entry.getKey().equals("ClientQueryParams")) {
-        headerVal = PolicyUtil.fetchQueryParamValue(entry.getValue(),
-                                                    this.conditionKey);
-        if (headerVal != null) break;
-      }
-    }
+    String headerVal = context.getValue(lookupKey);
     boolean result = false;
 
     switch (enumType) {
@@ -198,8 +204,8 @@ class StringCondition extends PolicyCondition {
    */
  private
   boolean stringLike(String headerVal) {
-    for (String val : this.values) {
-      if (PolicyUtil.isPatternMatching(headerVal, val)) {
+    for (WildcardPattern pattern : patterns) {
+      if (pattern != null && pattern.matches(headerVal)) {
         return true;
       }
     }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.policy;
+
+/**
+ * Policy wildcard pattern, where '*' matches any sequence of characters and
+ * '?' matches a single character. Matching is case sensitive.
+ *
+ * The pattern is analysed once. Patterns without '?' and with at most one
+ * '*' are matched with equals, startsWith and endsWith. Other patterns use a
+ * greedy two pointer matcher which backtracks only to the last '*' seen, so
+ * matching needs no allocation.
+ */
+final class WildcardPattern {
+
+ private
+  enum Kind {
+    LITERAL,
+    PREFIX,
+    SUFFIX,
+    PREFIX_SUFFIX,
+    GENERAL
+  }
+
+ private
+  final String pattern;
+ private
+  final Kind kind;
+  // Literal parts around the single '*' of PREFIX, SUFFIX and PREFIX_SUFFIX.
+ private
+  final String prefix;
+ private
+  final String suffix;
+
+ private
+  WildcardPattern(String pattern) {
+    this.pattern = pattern;
+    int star = pattern.indexOf('*');
+    if (pattern.indexOf('?') != -1 ||
+        (star != -1 && pattern.indexOf('*', star + 1) != -1)) {
+      kind = Kind.GENERAL;
+      prefix = null;
+      suffix = null;
+    } else if (star == -1) {
+      kind = Kind.LITERAL;
+      prefix = null;
+      suffix = null;
+    } else {
+      prefix = pattern.substring(0, star);
+      suffix = pattern.substring(star + 1);
+      if (suffix.isEmpty()) {
+        kind = Kind.PREFIX;
+      } else if (prefix.isEmpty()) {
+        kind = Kind.SUFFIX;
+      } else {
+        kind = Kind.PREFIX_SUFFIX;
+      }
+    }
+  }
+
+  static WildcardPattern compile(String pattern) {
+    return new WildcardPattern(pattern);
+  }
+
+  /**
+   * @return true if the pattern contains '*' or '?'.
+   */
+  boolean hasWildcard() { return kind != Kind.LITERAL; }
+
+  String getPattern() { return pattern; }
+
+  /**
+   * @return true if the whole input matches the pattern, false if the input
+   * is null.
+   */
+  boolean matches(String input) {
+    if (input == null) {
+      return false;
+    }
+    switch (kind) {
+      case LITERAL:
+        return pattern.equals(input);
+      case PREFIX:
+        return input.startsWith(prefix);
+      case SUFFIX:
+        return input.endsWith(suffix);
+      case PREFIX_SUFFIX:
+        return input.length() >= prefix.length() + suffix.length() &&
+               input.startsWith(prefix) && input.endsWith(suffix);
+      default:
+        return matchesGeneral(input);
+    }
+  }
+
+ private
+  boolean matchesGeneral(String input) {
+    int inputLength = input.length();
+    int patternLength = pattern.length();
+    int i = 0;
+    int j = 0;
+    // Position of the last '*' in the pattern and of the input character
+    // where the characters it absorbs end.
+    int star = -1;
+    int starInput = 0;
+    while (i < inputLength) {
+      char p = j < patternLength ? pattern.charAt(j) : 0;
+      if (j < patternLength && p == '*') {
+        star = j++;
+        starInput = i;
+      } else if (j < patternLength && (p == '?' || p == input.charAt(i))) {
+        i++;
+        j++;
+      } else if (star != -1) {
+        // Let the last '*' absorb one more character and retry.
+        j = star + 1;
+        i = ++starInput;
+      } else {
+        return false;
+      }
+    }
+    while (j < patternLength && pattern.charAt(j) == '*') {
+      j++;
+    }
+    return j == patternLength;
+  }
+
+  @Override public String toString() { return pattern; }
+}
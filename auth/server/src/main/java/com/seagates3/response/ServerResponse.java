@@ -26,6 +26,7 @@ public class ServerResponse {
 
     String responseBody;
     HttpResponseStatus responseStatus;
+    String errorCode;
 
     public ServerResponse() {}
 
@@ -49,4 +50,15 @@ public class ServerResponse {
     public HttpResponseStatus getResponseStatus() {
         return responseStatus;
     }
+
+    /**
+     * @return code of the error response or null if this is not one.
+     */
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(String code) {
+        errorCode = code;
+    }
 }
\ No newline at end of file
@@ -25,12 +25,6 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.Map;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
-import org.w3c.dom.Attr;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 public class AccessKeyResponseFormatter extends XMLResponseFormatter {
 
@@ -45,61 +39,18 @@ public class AccessKeyResponseFormatter extends XMLResponseFormatter {
             ArrayList<LinkedHashMap<String, String>> responseElements,
             Boolean isTruncated, String requestId) {
 
-        Document doc;
-        try {
-            doc = createNewDoc();
-        } catch (ParserConfigurationException ex) {
-            return null;
-        }
-
-        Element responseElement = doc.createElement("ListAccessKeysResponse");
-        Attr attr = doc.createAttribute("xmlns");
-        attr.setValue(IAM_XMLNS);
-        responseElement.setAttributeNode(attr);
-        doc.appendChild(responseElement);
-
-        Element resultElement = doc.createElement("ListAccessKeysResult");
-        responseElement.appendChild(resultElement);
-
-        Element userNameElement = doc.createElement("UserName");
-        userNameElement.appendChild(doc.createTextNode(userName));
-        resultElement.appendChild(userNameElement);
-
-        Element accessKeyMetadataEle = doc.createElement("AccessKeyMetadata");
-        resultElement.appendChild(accessKeyMetadataEle);
-
+        XMLResponseWriter writer = newResponse("ListAccessKeysResponse");
+        writer.startElement("ListAccessKeysResult")
+                .element("UserName", userName)
+                .startElement("AccessKeyMetadata");
         for (HashMap<String, String> member : responseElements) {
-            Element memberElement = doc.createElement("member");
-            accessKeyMetadataEle.appendChild(memberElement);
-
-            for (Map.Entry<String, String> entry : member.entrySet()) {
-                Element element = doc.createElement(entry.getKey());
-                element.appendChild(doc.createTextNode(entry.getValue()));
-                memberElement.appendChild(element);
-            }
-        }
-
-        Element isTruncatedElement = doc.createElement("IsTruncated");
-        isTruncatedElement.appendChild(doc.createTextNode(isTruncated.toString()));
-        resultElement.appendChild(isTruncatedElement);
-
-        Element responseMetaData = doc.createElement("ResponseMetadata");
-        responseElement.appendChild(responseMetaData);
-
-        Element requestIdElement = doc.createElement("RequestId");
-        requestIdElement.appendChild(doc.createTextNode(requestId));
-        responseMetaData.appendChild(requestIdElement);
-
-        String responseBody;
-        try {
-            responseBody = docToString(doc);
-            ServerResponse serverResponse = new ServerResponse(HttpResponseStatus.OK,
-                    responseBody);
-
-            return serverResponse;
-        } catch (TransformerException ex) {
+            writer.startElement("member").elements(member).endElement();
         }
+        writer.endElement()
+                .element("IsTruncated", isTruncated.toString())
+                .endElement();
+        writeResponseMetadata(writer, requestId);
 
-        return null;
+        return new ServerResponse(HttpResponseStatus.OK, writer.toXml());
     }
 }
@@ -24,12 +24,6 @@ import com.seagates3.response.ServerResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.Map;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
-import org.w3c.dom.Attr;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,46 +58,25 @@ public class AuthenticationResponseFormatter extends XMLResponseFormatter {
 
     public ServerResponse formatAuthenticatedResponse(
             LinkedHashMap<String, String> responseElements, String requestId) {
-        Document doc;
-        try {
-            doc = createNewDoc();
-        } catch (ParserConfigurationException ex) {
-            return null;
-        }
+        XMLResponseWriter writer = newResponse("AuthenticateUserResponse");
+        writer.startElement("AuthenticateUserResult")
+                .elements(responseElements)
+                .endElement();
+        writeResponseMetadata(writer, requestId);
 
-        Element responseElement = doc.createElement("AuthenticateUserResponse");
-        Attr attr = doc.createAttribute("xmlns");
-        attr.setValue(IAM_XMLNS);
-        responseElement.setAttributeNode(attr);
-        doc.appendChild(responseElement);
-
-        Element resultElement = doc.createElement("AuthenticateUserResult");
-        responseElement.appendChild(resultElement);
-
-        for (Map.Entry<String, String> entry : responseElements.entrySet()) {
-            Element element = doc.createElement(entry.getKey());
-            element.appendChild(doc.createTextNode(entry.getValue()));
-            resultElement.appendChild(element);
-        }
-
-        Element responseMetadataElement = doc.createElement("ResponseMetadata");
-        responseElement.appendChild(responseMetadataElement);
-
-        Element requestIdElement = doc.createElement("RequestId");
-        requestIdElement.appendChild(doc.createTextNode(requestId));
-        responseMetadataElement.appendChild(requestIdElement);
-
-        String responseBody;
-        try {
-            responseBody = docToString(doc);
-            ServerResponse serverResponse = new ServerResponse(HttpResponseStatus.OK,
-                    responseBody);
-
-            return serverResponse;
-        } catch (TransformerException ex) {
-        }
+        return new ServerResponse(HttpResponseStatus.OK, writer.toXml());
+    }
 
-        return null;
+    public ServerResponse formatChunkSignaturesVerifiedResponse(
+            LinkedHashMap<String, String> responseElements, String requestId) {
+        XMLResponseWriter writer =
+                newResponse("VerifyChunkSignaturesResponse");
+        writer.startElement("VerifyChunkSignaturesResult")
+                .elements(responseElements)
+                .endElement();
+        writeResponseMetadata(writer, requestId);
+
+        return new ServerResponse(HttpResponseStatus.OK, writer.toXml());
     }
 
    public
@@ -111,63 +84,20 @@ public class AuthenticationResponseFormatter extends XMLResponseFormatter {
         HttpResponseStatus httpResponseStatus, String code, String message,
         String requestTime, String serverTime,
         String maxAllowedSkewMilliseconds, String requestId) {
-      Document doc;
-      try {
-        doc = createNewDoc();
-      }
-      catch (ParserConfigurationException ex) {
-        return null;
-      }
-
-      Element root = doc.createElement("ErrorResponse");
-      Attr attr = doc.createAttribute("xmlns");
-      attr.setValue(IAM_XMLNS);
-      root.setAttributeNode(attr);
-      doc.appendChild(root);
-
-      Element errorEle = doc.createElement("Error");
-      root.appendChild(errorEle);
-
-      Element codeEle = doc.createElement("Code");
-      codeEle.appendChild(doc.createTextNode(code));
-      errorEle.appendChild(codeEle);
-
-      Element messageEle = doc.createElement("Message");
-      messageEle.appendChild(doc.createTextNode(message));
-      errorEle.appendChild(messageEle);
-
-      Element requestTimeEle = doc.createElement("RequestTime");
-      requestTimeEle.appendChild(doc.createTextNode(requestTime));
-      errorEle.appendChild(requestTimeEle);
-
-      Element serverTimeEle = doc.createElement("ServerTime");
-      serverTimeEle.appendChild(doc.createTextNode(serverTime));
-      errorEle.appendChild(serverTimeEle);
-
-      Element maxAllowedSkewEle =
-          doc.createElement("MaxAllowedSkewMilliseconds");
-      maxAllowedSkewEle.appendChild(
-          doc.createTextNode(maxAllowedSkewMilliseconds));
-      errorEle.appendChild(maxAllowedSkewEle);
-
-      Element requestIdEle = doc.createElement("RequestId");
-      requestIdEle.appendChild(doc.createTextNode(requestId));
-      errorEle.appendChild(requestIdEle);
-
-      String responseBody;
-      try {
-        responseBody = docToString(doc);
-        LOGGER.debug("AuthenticationResponseFormatter :: " +
-                     "formatSignatureErrorResponse()" + "- responseBody is - " +
-                     responseBody);
-        ServerResponse serverResponse =
-            new ServerResponse(httpResponseStatus, responseBody);
-
-        return serverResponse;
-      }
-      catch (TransformerException ex) {
-      }
-
-      return null;
+      XMLResponseWriter writer = newResponse("ErrorResponse");
+      writer.startElement("Error")
+          .element("Code", code)
+          .element("Message", message)
+          .element("RequestTime", requestTime)
+          .element("ServerTime", serverTime)
+          .element("MaxAllowedSkewMilliseconds", maxAllowedSkewMilliseconds)
+          .element("RequestId", requestId)
+          .endElement();
+
+      String responseBody = writer.toXml();
+      LOGGER.debug("AuthenticationResponseFormatter :: " +
+                   "formatSignatureErrorResponse()" + "- responseBody is - " +
+                   responseBody);
+      return new ServerResponse(httpResponseStatus, responseBody);
     }
 }
@@ -22,13 +22,6 @@ package com.seagates3.response.formatter.xml;
 
 import java.util.LinkedHashMap;
 
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
-
-import org.w3c.dom.Attr;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-
 import com.seagates3.response.ServerResponse;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
@@ -38,46 +31,13 @@ public class SAMLProviderResponseFormatter extends XMLResponseFormatter {
     @Override
     public ServerResponse formatCreateResponse(String operation, String returnObject,
             LinkedHashMap<String, String> responseElements, String requestId) {
-      Document samlDoc;
-        try {
-          samlDoc = createNewDoc();
-        } catch (ParserConfigurationException ex) {
-            return null;
-        }
-
-        Element samlRootElement = samlDoc.createElement(operation + "Response");
-        Attr attr = samlDoc.createAttribute("xmlns");
-        attr.setValue(IAM_XMLNS);
-        samlRootElement.setAttributeNode(attr);
-        samlDoc.appendChild(samlRootElement);
-
-        Element samlCreateUserResponse =
-            samlDoc.createElement(operation + "Result");
-        samlRootElement.appendChild(samlCreateUserResponse);
-
-        Element arn = samlDoc.createElement("SAMLProviderArn");
-        arn.appendChild(samlDoc.createTextNode(responseElements.get("Arn")));
-        samlCreateUserResponse.appendChild(arn);
-
-        Element samlResponseMetaData =
-            samlDoc.createElement("ResponseMetadata");
-        samlRootElement.appendChild(samlResponseMetaData);
-
-        Element requestIdElement = samlDoc.createElement("RequestId");
-        requestIdElement.appendChild(samlDoc.createTextNode(requestId));
-        samlResponseMetaData.appendChild(requestIdElement);
-
-        String responseBody;
-        try {
-          responseBody = docToString(samlDoc);
-          ServerResponse samlServerResponse =
-              new ServerResponse(HttpResponseStatus.CREATED, responseBody);
+        XMLResponseWriter writer = newResponse(operation + "Response");
+        writer.startElement(operation + "Result")
+            .element("SAMLProviderArn", responseElements.get("Arn"))
+            .endElement();
+        writeResponseMetadata(writer, requestId);
 
-          return samlServerResponse;
-        } catch (TransformerException ex) {
-        }
-
-        return null;
+        return new ServerResponse(HttpResponseStatus.CREATED, writer.toXml());
     }
 
     @Override
@@ -86,45 +46,14 @@ public class SAMLProviderResponseFormatter extends XMLResponseFormatter {
     }
 
     public ServerResponse formatUpdateResponse(String name, String requestId) {
-        Document doc;
-        try {
-            doc = createNewDoc();
-        } catch (ParserConfigurationException ex) {
-            return null;
-        }
-
-        Element rootElement = doc.createElement("UpdateSAMLProviderResponse");
-        Attr attr = doc.createAttribute("xmlns");
-        attr.setValue(IAM_XMLNS);
-        rootElement.setAttributeNode(attr);
-        doc.appendChild(rootElement);
-
-        Element updateUserResponse = doc.createElement("UpdateSAMLProviderResult");
-        rootElement.appendChild(updateUserResponse);
-
         String arnValue = String.format("arn:seagate:iam:::%s", name);
-        Element arn = doc.createElement("SAMLProviderArn");
-        arn.appendChild(doc.createTextNode(arnValue));
-        updateUserResponse.appendChild(arn);
-
-        Element responseMetaData = doc.createElement("ResponseMetadata");
-        rootElement.appendChild(responseMetaData);
-
-        Element requestIdElement = doc.createElement("RequestId");
-        requestIdElement.appendChild(doc.createTextNode(requestId));
-        responseMetaData.appendChild(requestIdElement);
-
-        String responseBody;
-        try {
-            responseBody = docToString(doc);
-            ServerResponse serverResponse = new ServerResponse(HttpResponseStatus.OK,
-                    responseBody);
-
-            return serverResponse;
-        } catch (TransformerException ex) {
-        }
+        XMLResponseWriter writer = newResponse("UpdateSAMLProviderResponse");
+        writer.startElement("UpdateSAMLProviderResult")
+                .element("SAMLProviderArn", arnValue)
+                .endElement();
+        writeResponseMetadata(writer, requestId);
 
-        return null;
+        return new ServerResponse(HttpResponseStatus.OK, writer.toXml());
     }
 
 }
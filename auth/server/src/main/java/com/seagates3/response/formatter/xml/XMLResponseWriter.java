@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.response.formatter.xml;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Write an XML response element by element.
+ *
+ * The output is the one the default JAXP Transformer produces for the same
+ * DOM document, which is what S3 server and the clients parse: the XML
+ * declaration with standalone="no", no indentation, empty elements as <a/>
+ * and the same character escaping. A writer builds a single document and is
+ * not thread safe.
+ */
+final class XMLResponseWriter {
+
+ private
+  static final String XML_DECLARATION =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+
+ private
+  final StringBuilder out = new StringBuilder(512);
+ private
+  String[] openElements = new String[8];
+ private
+  int depth;
+ private
+  boolean startTagOpen;
+
+  XMLResponseWriter() { out.append(XML_DECLARATION); }
+
+  XMLResponseWriter startElement(String name) {
+    closeStartTag();
+    if (depth == openElements.length) {
+      openElements = Arrays.copyOf(openElements, depth * 2);
+    }
+    openElements[depth++] = name;
+    out.append('<').append(name);
+    startTagOpen = true;
+    return this;
+  }
+
+  /**
+   * Add an attribute to the element just started.
+   */
+  XMLResponseWriter attribute(String name, String value) {
+    if (!startTagOpen) {
+      throw new IllegalStateException("No start tag to add " + name + " to");
+    }
+    out.append(' ').append(name).append("=\"");
+    escape(value, true);
+    out.append('"');
+    return this;
+  }
+
+  XMLResponseWriter text(String value) {
+    if (value != null && !value.isEmpty()) {
+      closeStartTag();
+      escape(value, false);
+    }
+    return this;
+  }
+
+  XMLResponseWriter endElement() {
+    String name = openElements[--depth];
+    openElements[depth] = null;
+    if (startTagOpen) {
+      out.append("/>");
+      startTagOpen = false;
+    } else {
+      out.append("</").append(name).append('>');
+    }
+    return this;
+  }
+
+  /**
+   * Write <name>value</name>.
+   */
+  XMLResponseWriter element(String name, String value) {
+    return startElement(name).text(value).endElement();
+  }
+
+  /**
+   * Write an element for every entry of the map, in iteration order.
+   */
+  XMLResponseWriter elements(Map<String, String> entries) {
+    for (Map.Entry<String, String> entry : entries.entrySet()) {
+      element(entry.getKey(), entry.getValue());
+    }
+    return this;
+  }
+
+  /**
+   * End the elements still open and return the document.
+   */
+  String toXml() {
+    while (depth > 0) {
+      endElement();
+    }
+    return out.toString();
+  }
+
+ private
+  void closeStartTag() {
+    if (startTagOpen) {
+      out.append('>');
+      startTagOpen = false;
+    }
+  }
+
+  /**
+   * Escape the markup characters and write carriage return, the C0 control
+   * characters and the supplementary characters as character references.
+   * Text also escapes the C1 control characters but keeps tab and new line,
+   * attribute values escape the quote, tab and new line.
+   */
+ private
+  void escape(String value, boolean inAttribute) {
+    int length = value.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      String replacement;
+      int codePoint = -1;
+      if (c == '&') {
+        replacement = "&amp;";
+      } else if (c == '<') {
+        replacement = "&lt;";
+      } else if (c == '>') {
+        replacement = "&gt;";
+      } else if (c == '"' && inAttribute) {
+        replacement = "&quot;";
+      } else if (c < 0x20) {
+        if ((c == '\t' || c == '\n') && !inAttribute) {
+          continue;
+        }
+        replacement = null;
+        codePoint = c;
+      } else if (c >= 0x7f && c <= 0x9f && !inAttribute) {
+        replacement = null;
+        codePoint = c;
+      } else if (Character.isHighSurrogate(c) && i + 1 < length &&
+                 Character.isLowSurrogate(value.charAt(i + 1))) {
+        replacement = null;
+        codePoint = Character.toCodePoint(c, value.charAt(i + 1));
+      } else {
+        continue;
+      }
+
+      out.append(value, start, i);
+      if (replacement != null) {
+        out.append(replacement);
+      } else {
+        out.append("&#").append(codePoint).append(';');
+        if (Character.isSupplementaryCodePoint(codePoint)) {
+          i++;
+        }
+      }
+      start = i + 1;
+    }
+    out.append(value, start, length);
+  }
+}
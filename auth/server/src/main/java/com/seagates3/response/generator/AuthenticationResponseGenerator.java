@@ -32,7 +32,7 @@ public class AuthenticationResponseGenerator extends AbstractResponseGenerator {
 
     public ServerResponse generateAuthenticatedResponse(Requestor requestor,
             ClientRequestToken requestToken) {
-        LinkedHashMap responseElements = new LinkedHashMap();
+        LinkedHashMap<String, String> responseElements = new LinkedHashMap<>();
         responseElements.put("UserId", requestor.getId());
         responseElements.put("UserName", requestor.getName());
         responseElements.put("AccountId", requestor.getAccount().getId());
@@ -41,6 +41,10 @@ public class AuthenticationResponseGenerator extends AbstractResponseGenerator {
         responseElements.put("CanonicalId",
                              requestor.getAccount().getCanonicalId());
         responseElements.put("Email", requestor.getAccount().getEmail());
+        if (requestToken.getChunkSessionId() != null) {
+            responseElements.put("ChunkSessionId",
+                                 requestToken.getChunkSessionId());
+        }
 
         return (ServerResponse) new AuthenticationResponseFormatter()
             .formatAuthenticatedResponse(responseElements,
@@ -58,4 +62,34 @@ public class AuthenticationResponseGenerator extends AbstractResponseGenerator {
                                         requestTime, serverTime, "900000",
                                         AuthServerConfig.getReqId());
     }
+
+    /**
+     * Respond to VerifyChunkSignatures once every chunk sent is verified.
+     *
+     * @param sessionId Id of the chunk signature session.
+     * @param verifiedChunks Number of chunks verified by the request.
+     * @param signature Signature of the last verified chunk.
+     */
+   public
+    ServerResponse generateChunkSignaturesVerifiedResponse(
+        String sessionId, int verifiedChunks, String signature) {
+      LinkedHashMap<String, String> responseElements = new LinkedHashMap<>();
+      responseElements.put("ChunkSessionId", sessionId);
+      responseElements.put("VerifiedChunkCount",
+                           Integer.toString(verifiedChunks));
+      responseElements.put("SignatureSHA256", signature);
+
+      return new AuthenticationResponseFormatter()
+          .formatChunkSignaturesVerifiedResponse(responseElements,
+                                                 AuthServerConfig.getReqId());
+    }
+
+   public
+    ServerResponse invalidChunkSession() {
+      String errorMessage = "The chunk signature session does not exist or " +
+                            "has expired.";
+
+      return formatResponse(HttpResponseStatus.UNAUTHORIZED,
+                            "InvalidChunkSession", errorMessage);
+    }
 }
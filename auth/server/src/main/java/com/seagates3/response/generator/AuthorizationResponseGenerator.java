@@ -24,14 +24,50 @@ import com.seagates3.authserver.AuthServerConfig;
 import com.seagates3.model.Requestor;
 import com.seagates3.response.ServerResponse;
 import com.seagates3.response.formatter.xml.AuthorizationResponseFormatter;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 
 public class AuthorizationResponseGenerator extends AbstractResponseGenerator {
 
   public
    ServerResponse generateAuthorizationResponse(Requestor requestor,
                                                 String acpXml) {
-        LinkedHashMap responseElements = new LinkedHashMap();
+        return (ServerResponse) new AuthorizationResponseFormatter().authorized(
+            requestorElements(requestor), AuthServerConfig.getReqId(), acpXml);
+    }
+
+    /**
+     * Generate the decisions of a batch, in the order of its requests. A
+     * decision has the index of its request, the HTTP status code of the
+     * authorization and, if the request is not authorized, the error code.
+     */
+  public
+   ServerResponse generateBatchAuthorizationResponse(
+       Requestor requestor, List<ServerResponse> decisions) {
+        ArrayList<LinkedHashMap<String, String>> decisionElements =
+            new ArrayList<>(decisions.size());
+        int index = 1;
+        for (ServerResponse decision : decisions) {
+          LinkedHashMap<String, String> decisionElement =
+              new LinkedHashMap<>();
+          decisionElement.put("Index", Integer.toString(index++));
+          decisionElement.put(
+              "Status", Integer.toString(decision.getResponseStatus().code()));
+          if (decision.getErrorCode() != null) {
+            decisionElement.put("Code", decision.getErrorCode());
+          }
+          decisionElements.add(decisionElement);
+        }
+
+        return new AuthorizationResponseFormatter().authorizedBatch(
+            requestorElements(requestor), decisionElements,
+            AuthServerConfig.getReqId());
+    }
+
+  private
+   LinkedHashMap<String, String> requestorElements(Requestor requestor) {
+        LinkedHashMap<String, String> responseElements = new LinkedHashMap<>();
         if (requestor != null) {
           responseElements.put("UserId", requestor.getId());
           responseElements.put("UserName", requestor.getName());
@@ -42,8 +78,6 @@ public class AuthorizationResponseGenerator extends AbstractResponseGenerator {
         } else {
           responseElements.put("AllUserRequest", "true");
         }
-
-        return (ServerResponse) new AuthorizationResponseFormatter().authorized(
-            responseElements, AuthServerConfig.getReqId(), acpXml);
+        return responseElements;
     }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.saml;
+
+import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.cache.AuthCache;
+import com.seagates3.exception.SAMLInvalidCertificateException;
+import com.seagates3.model.SAMLProvider;
+import com.seagates3.util.BinaryUtil;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.security.PublicKey;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.opensaml.xml.security.credential.BasicCredential;
+import org.opensaml.xml.signature.SignatureValidator;
+
+/**
+ * Signature validators built from the signing certificates of SAML
+ * providers, keyed on account id and provider name.
+ *
+ * An entry remembers the certificates it was built from and is rebuilt when
+ * the provider read from LDAP lists different ones, so that updates made
+ * through another auth server are picked up. SAMLProviderController drops
+ * the entry when it updates or deletes the provider.
+ */
+public class SAMLProviderCache {
+
+    private static volatile SAMLProviderCache instance;
+
+    private final AuthCache<String, ProviderCredentials> providerCache;
+
+    /**
+     * Signature validators of one provider, in the order of its signing
+     * certificates.
+     */
+    static final class ProviderCredentials {
+
+        private final List<String> certificates;
+        private final Map<String, SignatureValidator> validators;
+
+        ProviderCredentials(List<String> certificates)
+                throws SAMLInvalidCertificateException {
+            this.certificates = new ArrayList<>(certificates);
+            Map<String, SignatureValidator> certValidators
+                    = new LinkedHashMap<>();
+            for (String cert : certificates) {
+                certValidators.put(cert, newSignatureValidator(cert));
+            }
+            this.validators = Collections.unmodifiableMap(certValidators);
+        }
+
+        boolean isBuiltFrom(List<String> signingCertificates) {
+            return certificates.equals(signingCertificates);
+        }
+
+        /**
+         * @return validator of the certificate or null if the provider does
+         * not list it.
+         */
+        SignatureValidator getValidator(String cert) {
+            return validators.get(cert);
+        }
+
+        Iterable<SignatureValidator> getValidators() {
+            return validators.values();
+        }
+    }
+
+    private SAMLProviderCache(int maxEntries) {
+        providerCache = maxEntries > 0
+                ? new AuthCache<String, ProviderCredentials>(
+                        "samlProvider", maxEntries, 0)
+                : null;
+    }
+
+    public static SAMLProviderCache getInstance() {
+        if (instance == null) {
+            synchronized (SAMLProviderCache.class) {
+                if (instance == null) {
+                    instance = new SAMLProviderCache(
+                            AuthServerConfig.getSamlProviderCacheMaxEntries());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Drop the current instance so that the next getInstance picks up the
+     * configured cache size again.
+     */
+    static synchronized void reset() {
+        instance = null;
+    }
+
+    /**
+     * @return signature validators of the signing certificates listed in the
+     * metadata of the provider.
+     * @throws SAMLInvalidCertificateException
+     */
+    ProviderCredentials get(SAMLProvider samlProvider)
+            throws SAMLInvalidCertificateException {
+        List<String> signingCertificates
+                = samlProvider.getSAMLMetadataTokens()
+                .getSAMLKeyDescriptors().get("signing");
+        if (signingCertificates == null) {
+            signingCertificates = Collections.emptyList();
+        }
+        if (providerCache == null || samlProvider.getAccount() == null) {
+            return new ProviderCredentials(signingCertificates);
+        }
+
+        String key = getKey(samlProvider.getAccount().getId(),
+                samlProvider.getName());
+        ProviderCredentials credentials = providerCache.get(key);
+        if (credentials == null
+                || !credentials.isBuiltFrom(signingCertificates)) {
+            credentials = new ProviderCredentials(signingCertificates);
+            providerCache.put(key, credentials);
+        }
+        return credentials;
+    }
+
+    /**
+     * Drop the validators of the provider. To be called whenever the metadata
+     * of the provider is changed or the provider is deleted.
+     */
+    public void invalidate(String accountId, String providerName) {
+        if (providerCache != null) {
+            providerCache.remove(getKey(accountId, providerName));
+        }
+    }
+
+    /**
+     * @return cache of provider validators or null if it is disabled.
+     */
+    public AuthCache<String, ?> getProviderCache() {
+        return providerCache;
+    }
+
+    /**
+     * Create a signature validator for the base64 encoded X.509 certificate.
+     *
+     * @param cert Signing certificate.
+     * @return SignatureValidator
+     * @throws SAMLInvalidCertificateException
+     */
+    static SignatureValidator newSignatureValidator(String cert)
+            throws SAMLInvalidCertificateException {
+        BasicCredential cred = new BasicCredential();
+        cred.setPublicKey(getPublicKey(cert));
+        return new SignatureValidator(cred);
+    }
+
+    /**
+     * Convert the key into java.security.PublicKey
+     *
+     * @param key Public Key string.
+     * @return PublicKey.
+     * @throws SAMLInvalidCertificateException
+     */
+    private static PublicKey getPublicKey(String key)
+            throws SAMLInvalidCertificateException {
+        try {
+            CertificateFactory certFactory
+                    = CertificateFactory.getInstance("X.509");
+            byte[] base64DecodedKey = BinaryUtil.base64DecodedBytes(key);
+            InputStream in = new ByteArrayInputStream(base64DecodedKey);
+            java.security.cert.X509Certificate cert
+                    = (java.security.cert.X509Certificate) certFactory
+                    .generateCertificate(in);
+            return cert.getPublicKey();
+        } catch (CertificateException ex) {
+            String msg = "Exception occured while generating public key.\n"
+                    + ex;
+            throw new SAMLInvalidCertificateException(msg);
+        }
+    }
+
+    private static String getKey(String accountId, String providerName) {
+        return accountId + "/" + providerName;
+    }
+}
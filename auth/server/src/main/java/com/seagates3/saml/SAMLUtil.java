@@ -93,6 +93,21 @@ public interface SAMLUtil {
     public Boolean isResponseProfileValid(Signature signature,
             SAMLProvider samlProvider) throws SAMLInvalidCertificateException;
 
+    /**
+     * Validate the signature of the SAML response with a signing certificate
+     * of the IDP metadata.
+     *
+     * @param signature SAML signature
+     * @param samlProvider SAML provider listing the certificate.
+     * @param signingCert Certificate used to sign the signature.
+     * @return False if the certificate is not listed in the IDP metadata or
+     * does not validate the signature.
+     * @throws com.seagates3.exception.SAMLInvalidCertificateException
+     */
+    public Boolean isResponseProfileValid(Signature signature,
+            SAMLProvider samlProvider, String signingCert)
+            throws SAMLInvalidCertificateException;
+
     /**
      * Get the role session name.
      *
@@ -30,7 +30,7 @@ public class SAMLUtilFactory {
     public static SAMLUtil getSAMLUtil(String SAMLResponse)
             throws SAMLInitializationException {
         if (SAMLResponse.contains(SAML2_NAMESPACE)) {
-            return new SAMLUtilV2();
+            return SAMLUtilV2.getInstance();
         }
         return null;
     }
@@ -20,20 +20,17 @@
 
 package com.seagates3.saml;
 
+import com.seagates3.authserver.AuthServerConfig;
 import com.seagates3.exception.SAMLInitializationException;
 import com.seagates3.exception.SAMLInvalidCertificateException;
 import com.seagates3.exception.SAMLReponseParserException;
 import com.seagates3.model.SAMLMetadataTokens;
 import com.seagates3.model.SAMLProvider;
 import com.seagates3.model.SAMLResponseTokens;
-import com.seagates3.util.BinaryUtil;
 import com.seagates3.util.DateUtil;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.security.PublicKey;
-import java.security.cert.CertificateException;
-import java.security.cert.CertificateFactory;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
@@ -67,7 +64,6 @@ import org.opensaml.xml.io.UnmarshallingException;
 import org.opensaml.xml.parse.BasicParserPool;
 import org.opensaml.xml.parse.XMLParserException;
 import org.opensaml.xml.schema.XSAny;
-import org.opensaml.xml.security.credential.BasicCredential;
 import org.opensaml.xml.signature.KeyInfo;
 import org.opensaml.xml.signature.Signature;
 import org.opensaml.xml.signature.SignatureValidator;
@@ -79,8 +75,15 @@ import org.w3c.dom.Element;
 
 public class SAMLUtilV2 implements SAMLUtil {
 
+    private static volatile SAMLUtilV2 instance;
+
+    /**
+     * Parser pool and unmarshallers are thread safe and shared by all the
+     * SAML requests.
+     */
     private final BasicParserPool parser;
     private final UnmarshallerFactory unmarshallerFactory;
+    private final SAMLSignatureProfileValidator profileValidator;
 
     private final String SUCCESS = "urn:oasis:names:tc:SAML:2.0:status:Success";
     private final String IDP_SSO_DESCRIPTOR
@@ -89,22 +92,52 @@ public class SAMLUtilV2 implements SAMLUtil {
             = "urn:oasis:names:tc:SAML:2.0:nameid-format:persistent";
 
     /**
-     * Initialize SAML Parser and unmarshaller.
+     * Bootstrap OpenSAML and initialize SAML Parser and unmarshaller.
      *
      * @throws com.seagates3.exception.SAMLInitializationException
      */
-    public SAMLUtilV2()
+    private SAMLUtilV2()
             throws SAMLInitializationException {
         try {
             DefaultBootstrap.bootstrap();
-        } catch (ConfigurationException ex) {
+        } catch (ConfigurationException | IllegalArgumentException ex) {
             String msg = "Failed to intialize SAML parser.\n" + ex;
             throw new SAMLInitializationException(msg);
         }
 
         parser = new BasicParserPool();
         parser.setNamespaceAware(true);
+        parser.setMaxPoolSize(AuthServerConfig.getSamlParserPoolMaxSize());
         unmarshallerFactory = Configuration.getUnmarshallerFactory();
+        profileValidator = new SAMLSignatureProfileValidator();
+    }
+
+    /**
+     * Bootstrap OpenSAML at server start up so that the first SAML request
+     * does not pay for it.
+     *
+     * @throws com.seagates3.exception.SAMLInitializationException
+     */
+    public static void init() throws SAMLInitializationException {
+        getInstance();
+    }
+
+    /**
+     * Bootstrap OpenSAML on the first call.
+     *
+     * @return SAMLUtilV2 shared by all the SAML requests.
+     * @throws com.seagates3.exception.SAMLInitializationException
+     */
+    public static SAMLUtilV2 getInstance()
+            throws SAMLInitializationException {
+        if (instance == null) {
+            synchronized (SAMLUtilV2.class) {
+                if (instance == null) {
+                    instance = new SAMLUtilV2();
+                }
+            }
+        }
+        return instance;
     }
 
     /**
@@ -218,18 +251,40 @@ public class SAMLUtilV2 implements SAMLUtil {
     @Override
     public Boolean isResponseProfileValid(Signature signature,
             String SigningCert) throws SAMLInvalidCertificateException {
-        SAMLSignatureProfileValidator profileValidator
-                = new SAMLSignatureProfileValidator();
+        return isResponseProfileValid(signature,
+                SAMLProviderCache.newSignatureValidator(SigningCert));
+    }
+
+    /**
+     * Validate the signature with the cached validator of a signing
+     * certificate listed in the IDP metadata.
+     *
+     * @param signature
+     * @param samlProvider
+     * @param signingCert
+     * @return
+     * @throws com.seagates3.exception.SAMLInvalidCertificateException
+     */
+    @Override
+    public Boolean isResponseProfileValid(Signature signature,
+            SAMLProvider samlProvider, String signingCert)
+            throws SAMLInvalidCertificateException {
+        SignatureValidator sigValidator = SAMLProviderCache.getInstance()
+                .get(samlProvider).getValidator(signingCert);
+        if (sigValidator == null) {
+            return false;
+        }
+        return isResponseProfileValid(signature, sigValidator);
+    }
+
+    private Boolean isResponseProfileValid(Signature signature,
+            SignatureValidator sigValidator) {
         try {
             profileValidator.validate(signature);
         } catch (ValidationException ex) {
             return false;
         }
 
-        BasicCredential cred = new BasicCredential();
-        cred.setPublicKey(getPublicKey(SigningCert));
-
-        SignatureValidator sigValidator = new SignatureValidator(cred);
         try {
             sigValidator.validate(signature);
         } catch (ValidationException ex) {
@@ -251,12 +306,9 @@ public class SAMLUtilV2 implements SAMLUtil {
     @Override
     public Boolean isResponseProfileValid(Signature signature,
             SAMLProvider samlProvider) throws SAMLInvalidCertificateException {
-        ArrayList<String> signingCertificates
-                = samlProvider.getSAMLMetadataTokens()
-                .getSAMLKeyDescriptors().get("signing");
-
-        for (String cert : signingCertificates) {
-            if (isResponseProfileValid(signature, cert)) {
+        for (SignatureValidator sigValidator : SAMLProviderCache
+                .getInstance().get(samlProvider).getValidators()) {
+            if (isResponseProfileValid(signature, sigValidator)) {
                 return true;
             }
         }
@@ -304,30 +356,6 @@ public class SAMLUtilV2 implements SAMLUtil {
         return duration;
     }
 
-    /**
-     * Convert the key into java.security.PublicKey
-     *
-     * @param key Public Key string.
-     * @return PublicKey.
-     * @throws SAMLInvalidCertificateException
-     */
-    private PublicKey getPublicKey(String key)
-            throws SAMLInvalidCertificateException {
-        try {
-            CertificateFactory certFactory
-                    = CertificateFactory.getInstance("X.509");
-            byte[] base64DecodedKey = BinaryUtil.base64DecodedBytes(key);
-            InputStream in = new ByteArrayInputStream(base64DecodedKey);
-            java.security.cert.X509Certificate cert
-                    = (java.security.cert.X509Certificate) certFactory
-                    .generateCertificate(in);
-            return cert.getPublicKey();
-        } catch (CertificateException ex) {
-            String msg = "Exception occured while generating public key.\n" + ex;
-            throw new SAMLInvalidCertificateException(msg);
-        }
-    }
-
     /**
      * Return the subject type
      */
@@ -107,6 +107,7 @@ public class SAMLValidator {
             try {
                 isValidResponse = samlutil.isResponseProfileValid(
                         samlResponseTokens.getResponseSignature(),
+                        samlProvider,
                         samlResponseTokens.getSigningCertificate());
             } catch (SAMLInvalidCertificateException ex) {
                 throw new InvalidSAMLResponseException(
@@ -1,34 +1,338 @@
 package com.seagates3.service;
 
-import java.util.HashMap;
-import java.util.Map;
-
+import com.seagates3.authentication.ChunkSignatureSession;
+import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.cache.AuthCache;
+import com.seagates3.model.AccessKey;
 import com.seagates3.model.GlobalData;
+import com.seagates3.model.SigningKey;
+import com.seagates3.util.BinaryUtil;
+import java.util.concurrent.atomic.AtomicLongArray;
 
+/**
+ * Process wide store of authenticated requestors keyed on access key id.
+ *
+ * Backed by a bounded LRU cache whose entries expire after cacheTimeout
+ * seconds, so the store is safe to share between all event executor threads
+ * and does not grow with every access key ever seen.
+ *
+ * Access keys which were found to be absent or inactive are remembered for
+ * negativeCacheTimeout seconds so that retries of a misconfigured client do
+ * not reach LDAP.
+ *
+ * Derived AWS V4 signing keys are cached per access key and credential scope
+ * for a day, the lifetime of a scope date.
+ *
+ * Whether an account owns a group with a given path, as looked up for ACL
+ * group grantees, is remembered for cacheTimeout seconds, or not at all if it
+ * is 0.
+ *
+ * Signature sessions of chunked uploads are kept for chunkSessionTimeout
+ * seconds after their seed signature was verified.
+ *
+ * Write paths call invalidateAccessKey to drop the cached data of the key. It
+ * also bumps the invalidation generation of the key, so that a load which
+ * read LDAP before the invalidation does not cache what it read, see
+ * addToAuthenticationMap(String, GlobalData, long). Signing keys and chunk
+ * sessions are not searched for, a signing key is only used with the secret
+ * key it was derived from and a chunk session only while the generation of
+ * its access key is unchanged.
+ */
 public
 class GlobalDataStore {
 
  private
-  static GlobalDataStore instance;
+  static volatile GlobalDataStore instance;
+ private
+  final AuthCache<String, GlobalData> authenticationCache;
+ private
+  final AuthCache<String, AccessKey> invalidAccessKeyCache;
+ private
+  final AuthCache<String, SigningKey> signingKeyCache;
+ private
+  final AuthCache<String, Boolean> groupCache;
+ private
+  final AuthCache<String, ChunkSessionEntry> chunkSessionCache;
+
+ private
+  static final long SIGNING_KEY_TTL_MILLIS = 24 * 60 * 60 * 1000L;
+
+  /*
+   * Chunk signature session with the generation of its access key when it
+   * was opened.
+   */
+ private
+  static final class ChunkSessionEntry {
+   final ChunkSignatureSession session;
+   final String accessKeyId;
+   final long generation;
+
+   ChunkSessionEntry(ChunkSignatureSession session, String accessKeyId,
+                     long generation) {
+     this.session = session;
+     this.accessKeyId = accessKeyId;
+     this.generation = generation;
+   }
+  }
+
+  /*
+   * Invalidation generations are striped by access key id, so that they take
+   * a fixed amount of memory. A key sharing the stripe of an invalidated key
+   * may skip caching one load, which is harmless.
+   */
+ private
+  static final int GENERATION_STRIPES = 1024;
  private
-  Map<String, GlobalData> authenticationMap;
+  final AtomicLongArray accessKeyGenerations =
+      new AtomicLongArray(GENERATION_STRIPES);
 
  private
-  GlobalDataStore() { authenticationMap = new HashMap<>(); }
+  GlobalDataStore() {
+    // Caches hold at least one entry even if the limits are misconfigured.
+    authenticationCache = new AuthCache<>(
+        "authentication", Math.max(1, AuthServerConfig.getCacheMaxEntries()),
+        AuthServerConfig.getCacheTimeout() * 1000L);
+    invalidAccessKeyCache = new AuthCache<>(
+        "invalidAccessKey",
+        Math.max(1, AuthServerConfig.getNegativeCacheMaxEntries()),
+        AuthServerConfig.getNegativeCacheTimeout() * 1000L);
+    signingKeyCache = new AuthCache<>(
+        "signingKey",
+        Math.max(1, AuthServerConfig.getSigningKeyCacheMaxEntries()),
+        SIGNING_KEY_TTL_MILLIS);
+    groupCache = new AuthCache<>(
+        "group", Math.max(1, AuthServerConfig.getGroupCacheMaxEntries()),
+        AuthServerConfig.getCacheTimeout() * 1000L);
+    chunkSessionCache = new AuthCache<>(
+        "chunkSession",
+        Math.max(1, AuthServerConfig.getChunkSessionCacheMaxEntries()),
+        AuthServerConfig.getChunkSessionTimeout() * 1000L);
+  }
 
  public
   static GlobalDataStore getInstance() {
     if (instance == null) {
-      instance = new GlobalDataStore();
+      synchronized(GlobalDataStore.class) {
+        if (instance == null) {
+          instance = new GlobalDataStore();
+        }
+      }
     }
     return instance;
   }
 
  public
-  Map<String, GlobalData> getAuthenticationMap() { return authenticationMap; }
+  AuthCache<String, GlobalData> getAuthenticationCache() {
+    return authenticationCache;
+  }
+
+ public
+  AuthCache<String, AccessKey> getInvalidAccessKeyCache() {
+    return invalidAccessKeyCache;
+  }
+
+  /**
+   * @return cached data for the access key or null if it is absent or older
+   * than cacheTimeout.
+   */
+ public
+  GlobalData getFromAuthenticationMap(String accessKey) {
+    return authenticationCache.get(accessKey);
+  }
 
  public
   void addToAuthenticationMap(String accessKey, GlobalData globalObj) {
-    this.authenticationMap.put(accessKey, globalObj);
+    authenticationCache.put(accessKey, globalObj);
+  }
+
+ public
+  void removeFromAuthenticationMap(String accessKey) {
+    authenticationCache.remove(accessKey);
+  }
+
+  /**
+   * @return invalidation generation of the access key, to be read before
+   * the access key is looked up in LDAP.
+   */
+ public
+  long getAccessKeyGeneration(String accessKeyId) {
+    return accessKeyGenerations.get(getGenerationStripe(accessKeyId));
+  }
+
+  /**
+   * Cache data loaded from LDAP unless the access key has been invalidated
+   * since the load started.
+   *
+   * The generation is checked again after the put, so that an invalidation
+   * racing with the put either sees the entry and drops it, or is seen here.
+   *
+   * @param generation Generation of the access key read before the load.
+   * @return true if the data is cached.
+   */
+ public
+  boolean addToAuthenticationMap(String accessKey, GlobalData globalObj,
+                                 long generation) {
+    if (getAccessKeyGeneration(accessKey) != generation) {
+      return false;
+    }
+    authenticationCache.put(accessKey, globalObj);
+    if (getAccessKeyGeneration(accessKey) != generation) {
+      authenticationCache.remove(accessKey);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Negatively cache an access key found in LDAP to be absent or inactive,
+   * unless it has been invalidated since the load started.
+   *
+   * @param generation Generation of the access key read before the load.
+   * @return true if the access key is cached.
+   */
+ public
+  boolean addToInvalidAccessKeyMap(String accessKeyId, AccessKey accessKey,
+                                   long generation) {
+    if (getAccessKeyGeneration(accessKeyId) != generation) {
+      return false;
+    }
+    invalidAccessKeyCache.put(accessKeyId, accessKey);
+    if (getAccessKeyGeneration(accessKeyId) != generation) {
+      invalidAccessKeyCache.remove(accessKeyId);
+      return false;
+    }
+    return true;
+  }
+
+ private
+  static int getGenerationStripe(String accessKeyId) {
+    int h = accessKeyId.hashCode();
+    return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+  }
+
+  /**
+   * @return access key which was recently found to be absent or inactive, or
+   * null if the access key id is not negatively cached.
+   */
+ public
+  AccessKey getFromInvalidAccessKeyMap(String accessKeyId) {
+    return invalidAccessKeyCache.get(accessKeyId);
+  }
+
+ public
+  void addToInvalidAccessKeyMap(String accessKeyId, AccessKey accessKey) {
+    invalidAccessKeyCache.put(accessKeyId, accessKey);
+  }
+
+  /**
+   * @return signing key cached for the access key and credential scope or
+   * null if it is absent.
+   */
+ public
+  SigningKey getFromSigningKeyMap(String accessKeyId, String scope) {
+    return signingKeyCache.get(getSigningKeyId(accessKeyId, scope));
+  }
+
+ public
+  void addToSigningKeyMap(String accessKeyId, String scope,
+                          SigningKey signingKey) {
+    signingKeyCache.put(getSigningKeyId(accessKeyId, scope), signingKey);
+  }
+
+  /**
+   * @return true if the account owns a group with the path, false if it was
+   * found not to, or null if the lookup is not cached.
+   */
+ public
+  Boolean getFromGroupMap(String accountName, String path) {
+    return groupCache.get(getGroupId(accountName, path));
+  }
+
+ public
+  void addToGroupMap(String accountName, String path, boolean exists) {
+    groupCache.put(getGroupId(accountName, path), exists);
+  }
+
+  /**
+   * Keep the signature session of a chunked upload.
+   *
+   * @return id of the session or null if chunk sessions are disabled.
+   */
+ public
+  String addToChunkSessionMap(String accessKeyId,
+                              ChunkSignatureSession session) {
+    if (AuthServerConfig.getChunkSessionCacheMaxEntries() == 0) {
+      return null;
+    }
+    String sessionId = accessKeyId + "/" + BinaryUtil.getAlphaNumericUUID();
+    chunkSessionCache.put(
+        sessionId, new ChunkSessionEntry(session, accessKeyId,
+                                         getAccessKeyGeneration(accessKeyId)));
+    return sessionId;
+  }
+
+  /**
+   * @return signature session of a chunked upload or null if it is absent,
+   * has expired or its access key has been invalidated since it was opened.
+   */
+ public
+  ChunkSignatureSession getFromChunkSessionMap(String sessionId) {
+    ChunkSessionEntry entry = chunkSessionCache.get(sessionId);
+    if (entry == null) {
+      return null;
+    }
+    if (getAccessKeyGeneration(entry.accessKeyId) != entry.generation) {
+      chunkSessionCache.remove(sessionId);
+      return null;
+    }
+    return entry.session;
+  }
+
+ public
+  void removeFromChunkSessionMap(String sessionId) {
+    chunkSessionCache.remove(sessionId);
+  }
+
+  /**
+   * Drop every cached group lookup of the account. To be called whenever a
+   * group of the account is created.
+   */
+ public
+  void invalidateGroups(String accountName) {
+    if (accountName == null) {
+      return;
+    }
+    final String prefix = accountName + "/";
+    groupCache.removeIf(new AuthCache.KeyFilter<String>() {
+      @Override public boolean accept(String key) {
+        return key.startsWith(prefix);
+      }
+    });
+  }
+
+  /**
+   * Drop the cached state of the access key. To be called whenever the
+   * access key is created, updated or deleted.
+   */
+ public
+  void invalidateAccessKey(String accessKeyId) {
+    if (accessKeyId == null) {
+      return;
+    }
+    // Bump the generation first, a load in flight then either sees it or
+    // puts its entry before the removal below.
+    accessKeyGenerations.incrementAndGet(getGenerationStripe(accessKeyId));
+    authenticationCache.remove(accessKeyId);
+    invalidAccessKeyCache.remove(accessKeyId);
+  }
+
+ private
+  static String getGroupId(String accountName, String path) {
+    return accountName + "/" + path;
+  }
+
+ private
+  static String getSigningKeyId(String accessKeyId, String scope) {
+    return accessKeyId + "/" + scope;
   }
 }
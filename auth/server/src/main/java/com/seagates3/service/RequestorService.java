@@ -20,11 +20,19 @@
 
 package com.seagates3.service;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.seagates3.authserver.AuthServerConfig;
 import com.seagates3.authentication.ClientRequestToken;
+import com.seagates3.cache.SingleFlight;
 import com.seagates3.dao.AccessKeyDAO;
 import com.seagates3.dao.DAODispatcher;
 import com.seagates3.dao.DAOResource;
@@ -51,38 +59,133 @@ public class RequestorService {
     private static final ResponseGenerator responseGenerator
             = new ResponseGenerator();
 
+    private static final int REFRESH_THREADS = 2;
+
+    private static final int REFRESH_QUEUE_SIZE = 1024;
+
+    private static final SingleFlight<String, LoadResult> loader =
+            new SingleFlight<>();
+
+    /**
+     * Data loaded from the data store, with the invalidation generation of
+     * the access key read before the load started. The data is cached only
+     * if the access key has not been invalidated meanwhile.
+     */
+    private static final class LoadResult {
+
+        private final GlobalData globalData;
+        private final long generation;
+
+        LoadResult(GlobalData globalData, long generation) {
+            this.globalData = globalData;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Small pool of daemon threads used to refresh hot cache entries before
+     * they expire. Refresh requests are dropped when the pool is saturated,
+     * the entry is then loaded on demand after expiry.
+     */
+    private static final ThreadPoolExecutor refreshExecutor =
+            newRefreshExecutor();
+
+    /*
+     * The pool grows beyond its core threads only once the queue is full,
+     * hence every thread is a core thread, which times out when idle.
+     */
+    private static ThreadPoolExecutor newRefreshExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(REFRESH_THREADS,
+                REFRESH_THREADS, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(REFRESH_QUEUE_SIZE),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "auth-cache-refresh");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     public
      static Requestor getRequestor(ClientRequestToken clientRequestToken)
          throws InvalidAccessKeyException,
          InternalServerException, InvalidRequestorException {
 
+        final String accessKeyId = clientRequestToken.getAccessKeyId();
+        boolean cacheEnabled = AuthServerConfig.getCacheTimeout() != 0;
+
+        if (cacheEnabled) {
+          // Entries older than cache timeout interval are dropped by the
+          // cache itself, so a hit is always fresh.
+          GlobalData dataObj =
+              GlobalDataStore.getInstance().getFromAuthenticationMap(
+                  accessKeyId);
+          if (dataObj != null) {
+            refreshAhead(accessKeyId, dataObj);
+            return dataObj.getRequestor();
+          }
+        }
+
+        if (AuthServerConfig.getNegativeCacheTimeout() != 0) {
+          AccessKey invalidAccessKey =
+              GlobalDataStore.getInstance().getFromInvalidAccessKeyMap(
+                  accessKeyId);
+          if (invalidAccessKey != null) {
+            LOGGER.debug("Access key found in invalid access key cache.");
+            validateAccessKey(invalidAccessKey);
+          }
+        }
+
+        LoadResult loaded;
+        if (cacheEnabled) {
+          // Concurrent misses for the same access key share one lookup.
+          loaded = loadShared(accessKeyId);
+        } else {
+          loaded = load(accessKeyId);
+        }
+
+        Requestor requestor = loaded.globalData.getRequestor();
+        validateRequestor(requestor, clientRequestToken);
+        if (cacheEnabled) {
+          GlobalDataStore.getInstance().addToAuthenticationMap(
+              accessKeyId, loaded.globalData, loaded.generation);
+        }
+        return requestor;
+    }
+
+    /**
+     * @return true if the requestor of the access key can be served from
+     * the authentication cache without a directory lookup.
+     */
+    public
+     static boolean isCached(String accessKeyId) {
+        return accessKeyId != null && AuthServerConfig.getCacheTimeout() != 0 &&
+               GlobalDataStore.getInstance().getAuthenticationCache()
+                   .containsKey(accessKeyId);
+    }
+
+    /**
+     * Search the access key and its requestor in the data store.
+     */
+    private static LoadResult load(String accessKeyId)
+            throws InvalidAccessKeyException, InternalServerException {
         ServerResponse serverResponse;
         AccessKey accessKey;
+        // Read before LDAP, so that an invalidation during the lookup is seen.
+        long generation =
+            GlobalDataStore.getInstance().getAccessKeyGeneration(accessKeyId);
 
         AccessKeyDAO accessKeyDAO = (AccessKeyDAO) DAODispatcher
                 .getResourceDAO(DAOResource.ACCESS_KEY);
 
         try {
             perf.startClock();
-            if (AuthServerConfig.getCacheTimeout() != 0) {
-              GlobalData dataObj =
-                  GlobalDataStore.getInstance().getAuthenticationMap().get(
-                      clientRequestToken.getAccessKeyId());
-              if (dataObj != null) {
-                long difference =
-                    (System.currentTimeMillis() - dataObj.getCreationTime()) /
-                    1000;
-                LOGGER.debug("Cache time difference in seconds is - " +
-                             difference);
-                // if entry in cache is older than cache timeout interval then
-                // refresh it
-                if ((difference >= 0) &&
-                    (difference < AuthServerConfig.getCacheTimeout())) {
-                  return dataObj.getRequestor();
-                }
-              }
-            }
-            accessKey = accessKeyDAO.find(clientRequestToken.getAccessKeyId());
+
+            accessKey = accessKeyDAO.find(accessKeyId);
 
             perf.endClock();
             perf.printTime("Fetch access key");
@@ -93,7 +196,18 @@ public class RequestorService {
             throw new InternalServerException(serverResponse);
         }
 
-        validateAccessKey(accessKey);
+        try {
+          validateAccessKey(accessKey);
+        }
+        catch (InvalidAccessKeyException ex) {
+          // Remember unknown or inactive access key so that retries are
+          // answered without an LDAP lookup.
+          if (AuthServerConfig.getNegativeCacheTimeout() != 0) {
+            GlobalDataStore.getInstance().addToInvalidAccessKeyMap(
+                accessKeyId, accessKey, generation);
+          }
+          throw ex;
+        }
         LOGGER.debug("Access key is valid.\n");
 
         RequestorDAO requestorDAO = (RequestorDAO) DAODispatcher
@@ -112,14 +226,83 @@ public class RequestorService {
             throw new InternalServerException(serverResponse);
         }
 
-        validateRequestor(requestor, clientRequestToken);
-        if (AuthServerConfig.getCacheTimeout() != 0) {
-        GlobalData globalDataObj =
-            new GlobalData(accessKey, requestor, System.currentTimeMillis());
-        GlobalDataStore.getInstance().addToAuthenticationMap(
-            clientRequestToken.getAccessKeyId(), globalDataObj);
+        return new LoadResult(
+            new GlobalData(accessKey, requestor, System.currentTimeMillis()),
+            generation);
+    }
+
+    /**
+     * Load the access key through the single flight loader so that only one
+     * of the concurrent callers reaches the data store.
+     */
+    private static LoadResult loadShared(final String accessKeyId)
+            throws InvalidAccessKeyException, InternalServerException {
+        try {
+          return loader.execute(accessKeyId, new Callable<LoadResult>() {
+            @Override public LoadResult call() throws Exception {
+              return load(accessKeyId);
+            }
+          });
         }
-        return requestor;
+        catch (ExecutionException ex) {
+          Throwable cause = ex.getCause();
+          if (cause instanceof InvalidAccessKeyException) {
+            throw (InvalidAccessKeyException)cause;
+          }
+          if (cause instanceof InternalServerException) {
+            throw (InternalServerException)cause;
+          }
+          LOGGER.error("Error occured while loading requestor - ", cause);
+          throw new InternalServerException(
+              responseGenerator.internalServerError());
+        }
+        catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          throw new InternalServerException(
+              responseGenerator.internalServerError());
+        }
+    }
+
+    /**
+     * Reload the cache entry in the background once it is older than
+     * cacheRefreshAheadPercent of cacheTimeout, so that hot access keys are
+     * not blocked on the data store when their entry expires.
+     */
+    private static void refreshAhead(final String accessKeyId,
+                                     GlobalData dataObj) {
+        int percent = AuthServerConfig.getCacheRefreshAheadPercent();
+        if (percent <= 0 || percent >= 100) {
+          return;
+        }
+        long refreshAfter =
+            AuthServerConfig.getCacheTimeout() * 10L * percent;
+        long age = System.currentTimeMillis() - dataObj.getCreationTime();
+        if (age < refreshAfter || loader.isInFlight(accessKeyId)) {
+          return;
+        }
+
+        LOGGER.debug("Refreshing authentication cache entry ahead of expiry.");
+        loader.executeAsync(accessKeyId, new Callable<LoadResult>() {
+          @Override public LoadResult call() throws Exception {
+            try {
+              LoadResult refreshed = load(accessKeyId);
+              if (refreshed.globalData.getRequestor().exists()) {
+                GlobalDataStore.getInstance().addToAuthenticationMap(
+                    accessKeyId, refreshed.globalData, refreshed.generation);
+              } else {
+                GlobalDataStore.getInstance().removeFromAuthenticationMap(
+                    accessKeyId);
+              }
+              return refreshed;
+            }
+            catch (InvalidAccessKeyException ex) {
+              // Access key was deleted or deactivated meanwhile.
+              GlobalDataStore.getInstance().removeFromAuthenticationMap(
+                  accessKeyId);
+              throw ex;
+            }
+          }
+        }, refreshExecutor);
     }
 
     /**
@@ -46,6 +46,42 @@ public class BinaryUtil {
      final static Logger LOGGER =
          LoggerFactory.getLogger(BinaryUtil.class.getName());
 
+    /*
+     * Mac and MessageDigest instances are expensive to look up and not
+     * thread safe, so every thread keeps its own. A null value means the
+     * algorithm is not available.
+     */
+    private static final ThreadLocal<Mac> HMAC_SHA256 =
+            newMacThreadLocal("HmacSHA256");
+
+    private static final ThreadLocal<Mac> HMAC_SHA1 =
+            newMacThreadLocal("HmacSHA1");
+
+    private static final ThreadLocal<MessageDigest> SHA256 =
+            new ThreadLocal<MessageDigest>() {
+                @Override
+                protected MessageDigest initialValue() {
+                    try {
+                        return MessageDigest.getInstance("SHA-256");
+                    } catch (NoSuchAlgorithmException ex) {
+                        return null;
+                    }
+                }
+            };
+
+    private static ThreadLocal<Mac> newMacThreadLocal(final String algorithm) {
+        return new ThreadLocal<Mac>() {
+            @Override
+            protected Mac initialValue() {
+                try {
+                    return Mac.getInstance(algorithm);
+                } catch (NoSuchAlgorithmException ex) {
+                    return null;
+                }
+            }
+        };
+    }
+
     /*
      * <IEM_INLINE_DOCUMENTATION>
      *     <event_code>048002001</event_code>
@@ -94,6 +130,22 @@ public class BinaryUtil {
         return (hashedText != null) ? toString(encodeToHex(hashedText)) : null;
     }
 
+    /*
+     * Compute the hash of length bytes of the array starting at offset and
+     * encode it to hex format.
+     * All alphabets are lower case.
+     */
+    public static String hexEncodedHash(byte[] text, int offset, int length) {
+        MessageDigest md = SHA256.get();
+        if (md == null) {
+          LOGGER.error("Algorithm SHA-256 is not available.");
+          return null;
+        }
+
+        md.update(text, offset, length);
+        return toString(encodeToHex(md.digest()));
+    }
+
     /*
      * Return a base 64 encoded hash generated using SHA-256.
      */
@@ -135,14 +187,16 @@ public class BinaryUtil {
      * Calculate the HMAC using SHA-256.
      */
     public static byte[] hmacSHA256(byte[] key, byte[] data) {
-        Mac mac;
+        Mac mac = HMAC_SHA256.get();
+        if (mac == null) {
+          LOGGER.error("Algorithm HmacSHA256 is not available.");
+          return null;
+        }
+
         try {
-            mac = Mac.getInstance("HmacSHA256");
             mac.init(new SecretKeySpec(key, "HmacSHA256"));
 
             return mac.doFinal(data);
-        } catch (NoSuchAlgorithmException ex) {
-          LOGGER.error("Algorithm HmacSHA256 is not available.");
         } catch (InvalidKeyException ex) {
         }
 
@@ -176,14 +230,16 @@ public class BinaryUtil {
      * Calculate the HMAC using SHA-1.
      */
     public static byte[] hmacSHA1(byte[] key, byte[] data) {
-        Mac mac;
+        Mac mac = HMAC_SHA1.get();
+        if (mac == null) {
+          LOGGER.error("Algorithm HmacSHA1 is not available.");
+          return null;
+        }
+
         try {
-            mac = Mac.getInstance("HmacSHA1");
             mac.init(new SecretKeySpec(key, "HmacSHA1"));
 
             return mac.doFinal(data);
-        } catch (NoSuchAlgorithmException ex) {
-          LOGGER.error("Algorithm HmacSHA1 is not available.");
         } catch (InvalidKeyException ex) {
         }
 
@@ -217,34 +273,21 @@ public class BinaryUtil {
      * Hash the text using SHA-256 algorithm.
      */
     public static byte[] hashSHA256(String text) {
-        MessageDigest md;
-        try {
-            md = MessageDigest.getInstance("SHA-256");
-            md.update(text.getBytes());
-
-            return md.digest();
-        } catch (NoSuchAlgorithmException ex) {
-          LOGGER.error("Algorithm SHA-256 is not available.");
-        }
-
-        return null;
+        return hashSHA256(text.getBytes());
     }
 
     /*
      * Hash the text using SHA-256 algorithm.
      */
     public static byte[] hashSHA256(byte[] text) {
-        MessageDigest md;
-        try {
-            md = MessageDigest.getInstance("SHA-256");
-            md.update(text);
-
-            return md.digest();
-        } catch (NoSuchAlgorithmException ex) {
+        MessageDigest md = SHA256.get();
+        if (md == null) {
           LOGGER.error("Algorithm SHA-256 is not available.");
+          return null;
         }
 
-        return null;
+        // digest resets the instance for the next caller on this thread.
+        return md.digest(text);
     }
 
     /*
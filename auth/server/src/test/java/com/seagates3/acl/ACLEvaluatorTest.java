@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.acl;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.api.mockito.mockpolicies.Slf4jMockPolicy;
+import org.powermock.core.classloader.annotations.MockPolicy;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.dao.DAODispatcher;
+import com.seagates3.dao.DAOResource;
+import com.seagates3.dao.GroupDAO;
+import com.seagates3.model.Account;
+import com.seagates3.model.Group;
+import com.seagates3.service.GlobalDataStore;
+
+@RunWith(PowerMockRunner.class) @MockPolicy(Slf4jMockPolicy.class)
+    @PowerMockIgnore({"javax.management.*"})
+    @PrepareForTest({DAODispatcher.class, AuthServerConfig.class})
+    public class ACLEvaluatorTest {
+
+ private
+  static final String ALL_USERS =
+      "http://acs.amazonaws.com/groups/global/AllUsers";
+ private
+  static final String AUTHENTICATED_USERS =
+      "http://acs.amazonaws.com/groups/global/AuthenticatedUsers";
+ private
+  static final String GROUP_PATH = "/engineering/";
+
+ private
+  GroupDAO groupDAO;
+ private
+  Account account;
+ private
+  List<Grant> grants;
+
+  @Before public void setUp() throws Exception {
+    groupDAO = Mockito.mock(GroupDAO.class);
+    PowerMockito.mockStatic(DAODispatcher.class);
+    PowerMockito.doReturn(groupDAO)
+        .when(DAODispatcher.class, "getResourceDAO", DAOResource.GROUP);
+    PowerMockito.mockStatic(AuthServerConfig.class);
+    PowerMockito.when(AuthServerConfig.getCacheTimeout()).thenReturn(60);
+    PowerMockito.when(AuthServerConfig.getGroupCacheMaxEntries())
+        .thenReturn(100);
+
+    account = new Account();
+    account.setName("s3test");
+    account.setCanonicalId("C12345");
+    account.setEmail("s3test@seagate.com");
+    GlobalDataStore.getInstance().invalidateGroups("s3test");
+    grants = new ArrayList<>();
+  }
+
+ private
+  void addCanonicalGrant(String canonicalId, String permission) {
+    grants.add(new Grant(new Grantee(canonicalId, "name"), permission));
+  }
+
+ private
+  void addGroupGrant(String uri, String permission) {
+    grants.add(new Grant(
+        new Grantee(null, null, uri, null, Grantee.Types.Group), permission));
+  }
+
+  @Test public void canonicalIdGrantShouldOnlyGiveItsPermission()
+      throws Exception {
+    addCanonicalGrant("other", "FULL_CONTROL");
+    addCanonicalGrant("C12345", "READ");
+    ACLEvaluator evaluator = new ACLEvaluator(grants);
+
+    assertTrue(evaluator.isGranted(account, ACLEvaluator.READ, true));
+    assertFalse(evaluator.isGranted(account, ACLEvaluator.WRITE, true));
+    assertFalse(evaluator.isGranted(account, ACLEvaluator.READ_ACP, true));
+  }
+
+  @Test public void grantsOfSameGranteeShouldBeCombined() throws Exception {
+    addCanonicalGrant("C12345", "READ");
+    addCanonicalGrant("C12345", "WRITE_ACP");
+    ACLEvaluator evaluator = new ACLEvaluator(grants);
+
+    assertTrue(evaluator.isGranted(account, ACLEvaluator.READ, true));
+    assertTrue(evaluator.isGranted(account, ACLEvaluator.WRITE_ACP, true));
+    assertFalse(evaluator.isGranted(account, ACLEvaluator.WRITE, true));
+  }
+
+  @Test public void fullControlShouldGiveEveryPermission() throws Exception {
+    addCanonicalGrant("C12345", "FULL_CONTROL");
+    ACLEvaluator evaluator = new ACLEvaluator(grants);
+
+    assertTrue(evaluator.isGranted(account, ACLEvaluator.WRITE, true));
+    assertTrue(evaluator.isGranted(
+        account, ACLEvaluator.getPermissionMask("UNKNOWN_PERMISSION"), true));
+  }
+
+  @Test public void emailGrantShouldMatchAccountEmail() throws Exception {
+    grants.add(new Grant(
+        new Grantee(null, null, null, "s3test@seagate.com",
+                    Grantee.Types.AmazonCustomerByEmail),
+        "WRITE"));
+    ACLEvaluator evaluator = new ACLEvaluator(grants);
+
+    assertTrue(evaluator.isGranted(account, ACLEvaluator.WRITE, true));
+    assertFalse(evaluator.isGranted(account, ACLEvaluator.READ, true));
+  }
+
+  @Test public void allUsersGrantShouldApplyToAnonymousRequests()
+      throws Exception {
+    addGroupGrant(ALL_USERS, "READ");
+    addGroupGrant(AUTHENTICATED_USERS, "WRITE");
+    ACLEvaluator evaluator = new ACLEvaluator(grants);
+
+    assertTrue(evaluator.isGranted(null, ACLEvaluator.READ, false));
+    assertFalse(evaluator.isGranted(null, ACLEvaluator.WRITE, false));
+    assertFalse(evaluator.isGranted(account, ACLEvaluator.WRITE, false));
+    assertTrue(evaluator.isGranted(account, ACLEvaluator.WRITE, true));
+    Mockito.verifyZeroInteractions(groupDAO);
+  }
+
+  @Test public void groupLookupShouldBeCached() throws Exception {
+    Group group = new Group();
+    group.setGroupId("G12345");
+    Mockito.when(groupDAO.findByPathAndAccount(account, GROUP_PATH))
+        .thenReturn(group);
+    addGroupGrant(GROUP_PATH, "READ");
+    ACLEvaluator evaluator = new ACLEvaluator(grants);
+
+    assertTrue(evaluator.isGranted(account, ACLEvaluator.READ, true));
+    assertTrue(evaluator.isGranted(account, ACLEvaluator.READ, true));
+    Mockito.verify(groupDAO, Mockito.times(1))
+        .findByPathAndAccount(account, GROUP_PATH);
+  }
+
+  @Test public void groupLookupShouldNotBeCachedWithoutCacheTimeout()
+      throws Exception {
+    PowerMockito.when(AuthServerConfig.getCacheTimeout()).thenReturn(0);
+    Mockito.when(groupDAO.findByPathAndAccount(account, GROUP_PATH))
+        .thenReturn(new Group());
+    addGroupGrant(GROUP_PATH, "READ");
+    ACLEvaluator evaluator = new ACLEvaluator(grants);
+
+    assertFalse(evaluator.isGranted(account, ACLEvaluator.READ, true));
+    Group group = new Group();
+    group.setGroupId("G12345");
+    Mockito.when(groupDAO.findByPathAndAccount(account, GROUP_PATH))
+        .thenReturn(group);
+    assertTrue(evaluator.isGranted(account, ACLEvaluator.READ, true));
+    Mockito.verify(groupDAO, Mockito.times(2))
+        .findByPathAndAccount(account, GROUP_PATH);
+  }
+
+  @Test public void groupLookupShouldBeSkippedWithoutPermission()
+      throws Exception {
+    addGroupGrant(GROUP_PATH, "READ");
+    addCanonicalGrant("C12345", "READ");
+    ACLEvaluator evaluator = new ACLEvaluator(grants);
+
+    assertFalse(evaluator.isGranted(account, ACLEvaluator.WRITE, true));
+    assertTrue(evaluator.isGranted(account, ACLEvaluator.READ, true));
+    Mockito.verifyZeroInteractions(groupDAO);
+  }
+}
@@ -28,7 +28,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.exception.DataAccessException;
 import com.seagates3.exception.GrantListFullException;
+import com.seagates3.model.Account;
 
 public
 class AccessControlListTest {
@@ -74,4 +76,18 @@ class AccessControlListTest {
     acl.addGrant(defaultGrant);
     assertEquals(null, acl.getGrant(null));
   }
+
+  // A grant added after a permission check is seen by the next check
+  @Test public void testIsPermissionAvailable_AfterAddGrant()
+      throws GrantListFullException, DataAccessException {
+    Account account = new Account();
+    account.setCanonicalId("id2");
+    acl.addGrant(defaultGrant);
+    assertFalse(
+        acl.isPermissionAvailable(account, "READ", "id1", true, "GetObject"));
+
+    acl.addGrant(new Grant(new Grantee("id2", "name2"), "READ"));
+    assertTrue(
+        acl.isPermissionAvailable(account, "READ", "id1", true, "GetObject"));
+  }
 }
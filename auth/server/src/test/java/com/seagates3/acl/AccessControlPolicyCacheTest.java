@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.acl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+import com.seagates3.util.BinaryUtil;
+
+public
+class AccessControlPolicyCacheTest {
+
+ private
+  static final String ACL_XML =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>" +
+      "<AccessControlPolicy " +
+      "xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">" + " <Owner>" +
+      "  <ID>Owner_ID</ID>" + "  <DisplayName>Owner_Name</DisplayName>" +
+      " </Owner>" + " <AccessControlList>" + "  <Grant>" +
+      "   <Grantee xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"" +
+      " xsi:type=\"CanonicalUser\">" + "    <ID>Grantee_ID</ID>" +
+      "    <DisplayName>Grantee_Name</DisplayName>" + "   </Grantee>" +
+      "   <Permission>FULL_CONTROL</Permission>" + "  </Grant>" +
+      " </AccessControlList>" + "</AccessControlPolicy>";
+
+ private
+  final String encodedAcl = BinaryUtil.encodeToBase64String(ACL_XML);
+
+  @Before public void setUp() { AccessControlPolicyCache.reset(); }
+
+  @Test public void getShouldReturnReadOnlyParsedPolicy() throws Exception {
+    AccessControlPolicy acp =
+        AccessControlPolicyCache.getInstance().get(encodedAcl);
+
+    assertTrue(acp.isReadOnly());
+    assertEquals("Owner_ID", acp.getOwner().getCanonicalId());
+    assertEquals("Grantee_ID",
+                 acp.getAccessControlList().getGrantList().get(0).grantee
+                     .canonicalId);
+  }
+
+  @Test public void getShouldReturnSameInstanceForSameAcl() throws Exception {
+    AccessControlPolicyCache cache = AccessControlPolicyCache.getInstance();
+
+    AccessControlPolicy first = cache.get(encodedAcl);
+    AccessControlPolicy second = cache.get(new String(encodedAcl));
+
+    assertSame(first, second);
+    assertEquals(1, cache.getPolicyCache().size());
+  }
+
+  @Test public void otherThreadsShouldShareCachedPolicy() throws Exception {
+    final AccessControlPolicyCache cache =
+        AccessControlPolicyCache.getInstance();
+    final AccessControlPolicy[] policies = new AccessControlPolicy[2];
+
+    Thread[] threads = new Thread[2];
+    for (int t = 0; t < threads.length; t++) {
+      final int index = t;
+      threads[t] = new Thread() {
+        @Override public void run() {
+          try {
+            policies[index] = cache.get(encodedAcl);
+          }
+          catch (Exception e) {
+            policies[index] = null;
+          }
+        }
+      };
+      threads[t].start();
+      threads[t].join();
+    }
+
+    assertNotNull(policies[0]);
+    assertSame(policies[0], policies[1]);
+  }
+
+  @Test public void mutatorsShouldFailOnCachedPolicy() throws Exception {
+    AccessControlPolicy acp =
+        AccessControlPolicyCache.getInstance().get(encodedAcl);
+
+    try {
+      acp.setOwner(new Owner("other", "other"));
+      fail("Should throw UnsupportedOperationException");
+    }
+    catch (UnsupportedOperationException e) {
+    }
+    try {
+      acp.getAccessControlList().addGrant(
+          new Grant(new Grantee("other", "other"), "READ"));
+      fail("Should throw UnsupportedOperationException");
+    }
+    catch (UnsupportedOperationException e) {
+    }
+    try {
+      acp.getXml();
+      fail("Should throw UnsupportedOperationException");
+    }
+    catch (UnsupportedOperationException e) {
+    }
+    assertEquals("Owner_ID", acp.getOwner().getCanonicalId());
+    assertEquals(1, acp.getAccessControlList().getGrantList().size());
+  }
+
+  @Test public void invalidAclShouldNotBeCached() throws Exception {
+    AccessControlPolicyCache cache = AccessControlPolicyCache.getInstance();
+    String invalidAcl = BinaryUtil.encodeToBase64String("<Invalid");
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        cache.get(invalidAcl);
+        fail("Should throw SAXException");
+      }
+      catch (SAXException e) {
+      }
+    }
+    assertEquals(0, cache.getPolicyCache().size());
+  }
+
+  @Test public void getOwnerShouldUseCachedPolicy() throws Exception {
+    Map<String, String> requestBody = new TreeMap<>();
+    requestBody.put("Auth-ACL", encodedAcl);
+
+    assertEquals("Owner_ID", new AccessControlList().getOwner(requestBody));
+    assertEquals(1,
+                 AccessControlPolicyCache.getInstance().getPolicyCache().size());
+  }
+}
@@ -21,6 +21,7 @@
 package com.seagates3.acl;
 
 import com.seagates3.acl.AccessControlPolicy;
+import com.seagates3.authserver.AuthServerConfig;
 import com.seagates3.exception.GrantListFullException;
 
 import org.junit.Test;
@@ -411,4 +412,66 @@ class AccessControlPolicyTest {
       System.out.println(ex.getMessage());
     }
   }
+
+  @Test public void loadxml_GroupAndEmailGrantee_Test() throws Exception {
+    String xml =
+        "<AccessControlPolicy>" + " <Owner><ID>owner</ID></Owner>" +
+        " <AccessControlList>" + "  <Grant>" +
+        "   <Grantee xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"" +
+        " xsi:type=\"Group\">" +
+        "    <URI>http://acs.amazonaws.com/groups/global/AllUsers</URI>" +
+        "   </Grantee>" + "   <Permission>READ</Permission>" + "  </Grant>" +
+        "  <Grant>" +
+        "   <Grantee xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"" +
+        " xsi:type=\"AmazonCustomerByEmail\">" +
+        "    <EmailAddress>a@b.com</EmailAddress>" + "   </Grantee>" +
+        "   <Permission>WRITE</Permission>" + "  </Grant>" +
+        " </AccessControlList>" + "</AccessControlPolicy>";
+
+    AccessControlPolicy acp = new AccessControlPolicy(xml);
+
+    assertEquals("owner", acp.getOwner().getCanonicalId());
+    assertNull(acp.getOwner().getDisplayName());
+    Grant group = acp.getAccessControlList().getGrantList().get(0);
+    assertEquals(Grantee.Types.Group, group.grantee.type);
+    assertEquals("http://acs.amazonaws.com/groups/global/AllUsers",
+                 group.grantee.uri);
+    assertEquals("READ", group.getPermission());
+    Grant email = acp.getAccessControlList().getGrantList().get(1);
+    assertEquals(Grantee.Types.AmazonCustomerByEmail, email.grantee.type);
+    assertEquals("a@b.com", email.grantee.emailAddress);
+    assertEquals("WRITE", email.getPermission());
+  }
+
+  @Test(expected = GrantListFullException.class) public void
+  loadxml_GrantListFull_Test() throws Exception {
+    StringBuilder xml = new StringBuilder(
+        "<AccessControlPolicy><Owner><ID>owner</ID></Owner>" +
+        "<AccessControlList>");
+    for (int i = 0; i <= AuthServerConfig.MAX_GRANT_SIZE; i++) {
+      xml.append(
+          "<Grant><Grantee " +
+          "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" " +
+          "xsi:type=\"CanonicalUser\"><ID>id" + i + "</ID></Grantee>" +
+          "<Permission>READ</Permission></Grant>");
+    }
+    xml.append("</AccessControlList></AccessControlPolicy>");
+
+    new AccessControlPolicy(xml.toString());
+  }
+
+  @Test(expected = SAXException.class) public void
+  loadxml_DoctypeRejected_Test() throws Exception {
+    new AccessControlPolicy(
+        "<?xml version=\"1.0\"?>" +
+        "<!DOCTYPE AccessControlPolicy [<!ENTITY id \"owner\">]>" +
+        "<AccessControlPolicy><Owner><ID>&id;</ID></Owner>" +
+        "<AccessControlList/></AccessControlPolicy>");
+  }
+
+  @Test(expected = SAXException.class) public void
+  loadxml_OwnerMissing_Test() throws Exception {
+    new AccessControlPolicy(
+        "<AccessControlPolicy><AccessControlList/></AccessControlPolicy>");
+  }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authentication;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.seagates3.exception.InvalidTokenException;
+import com.seagates3.util.BinaryUtil;
+
+public class CanonicalRequestBuilderTest {
+
+    @Test
+    public void appendCanonicalQuerySortsAndKeepsLastValue() {
+        CanonicalRequestBuilder builder = CanonicalRequestBuilder.get();
+
+        builder.appendCanonicalQuery("prefix=a&delimiter=/&prefix=b&acl&&");
+
+        assertEquals("acl=&delimiter=/&prefix=b", builder.toString());
+    }
+
+    @Test
+    public void appendCanonicalQueryDropsValueOfMalformedParameter() {
+        CanonicalRequestBuilder builder = CanonicalRequestBuilder.get();
+
+        builder.appendCanonicalQuery("b=1=2&a=&c=3==");
+
+        assertEquals("a=&b=&c=3", builder.toString());
+    }
+
+    @Test
+    public void appendCanonicalHeadersTrimsValues()
+            throws InvalidTokenException {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("host", " s3.seagate.com\t");
+        headers.put("content-type", "  ");
+        CanonicalRequestBuilder builder = CanonicalRequestBuilder.get();
+
+        builder.appendCanonicalHeaders("connection;content-type;host",
+                headers);
+
+        assertEquals("connection:Keep-Alive\ncontent-type:\n"
+                + "host:s3.seagate.com\n", builder.toString());
+    }
+
+    @Test
+    public void appendCanonicalHeadersMissingHeaderThrowsException() {
+        CanonicalRequestBuilder builder = CanonicalRequestBuilder.get();
+
+        try {
+            builder.appendCanonicalHeaders("host;x-amz-date",
+                    new HashMap<String, String>());
+            fail("Should throw InvalidTokenException");
+        } catch (InvalidTokenException e) {
+            assertEquals("Signed header :host is not found in Request header list",
+                    e.getMessage());
+        }
+    }
+
+    @Test
+    public void hexEncodedHashMatchesHashOfUtf8Text() {
+        String text = "GET\n/b\u00e9\n\n\uD83D\uDE00\n";
+        CanonicalRequestBuilder builder = CanonicalRequestBuilder.get();
+
+        builder.append(text);
+
+        assertEquals(text, builder.toString());
+        assertEquals(BinaryUtil.hexEncodedHash(text),
+                builder.hexEncodedHash());
+    }
+}
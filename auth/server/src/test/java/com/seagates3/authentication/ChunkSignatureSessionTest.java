@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authentication;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.seagates3.util.BinaryUtil;
+
+/*
+ * Chunk signatures of the streaming upload example in the AWS Signature
+ * Version 4 documentation.
+ */
+public class ChunkSignatureSessionTest {
+
+    private static final String SEED_SIGNATURE
+            = "4f232c4386841ef735655705268965c44a0e4690baa4adea153f7db9fa80a0a9";
+    private static final String CHUNK1_SIGNATURE
+            = "ad80c730a21e5b8d04586a2213dd63b9a0e99e0e2307b0ade35a65485a288648";
+    private static final String CHUNK2_SIGNATURE
+            = "0055627c9e194cb4542bae2aa5492e3c1575bbb81b612b7d234b86a503ef5497";
+    private static final String FINAL_CHUNK_SIGNATURE
+            = "b6c6ea8a5354eaf15b3cb7646744f4275b71ea724fed81ceb9323e279d449df9";
+
+    private String chunk1Hash;
+    private String chunk2Hash;
+    private ChunkSignatureSession session;
+
+    @Before
+    public void setUp() {
+        byte[] key = BinaryUtil.hmacSHA256(
+                bytes("AWS4wJalrXUtnFEMI/K7MDENG/bPxRfiCYEXAMPLEKEY"),
+                bytes("20130524"));
+        key = BinaryUtil.hmacSHA256(key, bytes("us-east-1"));
+        key = BinaryUtil.hmacSHA256(key, bytes("s3"));
+        key = BinaryUtil.hmacSHA256(key, bytes("aws4_request"));
+
+        chunk1Hash = BinaryUtil.hexEncodedHash(chunkData(65536));
+        chunk2Hash = BinaryUtil.hexEncodedHash(chunkData(1024));
+        session = new ChunkSignatureSession(key, "20130524T000000Z",
+                "20130524/us-east-1/s3/aws4_request", SEED_SIGNATURE);
+    }
+
+    @Test
+    public void verifyShouldAcceptChunksOverSeveralBatches() {
+        assertEquals(1, session.verify(Arrays.asList(chunk1Hash),
+                Arrays.asList(CHUNK1_SIGNATURE)));
+        assertEquals(CHUNK1_SIGNATURE, session.getPreviousSignature());
+
+        assertEquals(2, session.verify(
+                Arrays.asList(chunk2Hash,
+                        ChunkSignatureSession.EMPTY_PAYLOAD_SHA256),
+                Arrays.asList(CHUNK2_SIGNATURE, FINAL_CHUNK_SIGNATURE)));
+        assertEquals(FINAL_CHUNK_SIGNATURE, session.getPreviousSignature());
+        assertTrue(session.isClosed());
+    }
+
+    @Test
+    public void verifyShouldNotChangeSessionOnMismatch() {
+        assertEquals(1, session.verify(Arrays.asList(chunk1Hash, chunk1Hash),
+                Arrays.asList(CHUNK1_SIGNATURE, CHUNK2_SIGNATURE)));
+        assertEquals(SEED_SIGNATURE, session.getPreviousSignature());
+        assertFalse(session.isClosed());
+
+        assertEquals(1, session.verify(Arrays.asList(chunk1Hash),
+                Arrays.asList(CHUNK1_SIGNATURE)));
+        assertEquals(CHUNK1_SIGNATURE, session.getPreviousSignature());
+    }
+
+    @Test
+    public void verifyShouldRejectChunksAfterFinalChunk() {
+        session.verify(Arrays.asList(chunk1Hash, chunk2Hash),
+                Arrays.asList(CHUNK1_SIGNATURE, CHUNK2_SIGNATURE));
+
+        assertEquals(1, session.verify(
+                Arrays.asList(ChunkSignatureSession.EMPTY_PAYLOAD_SHA256,
+                        chunk2Hash),
+                Arrays.asList(FINAL_CHUNK_SIGNATURE, CHUNK2_SIGNATURE)));
+        assertEquals(CHUNK2_SIGNATURE, session.getPreviousSignature());
+        assertFalse(session.isClosed());
+    }
+
+    @Test
+    public void verifyShouldRejectChunksOutOfOrder() {
+        assertEquals(0, session.verify(Arrays.asList(chunk2Hash),
+                Arrays.asList(CHUNK2_SIGNATURE)));
+        assertEquals(SEED_SIGNATURE, session.getPreviousSignature());
+    }
+
+    @Test
+    public void sessionShouldStayOpenUntilFinalChunk() {
+        session.verify(Arrays.asList(chunk1Hash),
+                Arrays.asList(CHUNK1_SIGNATURE));
+
+        assertFalse(session.isClosed());
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] chunkData(int length) {
+        byte[] data = new byte[length];
+        Arrays.fill(data, (byte) 'a');
+        return data;
+    }
+}
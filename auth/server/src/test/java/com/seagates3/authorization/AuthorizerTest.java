@@ -39,6 +39,9 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import com.seagates3.acl.ACLValidation;
 import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.dao.DAODispatcher;
+import com.seagates3.dao.DAOResource;
+import com.seagates3.dao.PolicyDAO;
 import com.seagates3.dao.ldap.AccountImpl;
 import com.seagates3.dao.ldap.LDAPUtils;
 import com.seagates3.dao.ldap.UserImpl;
@@ -54,7 +57,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 
 @RunWith(PowerMockRunner.class)
     @PrepareForTest({LDAPUtils.class, ACLValidation.class,
-                     BucketPolicyAuthorizer.class})
+                     BucketPolicyAuthorizer.class, DAODispatcher.class})
     @PowerMockIgnore({"javax.management.*"}) public class AuthorizerTest {
 
  private
@@ -112,6 +115,10 @@ import io.netty.handler.codec.http.HttpResponseStatus;
     authorizer = new Authorizer();
     PowerMockito.mockStatic(LDAPUtils.class);
     PowerMockito.mockStatic(ACLValidation.class);
+    // no IAM policies are attached to the requestors
+    PowerMockito.mockStatic(DAODispatcher.class);
+    PowerMockito.when(DAODispatcher.getResourceDAO(DAOResource.POLICY))
+        .thenReturn(Mockito.mock(PolicyDAO.class));
     mockAccountImpl = Mockito.mock(AccountImpl.class);
     mockAccount = Mockito.mock(Account.class);
     mockUserImpl = Mockito.mock(UserImpl.class);
@@ -361,6 +368,38 @@ import io.netty.handler.codec.http.HttpResponseStatus;
                  actualServerResponse.getResponseStatus());
   }
 
+  @Test public void authorizeBatch_decisionForEveryRequest() {
+    requestBody = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    requestBody.put(requestHeaderName, "true");
+    requestBody.put("Method", "DELETE");
+    requestBody.put("Request.1.S3Action", "DeleteObject");
+    requestBody.put("Request.1.ClientAbsoluteUri", "/seagatebucket/a.txt");
+    requestBody.put("Request.2.S3Action", "DeleteObject");
+    requestBody.put("Request.2.ClientAbsoluteUri", "/seagatebucket/b.txt");
+    ServerResponse actualServerResponse =
+        authorizer.authorizeBatch(requestor, requestBody);
+    assertEquals(HttpResponseStatus.OK,
+                 actualServerResponse.getResponseStatus());
+    assertTrue(actualServerResponse.getResponseBody().contains(
+        "<Decisions><member><Index>1</Index><Status>200</Status></member>" +
+        "<member><Index>2</Index><Status>200</Status></member></Decisions>"));
+    assertFalse(actualServerResponse.getResponseBody().contains("<ACL>"));
+  }
+
+  @Test public void authorizeBatch_invalidRequestIndex() {
+    requestBody = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    requestBody.put("Request.0.S3Action", "DeleteObject");
+    assertEquals(HttpResponseStatus.BAD_REQUEST,
+                 authorizer.authorizeBatch(requestor, requestBody)
+                     .getResponseStatus());
+
+    requestBody.clear();
+    requestBody.put("S3Action", "DeleteObject");
+    assertEquals(HttpResponseStatus.BAD_REQUEST,
+                 authorizer.authorizeBatch(requestor, requestBody)
+                     .getResponseStatus());
+  }
+
   /**
    * Below will test- PutBucketPolicy first time call
    */
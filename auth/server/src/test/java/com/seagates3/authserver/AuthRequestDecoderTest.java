@@ -27,8 +27,7 @@ import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpVersion;
-import io.netty.handler.codec.http.multipart.Attribute;
-import io.netty.handler.codec.http.multipart.InterfaceHttpData;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder.ErrorDataDecoderException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -37,17 +36,11 @@ import org.powermock.core.classloader.annotations.MockPolicy;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
-import org.powermock.reflect.internal.WhiteboxImpl;
 
-import java.io.IOException;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
 import static org.junit.Assert.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 @PowerMockIgnore({"javax.management.*"}) @RunWith(PowerMockRunner.class)
     @PrepareForTest({AuthRequestDecoder.class})
@@ -72,22 +65,47 @@ import static org.mockito.Mockito.when;
     }
 
     @Test
-    public void parseRequestBodyTest() throws Exception {
-        List<InterfaceHttpData> datas = mock(List.class);
-        Attribute data = mock(Attribute.class);
-        Iterator iterator = mock(Iterator.class);
-
-        when(iterator.hasNext()).thenReturn(Boolean.TRUE).thenReturn(Boolean.FALSE);
-        when(iterator.next()).thenReturn(data);
-        when(datas.iterator()).thenReturn(iterator);
-        when(data.getHttpDataType()).thenReturn(InterfaceHttpData.HttpDataType.Attribute);
-        when(data.getValue()).thenThrow(IOException.class);
-
-        Map<String, String> result = WhiteboxImpl.invokeMethod(authRequestDecoder,
-                "parseRequestBody", datas);
-
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
+    public void getRequestBodyAsMap_IgnoresCase() {
+        Map<String, String> result = authRequestDecoder.getRequestBodyAsMap();
+
+        assertEquals("AuthenticateUser", result.get("action"));
+        assertEquals("1,2", result.get("X-Amz-Meta-ICS.Meta-Version"));
+        assertTrue(result.containsKey("SAMLASSERTION"));
+        assertNull(result.get("Method"));
+    }
+
+    @Test
+    public void getRequestBodyAsMap_DecodesEscapes() {
+        Map<String, String> result = decode(
+                "ClientAbsoluteUri=%2Fbucket%2Fa+b%C3%A9&Action=List&&"
+                + "=ignored&Version&Action=Get&x-amz-acl=a&X-AMZ-ACL=b"
+                + "\r\nafter=body");
+
+        assertEquals(4, result.size());
+        assertEquals("/bucket/a b\u00e9", result.get("ClientAbsoluteUri"));
+        assertEquals("Get", result.get("Action"));
+        assertEquals("", result.get("Version"));
+        assertEquals("a,b", result.get("x-amz-acl"));
+        assertFalse(result.containsKey("after"));
+    }
+
+    @Test
+    public void getRequestBodyAsMap_EmptyBody() {
+        assertTrue(decode("").isEmpty());
+    }
+
+    @Test(expected = ErrorDataDecoderException.class)
+    public void getRequestBodyAsMap_MalformedEscape() {
+        decode("Action=AuthenticateUser&x-amz-date=%2");
+    }
+
+    private Map<String, String> decode(String params) {
+        ByteBuf byteBuf = Unpooled.buffer(params.length());
+        ByteBufUtil.writeUtf8(byteBuf, params);
+        FullHttpRequest request = new DefaultFullHttpRequest(
+                HttpVersion.HTTP_1_1, HttpMethod.POST, "/", byteBuf);
+
+        return new AuthRequestDecoder(request).getRequestBodyAsMap();
     }
 
     private ByteBuf getRequestBodyAsByteBuf() {
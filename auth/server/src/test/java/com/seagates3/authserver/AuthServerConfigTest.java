@@ -95,6 +95,29 @@ public class AuthServerConfigTest {
 
         assertFalse(AuthServerConfig.isFaultInjectionEnabled());
 
+        assertTrue(AuthServerConfig.isNettyEpollEnabled());
+
+        assertEquals(1024, AuthServerConfig.getNettySoBacklog());
+
+        assertTrue(AuthServerConfig.isNettyTcpNoDelay());
+
+        assertTrue(AuthServerConfig.isNettyPooledAllocator());
+
+        assertEquals(32768, AuthServerConfig.getNettyWriteBufferLowWaterMark());
+
+        assertEquals(65536,
+                AuthServerConfig.getNettyWriteBufferHighWaterMark());
+
+        assertEquals("openssl", AuthServerConfig.getSslProvider());
+
+        assertEquals("aes-gcm", AuthServerConfig.getSslCipherPolicy());
+
+        assertEquals(20480, AuthServerConfig.getSslSessionCacheSize());
+
+        assertEquals(300, AuthServerConfig.getSslSessionTimeout());
+
+        assertTrue(AuthServerConfig.isSslSessionTicketsEnabled());
+
         String[] expectedEndPoints = {"s3-us-west-2.seagate.com", "s3-us.seagate.com",
                 "s3-europe.seagate.com", "s3-asia.seagate.com"};
         assertArrayEquals(expectedEndPoints, AuthServerConfig.getEndpoints());
@@ -23,6 +23,7 @@ package com.seagates3.authserver;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -71,6 +72,7 @@ import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
 
 @PowerMockIgnore({"javax.management.*"}) @RunWith(PowerMockRunner.class)
     @PrepareForTest({AuthServerGetHandler.class, HttpUtil.class,
@@ -294,6 +296,8 @@ import io.netty.handler.ssl.SslHandler;
         handler = new AuthServerGetHandler(ctx, fullHttpRequest);
         WhiteboxImpl.invokeMethod(handler, "writeContent", raf, 1024L);
 
+        verify(pipeline).addBefore(anyString(), eq("chunkedWriter"),
+                any(ChunkedWriteHandler.class));
         verify(ctx).writeAndFlush(any(HttpChunkedInput.class),
                 any(ChannelProgressivePromise.class));
         verify(lastContentFuture).addListener(ChannelFutureListener.CLOSE);
@@ -22,6 +22,8 @@ package com.seagates3.authserver;
 
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.util.concurrent.EventExecutorGroup;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -29,8 +31,10 @@ import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(PowerMockRunner.class)
@@ -50,7 +54,12 @@ public class AuthServerHTTPInitializerTest {
         httpInitializer.initChannel(socketChannel);
 
         verify(socketChannel).pipeline();
+        verify(channelPipeline).addLast(eq("codec"),
+                any(HttpServerCodec.class));
+        verify(channelPipeline).addLast(eq("aggregator"),
+                any(HttpObjectAggregator.class));
         verify(channelPipeline).addLast(any(EventExecutorGroup.class),
                 any(AuthServerHandler.class));
+        verifyNoMoreInteractions(channelPipeline);
     }
 }
\ No newline at end of file
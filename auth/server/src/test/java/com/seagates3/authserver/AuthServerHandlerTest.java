@@ -21,6 +21,8 @@
 package com.seagates3.authserver;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
@@ -37,9 +39,13 @@ import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({AuthServerHandler.class, AuthServerConfig.class})
@@ -78,6 +84,44 @@ public class AuthServerHandlerTest {
         Mockito.verify(postHandler).run();
     }
 
+    @Test
+    public void channelReadTest_PipelinedRequestWaitsForResponse()
+            throws Exception {
+        Channel channel = mock(Channel.class);
+        ChannelConfig config = mock(ChannelConfig.class);
+        when(ctx.channel()).thenReturn(channel);
+        when(channel.config()).thenReturn(config);
+        when(ctx.executor()).thenReturn(ImmediateEventExecutor.INSTANCE);
+
+        Promise<Object> response = ImmediateEventExecutor.INSTANCE.newPromise();
+        AuthServerPostHandler postHandler = mock(AuthServerPostHandler.class);
+        when(httpRequest.method()).thenReturn(HttpMethod.POST);
+        whenNew(AuthServerPostHandler.class).withArguments(
+                ctx, httpRequest).thenReturn(postHandler);
+        PowerMockito.doReturn(response).when(postHandler).run();
+
+        FullHttpRequest nextRequest = mock(FullHttpRequest.class);
+        AuthServerPostHandler nextPostHandler =
+                mock(AuthServerPostHandler.class);
+        when(nextRequest.method()).thenReturn(HttpMethod.POST);
+        when(nextRequest.retain()).thenReturn(nextRequest);
+        whenNew(AuthServerPostHandler.class).withArguments(
+                ctx, nextRequest).thenReturn(nextPostHandler);
+
+        testHandler.channelRead(ctx, httpRequest);
+        testHandler.channelRead(ctx, nextRequest);
+
+        verify(nextPostHandler, never()).run();
+        verify(config).setAutoRead(false);
+
+        response.setSuccess(null);
+
+        verify(nextPostHandler).run();
+        verify(config).setAutoRead(true);
+        verify(ctx).flush();
+        verify(nextRequest, times(2)).release();
+    }
+
     @Test
     public void channelReadTest_GetRequest() throws Exception {
         AuthServerGetHandler getHandler = mock(AuthServerGetHandler.class);
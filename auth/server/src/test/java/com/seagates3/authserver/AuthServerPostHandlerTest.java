@@ -40,6 +40,7 @@ import java.util.TreeMap;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.powermock.api.mockito.mockpolicies.Slf4jMockPolicy;
 import org.powermock.core.classloader.annotations.MockPolicy;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
@@ -67,6 +68,8 @@ import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
 
 @PowerMockIgnore({"javax.management.*"}) @RunWith(PowerMockRunner.class)
     @PrepareForTest({AuthServerPostHandler.class, HttpUtil.class,
@@ -141,12 +144,13 @@ import io.netty.handler.codec.http.HttpVersion;
         when(requestResponse.getResponseBody()).thenReturn(responseBody);
         when(requestResponse.getResponseStatus()).thenReturn(HttpResponseStatus.OK);
         when(HttpUtil.isKeepAlive(fullHttpRequest)).thenReturn(Boolean.FALSE);
-        when(ctx.write(any(ServerResponse.class))).thenReturn(channelFuture);
+        when(ctx.writeAndFlush(any(ServerResponse.class)))
+            .thenReturn(channelFuture);
 
         handler = new AuthServerPostHandler(ctx, fullHttpRequest);
         WhiteboxImpl.invokeMethod(handler, "returnHTTPResponse", requestResponse);
 
-        verify(ctx).write(any(ServerResponse.class));
+        verify(ctx).writeAndFlush(any(ServerResponse.class));
         verify(channelFuture).addListener(ChannelFutureListener.CLOSE);
     }
 
@@ -168,12 +172,13 @@ import io.netty.handler.codec.http.HttpVersion;
         mockStatic(HttpUtil.class);
         ChannelFuture channelFuture = mock(ChannelFuture.class);
         when(HttpUtil.isKeepAlive(fullHttpRequest)).thenReturn(Boolean.FALSE);
-        when(ctx.write(any(ServerResponse.class))).thenReturn(channelFuture);
+        when(ctx.writeAndFlush(any(ServerResponse.class)))
+            .thenReturn(channelFuture);
 
         handler = new AuthServerPostHandler(ctx, fullHttpRequest);
         WhiteboxImpl.invokeMethod(handler, "returnHTTPResponse", response);
 
-        verify(ctx).write(response);
+        verify(ctx).writeAndFlush(response);
         verify(channelFuture).addListener(ChannelFutureListener.CLOSE);
     }
 
@@ -251,7 +256,48 @@ import io.netty.handler.codec.http.HttpVersion;
         handler = new AuthServerPostHandler(ctx, fullHttpRequest);
         WhiteboxImpl.invokeMethod(handler, "serveIamRequest", requestMap);
 
-        verify(iamController).serve(fullHttpRequest, requestMap);
+        verify(iamController).serveAsync(fullHttpRequest, requestMap);
+    }
+
+    @Test
+    public void runTest_IamResponseCompletedAsynchronously() throws Exception {
+        IAMController iamController = mock(IAMController.class);
+        Promise<ServerResponse> promise =
+                ImmediateEventExecutor.INSTANCE.newPromise();
+        ServerResponse serverResponse = new ServerResponse(
+                HttpResponseStatus.OK, "<AuthenticateUserResponse/>");
+        whenNew(IAMController.class).withNoArguments().thenReturn(iamController);
+        when(iamController.serveAsync(any(FullHttpRequest.class),
+                any(Map.class))).thenReturn(promise);
+
+        handler = new AuthServerPostHandler(ctx, fullHttpRequest);
+        handler.run();
+
+        verify(ctx, times(0)).writeAndFlush(any(FullHttpResponse.class));
+
+        promise.setSuccess(serverResponse);
+
+        verify(ctx).writeAndFlush(any(FullHttpResponse.class));
+    }
+
+    @Test
+    public void runTest_IamRequestFailedAsynchronously() throws Exception {
+        IAMController iamController = mock(IAMController.class);
+        Promise<ServerResponse> promise =
+                ImmediateEventExecutor.INSTANCE.newPromise();
+        whenNew(IAMController.class).withNoArguments().thenReturn(iamController);
+        when(iamController.serveAsync(any(FullHttpRequest.class),
+                any(Map.class))).thenReturn(promise);
+
+        handler = new AuthServerPostHandler(ctx, fullHttpRequest);
+        handler.run();
+        promise.setFailure(new IllegalStateException("ldap down"));
+
+        ArgumentCaptor<FullHttpResponse> captor =
+                ArgumentCaptor.forClass(FullHttpResponse.class);
+        verify(ctx).writeAndFlush(captor.capture());
+        assertEquals(HttpResponseStatus.INTERNAL_SERVER_ERROR,
+                captor.getValue().status());
     }
 
     private ByteBuf getRequestBodyAsByteBuf() {
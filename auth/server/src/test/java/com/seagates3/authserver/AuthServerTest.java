@@ -21,15 +21,15 @@
 package com.seagates3.authserver;
 
 import com.seagates3.dao.DAODispatcher;
+import com.seagates3.exception.SAMLInitializationException;
 import com.seagates3.exception.ServerInitialisationException;
 import com.seagates3.fi.FaultPoints;
 import com.seagates3.perf.S3Perf;
+import com.seagates3.saml.SAMLUtilV2;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
-import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.util.concurrent.EventExecutorGroup;
@@ -58,9 +58,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Properties;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
@@ -81,7 +83,8 @@ import static org.powermock.api.mockito.PowerMockito.whenNew;
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({SSLContextProvider.class, IAMResourceMapper.class, DAODispatcher.class,
         S3Perf.class, AuthServerConfig.class, LoggerFactory.class, AuthServer.class,
-        Paths.class, Configurator.class, FaultPoints.class})
+        Paths.class, Configurator.class, FaultPoints.class, SAMLUtilV2.class,
+        AuthServerTransport.class})
 @MockPolicy(Slf4jMockPolicy.class)
 @PowerMockIgnore({"javax.management.*"})
 
@@ -143,6 +146,8 @@ public class AuthServerTest {
         DAODispatcher.init();
         verifyStatic();
         S3Perf.init();
+        verifyStatic();
+        SAMLUtilV2.init();
         AuthServerConfig.readConfig(AuthServerConstants.RESOURCE_DIR,
                                     "authserver.properties",
                                     "keystore.properties");
@@ -155,14 +160,30 @@ public class AuthServerTest {
         verify(channelFuture).sync();
     }
 
+    @Test
+    public void mainTest_SamlBootstrapFailureShouldNotStopServer()
+            throws Exception {
+        mainTestHelper();
+        doThrow(new SAMLInitializationException("bootstrap failed"))
+                .when(SAMLUtilV2.class, "init");
+
+        AuthServer.main(new String[]{});
+
+        verifyStatic();
+        SAMLUtilV2.init();
+        verify(serverChannel).closeFuture();
+        verify(channelFuture).sync();
+    }
+
     @Test
     public void mainTest_HttpAndHttpsEnabled() throws Exception {
         mainTestHelper();
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpsEnabled");
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpEnabled");
         doReturn(serverChannel).when(AuthServer.class, "httpsServerBootstrap",
-                any(EventLoopGroup.class), any(EventLoopGroup.class),
-                any(EventExecutorGroup.class), any(String.class), anyInt());
+                any(AuthServerTransport.class), any(EventLoopGroup.class),
+                any(EventLoopGroup.class), any(EventExecutorGroup.class),
+                any(String.class), anyInt());
 
         AuthServer.main(new String[]{});
 
@@ -192,8 +213,9 @@ public class AuthServerTest {
         doReturn(Boolean.FALSE).when(AuthServerConfig.class, "isHttpsEnabled");
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpEnabled");
         doReturn(serverChannel).when(AuthServer.class, "httpServerBootstrap",
-                any(EventLoopGroup.class), any(EventLoopGroup.class),
-                any(EventExecutorGroup.class), any(String.class), anyInt());
+                any(AuthServerTransport.class), any(EventLoopGroup.class),
+                any(EventLoopGroup.class), any(EventExecutorGroup.class),
+                any(String.class), anyInt());
 
         AuthServer.main(new String[]{});
 
@@ -224,8 +246,9 @@ public class AuthServerTest {
         doReturn(Boolean.FALSE).when(AuthServerConfig.class, "isHttpEnabled");
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpsEnabled");
         doReturn(serverChannel).when(AuthServer.class, "httpsServerBootstrap",
-                any(EventLoopGroup.class), any(EventLoopGroup.class),
-                any(EventExecutorGroup.class), any(String.class), anyInt());
+                any(AuthServerTransport.class), any(EventLoopGroup.class),
+                any(EventLoopGroup.class), any(EventExecutorGroup.class),
+                any(String.class), anyInt());
 
         AuthServer.main(new String[]{});
 
@@ -266,8 +289,9 @@ public class AuthServerTest {
         mainTestHelper();
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpsEnabled");
         doReturn(serverChannel).when(AuthServer.class, "httpsServerBootstrap",
-                any(EventLoopGroup.class), any(EventLoopGroup.class),
-                any(EventExecutorGroup.class),any(String.class), anyInt());
+                any(AuthServerTransport.class), any(EventLoopGroup.class),
+                any(EventLoopGroup.class), any(EventExecutorGroup.class),
+                any(String.class), anyInt());
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isFaultInjectionEnabled");
 
         AuthServer.main(new String[]{});
@@ -300,8 +324,9 @@ public class AuthServerTest {
         doReturn(Boolean.FALSE).when(AuthServerConfig.class, "isHttpsEnabled");
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpEnabled");
         doReturn(serverChannel).when(AuthServer.class, "httpsServerBootstrap",
-                any(EventLoopGroup.class), any(EventLoopGroup.class),
-                any(EventExecutorGroup.class), any(String.class), anyInt());
+                any(AuthServerTransport.class), any(EventLoopGroup.class),
+                any(EventLoopGroup.class), any(EventExecutorGroup.class),
+                any(String.class), anyInt());
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isFaultInjectionEnabled");
 
         AuthServer.main(new String[]{});
@@ -334,8 +359,9 @@ public class AuthServerTest {
         doReturn(Boolean.FALSE).when(AuthServerConfig.class, "isHttpEnabled");
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpsEnabled");
         doReturn(serverChannel).when(AuthServer.class, "httpsServerBootstrap",
-                any(EventLoopGroup.class), any(EventLoopGroup.class),
-                any(EventExecutorGroup.class), any(String.class), anyInt());
+                any(AuthServerTransport.class), any(EventLoopGroup.class),
+                any(EventLoopGroup.class), any(EventExecutorGroup.class),
+                any(String.class), anyInt());
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isFaultInjectionEnabled");
 
         AuthServer.main(new String[]{});
@@ -386,16 +412,19 @@ public class AuthServerTest {
         mockStatic(DAODispatcher.class);
         mockStatic(S3Perf.class);
         mockStatic(FaultPoints.class);
+        mockStatic(SAMLUtilV2.class);
         doNothing().when(SSLContextProvider.class, "init");
         doNothing().when(IAMResourceMapper.class, "init");
         doNothing().when(DAODispatcher.class, "init");
         doNothing().when(S3Perf.class, "init");
         doNothing().when(FaultPoints.class, "init");
+        doNothing().when(SAMLUtilV2.class, "init");
 
         serverChannel = mock(Channel.class);
         doReturn(serverChannel).when(AuthServer.class, "httpServerBootstrap",
-                any(EventLoopGroup.class), any(EventLoopGroup.class),
-                any(EventExecutorGroup.class), any(String.class), anyInt());
+                any(AuthServerTransport.class), any(EventLoopGroup.class),
+                any(EventLoopGroup.class), any(EventExecutorGroup.class),
+                any(String.class), anyInt());
 
         channelFuture = mock(ChannelFuture.class);
         when(serverChannel.closeFuture()).thenReturn(channelFuture);
@@ -499,8 +528,10 @@ public class AuthServerTest {
         int port = 80;
         String defaultHost = "0.0.0.0";
 
+        AuthServerTransport transport = mock(AuthServerTransport.class);
         ServerBootstrap serverBootstrap = mock(ServerBootstrap.class);
-        whenNew(ServerBootstrap.class).withNoArguments().thenReturn(serverBootstrap);
+        when(transport.newServerBootstrap(bossGroup, workerGroup))
+                .thenReturn(serverBootstrap);
 
         LoggingHandler handler = mock(LoggingHandler.class);
         whenNew(LoggingHandler.class).withArguments(LogLevel.INFO).thenReturn(handler);
@@ -509,25 +540,22 @@ public class AuthServerTest {
         whenNew(AuthServerHTTPInitializer.class).withArguments(executorGroup)
                 .thenReturn(initializer);
 
-        when(serverBootstrap.option(ChannelOption.SO_BACKLOG, 1024)).thenReturn(serverBootstrap);
-        when(serverBootstrap.group(bossGroup, workerGroup)).thenReturn(serverBootstrap);
-        when(serverBootstrap.channel(NioServerSocketChannel.class)).thenReturn(serverBootstrap);
         when(serverBootstrap.handler(handler)).thenReturn(serverBootstrap);
         when(serverBootstrap.childHandler(initializer)).thenReturn(serverBootstrap);
 
         Channel serverChannel = mock(Channel.class);
-        ChannelFuture channelFuture = mock(ChannelFuture.class);
-        when(serverBootstrap.bind(defaultHost, port)).thenReturn(channelFuture);
-        when(channelFuture.sync()).thenReturn(channelFuture);
-        when(channelFuture.channel()).thenReturn(serverChannel);
+        when(transport.bind(serverBootstrap, defaultHost, port, bossGroupThreads))
+                .thenReturn(Arrays.asList(serverChannel));
+        WhiteboxImpl.setInternalState(AuthServer.class, "logger", mock(Logger.class));
 
         Object channel = WhiteboxImpl.invokeMethod(AuthServer.class,
-                "httpServerBootstrap", bossGroup, workerGroup, executorGroup, defaultHost, port);
+                "httpServerBootstrap", transport, bossGroup, workerGroup,
+                executorGroup, defaultHost, port);
 
-        assertTrue(channel instanceof Channel);
-        verify(serverBootstrap).bind(defaultHost, port);
-        verify(channelFuture).sync();
-        verify(channelFuture).channel();
+        assertSame(serverChannel, channel);
+        verify(serverBootstrap).handler(handler);
+        verify(serverBootstrap).childHandler(initializer);
+        verify(transport).bind(serverBootstrap, defaultHost, port, bossGroupThreads);
     }
 
     @Test
@@ -535,8 +563,10 @@ public class AuthServerTest {
         int port = 443;
         String defaultHost = "0.0.0.0";
 
+        AuthServerTransport transport = mock(AuthServerTransport.class);
         ServerBootstrap serverBootstrap = mock(ServerBootstrap.class);
-        whenNew(ServerBootstrap.class).withNoArguments().thenReturn(serverBootstrap);
+        when(transport.newServerBootstrap(bossGroup, workerGroup))
+                .thenReturn(serverBootstrap);
 
         LoggingHandler handler = mock(LoggingHandler.class);
         whenNew(LoggingHandler.class).withArguments(LogLevel.INFO).thenReturn(handler);
@@ -545,26 +575,22 @@ public class AuthServerTest {
         whenNew(AuthServerHTTPSInitializer.class).withArguments(executorGroup)
                 .thenReturn(initializer);
 
-        when(serverBootstrap.option(ChannelOption.SO_BACKLOG, 1024)).thenReturn(serverBootstrap);
-        when(serverBootstrap.group(bossGroup, workerGroup)).thenReturn(serverBootstrap);
-        when(serverBootstrap.channel(NioServerSocketChannel.class)).thenReturn(serverBootstrap);
         when(serverBootstrap.handler(handler)).thenReturn(serverBootstrap);
         when(serverBootstrap.childHandler(initializer)).thenReturn(serverBootstrap);
 
         Channel serverChannel = mock(Channel.class);
-        ChannelFuture channelFuture = mock(ChannelFuture.class);
-        when(serverBootstrap.bind(defaultHost, port)).thenReturn(channelFuture);
-        when(channelFuture.sync()).thenReturn(channelFuture);
-        when(channelFuture.channel()).thenReturn(serverChannel);
+        when(transport.bind(serverBootstrap, defaultHost, port, bossGroupThreads))
+                .thenReturn(Arrays.asList(serverChannel));
+        WhiteboxImpl.setInternalState(AuthServer.class, "logger", mock(Logger.class));
 
         Object channel = WhiteboxImpl.invokeMethod(AuthServer.class,
-                "httpsServerBootstrap", bossGroup, workerGroup, executorGroup, defaultHost, port);
+                "httpsServerBootstrap", transport, bossGroup, workerGroup,
+                executorGroup, defaultHost, port);
 
-        assertTrue(channel instanceof Channel);
-
-        verify(serverBootstrap).bind(defaultHost, port);
-        verify(channelFuture).sync();
-        verify(channelFuture).channel();
+        assertSame(serverChannel, channel);
+        verify(serverBootstrap).handler(handler);
+        verify(serverBootstrap).childHandler(initializer);
+        verify(transport).bind(serverBootstrap, defaultHost, port, bossGroupThreads);
     }
 
     @Test
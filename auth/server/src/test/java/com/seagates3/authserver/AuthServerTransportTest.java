@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import org.junit.Test;
+
+public class AuthServerTransportTest {
+
+    @Test
+    public void bindTest_Nio() throws Exception {
+        AuthServerTransport transport = new AuthServerTransport(false);
+        assertFalse(transport.isEpoll());
+
+        EventLoopGroup group = transport.newEventLoopGroup(1);
+        try {
+            assertTrue(group instanceof NioEventLoopGroup);
+            ServerBootstrap b = transport.newServerBootstrap(group, group)
+                    .childHandler(new ChannelInboundHandlerAdapter());
+
+            List<Channel> channels = transport.bind(b, "127.0.0.1", 0, 4);
+            assertEquals(1, channels.size());
+            assertTrue(channels.get(0) instanceof NioServerSocketChannel);
+            channels.get(0).close().sync();
+        } finally {
+            group.shutdownGracefully().sync();
+        }
+    }
+
+    @Test
+    public void bindTest_EpollListenerPerBossThread() throws Exception {
+        assumeTrue(Epoll.isAvailable());
+        AuthServerTransport transport = new AuthServerTransport(true);
+        assertTrue(transport.isEpoll());
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        EventLoopGroup group = transport.newEventLoopGroup(2);
+        try {
+            assertTrue(group instanceof EpollEventLoopGroup);
+            ServerBootstrap b = transport.newServerBootstrap(group, group)
+                    .childHandler(new ChannelInboundHandlerAdapter());
+
+            List<Channel> channels = transport.bind(b, "127.0.0.1", port, 2);
+            assertEquals(2, channels.size());
+            for (Channel channel : channels) {
+                assertTrue(channel instanceof EpollServerSocketChannel);
+                assertEquals(port,
+                        ((InetSocketAddress) channel.localAddress()).getPort());
+                channel.close().sync();
+            }
+        } finally {
+            group.shutdownGracefully().sync();
+        }
+    }
+
+    @Test(expected = BindException.class)
+    public void bindTest_EpollPortInUse() throws Exception {
+        assumeTrue(Epoll.isAvailable());
+        AuthServerTransport transport = new AuthServerTransport(true);
+
+        EventLoopGroup group = transport.newEventLoopGroup(1);
+        try (ServerSocket socket = new ServerSocket(0, 50,
+                InetAddress.getByName("127.0.0.1"))) {
+            ServerBootstrap b = transport.newServerBootstrap(group, group)
+                    .childHandler(new ChannelInboundHandlerAdapter());
+
+            transport.bind(b, "127.0.0.1", socket.getLocalPort(), 2);
+        } finally {
+            group.shutdownGracefully().sync();
+        }
+    }
+}
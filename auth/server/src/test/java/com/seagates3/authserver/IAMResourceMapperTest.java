@@ -57,4 +57,12 @@ public class IAMResourceMapperTest {
     public void getResourceMapTest_InvalidAction() throws AuthResourceNotFoundException {
         IAMResourceMapper.getResourceMap("RandomAction");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getResourceMapTest_ReturnsRouteCompiledAtInit()
+            throws AuthResourceNotFoundException {
+        ResourceMap resourceMap = IAMResourceMapper.getResourceMap("CreateUser");
+
+        assertSame(resourceMap, IAMResourceMapper.getResourceMap("CreateUser"));
+    }
+}
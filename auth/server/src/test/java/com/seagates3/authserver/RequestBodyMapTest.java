@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.Test;
+
+public class RequestBodyMapTest {
+
+    @Test
+    public void putTest_IgnoresCase() {
+        RequestBodyMap map = new RequestBodyMap();
+        assertNull(map.put("Action", "AuthenticateUser"));
+        assertEquals("AuthenticateUser", map.put("ACTION", "AuthorizeUser"));
+
+        assertEquals(1, map.size());
+        assertEquals("AuthorizeUser", map.get("action"));
+        assertTrue(map.containsKey("aCtIoN"));
+        assertEquals("Action", map.keySet().iterator().next());
+        assertNull(map.get("Method"));
+        assertNull(map.get(null));
+    }
+
+    @Test
+    public void addFieldTest_JoinsAmzHeaders() {
+        RequestBodyMap map = new RequestBodyMap();
+        map.addField("x-amz-meta-a", RequestBodyMap.hash("x-amz-meta-a"), "1");
+        map.addField("X-Amz-Meta-A", RequestBodyMap.hash("X-Amz-Meta-A"), "2");
+        map.addField("Method", RequestBodyMap.hash("Method"), "GET");
+        map.addField("method", RequestBodyMap.hash("method"), "PUT");
+
+        assertEquals("1,2", map.get("x-amz-meta-a"));
+        assertEquals("PUT", map.get("Method"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void growTest_KeepsInsertionOrder() {
+        RequestBodyMap map = new RequestBodyMap(2);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add("key" + i);
+            map.put("key" + i, Integer.toString(i));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(Integer.toString(i), map.remove("KEY" + i));
+            keys.remove("key" + i);
+        }
+        map.put("key200", "200");
+        keys.add("key200");
+
+        assertEquals(51, map.size());
+        assertEquals(keys, new ArrayList<>(map.keySet()));
+        assertNull(map.get("key0"));
+        assertEquals("99", map.get("KEY99"));
+    }
+
+    @Test
+    public void entrySetTest_RemoveAndSetValue() {
+        RequestBodyMap map = new RequestBodyMap();
+        map.put("a", "1");
+        map.put("b", "2");
+        map.put("c", "3");
+
+        Iterator<Map.Entry<String, String>> it = map.entrySet().iterator();
+        it.next().setValue("10");
+        it.next();
+        it.remove();
+
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey("B"));
+        assertEquals(Arrays.asList("a", "c"), new ArrayList<>(map.keySet()));
+        assertEquals("10", map.get("A"));
+    }
+
+    @Test
+    public void equalsTest_CaseInsensitiveTreeMap() {
+        Map<String, String> expected
+                = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        expected.put("Action", "AuthenticateUser");
+        expected.put("x-amz-date", "20200122T062243Z");
+        RequestBodyMap map = new RequestBodyMap();
+        map.put("x-amz-date", "20200122T062243Z");
+        map.put("Action", "AuthenticateUser");
+
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("Action"));
+    }
+}
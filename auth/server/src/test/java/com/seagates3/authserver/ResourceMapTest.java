@@ -20,10 +20,15 @@
 
 package com.seagates3.authserver;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class ResourceMapTest {
 
@@ -55,4 +60,26 @@ public class ResourceMapTest {
     public void getParamValidatorMethodTest() {
         assertEquals("isValidCreateParams", resourceMap.getParamValidatorMethod());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void isValidRequestTest() throws Exception {
+        Map<String, String> requestBody = new TreeMap<>();
+        requestBody.put("AccountName", "valid-name");
+        requestBody.put("Email", "xyz@email.com");
+
+        assertTrue(resourceMap.isValidRequest(requestBody));
+
+        requestBody.put("AccountName", "invalid!name");
+        assertFalse(resourceMap.isValidRequest(requestBody));
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void compileTest_UnknownController() throws Exception {
+        new ResourceMap("Unknown", "create").compile();
+    }
+
+    @Test(expected = NoSuchMethodException.class)
+    public void compileTest_UnknownAction() throws Exception {
+        new ResourceMap("Account", "unknown").compile();
+    }
+}
@@ -23,13 +23,20 @@ package com.seagates3.authserver;
 import com.seagates3.exception.ServerInitialisationException;
 
 import io.netty.channel.EventLoopGroup;
+import io.netty.handler.ssl.CipherSuiteFilter;
+import io.netty.handler.ssl.OpenSslSessionContext;
+import io.netty.handler.ssl.OpenSslSessionTicketKey;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
 import io.netty.util.concurrent.EventExecutorGroup;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.api.mockito.mockpolicies.Slf4jMockPolicy;
 import org.powermock.core.classloader.annotations.MockPolicy;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
@@ -42,15 +49,20 @@ import javax.net.ssl.SSLException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
 import static org.powermock.api.mockito.PowerMockito.doReturn;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
+import static org.mockito.Mockito.verify;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({AuthServerConfig.class, KeyManagerFactory.class, SslContextBuilder.class})
@@ -104,6 +116,38 @@ public class SSLContextProviderTest {
         assertEquals(28051, SSLContextProvider.getHttpsPort());
     }
 
+    @Test
+    public void initTest_HttpsEnabled_JdkProvider() throws Exception {
+        mockStatic(KeyManagerFactory.class);
+        mockStatic(SslContextBuilder.class);
+
+        KeyManagerFactory kmf = mock(KeyManagerFactory.class);
+        SslContextBuilder contextBuilder = mock(SslContextBuilder.class);
+        SslContext sslContext = mock(SslContext.class);
+        when(AuthServerConfig.getKeyStorePath()).thenReturn(
+            Paths.get("..", "..", "scripts", "s3authserver.jks_template"));
+        when(AuthServerConfig.getKeyStorePassword()).thenReturn("seagate");
+        when(AuthServerConfig.getKeyPassword()).thenReturn("seagate");
+        when(AuthServerConfig.getSslProvider()).thenReturn("jdk");
+        when(AuthServerConfig.getSslCipherPolicy()).thenReturn("aes-gcm");
+        when(AuthServerConfig.getSslSessionCacheSize()).thenReturn(20480);
+        when(AuthServerConfig.getSslSessionTimeout()).thenReturn(300);
+        when(AuthServerConfig.isSslSessionTicketsEnabled()).thenReturn(true);
+        when(KeyManagerFactory.getInstance(anyString())).thenReturn(kmf);
+        when(SslContextBuilder.forServer(kmf)).thenReturn(contextBuilder);
+
+        when(contextBuilder.build()).thenReturn(sslContext);
+
+        SSLContextProvider.init();
+
+        assertEquals(sslContext, SSLContextProvider.getServerContext());
+        verify(contextBuilder).sslProvider(SslProvider.JDK);
+        verify(contextBuilder).ciphers(any(Iterable.class),
+                any(CipherSuiteFilter.class));
+        verify(contextBuilder).sessionCacheSize(20480);
+        verify(contextBuilder).sessionTimeout(300);
+    }
+
     @Test(expected = ServerInitialisationException.class)
     public void initTest_HttpsEnabled_NoSuchAlgorithm()
                                     throws ServerInitialisationException {
@@ -114,4 +158,39 @@ public class SSLContextProviderTest {
 
         SSLContextProvider.init();
     }
+
+    @Test
+    public void sessionTicketKeyRotatorTest() {
+        OpenSslSessionContext sessionContext
+                = mock(OpenSslSessionContext.class);
+        final List<OpenSslSessionTicketKey[]> ticketKeys = new ArrayList<>();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                Object[] keys = invocation.getArguments();
+                ticketKeys.add(Arrays.copyOf(keys, keys.length,
+                        OpenSslSessionTicketKey[].class));
+                return null;
+            }
+        }).when(sessionContext).setTicketKeys(
+                Matchers.<OpenSslSessionTicketKey>anyVararg());
+
+        SSLContextProvider.SessionTicketKeyRotator rotator
+                = new SSLContextProvider.SessionTicketKeyRotator(
+                        sessionContext);
+        assertTrue(rotator.rotate());
+        assertTrue(rotator.rotate());
+        assertTrue(rotator.rotate());
+
+        assertEquals(3, ticketKeys.size());
+        assertEquals(1, ticketKeys.get(0).length);
+        for (int i = 1; i < ticketKeys.size(); i++) {
+            OpenSslSessionTicketKey[] keys = ticketKeys.get(i);
+            assertEquals(2, keys.length);
+            assertNotSame(ticketKeys.get(i - 1)[0], keys[0]);
+            assertFalse(Arrays.equals(ticketKeys.get(i - 1)[0].aesKey(),
+                    keys[0].aesKey()));
+            assertSame(ticketKeys.get(i - 1)[0], keys[1]);
+        }
+    }
 }
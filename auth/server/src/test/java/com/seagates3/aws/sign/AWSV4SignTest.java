@@ -25,6 +25,7 @@ import com.seagates3.aws.AWSV4RequestHelper;
 import com.seagates3.exception.InvalidTokenException;
 import com.seagates3.authentication.ClientRequestToken;
 import com.seagates3.model.Requestor;
+import com.seagates3.service.GlobalDataStore;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -171,4 +172,48 @@ public class AWSV4SignTest {
         }
     }
 
+    @Test
+    public void Authenticate_RepeatedRequest_UsesCachedSigningKey()
+            throws InvalidTokenException {
+        ClientRequestToken requestToken
+                = AWSV4RequestHelper.getRequestClientTokenPathStyle();
+        String scope = requestToken.getDate() + "/" + requestToken.getRegion()
+                + "/" + requestToken.getService();
+
+        Assert.assertTrue(awsv4Sign.authenticate(requestToken, requestor));
+        Assert.assertNotNull(GlobalDataStore.getInstance().getFromSigningKeyMap(
+                requestToken.getAccessKeyId(), scope));
+        Assert.assertTrue(awsv4Sign.authenticate(requestToken, requestor));
+    }
+
+    @Test
+    public void Authenticate_SecretKeyChanged_False()
+            throws InvalidTokenException {
+        ClientRequestToken requestToken
+                = AWSV4RequestHelper.getRequestClientTokenPathStyle();
+        Requestor changedRequestor = AWSV4RequestHelper.getRequestorMock(
+                requestor.getAccesskey().getId(), "changed-secret-key");
+
+        Assert.assertTrue(awsv4Sign.authenticate(requestToken, requestor));
+        Assert.assertFalse(
+                awsv4Sign.authenticate(requestToken, changedRequestor));
+    }
+
+    @Test
+    public void Authenticate_AccessKeyInvalidated_SecretKeyChanged_False()
+            throws InvalidTokenException {
+        ClientRequestToken requestToken
+                = AWSV4RequestHelper.getRequestClientTokenPathStyle();
+        Requestor changedRequestor = AWSV4RequestHelper.getRequestorMock(
+                requestor.getAccesskey().getId(), "changed-secret-key");
+
+        Assert.assertTrue(awsv4Sign.authenticate(requestToken, requestor));
+        GlobalDataStore.getInstance().invalidateAccessKey(
+                requestToken.getAccessKeyId());
+
+        // The cached signing key is not used with the new secret key.
+        Assert.assertFalse(
+                awsv4Sign.authenticate(requestToken, changedRequestor));
+        Assert.assertTrue(awsv4Sign.authenticate(requestToken, requestor));
+    }
 }
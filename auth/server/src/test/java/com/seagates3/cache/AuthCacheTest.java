@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public
+class AuthCacheTest {
+
+  /**
+   * Cache whose clock is advanced manually.
+   */
+ private
+  static class TestCache extends AuthCache<String, String> {
+
+    long now = 1000;
+
+    TestCache(int maxEntries, long ttlMillis) {
+      super("test", maxEntries, ttlMillis);
+    }
+
+    @Override protected long currentTimeMillis() { return now; }
+  }
+
+  @Test public void getShouldReturnCachedValue() {
+    TestCache cache = new TestCache(10, 1000);
+    cache.put("AKIA1", "requestor1");
+
+    assertEquals("requestor1", cache.get("AKIA1"));
+    assertNull(cache.get("AKIA2"));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test public void getShouldDropExpiredEntry() {
+    TestCache cache = new TestCache(10, 1000);
+    cache.put("AKIA1", "requestor1");
+
+    cache.now += 999;
+    assertEquals("requestor1", cache.get("AKIA1"));
+
+    cache.now += 1;
+    assertNull(cache.get("AKIA1"));
+    assertEquals(0, cache.size());
+    assertEquals(1, cache.getExpiredCount());
+  }
+
+  @Test public void cleanUpShouldDropExpiredEntries() {
+    TestCache cache = new TestCache(10, 1000);
+    cache.put("AKIA1", "requestor1");
+    cache.now += 500;
+    cache.put("AKIA2", "requestor2");
+    cache.now += 600;
+
+    cache.cleanUp();
+
+    assertEquals(1, cache.size());
+    assertEquals("requestor2", cache.get("AKIA2"));
+  }
+
+  @Test public void putShouldEvictLeastRecentlyUsedEntry() {
+    TestCache cache = new TestCache(1, 0);
+    cache.put("AKIA1", "requestor1");
+    cache.put("AKIA2", "requestor2");
+
+    assertEquals(1, cache.size());
+    assertNull(cache.get("AKIA1"));
+    assertEquals("requestor2", cache.get("AKIA2"));
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  @Test public void sizeShouldNeverExceedMaxEntries() {
+    TestCache cache = new TestCache(64, 0);
+    for (int i = 0; i < 10000; i++) {
+      cache.put("AKIA" + i, "requestor" + i);
+    }
+
+    assertTrue(cache.size() <= 64);
+    assertEquals(10000 - cache.size(), cache.getEvictionCount());
+  }
+
+  @Test public void removeShouldInvalidateEntry() {
+    TestCache cache = new TestCache(10, 0);
+    cache.put("AKIA1", "requestor1");
+
+    assertEquals("requestor1", cache.remove("AKIA1"));
+    assertNull(cache.get("AKIA1"));
+    assertNull(cache.remove("AKIA1"));
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void
+      constructorShouldRejectNonPositiveSize() {
+    new AuthCache<String, String>("test", 0, 0);
+  }
+
+  @Test public void concurrentAccessShouldKeepCacheBounded()
+      throws Exception {
+    final AuthCache<String, String> cache =
+        new AuthCache<>("test", 100, 0);
+    final int threads = 8;
+    final CountDownLatch start = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(threads);
+    final AtomicInteger failures = new AtomicInteger();
+
+    for (int t = 0; t < threads; t++) {
+      final int id = t;
+      new Thread() {
+        @Override public void run() {
+          try {
+            start.await();
+            for (int i = 0; i < 5000; i++) {
+              String key = "AKIA" + ((id * 31 + i) % 500);
+              cache.put(key, key);
+              String value = cache.get(key);
+              if (value != null && !value.equals(key)) {
+                failures.incrementAndGet();
+              }
+            }
+          }
+          catch (Exception e) {
+            failures.incrementAndGet();
+          }
+          finally { done.countDown(); }
+        }
+      }.start();
+    }
+    start.countDown();
+    done.await();
+
+    assertEquals(0, failures.get());
+    assertTrue(cache.size() <= 100);
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public
+class ContentHashCacheTest {
+
+  @Test public void getShouldReturnPutValue() {
+    ContentHashCache<Object> cache = new ContentHashCache<Object>("test", 10);
+    Object value = new Object();
+
+    assertNull(cache.get("policy1"));
+    assertSame(value, cache.put("policy1", value));
+    assertSame(value, cache.get("policy1"));
+    assertSame(value, cache.get(new String("policy1")));
+    assertEquals(1, cache.getSharedCache().size());
+  }
+
+  @Test public void otherThreadsShouldShareCachedValue() throws Exception {
+    final ContentHashCache<Object> cache =
+        new ContentHashCache<Object>("test", 10);
+    final Object value = new Object();
+    final Object[] found = new Object[1];
+    cache.put("policy1", value);
+
+    Thread thread = new Thread() {
+      @Override public void run() { found[0] = cache.get("policy1"); }
+    };
+    thread.start();
+    thread.join();
+
+    assertSame(value, found[0]);
+  }
+
+  @Test public void lastValueShouldBeRememberedWhenSharedCacheIsDisabled() {
+    ContentHashCache<Object> cache = new ContentHashCache<Object>("test", 0);
+    Object value = new Object();
+
+    assertNull(cache.getSharedCache());
+    cache.put("policy1", value);
+    assertSame(value, cache.get("policy1"));
+    assertNull(cache.get("policy2"));
+    assertNull(cache.get("policy1"));
+  }
+
+  @Test public void missShouldNotBeRemembered() {
+    ContentHashCache<Object> cache = new ContentHashCache<Object>("test", 10);
+    Object value = new Object();
+
+    assertNull(cache.get("policy1"));
+    assertNull(cache.get("policy1"));
+    cache.put("policy2", value);
+    assertSame(value, cache.get("policy2"));
+    assertNull(cache.get("policy1"));
+    assertEquals(1, cache.getSharedCache().size());
+  }
+}
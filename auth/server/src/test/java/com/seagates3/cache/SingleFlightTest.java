@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public
+class SingleFlightTest {
+
+  @Test public void executeShouldReturnLoadedValue() throws Exception {
+    SingleFlight<String, String> loader = new SingleFlight<>();
+
+    String value = loader.execute("AKIA1", new Callable<String>() {
+      @Override public String call() { return "requestor1"; }
+    });
+
+    assertEquals("requestor1", value);
+    assertEquals(1, loader.getLoadCount());
+    assertFalse(loader.isInFlight("AKIA1"));
+  }
+
+  @Test public void executeShouldPropagateLoaderException() throws Exception {
+    SingleFlight<String, String> loader = new SingleFlight<>();
+
+    try {
+      loader.execute("AKIA1", new Callable<String>() {
+        @Override public String call() throws Exception {
+          throw new IllegalStateException("ldap down");
+        }
+      });
+      fail("Should throw ExecutionException");
+    }
+    catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+    assertFalse(loader.isInFlight("AKIA1"));
+  }
+
+  @Test public void concurrentCallersShouldShareOneLoad() throws Exception {
+    final SingleFlight<String, String> loader = new SingleFlight<>();
+    final int threads = 8;
+    final CountDownLatch loadStarted = new CountDownLatch(1);
+    final CountDownLatch releaseLoad = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(threads);
+    final AtomicInteger loads = new AtomicInteger();
+    final AtomicInteger failures = new AtomicInteger();
+
+    final Callable<String> slowLoad = new Callable<String>() {
+      @Override public String call() throws Exception {
+        loads.incrementAndGet();
+        loadStarted.countDown();
+        releaseLoad.await();
+        return "requestor1";
+      }
+    };
+
+    for (int t = 0; t < threads; t++) {
+      new Thread() {
+        @Override public void run() {
+          try {
+            if (!"requestor1".equals(loader.execute("AKIA1", slowLoad))) {
+              failures.incrementAndGet();
+            }
+          }
+          catch (Exception e) {
+            failures.incrementAndGet();
+          }
+          finally { done.countDown(); }
+        }
+      }.start();
+    }
+
+    assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+    // Give the remaining callers time to join the in flight load.
+    while (loader.getSharedCount() < threads - 1 && done.getCount() > 0) {
+      Thread.sleep(10);
+    }
+    releaseLoad.countDown();
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+
+    assertEquals(0, failures.get());
+    assertEquals(1, loads.get());
+    assertEquals(threads - 1, loader.getSharedCount());
+  }
+
+  @Test public void executeAsyncShouldSkipWhenLoadInFlight() throws Exception {
+    SingleFlight<String, String> loader = new SingleFlight<>();
+    final Runnable[] submitted = new Runnable[1];
+    Executor executor = new Executor() {
+      @Override public void execute(Runnable command) {
+        submitted[0] = command;
+      }
+    };
+    Callable<String> load = new Callable<String>() {
+      @Override public String call() { return "requestor1"; }
+    };
+
+    assertTrue(loader.executeAsync("AKIA1", load, executor));
+    assertTrue(loader.isInFlight("AKIA1"));
+    assertFalse(loader.executeAsync("AKIA1", load, executor));
+
+    submitted[0].run();
+
+    assertFalse(loader.isInFlight("AKIA1"));
+    assertEquals(1, loader.getLoadCount());
+  }
+}
@@ -83,7 +83,6 @@ import com.seagates3.model.Account;
 import com.seagates3.model.Requestor;
 import com.seagates3.response.ServerResponse;
 import com.seagates3.response.generator.AuthenticationResponseGenerator;
-import com.seagates3.response.generator.AuthorizationResponseGenerator;
 import com.seagates3.service.RequestorService;
 import com.seagates3.util.BinaryUtil;
 
@@ -215,17 +214,25 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 
   @Test public void serveTest_AccessDenied_No_Authheader() throws Exception {
     requestBody.put("Action", "AuthenticateUser");
+    when(ClientRequestParser.parse(httpRequest, requestBody))
+        .thenCallRealMethod();
     ServerResponse response = controller.serve(httpRequest, requestBody);
 
-    assertEquals(new AuthorizationResponseGenerator().AccessDenied(), response);
+    assertEquals(HttpResponseStatus.FORBIDDEN, response.getResponseStatus());
+    assertTrue(
+        response.getResponseBody().contains("<Code>AccessDenied</Code>"));
   }
 
   @Test public void serveTest_AccessDenied_Empty_Authheader() throws Exception {
     requestBody.put("Action", "AuthenticateUser");
     requestBody.put("authorization", "");
+    when(ClientRequestParser.parse(httpRequest, requestBody))
+        .thenCallRealMethod();
     ServerResponse response = controller.serve(httpRequest, requestBody);
 
-    assertEquals(new AuthorizationResponseGenerator().AccessDenied(), response);
+    assertEquals(HttpResponseStatus.FORBIDDEN, response.getResponseStatus());
+    assertTrue(
+        response.getResponseBody().contains("<Code>AccessDenied</Code>"));
   }
 
   @Test public void serveTest_AuthorizeUser() throws Exception {
@@ -268,6 +275,10 @@ import io.netty.handler.codec.http.HttpResponseStatus;
     when(account.getCanonicalId()).thenReturn("MH12");
     when(RequestorService.getRequestor(clientRequestToken))
         .thenReturn(requestor);
+    // no IAM policies are attached to the user
+    mockStatic(DAODispatcher.class);
+    when(DAODispatcher.getResourceDAO(DAOResource.POLICY))
+        .thenReturn(mock(PolicyDAO.class));
     requestBody.put("Method", "GET");
     requestBody.put("ClientAbsoluteUri", "/seagatebucket-aj01/dir-1/abc1");
     requestBody.put("ACL", BinaryUtil.encodeToBase64String(acl));
@@ -575,10 +586,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
   }
 
   @Test public void validateRequestTest() throws Exception {
-    when(resourceMap.getParamValidatorClass()).thenReturn(
-        "com.seagates3.parameter.validator.AccountParameterValidator");
-    when(resourceMap.getParamValidatorMethod())
-        .thenReturn("isValidCreateParams");
+    resourceMap = new ResourceMap("Account", "create");
 
     Boolean result = WhiteboxImpl.invokeMethod(controller, "validateRequest",
                                                resourceMap, requestBody);
@@ -678,10 +686,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 
   @Test public void validateRequestTest_ClassNotFoundException()
       throws Exception {
-    when(resourceMap.getParamValidatorClass()).thenReturn(
-        "com.seagates3.parameter.validator.UnknownParameterValidator");
-    when(resourceMap.getParamValidatorMethod())
-        .thenReturn("isValidCreateParams");
+    resourceMap = new ResourceMap("Unknown", "create");
 
     Boolean result = WhiteboxImpl.invokeMethod(controller, "validateRequest",
                                                resourceMap, requestBody);
@@ -691,10 +696,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 
   @Test public void validateRequestTest_NoSuchMethodException()
       throws Exception {
-    when(resourceMap.getParamValidatorClass()).thenReturn(
-        "com.seagates3.parameter.validator.AccountParameterValidator");
-    when(resourceMap.getParamValidatorMethod())
-        .thenReturn("isValidUnknownParams");
+    resourceMap = new ResourceMap("Account", "unknown");
 
     Boolean result = WhiteboxImpl.invokeMethod(controller, "validateRequest",
                                                resourceMap, requestBody);
@@ -703,10 +705,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
   }
 
   @Test public void validateRequestTest_N() throws Exception {
-    when(resourceMap.getParamValidatorClass()).thenReturn(
-        "com.seagates3.parameter.validator.AccountParameterValidator");
-    when(resourceMap.getParamValidatorMethod())
-        .thenReturn("isValidCreateParams");
+    resourceMap = new ResourceMap("Account", "create");
 
     Boolean result = WhiteboxImpl.invokeMethod(controller, "validateRequest",
                                                resourceMap, requestBody);
@@ -872,8 +871,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 
   @Test public void performActionTest_ClassNotFoundException()
       throws Exception {
-    when(resourceMap.getControllerClass())
-        .thenReturn("com.seagates3.controller.UnknownController");
+    resourceMap = new ResourceMap("Unknown", "list");
 
     ServerResponse result = WhiteboxImpl.invokeMethod(
         controller, "performAction", resourceMap, requestBody, requestor);
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.dao;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.dao.ldap.AccessKeyImpl;
+import com.seagates3.dao.ldap.LdapConnectionManager;
+import com.seagates3.dao.ldap.LdapDAOFactory;
+import com.seagates3.dao.ldap.RequestorImpl;
+import com.seagates3.exception.ServerInitialisationException;
+
+@RunWith(PowerMockRunner.class)
+    @PrepareForTest({AuthServerConfig.class, LdapConnectionManager.class})
+    @PowerMockIgnore({"javax.management.*"}) public class DAODispatcherTest {
+
+    @Before
+    public void setUp() throws Exception {
+        mockStatic(AuthServerConfig.class);
+        mockStatic(LdapConnectionManager.class);
+        when(AuthServerConfig.getDataSource()).thenReturn("ldap");
+        DAODispatcher.registerFactory(new LdapDAOFactory());
+    }
+
+    @Test
+    public void initTest_ShouldCreateLdapDAOs() throws Exception {
+        DAODispatcher.init();
+
+        verifyStatic();
+        LdapConnectionManager.initLdap();
+        assertTrue(DAODispatcher.getResourceDAO(DAOResource.ACCESS_KEY)
+                   instanceof AccessKeyImpl);
+        assertTrue(DAODispatcher.getResourceDAO(DAOResource.REQUESTOR)
+                   instanceof RequestorImpl);
+        assertNull(DAODispatcher.getResourceDAO(DAOResource.REQUESTEE));
+    }
+
+    @Test
+    public void getResourceDAOTest_ShouldReturnSharedInstance()
+            throws Exception {
+        DAODispatcher.init();
+
+        assertSame(DAODispatcher.getResourceDAO(DAOResource.USER),
+                   DAODispatcher.getResourceDAO(DAOResource.USER));
+    }
+
+    @Test
+    public void initTest_ShouldUseRegisteredFactory() throws Exception {
+        final Object accountDAO = new Object();
+        DAODispatcher.registerFactory(new DAOFactory() {
+            @Override
+            public DAOProvider getProvider() {
+                return DAOProvider.LDAP;
+            }
+
+            @Override
+            public void init() {}
+
+            @Override
+            public Object createDAO(DAOResource daoResource) {
+                return daoResource == DAOResource.ACCOUNT ? accountDAO : null;
+            }
+        });
+
+        DAODispatcher.init();
+
+        assertSame(accountDAO,
+                   DAODispatcher.getResourceDAO(DAOResource.ACCOUNT));
+        assertNull(DAODispatcher.getResourceDAO(DAOResource.USER));
+    }
+
+    @Test(expected = ServerInitialisationException.class)
+    public void initTest_UnknownDataSource() throws Exception {
+        when(AuthServerConfig.getDataSource()).thenReturn("cassandra");
+
+        DAODispatcher.init();
+    }
+}
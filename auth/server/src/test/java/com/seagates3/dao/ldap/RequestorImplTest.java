@@ -26,9 +26,7 @@ import com.novell.ldap.LDAPEntry;
 import com.novell.ldap.LDAPException;
 import com.novell.ldap.LDAPSearchResults;
 import com.seagates3.authserver.AuthServerConfig;
-import com.seagates3.dao.AccountDAO;
 import com.seagates3.dao.DAODispatcher;
-import com.seagates3.dao.DAOResource;
 import com.seagates3.exception.DataAccessException;
 import com.seagates3.fi.FaultPoints;
 import com.seagates3.model.AccessKey;
@@ -62,6 +60,11 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
     private final String BASE_DN = "ou=accounts,dc=s3,dc=seagate,dc=com";
     private final String[] FIND_ATTRS = {"cn"};
+    private final String ACCOUNT_DN =
+        "o=s3test,ou=accounts,dc=s3,dc=seagate,dc=com";
+    private final String[] ACCOUNT_ATTRS = {
+        "accountid", "canonicalId", "userPassword", "pwdReset",
+        "profileCreateDate", "mail"};
 
     private final RequestorImpl requestorImpl;
     private final LDAPSearchResults ldapResults;
@@ -165,14 +168,6 @@ import org.powermock.modules.junit4.PowerMockRunner;
         AccessKey accessKey = new AccessKey();
         accessKey.setId("ak=AKIATEST");
         accessKey.setUserId("123");
-        Account account = new Account();
-        account.setId("12345");
-        account.setName("s3test");
-        Requestor expectedRequestor = new Requestor();
-        expectedRequestor.setAccessKey(accessKey);
-        expectedRequestor.setId("123");
-        expectedRequestor.setAccount(account);
-        expectedRequestor.setName("s3testuser");
         String filter = "s3userid=123";
         doReturn(ldapResults).when(ldapConnection).search(BASE_DN, 2, filter,
                                                           FIND_ATTRS, false);
@@ -186,14 +181,76 @@ import org.powermock.modules.junit4.PowerMockRunner;
                 .thenReturn(dn);
         Mockito.when(entry.getAttribute("cn")).thenReturn(commonNameAttr);
         Mockito.when(commonNameAttr.getStringValue()).thenReturn("s3testuser");
-        AccountDAO accountDAO = Mockito.mock(AccountDAO.class);
-        PowerMockito.mockStatic(DAODispatcher.class);
-        PowerMockito.doReturn(accountDAO).when(DAODispatcher.class,
-                "getResourceDAO", DAOResource.ACCOUNT
-        );
-        Mockito.doReturn(account).when(accountDAO).find("s3test");
+
+        LDAPSearchResults accountResults =
+            Mockito.mock(LDAPSearchResults.class);
+        LDAPEntry accountEntry = Mockito.mock(LDAPEntry.class);
+        doReturn(accountResults).when(ldapConnection).search(
+            ACCOUNT_DN, 0, "(objectclass=account)", ACCOUNT_ATTRS, false);
+        Mockito.when(accountResults.hasMore()).thenReturn(Boolean.TRUE);
+        Mockito.when(accountResults.next()).thenReturn(accountEntry);
+        mockAttribute(accountEntry, "accountid", "12345");
+        mockAttribute(accountEntry, "canonicalId", "C12345");
+        mockAttribute(accountEntry, "mail", "s3test@seagate.com");
+
         Requestor requestor = requestorImpl.find(accessKey);
-        Assert.assertThat(expectedRequestor, new ReflectionEquals(requestor));
+
+        Assert.assertEquals("123", requestor.getId());
+        Assert.assertEquals("s3testuser", requestor.getName());
+        Assert.assertEquals(accessKey, requestor.getAccesskey());
+        Account account = requestor.getAccount();
+        Assert.assertEquals("s3test", account.getName());
+        Assert.assertEquals("12345", account.getId());
+        Assert.assertEquals("C12345", account.getCanonicalId());
+        Assert.assertEquals("s3test@seagate.com", account.getEmail());
+        Mockito.verify(ldapConnection, Mockito.times(0)).search(
+            "dc=s3,dc=seagate,dc=com", 2,
+            "(&(o=s3test)(objectclass=account))", ACCOUNT_ATTRS, false);
     }
-}
 
+    @Test
+    public void Find_AccountEntryMissing_ReturnRequestorWithoutAccount()
+        throws Exception {
+        AccessKey accessKey = new AccessKey();
+        accessKey.setId("ak=AKIATEST");
+        accessKey.setUserId("123");
+        String filter = "s3userid=123";
+        doReturn(ldapResults).when(ldapConnection).search(BASE_DN, 2, filter,
+                                                          FIND_ATTRS, false);
+        Mockito.when(ldapResults.hasMore()).thenReturn(Boolean.TRUE);
+        Mockito.when(ldapResults.next()).thenReturn(entry);
+        Mockito.when(entry.getDN()).thenReturn(
+            "s3userid=123,ou=users,o=s3test,ou=accounts,dc=s3,dc=seagate," +
+            "dc=com");
+        Mockito.when(entry.getAttribute("cn")).thenReturn(commonNameAttr);
+        Mockito.when(commonNameAttr.getStringValue()).thenReturn("s3testuser");
+        doThrow(new LDAPException("", LDAPException.NO_SUCH_OBJECT, ""))
+            .when(ldapConnection)
+            .search(ACCOUNT_DN, 0, "(objectclass=account)", ACCOUNT_ATTRS,
+                    false);
+
+        Requestor requestor = requestorImpl.find(accessKey);
+
+        Assert.assertEquals("s3test", requestor.getAccount().getName());
+        Assert.assertFalse(requestor.getAccount().exists());
+    }
+
+    @Test
+    public void getAccountDN_ExtractsAccountFromUserDN() {
+        String accountDN = RequestorImpl.getAccountDN(
+            "s3userid=123,ou=users,o=s3test,ou=accounts,dc=s3,dc=seagate," +
+            "dc=com");
+
+        Assert.assertEquals(ACCOUNT_DN, accountDN);
+        Assert.assertEquals("s3test", RequestorImpl.getAccountName(accountDN));
+        Assert.assertEquals("", RequestorImpl.getAccountDN("cn=admin"));
+        Assert.assertEquals("", RequestorImpl.getAccountName(""));
+    }
+
+    private void mockAttribute(LDAPEntry ldapEntry, String name,
+                               String value) {
+        LDAPAttribute attribute = Mockito.mock(LDAPAttribute.class);
+        Mockito.when(attribute.getStringValue()).thenReturn(value);
+        Mockito.when(ldapEntry.getAttribute(name)).thenReturn(attribute);
+    }
+}
@@ -23,14 +23,12 @@ package com.seagates3.policy;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.junit.Before;
-import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.amazonaws.auth.policy.Condition;
@@ -41,20 +39,20 @@ class BucketPolicyAuthorizerTest {
   static List<String> values = null;
   Map<String, String> requestBody = null;
   String key = "x-amz-acl";
-  BucketPolicyAuthorizer bpAuthorizer = new BucketPolicyAuthorizer();
-  static Method isConditionMatching = null;
 
   @Before public void setUp() {
     values = new ArrayList<>();
     requestBody = new HashMap<String, String>();
   }
 
-  @BeforeClass public static void setUpBeforeClass()
-      throws NoSuchMethodException,
-      SecurityException {
-    isConditionMatching = BucketPolicyAuthorizer.class.getDeclaredMethod(
-        "isConditionMatching", List.class, Map.class);
-    isConditionMatching.setAccessible(true);
+  /**
+   * Match the conditions the way a compiled bucket policy statement does.
+   */
+ private
+  static boolean isConditionMatching(List<Condition> conditions,
+                                     Map<String, String> requestBody) {
+    return CompiledBucketPolicy.isConditionMatching(
+        CompiledBucketPolicy.compileConditions(conditions), requestBody);
   }
 
   @Test public void testAuthorizePolicy_StringEquals_true() throws Exception {
@@ -68,8 +66,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_StringNotEquals_true()
@@ -84,8 +81,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_StringEquals_false() throws Exception {
@@ -99,8 +95,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_StringEqualsIgnoreCase_true()
@@ -115,8 +110,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_StringEqualsIgnoreCase_false()
@@ -131,8 +125,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_StringNotEqualsIgnoreCase_true()
@@ -147,8 +140,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_StringNotEqualsIgnoreCase_false()
@@ -163,8 +155,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_StringLike_true() throws Exception {
@@ -178,8 +169,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_StringLike_false() throws Exception {
@@ -193,8 +183,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_StringNotLike_true() throws Exception {
@@ -208,8 +197,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_StringEqualsIfExists_true()
@@ -223,8 +211,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NumericEquals_true() throws Exception {
@@ -238,8 +225,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NumericNotEquals_true()
@@ -254,8 +240,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NumericEquals_false() throws Exception {
@@ -269,8 +254,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NumericGreaterThan_true()
@@ -285,8 +269,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NumericGreaterThan_false()
@@ -301,8 +284,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NumericGreaterThanEquals_true()
@@ -317,8 +299,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NumericGreaterThanEquals_false()
@@ -333,8 +314,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NumericLessThan_true()
@@ -349,8 +329,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NumericLessThan_false()
@@ -365,8 +344,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NumericLessThanEquals_true()
@@ -381,8 +359,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NumericLessThanEquals_false()
@@ -397,8 +374,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NumericEqualsIfExists_true()
@@ -412,8 +388,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NumericLessThan_NullHeader_fail()
@@ -428,8 +403,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_Bool_true() throws Exception {
@@ -443,8 +417,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_Bool_false() throws Exception {
@@ -458,8 +431,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_BoolIfExists_true() throws Exception {
@@ -472,8 +444,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_BoolIfExists_false() throws Exception {
@@ -487,8 +458,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateEquals_true() throws Exception {
@@ -502,8 +472,7 @@ class BucketPolicyAuthorizerTest {
       condition.setValues(values);
       List<Condition> conditions = new ArrayList<>();
       conditions.add(condition);
-      assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                     requestBody));
+      assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateEquals_hhmmformat_true()
@@ -518,8 +487,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateLessThan_hhmmformat_true()
@@ -534,8 +502,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateEquals_yyyymmddformat_true()
@@ -550,8 +517,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateLessThan_yyyymmddformat_true()
@@ -566,8 +532,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateEquals_yyyymmdd_sformat_true()
@@ -582,8 +547,7 @@ class BucketPolicyAuthorizerTest {
       condition.setValues(values);
       List<Condition> conditions = new ArrayList<>();
       conditions.add(condition);
-      assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                     requestBody));
+      assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateLessThan_yyyymmdd_sformat_true()
@@ -598,8 +562,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateEquals_true_epoch_time()
@@ -614,8 +577,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateNotEquals_true() throws Exception {
@@ -629,8 +591,7 @@ class BucketPolicyAuthorizerTest {
       condition.setValues(values);
       List<Condition> conditions = new ArrayList<>();
       conditions.add(condition);
-      assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                     requestBody));
+      assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateEquals_false() throws Exception {
@@ -644,8 +605,7 @@ class BucketPolicyAuthorizerTest {
       condition.setValues(values);
       List<Condition> conditions = new ArrayList<>();
       conditions.add(condition);
-      assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                      requestBody));
+      assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateGreaterThan_true()
@@ -660,8 +620,7 @@ class BucketPolicyAuthorizerTest {
       condition.setValues(values);
       List<Condition> conditions = new ArrayList<>();
       conditions.add(condition);
-      assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                     requestBody));
+      assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateGreaterThan_false()
@@ -676,8 +635,7 @@ class BucketPolicyAuthorizerTest {
       condition.setValues(values);
       List<Condition> conditions = new ArrayList<>();
       conditions.add(condition);
-      assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                      requestBody));
+      assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateGreaterThanEquals_true()
@@ -692,8 +650,7 @@ class BucketPolicyAuthorizerTest {
       condition.setValues(values);
       List<Condition> conditions = new ArrayList<>();
       conditions.add(condition);
-      assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                     requestBody));
+      assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateGreaterThanEquals_false()
@@ -708,8 +665,7 @@ class BucketPolicyAuthorizerTest {
       condition.setValues(values);
       List<Condition> conditions = new ArrayList<>();
       conditions.add(condition);
-      assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                      requestBody));
+      assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateGreaterThanEquals_NullHeader_false()
@@ -724,8 +680,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateLessThan_true() throws Exception {
@@ -739,8 +694,7 @@ class BucketPolicyAuthorizerTest {
       condition.setValues(values);
       List<Condition> conditions = new ArrayList<>();
       conditions.add(condition);
-      assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                     requestBody));
+      assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateLessThan_false() throws Exception {
@@ -754,8 +708,7 @@ class BucketPolicyAuthorizerTest {
       condition.setValues(values);
       List<Condition> conditions = new ArrayList<>();
       conditions.add(condition);
-      assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                      requestBody));
+      assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateLessThanEquals_true()
@@ -770,8 +723,7 @@ class BucketPolicyAuthorizerTest {
       condition.setValues(values);
       List<Condition> conditions = new ArrayList<>();
       conditions.add(condition);
-      assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                     requestBody));
+      assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateLessThanEquals_false()
@@ -786,8 +738,7 @@ class BucketPolicyAuthorizerTest {
       condition.setValues(values);
       List<Condition> conditions = new ArrayList<>();
       conditions.add(condition);
-      assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                      requestBody));
+      assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateEqualsIfExists_nokey_true()
@@ -801,8 +752,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateEqualsIfExists_true()
@@ -817,8 +767,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_DateEqualsIfExists_nullValue_false()
@@ -833,8 +782,7 @@ class BucketPolicyAuthorizerTest {
       condition.setValues(values);
       List<Condition> conditions = new ArrayList<>();
       conditions.add(condition);
-      assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                      requestBody));
+      assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_Null_true_success() throws Exception {
@@ -847,8 +795,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_Null_true_fail() throws Exception {
@@ -862,8 +809,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_Null_false_success() throws Exception {
@@ -877,8 +823,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertTrue((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                   requestBody));
+    assertTrue(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_Null_false_fail() throws Exception {
@@ -892,8 +837,7 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 
   @Test public void testAuthorizePolicy_NullIfExists_fail() throws Exception {
@@ -907,7 +851,6 @@ class BucketPolicyAuthorizerTest {
     condition.setValues(values);
     List<Condition> conditions = new ArrayList<>();
     conditions.add(condition);
-    assertFalse((Boolean)isConditionMatching.invoke(bpAuthorizer, conditions,
-                                                    requestBody));
+    assertFalse(isConditionMatching(conditions, requestBody));
   }
 }
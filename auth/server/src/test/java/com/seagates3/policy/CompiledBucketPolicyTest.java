@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.policy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.seagates3.model.Account;
+import com.seagates3.model.Requestor;
+
+public
+class CompiledBucketPolicyTest {
+
+ private
+  static final String POLICY =
+      "{\"Version\":\"2012-10-17\",\"Statement\":[" +
+      "{\"Sid\":\"1\",\"Effect\":\"Allow\",\"Principal\":\"*\"," +
+      "\"Action\":[\"s3:GetObject*\"]," +
+      "\"Resource\":\"arn:aws:s3:::seagatebucket/*\"}," +
+      "{\"Sid\":\"2\",\"Effect\":\"Deny\"," +
+      "\"Principal\":{\"AWS\":[\"A12345\"]}," +
+      "\"Action\":\"s3:PutObject\"," +
+      "\"Resource\":\"arn:aws:s3:::seagatebucket/private\"," +
+      "\"Condition\":{\"StringEquals\":" +
+      "{\"s3:x-amz-acl\":[\"public-read\"]}}}]}";
+
+ private
+  Requestor requestor;
+
+  @Before public void setUp() {
+    BucketPolicyCache.reset();
+    Account account = new Account();
+    account.setId("A12345");
+    account.setCanonicalId("C12345");
+    requestor = new Requestor();
+    requestor.setId("U12345");
+    requestor.setAccount(account);
+  }
+
+  @Test public void compiledPolicyShouldBeCached() throws Exception {
+    BucketPolicyCache cache = BucketPolicyCache.getInstance();
+    CompiledBucketPolicy policy = cache.get(POLICY);
+
+    assertSame(policy, cache.get(POLICY));
+    assertSame(policy, cache.get(new String(POLICY)));
+    assertEquals(1, cache.getPolicyCache().size());
+    assertEquals(2, policy.getStatements().size());
+  }
+
+  @Test public void actionPatternShouldBeExpanded() throws Exception {
+    CompiledBucketPolicy.CompiledStatement stmt =
+        CompiledBucketPolicy.compile(POLICY).getStatements().get(0);
+
+    assertTrue(stmt.isAllow());
+    assertTrue(stmt.isActionMatching("s3:getobject"));
+    assertTrue(stmt.isActionMatching("s3:getobjectacl"));
+    assertFalse(stmt.isActionMatching("s3:putobject"));
+  }
+
+  @Test public void resourcePatternShouldMatchObjects() throws Exception {
+    CompiledBucketPolicy policy = CompiledBucketPolicy.compile(POLICY);
+
+    assertTrue(policy.getStatements().get(0).isResourceMatching(
+        "seagatebucket/dir/key"));
+    assertFalse(policy.getStatements().get(0).isResourceMatching(
+        "otherbucket/key"));
+    assertTrue(policy.getStatements().get(1).isResourceMatching(
+        "seagatebucket/private"));
+    assertFalse(policy.getStatements().get(1).isResourceMatching(
+        "seagatebucket/privatekey"));
+  }
+
+  @Test public void principalShouldMatchAccountId() throws Exception {
+    CompiledBucketPolicy policy = CompiledBucketPolicy.compile(POLICY);
+
+    assertTrue(policy.getStatements().get(0).isPrincipalMatching(requestor));
+    assertTrue(policy.getStatements().get(0).isPrincipalMatching(null));
+    assertTrue(policy.getStatements().get(1).isPrincipalMatching(requestor));
+    assertFalse(policy.getStatements().get(1).isPrincipalMatching(null));
+  }
+
+  @Test public void conditionShouldBeEvaluatedAgainstRequest()
+      throws Exception {
+    CompiledBucketPolicy.CompiledStatement stmt =
+        CompiledBucketPolicy.compile(POLICY).getStatements().get(1);
+    Map<String, String> requestBody = new HashMap<>();
+
+    assertFalse(stmt.isAllow());
+    assertFalse(
+        stmt.isConditionMatching(new PolicyRequestContext(requestBody)));
+    requestBody.put("x-amz-acl", "public-read");
+    assertTrue(
+        stmt.isConditionMatching(new PolicyRequestContext(requestBody)));
+  }
+}
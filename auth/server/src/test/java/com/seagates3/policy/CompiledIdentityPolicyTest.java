@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.policy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public
+class CompiledIdentityPolicyTest {
+
+ private
+  static final String ALLOW_POLICY =
+      "{\"Version\":\"2012-10-17\",\"Statement\":[" +
+      "{\"Effect\":\"Allow\",\"Action\":[\"s3:Get*\",\"s3:ListBucket\"]," +
+      "\"Resource\":\"arn:aws:s3:::seagatebucket*\"}," +
+      "{\"Effect\":\"Allow\",\"Action\":\"iam:*\"," +
+      "\"Resource\":\"arn:aws:iam::A12345:user/*\"}]}";
+
+ private
+  static final String DENY_POLICY =
+      "{\"Version\":\"2012-10-17\",\"Statement\":[" +
+      "{\"Effect\":\"Deny\",\"Action\":\"s3:GetObject\"," +
+      "\"Resource\":\"arn:aws:s3:::seagatebucket/private\"}]}";
+
+ private
+  final Map<String, String> requestBody = new HashMap<>();
+
+  @Test public void allowShouldApplyToMatchingRequests() {
+    CompiledIdentityPolicy policy =
+        CompiledIdentityPolicy.compile(Arrays.asList(ALLOW_POLICY));
+
+    assertEquals(CompiledIdentityPolicy.Decision.ALLOW,
+                 policy.evaluate("s3:getobject", "arn:aws:s3:::seagatebucket/a",
+                                 requestBody));
+    assertEquals(CompiledIdentityPolicy.Decision.ALLOW,
+                 policy.evaluate("s3:listbucket", "arn:aws:s3:::seagatebucket",
+                                 requestBody));
+    assertEquals(CompiledIdentityPolicy.Decision.ALLOW,
+                 policy.evaluate("iam:createuser",
+                                 "arn:aws:iam::A12345:user/u1", requestBody));
+  }
+
+  @Test public void unmatchedRequestShouldHaveNoDecision() {
+    CompiledIdentityPolicy policy =
+        CompiledIdentityPolicy.compile(Arrays.asList(ALLOW_POLICY));
+
+    assertEquals(CompiledIdentityPolicy.Decision.NONE,
+                 policy.evaluate("s3:putobject", "arn:aws:s3:::seagatebucket/a",
+                                 requestBody));
+    assertEquals(CompiledIdentityPolicy.Decision.NONE,
+                 policy.evaluate("s3:getobject", "arn:aws:s3:::otherbucket/a",
+                                 requestBody));
+    assertEquals(CompiledIdentityPolicy.Decision.NONE,
+                 policy.evaluate("iam:createuser",
+                                 "arn:aws:iam::B12345:user/u1", requestBody));
+  }
+
+  @Test public void denyShouldOverrideAllow() {
+    CompiledIdentityPolicy policy = CompiledIdentityPolicy.compile(
+        Arrays.asList(ALLOW_POLICY, DENY_POLICY));
+
+    assertEquals(CompiledIdentityPolicy.Decision.DENY,
+                 policy.evaluate("s3:getobject",
+                                 "arn:aws:s3:::seagatebucket/private",
+                                 requestBody));
+    assertEquals(CompiledIdentityPolicy.Decision.ALLOW,
+                 policy.evaluate("s3:getobjectacl",
+                                 "arn:aws:s3:::seagatebucket/private",
+                                 requestBody));
+  }
+
+  @Test public void missingPoliciesShouldBeEmpty() {
+    assertSame(CompiledIdentityPolicy.EMPTY,
+               CompiledIdentityPolicy.compile(Collections.<String>emptyList()));
+  }
+
+  @Test public void invalidPolicyShouldMakePoliciesInvalid() {
+    CompiledIdentityPolicy policy =
+        CompiledIdentityPolicy.compile(Arrays.asList(ALLOW_POLICY, "{invalid"));
+
+    assertTrue(policy.isInvalid());
+    assertFalse(policy.isEmpty());
+    policy = CompiledIdentityPolicy.compile(Arrays.asList(ALLOW_POLICY));
+    assertFalse(policy.isInvalid());
+  }
+}
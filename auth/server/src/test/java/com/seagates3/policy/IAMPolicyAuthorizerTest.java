@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.policy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.dao.DAODispatcher;
+import com.seagates3.dao.DAOResource;
+import com.seagates3.dao.PolicyDAO;
+import com.seagates3.exception.DataAccessException;
+import com.seagates3.model.Account;
+import com.seagates3.model.Policy;
+import com.seagates3.model.Requestor;
+import com.seagates3.response.ServerResponse;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+@RunWith(PowerMockRunner.class)
+    @PrepareForTest({DAODispatcher.class, AuthServerConfig.class})
+    @PowerMockIgnore({"javax.management.*"})
+    public class IAMPolicyAuthorizerTest {
+
+ private
+  static final String DENY_POLICY =
+      "{\"Version\":\"2012-10-17\",\"Statement\":[" +
+      "{\"Effect\":\"Deny\",\"Action\":\"s3:GetObject\"," +
+      "\"Resource\":\"arn:aws:s3:::seagatebucket/private\"}]}";
+
+ private
+  PolicyDAO policyDAO;
+ private
+  Account account;
+ private
+  Requestor requestor;
+ private
+  Map<String, String> requestBody;
+
+  @Before public void setUp() {
+    IdentityPolicyCache.reset();
+    policyDAO = Mockito.mock(PolicyDAO.class);
+    PowerMockito.mockStatic(DAODispatcher.class);
+    PowerMockito.when(DAODispatcher.getResourceDAO(DAOResource.POLICY))
+        .thenReturn(policyDAO);
+    PowerMockito.mockStatic(AuthServerConfig.class);
+    PowerMockito.when(AuthServerConfig.getCacheTimeout()).thenReturn(30);
+    PowerMockito.when(AuthServerConfig.getIdentityPolicyCacheMaxEntries())
+        .thenReturn(100);
+
+    account = new Account();
+    account.setId("A12345");
+    account.setName("s3test");
+    requestor = new Requestor();
+    requestor.setId("U12345");
+    requestor.setName("user1");
+    requestor.setAccount(account);
+
+    requestBody = new HashMap<>();
+    requestBody.put("S3Action", "GetObject");
+    requestBody.put("ClientAbsoluteUri", "/seagatebucket/private");
+  }
+
+  @Test public void authorizePolicyTest_Deny() throws Exception {
+    Policy policy = new Policy();
+    policy.setPolicyDoc(DENY_POLICY);
+    Mockito.when(policyDAO.findAttachedPolicies(account, "U12345"))
+        .thenReturn(Arrays.asList(policy));
+
+    ServerResponse response =
+        new IAMPolicyAuthorizer().authorizePolicy(requestor, requestBody);
+
+    assertEquals(HttpResponseStatus.FORBIDDEN, response.getResponseStatus());
+  }
+
+  @Test public void authorizePolicyTest_LdapFailureShouldBeLeftToAcl()
+      throws Exception {
+    Mockito.when(policyDAO.findAttachedPolicies(account, "U12345"))
+        .thenThrow(new DataAccessException("Failed to read policies"));
+
+    assertNull(
+        new IAMPolicyAuthorizer().authorizePolicy(requestor, requestBody));
+  }
+
+  @Test public void authorizePolicyTest_InvalidPolicyShouldNotAllow()
+      throws Exception {
+    Policy policy = new Policy();
+    policy.setPolicyDoc("{invalid");
+    Mockito.when(policyDAO.findAttachedPolicies(account, "U12345"))
+        .thenReturn(Arrays.asList(policy));
+
+    ServerResponse response =
+        new IAMPolicyAuthorizer().authorizePolicy(requestor, requestBody);
+
+    assertEquals(HttpResponseStatus.INTERNAL_SERVER_ERROR,
+                 response.getResponseStatus());
+    assertTrue(response.getResponseBody().contains("InternalFailure"));
+  }
+
+  @Test public void authorizePolicyTest_PoliciesShouldBeCached()
+      throws Exception {
+    Mockito.when(policyDAO.findAttachedPolicies(account, "U12345"))
+        .thenReturn(Collections.<Policy>emptyList());
+    IAMPolicyAuthorizer authorizer = new IAMPolicyAuthorizer();
+
+    authorizer.authorizePolicy(requestor, requestBody);
+    authorizer.authorizePolicy(requestor, requestBody);
+
+    Mockito.verify(policyDAO, Mockito.times(1))
+        .findAttachedPolicies(account, "U12345");
+  }
+
+  @Test public void authorizePolicyTest_NoCacheTimeoutShouldReadLdapEveryTime()
+      throws Exception {
+    PowerMockito.when(AuthServerConfig.getCacheTimeout()).thenReturn(0);
+    Policy policy = new Policy();
+    policy.setPolicyDoc(DENY_POLICY);
+    Mockito.when(policyDAO.findAttachedPolicies(account, "U12345"))
+        .thenReturn(Collections.<Policy>emptyList())
+        .thenReturn(Arrays.asList(policy));
+    IAMPolicyAuthorizer authorizer = new IAMPolicyAuthorizer();
+
+    assertNull(authorizer.authorizePolicy(requestor, requestBody));
+    // A Deny attached meanwhile, e.g. on another node, applies at once.
+    assertEquals(HttpResponseStatus.FORBIDDEN,
+                 authorizer.authorizePolicy(requestor, requestBody)
+                     .getResponseStatus());
+    Mockito.verify(policyDAO, Mockito.times(2))
+        .findAttachedPolicies(account, "U12345");
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.policy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.seagates3.policy.DateCondition.DateComparisonType;
+import com.seagates3.policy.NumericCondition.NumericComparisonType;
+
+public
+class PolicyRequestContextTest {
+
+  Map<String, String> requestBody = null;
+  List<String> values = null;
+
+  @Before public void setUp() throws Exception {
+    requestBody = new HashMap<String, String>();
+    values = new ArrayList<>();
+  }
+
+  @Test public void testGetValue_headerIgnoresCase() {
+    requestBody.put("X-Amz-Acl", "public-read");
+    PolicyRequestContext context = new PolicyRequestContext(requestBody);
+
+    assertEquals("public-read", context.getValue("x-amz-acl"));
+    assertTrue(context.containsHeader("x-amz-acl"));
+    assertNull(context.getValue("x-amz-grant-read"));
+    assertNull(context.getValue(null));
+  }
+
+  @Test public void testGetValue_queryParamOverridesHeader() {
+    requestBody.put("max-keys", "5");
+    requestBody.put("ClientQueryParams", "prefix=abc&max-keys=10&versions");
+    PolicyRequestContext context = new PolicyRequestContext(requestBody);
+
+    assertEquals("10", context.getValue("max-keys"));
+    assertEquals("abc", context.getValue("prefix"));
+    assertEquals("", context.getValue("versions"));
+    assertTrue(context.containsKey("versions"));
+    assertFalse(context.containsKey("delimiter"));
+    assertEquals("5", context.getHeader("max-keys"));
+  }
+
+  @Test public void testIsSatisfied_queryParamCondition() {
+    requestBody.put("ClientQueryParams", "max-keys=10");
+    values.add("20");
+    NumericCondition condition = new NumericCondition(
+        NumericComparisonType.NumericLessThan, "max-keys", values);
+
+    assertTrue(condition.isSatisfied(new PolicyRequestContext(requestBody)));
+  }
+
+  @Test public void testIsSatisfied_currentTime() {
+    requestBody.put("X-Amz-Date", "20200122T062243Z");
+    PolicyRequestContext context = new PolicyRequestContext(requestBody);
+    values.add("2020-01-01T00:00:01Z");
+
+    assertTrue(new DateCondition(DateComparisonType.DateGreaterThan,
+                                 "CurrentTime", values).isSatisfied(context));
+    assertFalse(new DateCondition(DateComparisonType.DateLessThan,
+                                  "CurrentTime", values).isSatisfied(context));
+  }
+
+  @Test public void testIsSatisfied_invalidConditionDate() {
+    requestBody.put("X-Amz-Date", "20200122T062243Z");
+    values.add("not-a-date");
+
+    assertFalse(new DateCondition(DateComparisonType.DateNotEquals,
+                                  "CurrentTime", values)
+                    .isSatisfied(new PolicyRequestContext(requestBody)));
+  }
+}
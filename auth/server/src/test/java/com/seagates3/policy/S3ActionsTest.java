@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.policy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+public
+class S3ActionsTest {
+
+ private
+  final S3Actions s3Actions = S3Actions.getInstance();
+
+  @Test public void wildcardPatternShouldMatchEveryCatalogAction() {
+    Set<String> expected = new HashSet<>();
+    for (String action : s3Actions.getBucketOperations().keySet()) {
+      if (PolicyUtil.isPatternMatching(action, "s3:*object*")) {
+        expected.add(action);
+      }
+    }
+    for (String action : s3Actions.getObjectOperations().keySet()) {
+      if (PolicyUtil.isPatternMatching(action, "s3:*object*")) {
+        expected.add(action);
+      }
+    }
+
+    S3Actions.ActionSet actions = s3Actions.getMatchingActions("s3:*Object*");
+    assertEquals(expected, new HashSet<>(actions.getActionNames()));
+    assertTrue(actions.contains("s3:getobject"));
+    assertTrue(actions.contains("s3:putobjectacl"));
+    assertFalse(actions.contains("s3:listbucket"));
+  }
+
+  @Test public void patternExpansionShouldBeMemoized() {
+    assertSame(s3Actions.getMatchingActions("s3:Get*"),
+               s3Actions.getMatchingActions("s3:get*"));
+  }
+
+  @Test public void unknownActionShouldMatchNothing() {
+    S3Actions.ActionSet actions = s3Actions.getMatchingActions("s3:Unknown");
+
+    assertTrue(actions.isEmpty());
+    assertFalse(actions.contains("s3:unknown"));
+    assertTrue(PolicyUtil.getAllMatchingActions("s3:Unknown").isEmpty());
+  }
+
+  @Test public void patternsShouldBeCombined() {
+    S3Actions.ActionSet actions = s3Actions.getMatchingActions(
+        Arrays.asList("s3:GetObject", "s3:ListBucket", "s3:GetObject"));
+
+    assertEquals(2, actions.getActionNames().size());
+    assertTrue(actions.contains("s3:getobject"));
+    assertTrue(actions.contains("s3:listbucket"));
+  }
+
+  @Test public void operationTypeShouldFollowCatalog() {
+    assertTrue(s3Actions.isBucketOperation("s3:listbucket"));
+    assertFalse(s3Actions.isObjectOperation("s3:listbucket"));
+    assertTrue(s3Actions.isObjectOperation("s3:getobject"));
+    assertFalse(s3Actions.isBucketOperation("s3:getobject"));
+    assertFalse(s3Actions.isBucketOperation("s3:unknown"));
+
+    List<String> actions = new ArrayList<>();
+    actions.add("s3:getobject");
+    assertTrue(PolicyUtil.isActionValidForResource(actions, 6));
+    assertFalse(PolicyUtil.isActionValidForResource(actions, -1));
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.policy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public
+class WildcardPatternTest {
+
+ private
+  static final int ITERATIONS = 20000;
+
+  /**
+   * Dynamic programming matcher which PolicyUtil used before, kept as the
+   * reference implementation.
+   */
+ private
+  static boolean referenceMatching(String input, String pattern) {
+    int inputLength = input.length();
+    int patternLength = pattern.length();
+    if (patternLength == 0) return (inputLength == 0);
+    boolean[][] data = new boolean[inputLength + 1][patternLength + 1];
+    data[0][0] = true;
+    for (int count = 1; count <= patternLength; count++)
+      if (pattern.charAt(count - 1) == '*') data[0][count] = data[0][count - 1];
+    for (int i = 1; i <= inputLength; i++) {
+      for (int j = 1; j <= patternLength; j++) {
+        if (pattern.charAt(j - 1) == '*')
+          data[i][j] = data[i][j - 1] || data[i - 1][j];
+        else if (pattern.charAt(j - 1) == '?' ||
+                 input.charAt(i - 1) == pattern.charAt(j - 1))
+          data[i][j] = data[i - 1][j - 1];
+        else
+          data[i][j] = false;
+      }
+    }
+    return data[inputLength][patternLength];
+  }
+
+ private
+  static String randomString(Random random, String alphabet, int maxLength) {
+    int length = random.nextInt(maxLength + 1);
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return builder.toString();
+  }
+
+ private
+  static void assertEquivalent(String input, String pattern) {
+    assertEquals("input '" + input + "' pattern '" + pattern + "'",
+                 referenceMatching(input, pattern),
+                 WildcardPattern.compile(pattern).matches(input));
+  }
+
+  @Test public void randomPatternsShouldMatchLikeReference() {
+    Random random = new Random(20200501L);
+    for (int i = 0; i < ITERATIONS; i++) {
+      String pattern = randomString(random, "ab*?", 8);
+      String input = randomString(random, "ab", 10);
+      assertEquivalent(input, pattern);
+    }
+  }
+
+  @Test public void inputsBuiltFromPatternShouldMatchLikeReference() {
+    Random random = new Random(20200502L);
+    for (int i = 0; i < ITERATIONS; i++) {
+      String pattern = randomString(random, "abc/*?", 12);
+      // Replace the wildcards so that most inputs are near misses.
+      StringBuilder input = new StringBuilder();
+      for (int j = 0; j < pattern.length(); j++) {
+        char c = pattern.charAt(j);
+        if (c == '*') {
+          input.append(randomString(random, "abc/", 3));
+        } else if (c == '?') {
+          input.append(random.nextBoolean() ? "a" : "");
+        } else if (random.nextInt(10) != 0) {
+          input.append(c);
+        }
+      }
+      assertEquivalent(input.toString(), pattern);
+    }
+  }
+
+  @Test public void singleStarPatternsShouldMatchPrefixAndSuffix() {
+    assertTrue(WildcardPattern.compile("bucket/*").matches("bucket/"));
+    assertTrue(WildcardPattern.compile("bucket/*").matches("bucket/a/b"));
+    assertFalse(WildcardPattern.compile("bucket/*").matches("bucket"));
+    assertTrue(WildcardPattern.compile("*.jpg").matches("bucket/a.jpg"));
+    assertFalse(WildcardPattern.compile("*.jpg").matches("bucket/a.png"));
+    assertTrue(WildcardPattern.compile("ab*ba").matches("abXba"));
+    assertFalse(WildcardPattern.compile("ab*ba").matches("aba"));
+    assertTrue(WildcardPattern.compile("*").matches(""));
+  }
+
+  @Test public void literalPatternShouldMatchWholeInput() {
+    WildcardPattern pattern = WildcardPattern.compile("bucket/key");
+
+    assertFalse(pattern.hasWildcard());
+    assertTrue(pattern.matches("bucket/key"));
+    assertFalse(pattern.matches("bucket/key2"));
+    assertTrue(WildcardPattern.compile("").matches(""));
+    assertFalse(WildcardPattern.compile("").matches("a"));
+  }
+
+  @Test public void longInputShouldMatchWithoutBacktrackingBlowUp() {
+    StringBuilder input = new StringBuilder();
+    for (int i = 0; i < 1024; i++) {
+      input.append('a');
+    }
+    assertFalse(WildcardPattern.compile("*a*a*a*a*b").matches(
+        input.toString()));
+    assertTrue(WildcardPattern.compile("a*a?a*").matches(input.toString()));
+  }
+
+  @Test public void nullInputShouldNotMatch() {
+    assertFalse(WildcardPattern.compile("*").matches(null));
+  }
+
+  @Test public void policyUtilShouldUseCompiledPattern() {
+    assertTrue(PolicyUtil.isPatternMatching("s3:getobjectacl", "s3:get*acl"));
+    assertFalse(PolicyUtil.isPatternMatching("s3:getobject", "s3:get*acl"));
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.response.formatter.xml;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public
+class XMLResponseWriterTest {
+
+ private
+  static final String XML_DECLARATION =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+
+  @Test public void testEmptyElements() {
+    String xml = new XMLResponseWriter()
+                     .startElement("Root")
+                     .attribute("xmlns", "urn:test")
+                     .element("Empty", "")
+                     .element("Null", null)
+                     .toXml();
+
+    Assert.assertEquals(XML_DECLARATION + "<Root xmlns=\"urn:test\">" +
+                            "<Empty/><Null/></Root>",
+                        xml);
+  }
+
+  @Test public void testTextEscaping() {
+    String xml = new XMLResponseWriter()
+                     .element("Message", "a&b <c> \"d\" 'e'\t\n\r\u0001\u0085" +
+                                             "\u00e9\ud83d\ude00")
+                     .toXml();
+
+    Assert.assertEquals(XML_DECLARATION + "<Message>a&amp;b &lt;c&gt; " +
+                            "\"d\" 'e'\t\n&#13;&#1;&#133;\u00e9&#128512;" +
+                            "</Message>",
+                        xml);
+  }
+
+  @Test public void testAttributeEscaping() {
+    String xml = new XMLResponseWriter()
+                     .startElement("Root")
+                     .attribute("a", "\"x\" & 'y'\t\n\r\u0085")
+                     .toXml();
+
+    Assert.assertEquals(XML_DECLARATION + "<Root a=\"&quot;x&quot; &amp; " +
+                            "'y'&#9;&#10;&#13;\u0085\"/>",
+                        xml);
+  }
+}
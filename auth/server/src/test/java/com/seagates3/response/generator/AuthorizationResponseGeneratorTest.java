@@ -24,6 +24,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -105,4 +108,32 @@ class AuthorizationResponseGeneratorTest {
     assertFalse(actualServerResponse.getResponseBody().matches(
         "[\\s\\S]*\\<ACL\\>[\\s\\S]*\\<\\/ACL\\>[\\s\\S]*"));
   }
+
+  @Test public void testGenerateBatchAuthorizationResponse() {
+    List<ServerResponse> decisions = new ArrayList<>();
+    decisions.add(responseGenerator.generateAuthorizationResponse(requestor,
+                                                                  null));
+    decisions.add(responseGenerator.AccessDenied());
+
+    ServerResponse actualServerResponse =
+        responseGenerator.generateBatchAuthorizationResponse(requestor,
+                                                             decisions);
+    assertEquals(HttpResponseStatus.OK,
+                 actualServerResponse.getResponseStatus());
+    assertEquals(
+        "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>" +
+            "<AuthenticateAndAuthorizeBatchResponse " +
+            "xmlns=\"https://iam.seagate.com/doc/2010-05-08/\">" +
+            "<AuthenticateAndAuthorizeBatchResult>" + "<UserId>456</UserId>" +
+            "<UserName>tester</UserName>" + "<AccountId>12345</AccountId>" +
+            "<AccountName>testAccount</AccountName>" +
+            "<CanonicalId>qWwZGnGYTga8gbpcuY79SA</CanonicalId>" +
+            "<Decisions>" + "<member><Index>1</Index><Status>200</Status>" +
+            "</member>" + "<member><Index>2</Index><Status>403</Status>" +
+            "<Code>AccessDenied</Code></member>" + "</Decisions>" +
+            "</AuthenticateAndAuthorizeBatchResult>" + "<ResponseMetadata>" +
+            "<RequestId>0000</RequestId>" + "</ResponseMetadata>" +
+            "</AuthenticateAndAuthorizeBatchResponse>",
+        actualServerResponse.getResponseBody());
+  }
 }
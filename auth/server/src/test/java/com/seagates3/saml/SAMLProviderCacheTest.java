@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.saml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.seagates3.exception.SAMLInvalidCertificateException;
+import com.seagates3.model.Account;
+import com.seagates3.model.SAMLMetadataTokens;
+import com.seagates3.model.SAMLProvider;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SAMLProviderCacheTest {
+
+    /*
+     * Self signed certificates of two IDPs.
+     */
+    private static final String CERT_1
+            = "MIIBjjCCATOgAwIBAgIUO47zqduTleqfHB1w9LUREe6a+DMwCgYIKoZIzj0EAwIw"
+            + "GzEZMBcGA1UEAwwQaWRwMS5zZWFnYXRlLmNvbTAgFw0yNjEwMTgxMjUyMDVaGA8y"
+            + "MTI2MDkyNDEyNTIwNVowGzEZMBcGA1UEAwwQaWRwMS5zZWFnYXRlLmNvbTBZMBMG"
+            + "ByqGSM49AgEGCCqGSM49AwEHA0IABI0QZZm01GHKfbvS07V1NUsbGHwla/BGGwKf"
+            + "aW9Z9u0gxqpHgrz1+dmEiMvmUaLri/a+0P6AQfm87EouszSaApCjUzBRMB0GA1Ud"
+            + "DgQWBBTwCi4rGxyTb3rYEpK5CumVNwBboTAfBgNVHSMEGDAWgBTwCi4rGxyTb3rY"
+            + "EpK5CumVNwBboTAPBgNVHRMBAf8EBTADAQH/MAoGCCqGSM49BAMCA0kAMEYCIQC3"
+            + "XMjYez6spRBbVOueSPejik8z3IDtKIBGAwCBCdDQHQIhAO6TNjHvWxxUW3etDxhe"
+            + "bcw2gHQLbPcU3+/103ysBVIO";
+
+    private static final String CERT_2
+            = "MIIBjDCCATOgAwIBAgIUd5Sb+Fha3xJdeBNqNv+EF141fx0wCgYIKoZIzj0EAwIw"
+            + "GzEZMBcGA1UEAwwQaWRwMi5zZWFnYXRlLmNvbTAgFw0yNjEwMTgxMjUyMDVaGA8y"
+            + "MTI2MDkyNDEyNTIwNVowGzEZMBcGA1UEAwwQaWRwMi5zZWFnYXRlLmNvbTBZMBMG"
+            + "ByqGSM49AgEGCCqGSM49AwEHA0IABHBOj0iHfWrYZCoeJyWsjY9XsakGjGjBFCLp"
+            + "MNkhXKV8JqfFqTKqgJx40Xw2ygluKP3Ob9n7WnCjlZxF/abcPYOjUzBRMB0GA1Ud"
+            + "DgQWBBQ4FBzISaSbiODuVaL1bQdqrjNoaDAfBgNVHSMEGDAWgBQ4FBzISaSbiODu"
+            + "VaL1bQdqrjNoaDAPBgNVHRMBAf8EBTADAQH/MAoGCCqGSM49BAMCA0cAMEQCIFud"
+            + "Lexw6fzB+6BcQd1RAHnzLU6RzkAfWq8CWHtPQDIQAiAoDrs3ZqT9UHtbWWT+8XR7"
+            + "0X1MIOL4tkSKKjMOHn4H0w==";
+
+    private Account account;
+
+    @Before
+    public void setUp() {
+        SAMLProviderCache.reset();
+        account = new Account();
+        account.setId("A12345");
+    }
+
+    private SAMLProvider getProvider(String... signingCerts) {
+        Map<String, ArrayList<String>> keyDescriptors = new HashMap<>();
+        keyDescriptors.put("signing",
+                new ArrayList<String>(Arrays.asList(signingCerts)));
+        SAMLMetadataTokens tokens = new SAMLMetadataTokens();
+        tokens.setSAMLKeyDescriptors(keyDescriptors);
+
+        SAMLProvider provider = new SAMLProvider();
+        provider.setAccount(account);
+        provider.setName("idp");
+        provider.setSAMLMetadataTokens(tokens);
+        return provider;
+    }
+
+    @Test
+    public void getTest_CachesValidators() throws Exception {
+        SAMLProviderCache cache = SAMLProviderCache.getInstance();
+
+        SAMLProviderCache.ProviderCredentials credentials
+                = cache.get(getProvider(CERT_1, CERT_2));
+
+        assertSame(credentials, cache.get(getProvider(CERT_1, CERT_2)));
+        assertNotNull(credentials.getValidator(CERT_1));
+        assertNotNull(credentials.getValidator(CERT_2));
+        assertEquals(1, cache.getProviderCache().size());
+    }
+
+    @Test
+    public void getTest_RebuildsWhenCertificatesChange() throws Exception {
+        SAMLProviderCache cache = SAMLProviderCache.getInstance();
+        SAMLProviderCache.ProviderCredentials credentials
+                = cache.get(getProvider(CERT_1));
+
+        SAMLProviderCache.ProviderCredentials updated
+                = cache.get(getProvider(CERT_2));
+
+        assertNotSame(credentials, updated);
+        assertNull(updated.getValidator(CERT_1));
+        assertNotNull(updated.getValidator(CERT_2));
+        assertSame(updated, cache.get(getProvider(CERT_2)));
+        assertEquals(1, cache.getProviderCache().size());
+    }
+
+    @Test
+    public void invalidateTest() throws Exception {
+        SAMLProviderCache cache = SAMLProviderCache.getInstance();
+        SAMLProviderCache.ProviderCredentials credentials
+                = cache.get(getProvider(CERT_1));
+
+        cache.invalidate("A12345", "idp");
+
+        assertEquals(0, cache.getProviderCache().size());
+        assertNotSame(credentials, cache.get(getProvider(CERT_1)));
+    }
+
+    @Test
+    public void getValidatorTest_CertificateNotListed() throws Exception {
+        SAMLProviderCache.ProviderCredentials credentials
+                = SAMLProviderCache.getInstance().get(getProvider(CERT_1));
+
+        assertNull(credentials.getValidator(CERT_2));
+        assertNull(credentials.getValidator(""));
+    }
+
+    @Test(expected = SAMLInvalidCertificateException.class)
+    public void getTest_InvalidCertificate() throws Exception {
+        SAMLProviderCache.getInstance().get(getProvider("bm90IGEgY2VydA=="));
+    }
+}
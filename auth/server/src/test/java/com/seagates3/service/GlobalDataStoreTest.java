@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.seagates3.authentication.ChunkSignatureSession;
+import com.seagates3.model.AccessKey;
+import com.seagates3.model.GlobalData;
+import com.seagates3.model.Requestor;
+
+public
+class GlobalDataStoreTest {
+
+ private
+  GlobalDataStore store;
+ private
+  GlobalData globalData;
+ private
+  AccessKey accessKey;
+
+ private
+  final String accessKeyId = "AKIAGENERATIONTEST01";
+
+  @Before public void setUp() {
+    store = GlobalDataStore.getInstance();
+    store.invalidateAccessKey(accessKeyId);
+    accessKey = new AccessKey();
+    globalData =
+        new GlobalData(accessKey, new Requestor(), System.currentTimeMillis());
+  }
+
+  @Test public void addToAuthenticationMapTest() {
+    long generation = store.getAccessKeyGeneration(accessKeyId);
+
+    assertTrue(store.addToAuthenticationMap(accessKeyId, globalData,
+                                            generation));
+    assertEquals(globalData, store.getFromAuthenticationMap(accessKeyId));
+  }
+
+  @Test public void addToAuthenticationMapTest_InvalidatedDuringLoad() {
+    long generation = store.getAccessKeyGeneration(accessKeyId);
+    store.invalidateAccessKey(accessKeyId);
+
+    assertFalse(store.addToAuthenticationMap(accessKeyId, globalData,
+                                             generation));
+    assertNull(store.getFromAuthenticationMap(accessKeyId));
+  }
+
+  @Test public void addToInvalidAccessKeyMapTest_InvalidatedDuringLoad() {
+    long generation = store.getAccessKeyGeneration(accessKeyId);
+    store.invalidateAccessKey(accessKeyId);
+
+    assertFalse(store.addToInvalidAccessKeyMap(accessKeyId, accessKey,
+                                               generation));
+    assertNull(store.getFromInvalidAccessKeyMap(accessKeyId));
+
+    generation = store.getAccessKeyGeneration(accessKeyId);
+    assertTrue(store.addToInvalidAccessKeyMap(accessKeyId, accessKey,
+                                              generation));
+    assertEquals(accessKey, store.getFromInvalidAccessKeyMap(accessKeyId));
+  }
+
+  @Test public void getFromChunkSessionMapTest() {
+    ChunkSignatureSession session = new ChunkSignatureSession(
+        new byte[32], "20130524T000000Z", "20130524/us-east-1/s3/aws4_request",
+        "seed");
+    String sessionId = store.addToChunkSessionMap(accessKeyId, session);
+
+    assertSame(session, store.getFromChunkSessionMap(sessionId));
+  }
+
+  @Test public void getFromChunkSessionMapTest_AccessKeyInvalidated() {
+    ChunkSignatureSession session = new ChunkSignatureSession(
+        new byte[32], "20130524T000000Z", "20130524/us-east-1/s3/aws4_request",
+        "seed");
+    String sessionId = store.addToChunkSessionMap(accessKeyId, session);
+    store.invalidateAccessKey(accessKeyId);
+
+    assertNull(store.getFromChunkSessionMap(sessionId));
+  }
+}